@@ -0,0 +1,46 @@
+package com.eventhub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+    
+    private static final String EXPORT_TIMEOUT_ATTRIBUTE = AsyncConfig.class.getName() + ".EXPORT_TIMEOUT";
+    
+    @Value("${tickets.export.timeout-seconds:600}")
+    private long exportTimeoutSeconds;
+    
+    /**
+     * Give the StreamingResponseBody returned by the current handler the export timeout.
+     * Every other async response keeps the container default.
+     */
+    public static void useExportTimeout() {
+        RequestContextHolder.currentRequestAttributes()
+            .setAttribute(EXPORT_TIMEOUT_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+    
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // Called with the async request before it starts, while its timeout can still change
+                if (request instanceof AsyncWebRequest asyncRequest
+                        && request.getAttribute(EXPORT_TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+                    asyncRequest.setTimeout(TimeUnit.SECONDS.toMillis(exportTimeoutSeconds));
+                }
+            }
+        });
+    }
+}
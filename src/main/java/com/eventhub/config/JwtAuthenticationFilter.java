@@ -1,13 +1,17 @@
 package com.eventhub.config;
 
+import com.eventhub.service.TokenRevocationService;
 import com.eventhub.service.impl.UserDetailsServiceImpl;
+import com.eventhub.util.AuthenticatedPrincipalCache;
 import com.eventhub.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +28,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     @Autowired
     private JwtUtil jwtUtil;
+    
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    // Build principals from token claims instead of loading the user
+    @Value("${security.jwt.stateless:false}")
+    private boolean statelessTokens;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
@@ -37,33 +51,66 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String requestTokenHeader = request.getHeader("Authorization");
         
-        String username = null;
         String jwtToken = null;
+        Claims claims = null;
+        AuthenticatedPrincipalCache.CachedPrincipal cached = null;
         
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             jwtToken = requestTokenHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwtToken);
-            } catch (IllegalArgumentException e) {
-                logger.error("Unable to get JWT Token");
-            } catch (ExpiredJwtException e) {
-                logger.error("JWT Token has expired");
+            // A token seen before skips parsing and the user lookup
+            cached = principalCache.get(jwtToken);
+            if (cached != null) {
+                claims = cached.getClaims();
+            } else {
+                try {
+                    // Verified once here; the checks below reuse these claims
+                    claims = jwtUtil.parseClaims(jwtToken);
+                } catch (IllegalArgumentException e) {
+                    logger.error("Unable to get JWT Token");
+                } catch (ExpiredJwtException e) {
+                    logger.error("JWT Token has expired");
+                }
             }
         } else {
             logger.warn("JWT Token does not begin with Bearer String");
         }
         
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            
-            if (jwtUtil.validateToken(jwtToken, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken =
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null
+                && !tokenRevocationService.isRevoked(claims)) {
+            UserDetails userDetails = cached != null ? cached.getPrincipal() : resolvePrincipal(jwtToken, claims);
+            if (userDetails != null) {
+                authenticate(userDetails, request);
             }
         }
         chain.doFilter(request, response);
     }
+    
+    /**
+     * In stateless mode the principal is built from the token's claims; otherwise, and for tokens
+     * issued without those claims, the user is loaded. Either way the result is cached.
+     * @return null if the token does not authenticate the user
+     */
+    private UserDetails resolvePrincipal(String jwtToken, Claims claims) {
+        long cacheVersion = principalCache.version();
+        UserDetails userDetails = statelessTokens ? UserDetailsServiceImpl.UserPrincipal.fromClaims(claims) : null;
+        if (userDetails != null) {
+            if (!userDetails.isEnabled()) {
+                return null;
+            }
+        } else {
+            userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+            if (!jwtUtil.validateToken(claims, userDetails)) {
+                return null;
+            }
+        }
+        principalCache.put(jwtToken, userDetails, claims, cacheVersion);
+        return userDetails;
+    }
+    
+    private void authenticate(UserDetails userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken =
+            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
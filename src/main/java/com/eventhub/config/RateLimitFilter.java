@@ -0,0 +1,160 @@
+package com.eventhub.config;
+
+import com.eventhub.util.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token buckets for the routes listed in {@code security.rate-limit.rules}.
+ *
+ * Each rule reads {@code METHOD /ant/pattern=capacity/seconds}: a client may make
+ * {@code capacity} calls in a burst, refilled evenly over {@code seconds}. A request is counted
+ * against its remote address and, once the JWT filter has authenticated it, against the user
+ * too, so neither many accounts behind one address nor one account spread over many addresses
+ * gets past the limit. The first matching rule applies; other routes are not limited.
+ *
+ * The remote address is the real client's only behind a proxy listed in Tomcat's trusted
+ * internal proxies ({@code server.forward-headers-strategy=native}); a proxy on a public
+ * address must be added with {@code server.tomcat.remoteip.internal-proxies}, or every client
+ * behind it shares one bucket.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Value("${security.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.rate-limit.rules:POST /api/auth/login=10/60,GET /api/auth/check-email=30/60,POST /api/bookings=20/60}")
+    private String[] ruleSpecs;
+
+    private final RateLimiter rateLimiter = new RateLimiter();
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < ruleSpecs.length; i++) {
+            rules.add(Rule.parse(i, ruleSpecs[i].trim()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        return !enabled || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        Rule rule = match(request);
+        if (rule == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(rule.id + "|ip:" + request.getRemoteAddr(), rule.capacity, rule.periodNanos);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (waitNanos == 0 && authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            waitNanos = rateLimiter.tryAcquire(rule.id + "|user:" + authentication.getName(), rule.capacity, rule.periodNanos);
+        }
+
+        if (waitNanos > 0) {
+            reject(request, response, waitNanos);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Full buckets hold no state worth keeping, so idle clients cost nothing between sweeps
+     */
+    @Scheduled(fixedDelayString = "${security.rate-limit.sweep-ms:60000}")
+    public void evictIdleBuckets() {
+        rateLimiter.evictIdle();
+    }
+
+    private Rule match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Rule rule : rules) {
+            if (rule.method.equalsIgnoreCase(request.getMethod()) && pathMatcher.match(rule.pattern, path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+
+        response.setContentType("application/json;charset=UTF-8");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("status", "error");
+        responseBody.put("message", "Too many requests, please try again in " + retryAfterSeconds + " seconds");
+        responseBody.put("timestamp", System.currentTimeMillis());
+        responseBody.put("path", request.getRequestURI());
+
+        objectMapper.writeValue(response.getOutputStream(), responseBody);
+    }
+
+    private static class Rule {
+        private final int id;
+        private final String method;
+        private final String pattern;
+        private final int capacity;
+        private final long periodNanos;
+
+        Rule(int id, String method, String pattern, int capacity, long periodNanos) {
+            this.id = id;
+            this.method = method;
+            this.pattern = pattern;
+            this.capacity = capacity;
+            this.periodNanos = periodNanos;
+        }
+
+        static Rule parse(int id, String spec) {
+            try {
+                String[] routeAndLimit = spec.split("=");
+                String[] route = routeAndLimit[0].trim().split("\\s+");
+                String[] limit = routeAndLimit[1].trim().split("/");
+                int capacity = Integer.parseInt(limit[0].trim());
+                long seconds = Long.parseLong(limit[1].trim());
+                if (route.length != 2 || capacity <= 0 || seconds <= 0) {
+                    throw new IllegalArgumentException();
+                }
+                return new Rule(id, route[0], route[1], capacity, TimeUnit.SECONDS.toNanos(seconds));
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Invalid rate limit rule '" + spec
+                    + "', expected METHOD /path=capacity/seconds", e);
+            }
+        }
+    }
+}
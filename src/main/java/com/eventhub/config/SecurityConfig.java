@@ -1,7 +1,9 @@
 package com.eventhub.config;
 
 import com.eventhub.service.impl.UserDetailsServiceImpl;
+import com.eventhub.util.BoundedPasswordEncoder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -31,12 +33,32 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+    
     @Autowired
     private CorsConfigurationSource corsConfigurationSource; // Add this line
     
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+    
+    // 0 means half the available processors
+    @Value("${security.password.hashing-threads:0}")
+    private int hashingThreads;
+    
+    @Value("${security.password.max-queued:64}")
+    private int maxQueuedHashes;
+    
+    @Value("${security.password.max-wait-ms:3000}")
+    private long maxHashWaitMs;
+    
+    /**
+     * BCrypt on its own bounded pool; stored hashes with a lower cost are upgraded on the next login
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), threads, maxQueuedHashes, maxHashWaitMs);
     }
     
     @Bean
@@ -44,6 +66,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
     
@@ -65,6 +88,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/events/public/**").permitAll()
                 .requestMatchers("/api/events").permitAll()
                 .requestMatchers("/api/events/{id}").permitAll()
+                .requestMatchers("/api/events/{id}/seats").permitAll()
+                .requestMatchers("/api/events/{id}/seats/snapshot").permitAll()
                 .requestMatchers("/api/events/search").permitAll()
                 .requestMatchers("/api/events/category/{category}").permitAll()
                 .requestMatchers("/api/reviews/event/{eventId}").permitAll()
@@ -81,6 +106,7 @@ public class SecurityConfig {
                 
                 // Admin only endpoints
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/api/checkin/**").hasRole("ADMIN")
                 .requestMatchers("/api/events/create").hasRole("ADMIN")
                 .requestMatchers("/api/events/update/**").hasRole("ADMIN")
                 .requestMatchers("/api/events/delete/**").hasRole("ADMIN")
@@ -90,6 +116,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/payments/**").hasAnyRole("USER", "ADMIN")
                 .requestMatchers("/api/users/profile").hasAnyRole("USER", "ADMIN")
                 .requestMatchers("/api/reviews/**").hasAnyRole("USER", "ADMIN")
+                .requestMatchers("/api/waitlist/**").hasAnyRole("USER", "ADMIN")
                 
                 // All other requests need authentication
                 .anyRequest().authenticated()
@@ -97,6 +124,8 @@ public class SecurityConfig {
         
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // After the JWT filter so authenticated requests are also limited per user
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
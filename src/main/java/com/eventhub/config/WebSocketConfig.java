@@ -1,6 +1,7 @@
 // src/main/java/com/eventhub/config/WebSocketConfig.java
 package com.eventhub.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
@@ -11,10 +12,45 @@ import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // Relay to an external STOMP broker so every node sees every broadcast
+    @Value("${spring.websocket.stomp.broker.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${spring.websocket.stomp.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${spring.websocket.stomp.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${spring.websocket.stomp.broker.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${spring.websocket.stomp.broker.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    @Value("${spring.websocket.stomp.broker.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${spring.websocket.stomp.broker.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    @Value("${spring.websocket.stomp.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    // Start with the node-local broker when the relay cannot be reached. Single-node development
+    // only: the check runs once at startup, so such a node never joins the relay and its clients
+    // miss every broadcast from other nodes. Off, the relay keeps reconnecting until the broker is up.
+    @Value("${spring.websocket.stomp.broker.relay.fallback-to-simple:false}")
+    private boolean relayFallbackToSimple;
+
     @Bean
     public TaskScheduler customMessageBrokerTaskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
@@ -26,16 +62,41 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable a simple in-memory message broker with heartbeat
-        config.enableSimpleBroker("/topic", "/queue", "/user")
-               .setHeartbeatValue(new long[]{25000, 25000})
-               .setTaskScheduler(customMessageBrokerTaskScheduler());
+        if (relayEnabled && (relayReachable() || !relayFallbackToSimple)) {
+            // User sessions are shared between nodes through the broker, so convertAndSendToUser
+            // reaches a user connected to any node
+            config.enableStompBrokerRelay("/topic", "/queue")
+                   .setRelayHost(relayHost)
+                   .setRelayPort(relayPort)
+                   .setClientLogin(relayClientLogin)
+                   .setClientPasscode(relayClientPasscode)
+                   .setSystemLogin(relaySystemLogin)
+                   .setSystemPasscode(relaySystemPasscode)
+                   .setVirtualHost(relayVirtualHost.isBlank() ? null : relayVirtualHost)
+                   .setSystemHeartbeatSendInterval(25000)
+                   .setSystemHeartbeatReceiveInterval(25000)
+                   .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                   .setUserRegistryBroadcast("/topic/simp-user-registry");
+            System.out.println("📡 WebSocket: relaying to STOMP broker at " + relayHost + ":" + relayPort);
+        } else {
+            if (relayEnabled) {
+                System.err.println("⚠️ WebSocket: STOMP broker at " + relayHost + ":" + relayPort
+                    + " is unreachable, falling back to the node-local broker");
+            }
+            // Enable a simple in-memory message broker with heartbeat
+            config.enableSimpleBroker("/topic", "/queue", "/user")
+                   .setHeartbeatValue(new long[]{25000, 25000})
+                   .setTaskScheduler(customMessageBrokerTaskScheduler());
+        }
         
         // Set application destination prefix
         config.setApplicationDestinationPrefixes("/app");
         
         // Set user destination prefix for user-specific messages
         config.setUserDestinationPrefix("/user");
+        
+        // Deliver messages to each session in the order they were sent, so seat updates arrive in version order
+        config.setPreservePublishOrder(true);
     }
 
     @Override
@@ -63,4 +124,13 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                    .setSendTimeLimit(20000)
                    .setTimeToFirstMessage(30000);
     }
+
+    private boolean relayReachable() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(relayHost, relayPort), 2000);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
 }
\ No newline at end of file
@@ -1,20 +1,34 @@
 package com.eventhub.controller;
 
+import com.eventhub.config.AsyncConfig;
+import com.eventhub.dto.RefundJobDTO;
+import com.eventhub.dto.SeatLayoutDTO;
+import com.eventhub.dto.SeatLayoutRequest;
 import com.eventhub.service.BookingService;
 import com.eventhub.service.EventService;
+import com.eventhub.service.LedgerService;
 import com.eventhub.service.PaymentService;
+import com.eventhub.service.ReconciliationService;
+import com.eventhub.service.RefundJobService;
+import com.eventhub.service.SeatMapService;
+import com.eventhub.service.TicketExportService;
 import com.eventhub.service.UserService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -35,6 +49,21 @@ public class AdminController {
     @Autowired
     private PaymentService paymentService;
     
+    @Autowired
+    private TicketExportService ticketExportService;
+    
+    @Autowired
+    private SeatMapService seatMapService;
+    
+    @Autowired
+    private ReconciliationService reconciliationService;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @Autowired
+    private RefundJobService refundJobService;
+    
     @GetMapping("/dashboard")
     public ResponseEntity<?> getDashboard() {
         try {
@@ -97,7 +126,10 @@ public class AdminController {
             Map<String, Object> revenueAnalytics = new HashMap<>();
             revenueAnalytics.put("totalRevenue", bookingService.getBookingStatistics().getTotalRevenue());
             revenueAnalytics.put("totalServiceFees", bookingService.getBookingStatistics().getTotalServiceFees());
-            revenueAnalytics.put("periodRevenue", "0.00"); // Would need date-range specific query
+            LedgerService.RevenueTotals periodRevenue = ledgerService.getRevenueTotals(startDate, endDate);
+            revenueAnalytics.put("periodRevenue", periodRevenue.getTotalRevenue());
+            revenueAnalytics.put("periodServiceFees", periodRevenue.getServiceFees());
+            revenueAnalytics.put("periodRevenueByMethod", periodRevenue.getRevenueByMethod());
             
             // Booking analytics
             Map<String, Object> bookingAnalytics = new HashMap<>();
@@ -179,6 +211,7 @@ public class AdminController {
             revenueReport.put("averageBookingValue", calculateAverageBookingValue(bookingStats));
             revenueReport.put("totalBookings", bookingStats.getTotalBookings());
             revenueReport.put("confirmedBookings", bookingStats.getConfirmedBookings());
+            revenueReport.put("periodRevenue", ledgerService.getRevenueTotals(startDate, endDate));
             revenueReport.put("dateRange", Map.of("startDate", startDate, "endDate", endDate));
             
             Map<String, Object> response = new HashMap<>();
@@ -306,6 +339,130 @@ public class AdminController {
         }
     }
     
+    @GetMapping("/events/{eventId}/tickets/export")
+    public ResponseEntity<?> exportEventTickets(@PathVariable Long eventId) {
+        try {
+            ticketExportService.validateExport(eventId);
+            
+            AsyncConfig.useExportTimeout();
+            StreamingResponseBody body = outputStream -> ticketExportService.exportEventTickets(eventId, outputStream);
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType("application/zip"));
+            headers.setContentDispositionFormData("attachment", "event-" + eventId + "-tickets.zip");
+            
+            return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+    
+    @PutMapping("/events/{eventId}/seat-layout")
+    public ResponseEntity<?> defineSeatLayout(@PathVariable Long eventId,
+                                              @Valid @RequestBody SeatLayoutRequest seatLayoutRequest) {
+        try {
+            SeatLayoutDTO layout = seatMapService.defineLayout(eventId, seatLayoutRequest);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Seat layout saved successfully");
+            response.put("data", layout);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
+    @PostMapping("/payments/reconciliation")
+    public ResponseEntity<?> reconcilePayments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            ReconciliationService.ReconciliationResult result = reconciliationService.reconcile(date);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Reconciliation completed");
+            response.put("data", result);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
+    @PostMapping("/events/{eventId}/refunds")
+    public ResponseEntity<?> refundEvent(@PathVariable Long eventId) {
+        try {
+            RefundJobDTO job = refundJobService.startEventRefund(eventId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Refund job started");
+            response.put("data", job);
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
+    @GetMapping("/events/{eventId}/refunds")
+    public ResponseEntity<?> getEventRefundJobs(@PathVariable Long eventId) {
+        try {
+            List<RefundJobDTO> jobs = refundJobService.getJobsForEvent(eventId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("data", jobs);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    @GetMapping("/refund-jobs/{jobId}")
+    public ResponseEntity<?> getRefundJob(@PathVariable Long jobId) {
+        try {
+            RefundJobDTO job = refundJobService.getJob(jobId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("data", job);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+    
     // Helper methods for calculations
     private double calculateConversionRate(BookingService.BookingStatistics stats) {
         if (stats.getTotalBookings() == 0) return 0.0;
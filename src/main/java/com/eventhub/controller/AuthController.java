@@ -4,8 +4,10 @@ import com.eventhub.dto.LoginRequest;
 import com.eventhub.dto.RegisterRequest;
 import com.eventhub.dto.UserDTO;
 import com.eventhub.service.AuthService;
+import com.eventhub.util.BoundedPasswordEncoder;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -33,6 +35,8 @@ public class AuthController {
             response.put("type", "Bearer");
             
             return ResponseEntity.ok(response);
+        } catch (BoundedPasswordEncoder.PasswordHashingBusyException e) {
+            return passwordHashingBusy(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("status", "error");
@@ -53,6 +57,8 @@ public class AuthController {
             response.put("user", userDTO);
             
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (BoundedPasswordEncoder.PasswordHashingBusyException e) {
+            return passwordHashingBusy(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("status", "error");
@@ -73,6 +79,8 @@ public class AuthController {
             response.put("user", userDTO);
             
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (BoundedPasswordEncoder.PasswordHashingBusyException e) {
+            return passwordHashingBusy(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("status", "error");
@@ -107,6 +115,28 @@ public class AuthController {
         }
     }
     
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        try {
+            if (authorization == null || !authorization.startsWith("Bearer ")) {
+                throw new RuntimeException("Missing Bearer token");
+            }
+            authService.logout(authorization.substring(7));
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Logged out successfully");
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
     @GetMapping("/check-email")
     public ResponseEntity<?> checkEmailAvailability(@RequestParam String email) {
         try {
@@ -126,4 +156,14 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
-}
\ No newline at end of file
+    
+    private ResponseEntity<?> passwordHashingBusy(BoundedPasswordEncoder.PasswordHashingBusyException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("status", "error");
+        errorResponse.put("message", e.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(errorResponse);
+    }
+}
@@ -1,5 +1,6 @@
 package com.eventhub.controller;
 
+import com.eventhub.config.AsyncConfig;
 import com.eventhub.dto.BookingDTO;
 import com.eventhub.dto.CreateBookingRequest;
 import com.eventhub.model.entity.Booking;
@@ -17,6 +18,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -199,6 +201,30 @@ public class BookingController {
         }
     }
     
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> exportAllBookings(@RequestParam(defaultValue = "ndjson") String format) {
+        try {
+            RecordStreamWriter.Format exportFormat = RecordStreamWriter.Format.from(format);
+            AsyncConfig.useExportTimeout();
+            StreamingResponseBody body = outputStream -> bookingService.exportAllBookings(exportFormat, outputStream);
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType(exportFormat.getContentType()));
+            headers.setContentDispositionFormData("attachment", "bookings." + exportFormat.getExtension());
+            
+            return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getBookingsByStatus(@PathVariable Booking.BookingStatus status) {
@@ -220,6 +246,31 @@ public class BookingController {
         }
     }
     
+    @GetMapping("/status/{status}/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> exportBookingsByStatus(@PathVariable Booking.BookingStatus status,
+                                                    @RequestParam(defaultValue = "ndjson") String format) {
+        try {
+            RecordStreamWriter.Format exportFormat = RecordStreamWriter.Format.from(format);
+            AsyncConfig.useExportTimeout();
+            StreamingResponseBody body = outputStream -> bookingService.exportBookingsByStatus(status, exportFormat, outputStream);
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType(exportFormat.getContentType()));
+            headers.setContentDispositionFormData("attachment", "bookings-" + status.name().toLowerCase() + "." + exportFormat.getExtension());
+            
+            return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
     @GetMapping("/date-range")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getBookingsByDateRange(
@@ -310,16 +361,53 @@ public class BookingController {
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<?> generateTicketPdf(@PathVariable Long id) {
         try {
-            byte[] pdfBytes = bookingService.generateTicketPdf(id);
+            // Validate up front so errors still get a JSON response before streaming starts
+            bookingService.validateTicketAvailable(id);
             
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "ticket-" + id + ".pdf");
-            headers.setContentLength(pdfBytes.length);
+            StreamingResponseBody body = outputStream -> bookingService.writeTicketPdf(id, outputStream);
             
             return ResponseEntity.ok()
-                .headers(headers)
-                .body(pdfBytes);
+                .headers(pdfHeaders("ticket-" + id + ".pdf"))
+                .body(body);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    @GetMapping("/{id}/tickets/pdf")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<?> generateBookingTicketsPdf(@PathVariable Long id) {
+        try {
+            bookingService.validateTicketAvailable(id);
+            
+            StreamingResponseBody body = outputStream -> bookingService.writeBookingTicketsPdf(id, outputStream);
+            
+            return ResponseEntity.ok()
+                .headers(pdfHeaders("tickets-" + id + ".pdf"))
+                .body(body);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    @GetMapping("/event/{eventId}/tickets/pdf")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> generateEventTicketsPdf(@PathVariable Long eventId) {
+        try {
+            AsyncConfig.useExportTimeout();
+            StreamingResponseBody body = outputStream -> bookingService.writeEventTicketsPdf(eventId, outputStream);
+            
+            return ResponseEntity.ok()
+                .headers(pdfHeaders("event-" + eventId + "-tickets.pdf"))
+                .body(body);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("status", "error");
@@ -393,4 +481,11 @@ public class BookingController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
+    
+    private HttpHeaders pdfHeaders(String filename) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment", filename);
+        return headers;
+    }
 }
\ No newline at end of file
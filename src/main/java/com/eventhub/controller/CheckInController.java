@@ -0,0 +1,131 @@
+package com.eventhub.controller;
+
+import com.eventhub.dto.CheckInResult;
+import com.eventhub.dto.CheckInScanRequest;
+import com.eventhub.dto.TicketVerifyRequest;
+import com.eventhub.service.CheckInService;
+import com.eventhub.util.TicketTokenCodec;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/checkin")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('ADMIN')")
+public class CheckInController {
+    
+    @Autowired
+    private CheckInService checkInService;
+    
+    @PostMapping("/events/{eventId}/load")
+    public ResponseEntity<?> loadEvent(@PathVariable Long eventId) {
+        try {
+            CheckInService.CheckInStatistics statistics = checkInService.loadEvent(eventId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Check-in set loaded successfully");
+            response.put("data", statistics);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
+    @DeleteMapping("/events/{eventId}")
+    public ResponseEntity<?> unloadEvent(@PathVariable Long eventId) {
+        try {
+            checkInService.unloadEvent(eventId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Check-in set unloaded successfully");
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    @PostMapping("/events/{eventId}/scan")
+    public ResponseEntity<?> scan(@PathVariable Long eventId, @Valid @RequestBody CheckInScanRequest scanRequest) {
+        try {
+            List<CheckInResult> results = checkInService.scan(eventId, scanRequest.getTicketIds(), scanRequest.getGate());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("data", results);
+            response.put("count", results.size());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Verify a ticket QR token offline; only the signing key is needed, so this keeps
+     * answering while the database is slow or unreachable. Does not admit the ticket.
+     */
+    @PostMapping("/verify")
+    public ResponseEntity<?> verifyToken(@Valid @RequestBody TicketVerifyRequest verifyRequest) {
+        try {
+            TicketTokenCodec.VerifiedTicket ticket = checkInService.verifyToken(verifyRequest.getToken());
+            boolean valid = ticket.getStatus() == TicketTokenCodec.Status.VALID
+                && (verifyRequest.getEventId() == null || verifyRequest.getEventId() == ticket.getEventId());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("valid", valid);
+            response.put("data", ticket);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
+    @GetMapping("/events/{eventId}/statistics")
+    public ResponseEntity<?> getStatistics(@PathVariable Long eventId) {
+        try {
+            CheckInService.CheckInStatistics statistics = checkInService.getStatistics(eventId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("data", statistics);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+}
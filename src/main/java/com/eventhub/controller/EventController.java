@@ -2,8 +2,11 @@
 package com.eventhub.controller;
 
 import com.eventhub.dto.EventDTO;
+import com.eventhub.dto.EventNotification;
+import com.eventhub.dto.SeatLayoutDTO;
 import com.eventhub.model.entity.Event;
 import com.eventhub.service.EventService;
+import com.eventhub.service.SeatMapService;
 import com.eventhub.service.WebSocketService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,9 +16,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -35,6 +40,9 @@ public class EventController {
     @Autowired
     private WebSocketService webSocketService;
     
+    @Autowired
+    private SeatMapService seatMapService;
+    
     @GetMapping
     public ResponseEntity<?> getAllEvents(
             @RequestParam(defaultValue = "0") int page,
@@ -105,6 +113,50 @@ public class EventController {
         }
     }
     
+    @GetMapping("/{id}/seats")
+    public ResponseEntity<?> getSeatLayout(@PathVariable Long id) {
+        try {
+            SeatLayoutDTO layout = seatMapService.getLayout(id);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("data", layout);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Binary seat occupancy (one bit per seat, rows in the order of GET /{id}/seats);
+     * under 9 KB for a 50,000 seat stadium.
+     */
+    @GetMapping("/{id}/seats/snapshot")
+    public ResponseEntity<?> getSeatSnapshot(@PathVariable Long id) {
+        try {
+            // Resolves the layout up front so a missing one is reported as JSON
+            seatMapService.getLayout(id);
+            
+            StreamingResponseBody body = outputStream -> seatMapService.writeSnapshot(id, outputStream);
+            
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header("Cache-Control", "no-cache")
+                .body(body);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+    
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> createEvent(@Valid @RequestBody EventDTO eventDTO) {
@@ -209,16 +261,8 @@ public class EventController {
             
             // 🚀 SEND DELETION NOTIFICATION
             try {
-                Map<String, Object> deletionNotification = new HashMap<>();
-                deletionNotification.put("type", "EVENT_DELETED");
-                deletionNotification.put("eventId", id);
-                deletionNotification.put("eventTitle", eventToDelete.getTitle());
-                deletionNotification.put("message", "Event '" + eventToDelete.getTitle() + "' has been deleted");
-                deletionNotification.put("timestamp", LocalDateTime.now());
-                deletionNotification.put("source", "EventController");
-                
-                webSocketService.sendDashboardUpdate(deletionNotification);
-                webSocketService.sendGlobalEventNotification(deletionNotification);
+                webSocketService.sendGlobalAndDashboardUpdate(
+                    EventNotification.eventDeleted(id, eventToDelete.getTitle(), "EventController"));
                 
                 System.out.println("✅ EventController: Sent deletion notification");
                 
@@ -1,17 +1,22 @@
 package com.eventhub.controller;
 
+import com.eventhub.config.AsyncConfig;
 import com.eventhub.dto.PaymentRequest;
 import com.eventhub.dto.PaymentResponse;
 import com.eventhub.dto.RefundRequest;
 import com.eventhub.model.entity.Payment;
 import com.eventhub.service.PaymentService;
+import com.eventhub.util.RecordStreamWriter;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -31,13 +36,15 @@ public class PaymentController {
     public ResponseEntity<?> processPayment(@Valid @RequestBody PaymentRequest paymentRequest) {
         try {
             PaymentResponse paymentResponse = paymentService.processPayment(paymentRequest);
+            boolean accepted = paymentResponse.getStatus() == Payment.PaymentStatus.PENDING;
             
             Map<String, Object> response = new HashMap<>();
             response.put("status", "success");
-            response.put("message", "Payment processed successfully");
+            response.put("message", accepted ? "Payment accepted for processing" : "Payment processed successfully");
             response.put("data", paymentResponse);
             
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            // The final outcome of an accepted payment arrives on /user/queue/payments
+            return ResponseEntity.status(accepted ? HttpStatus.ACCEPTED : HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("status", "error");
@@ -129,6 +136,30 @@ public class PaymentController {
         }
     }
     
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> exportAllPayments(@RequestParam(defaultValue = "ndjson") String format) {
+        try {
+            RecordStreamWriter.Format exportFormat = RecordStreamWriter.Format.from(format);
+            AsyncConfig.useExportTimeout();
+            StreamingResponseBody body = outputStream -> paymentService.exportAllPayments(exportFormat, outputStream);
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType(exportFormat.getContentType()));
+            headers.setContentDispositionFormData("attachment", "payments." + exportFormat.getExtension());
+            
+            return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getPaymentsByStatus(@PathVariable Payment.PaymentStatus status) {
@@ -194,6 +225,33 @@ public class PaymentController {
         }
     }
     
+    @GetMapping("/date-range/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> exportPaymentsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        try {
+            RecordStreamWriter.Format exportFormat = RecordStreamWriter.Format.from(format);
+            AsyncConfig.useExportTimeout();
+            StreamingResponseBody body = outputStream -> paymentService.exportPaymentsByDateRange(startDate, endDate, exportFormat, outputStream);
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType(exportFormat.getContentType()));
+            headers.setContentDispositionFormData("attachment", "payments." + exportFormat.getExtension());
+            
+            return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
     @PostMapping("/refund")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> processRefund(@Valid @RequestBody RefundRequest refundRequest) {
@@ -0,0 +1,84 @@
+package com.eventhub.controller;
+
+import com.eventhub.dto.JoinWaitlistRequest;
+import com.eventhub.dto.WaitlistEntryDTO;
+import com.eventhub.service.WaitlistService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+public class WaitlistController {
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @PostMapping
+    public ResponseEntity<?> joinWaitlist(@Valid @RequestBody JoinWaitlistRequest joinWaitlistRequest) {
+        try {
+            WaitlistEntryDTO entry = waitlistService.joinWaitlist(joinWaitlistRequest);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Joined the waitlist successfully");
+            response.put("data", entry);
+            
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
+    @GetMapping("/my")
+    public ResponseEntity<?> getMyEntries() {
+        try {
+            List<WaitlistEntryDTO> entries = waitlistService.getCurrentUserEntries();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("data", entries);
+            response.put("count", entries.size());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable Long id) {
+        try {
+            waitlistService.leaveWaitlist(id);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Left the waitlist successfully");
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.eventhub.controller;
 
+import com.eventhub.dto.SeatSnapshot;
 import com.eventhub.service.WebSocketService;
+import com.eventhub.util.SeatUpdateCoalescer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
@@ -19,6 +22,9 @@ public class WebSocketController {
     @Autowired
     private WebSocketService webSocketService;
     
+    @Autowired
+    private SeatUpdateCoalescer seatUpdateCoalescer;
+    
     /**
      * Handle client subscription to specific event updates
      */
@@ -48,18 +54,15 @@ public class WebSocketController {
     }
     
     /**
-     * Handle client subscription to seat availability updates
+     * Send the requesting session a seat snapshot on /user/queue/seats. Clients subscribe to
+     * /topic/seats/{eventId} first, then ask for a snapshot on start. Every message carries the
+     * absolute available seats and the seat version; apply it only if its version is higher than
+     * the last one applied (snapshot included).
      */
     @MessageMapping("/seats/subscribe/{eventId}")
-    @SendTo("/topic/seats/{eventId}")
-    public Map<String, Object> subscribeToSeatUpdates(@DestinationVariable String eventId, Principal principal) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("type", "SEAT_SUBSCRIPTION_CONFIRMED");
-        response.put("message", "Subscribed to seat availability updates");
-        response.put("eventId", eventId);
-        response.put("user", principal != null ? principal.getName() : "anonymous");
-        response.put("timestamp", LocalDateTime.now());
-        return response;
+    @SendToUser(destinations = "/queue/seats", broadcast = false)
+    public SeatSnapshot subscribeToSeatUpdates(@DestinationVariable Long eventId) {
+        return seatUpdateCoalescer.snapshot(eventId);
     }
     
     /**
@@ -36,6 +36,11 @@ public class BookingDTO {
     private String userName;
     private String userEmail;
     
+    // Reserved seating, if the event has a seat layout
+    private String seatSection;
+    private String seatRow;
+    private String seatNumbers;
+    
     // Payment details
     private String transactionId;
     private Payment.PaymentMethod paymentMethod;
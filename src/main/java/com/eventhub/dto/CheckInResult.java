@@ -0,0 +1,19 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInResult {
+    private String ticketId;
+    private Status status;
+    private Integer admissionNumber;
+    private Integer admissions;
+    
+    public enum Status {
+        ADMITTED, ALREADY_USED, CANCELLED, UNKNOWN, INVALID_TOKEN, EXPIRED, WRONG_EVENT
+    }
+}
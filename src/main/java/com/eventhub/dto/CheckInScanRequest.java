@@ -0,0 +1,20 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInScanRequest {
+    @NotEmpty(message = "At least one ticket is required")
+    @Size(max = 1000, message = "At most 1000 tickets can be scanned per request")
+    private List<String> ticketIds;
+    
+    @Size(max = 50, message = "Gate must not exceed 50 characters")
+    private String gate;
+}
@@ -13,6 +13,10 @@ public class CreateBookingRequest {
     @Min(value = 1, message = "At least 1 ticket must be booked")
     private Integer numberOfTickets;
     
+    // Preferred section for events with reserved seating
+    @Size(max = 50, message = "Section must not exceed 50 characters")
+    private String seatSection;
+    
     @NotNull(message = "Payment method is required")
     private Payment.PaymentMethod paymentMethod;
     
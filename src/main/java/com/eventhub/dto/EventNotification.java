@@ -0,0 +1,56 @@
+package com.eventhub.dto;
+
+import com.eventhub.model.entity.Event;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Notification broadcast on the global events topic and the admin dashboard. Fields that do not
+ * apply to a type are left null and omitted from the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EventNotification(String type, Long eventId, String eventTitle, Event.Category eventCategory,
+                                LocalDate eventDate, BigDecimal eventPrice, Integer availableSeats,
+                                Integer totalSeats, Boolean isActive, EventDTO event,
+                                List<EventNotification> updates, String message, String source,
+                                LocalDateTime timestamp) {
+    
+    public static EventNotification seatUpdate(Long eventId, String eventTitle, int availableSeats, int totalSeats,
+                                               LocalDateTime timestamp) {
+        return new EventNotification("SEAT_UPDATE", eventId, eventTitle, null, null, null, availableSeats, totalSeats,
+            null, null, null, "Seats updated for '" + eventTitle + "' - " + availableSeats + " seats remaining",
+            null, timestamp);
+    }
+    
+    public static EventNotification seatUpdateBatch(List<EventNotification> updates, LocalDateTime timestamp) {
+        return new EventNotification("SEAT_UPDATE_BATCH", null, null, null, null, null, null, null, null, null,
+            updates, "Seats updated for " + updates.size() + " events", null, timestamp);
+    }
+    
+    public static EventNotification eventCreated(EventDTO event) {
+        return new EventNotification("NEW_EVENT", event.getId(), event.getTitle(), event.getCategory(),
+            event.getDate(), event.getPrice(), event.getAvailableSeats(), event.getTotalSeats(), null, event, null,
+            "New event '" + event.getTitle() + "' has been created successfully", null, LocalDateTime.now());
+    }
+    
+    public static EventNotification eventUpdated(EventDTO event) {
+        return new EventNotification("EVENT_UPDATED", event.getId(), event.getTitle(), null, null, null, null, null,
+            null, event, null, "Event '" + event.getTitle() + "' has been updated", null, LocalDateTime.now());
+    }
+    
+    public static EventNotification eventStatusChanged(EventDTO event) {
+        return new EventNotification("EVENT_STATUS_CHANGED", event.getId(), event.getTitle(), null, null, null, null,
+            null, event.getIsActive(), event, null,
+            "Event '" + event.getTitle() + "' is now " + (Boolean.TRUE.equals(event.getIsActive()) ? "active" : "inactive"),
+            null, LocalDateTime.now());
+    }
+    
+    public static EventNotification eventDeleted(Long eventId, String eventTitle, String source) {
+        return new EventNotification("EVENT_DELETED", eventId, eventTitle, null, null, null, null, null, null, null,
+            null, "Event '" + eventTitle + "' has been deleted", source, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,15 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import jakarta.validation.constraints.*;
+
+@Data
+public class JoinWaitlistRequest {
+    @NotNull(message = "Event ID is required")
+    private Long eventId;
+    
+    @NotNull(message = "Number of tickets is required")
+    @Min(value = 1, message = "At least 1 ticket must be requested")
+    @Max(value = 10, message = "At most 10 tickets can be requested from the waitlist")
+    private Integer numberOfTickets;
+}
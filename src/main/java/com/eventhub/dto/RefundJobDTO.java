@@ -0,0 +1,23 @@
+package com.eventhub.dto;
+
+import com.eventhub.model.entity.RefundJob;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefundJobDTO {
+    private Long id;
+    private Long eventId;
+    private RefundJob.JobStatus status;
+    private Integer refundedCount;
+    private Integer failedCount;
+    private BigDecimal refundedAmount;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,29 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatLayoutDTO {
+    private Long eventId;
+    private long totalSeats;
+    private long freeSeats;
+    
+    // Rows in snapshot order; row i of the binary snapshot is rows.get(i)
+    private List<Row> rows;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private String section;
+        private String label;
+        private int seats;
+        private int freeSeats;
+    }
+}
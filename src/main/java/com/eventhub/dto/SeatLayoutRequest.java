@@ -0,0 +1,36 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatLayoutRequest {
+    @NotEmpty(message = "At least one row is required")
+    @Size(max = 5000, message = "At most 5000 rows are supported")
+    private List<@Valid Row> rows;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        @NotBlank(message = "Section is required")
+        @Size(max = 50, message = "Section must not exceed 50 characters")
+        private String section;
+        
+        @NotBlank(message = "Row label is required")
+        @Size(max = 20, message = "Row label must not exceed 20 characters")
+        private String label;
+        
+        @NotNull(message = "Seat count is required")
+        @Min(value = 1, message = "A row needs at least 1 seat")
+        @Max(value = 1000, message = "A row can have at most 1000 seats")
+        private Integer seats;
+    }
+}
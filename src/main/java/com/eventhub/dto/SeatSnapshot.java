@@ -0,0 +1,11 @@
+package com.eventhub.dto;
+
+/**
+ * Seat counts of an event as of seat version seq, sent to a client that asks for them on start
+ */
+public record SeatSnapshot(String type, Long eventId, long seq, int availableSeats, int totalSeats) {
+    
+    public SeatSnapshot(Long eventId, long seq, int availableSeats, int totalSeats) {
+        this("SEAT_SNAPSHOT", eventId, seq, availableSeats, totalSeats);
+    }
+}
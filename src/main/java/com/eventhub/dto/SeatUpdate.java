@@ -0,0 +1,9 @@
+package com.eventhub.dto;
+
+/**
+ * Compact seat update sent on /topic/seats/{eventId}: e = event id, s = the event's seat version,
+ * a = available seats at that version. Each update is complete on its own: versions only grow, a
+ * client ignores s not above the last one it applied, and a skipped version needs no resync.
+ */
+public record SeatUpdate(long e, long s, int a) {
+}
@@ -0,0 +1,17 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import jakarta.validation.constraints.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketVerifyRequest {
+    @NotBlank(message = "Token is required")
+    @Size(max = 256, message = "Token must not exceed 256 characters")
+    private String token;
+    
+    private Long eventId;
+}
@@ -0,0 +1,25 @@
+package com.eventhub.dto;
+
+import com.eventhub.model.entity.WaitlistEntry;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryDTO {
+    private Long id;
+    private Long eventId;
+    private String eventTitle;
+    private Integer numberOfTickets;
+    private WaitlistEntry.WaitlistStatus status;
+    
+    // Place in the queue while WAITING
+    private Long position;
+    
+    private LocalDateTime holdExpiresAt;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.eventhub.event;
+
+import com.eventhub.model.entity.Payment;
+
+/**
+ * Published whenever a payment is created or changes status. Listeners that only care about
+ * committed data should use {@code @TransactionalEventListener}.
+ */
+public class PaymentStatusChangedEvent {
+
+    private final String transactionId;
+    private final Payment.PaymentStatus previousStatus;
+    private final Payment.PaymentStatus newStatus;
+
+    /**
+     * @param previousStatus null for a newly created payment
+     */
+    public PaymentStatusChangedEvent(String transactionId, Payment.PaymentStatus previousStatus,
+                                     Payment.PaymentStatus newStatus) {
+        this.transactionId = transactionId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+    }
+
+    public String getTransactionId() { return transactionId; }
+    public Payment.PaymentStatus getPreviousStatus() { return previousStatus; }
+    public Payment.PaymentStatus getNewStatus() { return newStatus; }
+}
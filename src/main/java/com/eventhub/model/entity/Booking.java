@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@EqualsAndHashCode(exclude = {"payment"})
+@EqualsAndHashCode(exclude = {"payment", "seatRow"})
 @EntityListeners(AuditingEntityListener.class)
 public class Booking {
     @Id
@@ -51,6 +51,13 @@ public class Booking {
     @OneToOne(mappedBy = "booking", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Payment payment;
     
+    // Reserved seating: numberOfTickets adjacent seats starting at firstSeat (zero-based) in seatRow
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "seat_row_id")
+    private EventSeatRow seatRow;
+    
+    private Integer firstSeat;
+    
     @CreatedDate
     private LocalDateTime createdAt;
     
@@ -134,6 +141,22 @@ public class Booking {
         this.payment = payment;
     }
     
+    public EventSeatRow getSeatRow() {
+        return this.seatRow;
+    }
+    
+    public void setSeatRow(EventSeatRow seatRow) {
+        this.seatRow = seatRow;
+    }
+    
+    public Integer getFirstSeat() {
+        return this.firstSeat;
+    }
+    
+    public void setFirstSeat(Integer firstSeat) {
+        this.firstSeat = firstSeat;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return this.createdAt;
     }
@@ -0,0 +1,98 @@
+package com.eventhub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "check_ins",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"booking_id", "admission_number"}),
+       indexes = @Index(name = "idx_check_ins_event", columnList = "event_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckIn {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false)
+    private Booking booking;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+    
+    @Column(nullable = false)
+    private String ticketId;
+    
+    // Which of the booking's admissions this was (1..numberOfTickets)
+    @Column(nullable = false)
+    private Integer admissionNumber;
+    
+    private String gate;
+    
+    @Column(nullable = false)
+    private LocalDateTime checkedInAt;
+    
+    // Explicit getter and setter methods (in case Lombok isn't working properly)
+    public Long getId() {
+        return this.id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Booking getBooking() {
+        return this.booking;
+    }
+    
+    public void setBooking(Booking booking) {
+        this.booking = booking;
+    }
+    
+    public Event getEvent() {
+        return this.event;
+    }
+    
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+    
+    public String getTicketId() {
+        return this.ticketId;
+    }
+    
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+    
+    public Integer getAdmissionNumber() {
+        return this.admissionNumber;
+    }
+    
+    public void setAdmissionNumber(Integer admissionNumber) {
+        this.admissionNumber = admissionNumber;
+    }
+    
+    public String getGate() {
+        return this.gate;
+    }
+    
+    public void setGate(String gate) {
+        this.gate = gate;
+    }
+    
+    public LocalDateTime getCheckedInAt() {
+        return this.checkedInAt;
+    }
+    
+    public void setCheckedInAt(LocalDateTime checkedInAt) {
+        this.checkedInAt = checkedInAt;
+    }
+}
@@ -0,0 +1,150 @@
+package com.eventhub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A gate check-in that could not be recorded in check_ins. Either another instance had already
+ * recorded the same admission of the booking, so two people got in on it, or the row kept
+ * failing and was set aside after {@code checkin.flush-max-attempts} tries. Ids are plain
+ * columns so a failure outlives its booking.
+ */
+@Entity
+@Table(name = "check_in_failures",
+       indexes = @Index(name = "idx_check_in_failures_event_reason", columnList = "event_id, reason"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInFailure {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+    
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    @Column(nullable = false)
+    private String ticketId;
+    
+    @Column(nullable = false)
+    private Integer admissionNumber;
+    
+    private String gate;
+    
+    @Column(nullable = false)
+    private LocalDateTime checkedInAt;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Reason reason;
+    
+    // Last database error, for WRITE_FAILED rows
+    @Column(length = 1000)
+    private String error;
+    
+    @Column(nullable = false)
+    private Integer attempts;
+    
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+    
+    public enum Reason {
+        DUPLICATE_ADMISSION, WRITE_FAILED
+    }
+    
+    // Explicit getter and setter methods (in case Lombok isn't working properly)
+    public Long getId() {
+        return this.id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getBookingId() {
+        return this.bookingId;
+    }
+    
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+    
+    public Long getEventId() {
+        return this.eventId;
+    }
+    
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+    
+    public String getTicketId() {
+        return this.ticketId;
+    }
+    
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+    
+    public Integer getAdmissionNumber() {
+        return this.admissionNumber;
+    }
+    
+    public void setAdmissionNumber(Integer admissionNumber) {
+        this.admissionNumber = admissionNumber;
+    }
+    
+    public String getGate() {
+        return this.gate;
+    }
+    
+    public void setGate(String gate) {
+        this.gate = gate;
+    }
+    
+    public LocalDateTime getCheckedInAt() {
+        return this.checkedInAt;
+    }
+    
+    public void setCheckedInAt(LocalDateTime checkedInAt) {
+        this.checkedInAt = checkedInAt;
+    }
+    
+    public Reason getReason() {
+        return this.reason;
+    }
+    
+    public void setReason(Reason reason) {
+        this.reason = reason;
+    }
+    
+    public String getError() {
+        return this.error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public LocalDateTime getRecordedAt() {
+        return this.recordedAt;
+    }
+    
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
@@ -0,0 +1,117 @@
+package com.eventhub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Debit and credit totals of one ledger account for one day and payment method, kept up to
+ * date in the same transaction as the {@link LedgerEntry} rows they summarise. Each row also
+ * carries the running totals from the first posting up to and including its day, so the balance
+ * as of any date is the latest row on or before it.
+ */
+@Entity
+@Table(name = "ledger_daily_balances",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"balance_date", "payment_method", "account"}),
+       indexes = @Index(name = "idx_ledger_daily_balances_account_date", columnList = "payment_method, account, balance_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyLedgerBalance {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private LocalDate balanceDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Payment.PaymentMethod paymentMethod;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private LedgerEntry.Account account;
+    
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal debitTotal = BigDecimal.ZERO;
+    
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal creditTotal = BigDecimal.ZERO;
+    
+    // Running totals over all days up to and including this one
+    @Column(nullable = false, precision = 16, scale = 2)
+    private BigDecimal cumulativeDebit = BigDecimal.ZERO;
+    
+    @Column(nullable = false, precision = 16, scale = 2)
+    private BigDecimal cumulativeCredit = BigDecimal.ZERO;
+    
+    // Explicit getter and setter methods (in case Lombok isn't working properly)
+    public Long getId() {
+        return this.id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public LocalDate getBalanceDate() {
+        return this.balanceDate;
+    }
+    
+    public void setBalanceDate(LocalDate balanceDate) {
+        this.balanceDate = balanceDate;
+    }
+    
+    public Payment.PaymentMethod getPaymentMethod() {
+        return this.paymentMethod;
+    }
+    
+    public void setPaymentMethod(Payment.PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+    
+    public LedgerEntry.Account getAccount() {
+        return this.account;
+    }
+    
+    public void setAccount(LedgerEntry.Account account) {
+        this.account = account;
+    }
+    
+    public BigDecimal getDebitTotal() {
+        return this.debitTotal;
+    }
+    
+    public void setDebitTotal(BigDecimal debitTotal) {
+        this.debitTotal = debitTotal;
+    }
+    
+    public BigDecimal getCreditTotal() {
+        return this.creditTotal;
+    }
+    
+    public void setCreditTotal(BigDecimal creditTotal) {
+        this.creditTotal = creditTotal;
+    }
+    
+    public BigDecimal getCumulativeDebit() {
+        return this.cumulativeDebit;
+    }
+    
+    public void setCumulativeDebit(BigDecimal cumulativeDebit) {
+        this.cumulativeDebit = cumulativeDebit;
+    }
+    
+    public BigDecimal getCumulativeCredit() {
+        return this.cumulativeCredit;
+    }
+    
+    public void setCumulativeCredit(BigDecimal cumulativeCredit) {
+        this.cumulativeCredit = cumulativeCredit;
+    }
+}
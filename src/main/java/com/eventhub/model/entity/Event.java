@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -23,6 +24,7 @@ import java.util.HashSet;
 @AllArgsConstructor
 @EqualsAndHashCode(exclude = {"bookings", "reviews"})
 @EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
 public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -52,6 +54,10 @@ public class Event {
     @Column(nullable = false)
     private Integer availableSeats;
     
+    // Bumped by every seat count UPDATE (see EventRepository.adjustSeats); orders seat broadcasts
+    @Column(nullable = false)
+    private Long seatVersion = 0L;
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Category category;
@@ -114,6 +120,10 @@ public class Event {
         return this.availableSeats;
     }
     
+    public Long getSeatVersion() {
+        return this.seatVersion;
+    }
+    
     public Category getCategory() {
         return this.category;
     }
@@ -171,6 +181,10 @@ public class Event {
         this.availableSeats = availableSeats;
     }
     
+    public void setSeatVersion(Long seatVersion) {
+        this.seatVersion = seatVersion;
+    }
+    
     public void setCategory(Category category) {
         this.category = category;
     }
@@ -0,0 +1,85 @@
+package com.eventhub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Entity
+@Table(name = "event_seat_rows",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "section", "row_label"}),
+       indexes = @Index(name = "idx_event_seat_rows_event", columnList = "event_id, position"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSeatRow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+    
+    @Column(nullable = false, length = 50)
+    private String section;
+    
+    @Column(name = "row_label", nullable = false, length = 20)
+    private String rowLabel;
+    
+    @Column(nullable = false)
+    private Integer seatCount;
+    
+    // Order of the row in the layout; rows of a section are consecutive
+    @Column(nullable = false)
+    private Integer position;
+    
+    // Explicit getter and setter methods (in case Lombok isn't working properly)
+    public Long getId() {
+        return this.id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Event getEvent() {
+        return this.event;
+    }
+    
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+    
+    public String getSection() {
+        return this.section;
+    }
+    
+    public void setSection(String section) {
+        this.section = section;
+    }
+    
+    public String getRowLabel() {
+        return this.rowLabel;
+    }
+    
+    public void setRowLabel(String rowLabel) {
+        this.rowLabel = rowLabel;
+    }
+    
+    public Integer getSeatCount() {
+        return this.seatCount;
+    }
+    
+    public void setSeatCount(Integer seatCount) {
+        this.seatCount = seatCount;
+    }
+    
+    public Integer getPosition() {
+        return this.position;
+    }
+    
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+}
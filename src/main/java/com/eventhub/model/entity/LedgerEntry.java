@@ -0,0 +1,138 @@
+package com.eventhub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One leg of a double-entry revenue posting. A payment's sale and its refund each post three
+ * legs whose debits and credits balance; rows are only ever inserted, never updated.
+ */
+@Entity
+@Table(name = "ledger_entries",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"transaction_id", "entry_type", "account"}),
+       indexes = @Index(name = "idx_ledger_entries_date", columnList = "entry_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String transactionId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EntryType entryType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Account account;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Payment.PaymentMethod paymentMethod;
+    
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal debit = BigDecimal.ZERO;
+    
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal credit = BigDecimal.ZERO;
+    
+    @Column(nullable = false)
+    private LocalDate entryDate;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    public enum EntryType {
+        SALE, REFUND
+    }
+    
+    /**
+     * GATEWAY_CLEARING is money held by the payment provider; the other two are revenue
+     */
+    public enum Account {
+        GATEWAY_CLEARING, TICKET_REVENUE, SERVICE_FEES
+    }
+    
+    // Explicit getter and setter methods (in case Lombok isn't working properly)
+    public Long getId() {
+        return this.id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTransactionId() {
+        return this.transactionId;
+    }
+    
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+    
+    public EntryType getEntryType() {
+        return this.entryType;
+    }
+    
+    public void setEntryType(EntryType entryType) {
+        this.entryType = entryType;
+    }
+    
+    public Account getAccount() {
+        return this.account;
+    }
+    
+    public void setAccount(Account account) {
+        this.account = account;
+    }
+    
+    public Payment.PaymentMethod getPaymentMethod() {
+        return this.paymentMethod;
+    }
+    
+    public void setPaymentMethod(Payment.PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+    
+    public BigDecimal getDebit() {
+        return this.debit;
+    }
+    
+    public void setDebit(BigDecimal debit) {
+        this.debit = debit;
+    }
+    
+    public BigDecimal getCredit() {
+        return this.credit;
+    }
+    
+    public void setCredit(BigDecimal credit) {
+        this.credit = credit;
+    }
+    
+    public LocalDate getEntryDate() {
+        return this.entryDate;
+    }
+    
+    public void setEntryDate(LocalDate entryDate) {
+        this.entryDate = entryDate;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,169 @@
+package com.eventhub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Gateway work for an accepted payment, written in the same transaction as the payment itself.
+ * Only a non-sensitive description of the payment instrument is stored; card numbers and CVVs
+ * never reach the database.
+ */
+@Entity
+@Table(name = "payment_outbox",
+       indexes = @Index(name = "idx_payment_outbox_due", columnList = "status, next_attempt_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class PaymentOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_id", nullable = false, unique = true)
+    private Payment payment;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+    
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    // e.g. "CARD ****1234 12/27" or the UPI id
+    @Column(length = 100)
+    private String instrument;
+    
+    @Column(length = 500)
+    private String lastError;
+    
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    // Lease held by the worker processing the entry; an expired lease makes the entry due again
+    private LocalDateTime lockedUntil;
+    
+    // Random id of the current lease; only its holder may complete or reschedule the entry
+    @Column(length = 36)
+    private String leaseId;
+    
+    // Set once a call may have reached the gateway without an answer; such a payment is never
+    // failed on attempt count alone, since only a retry with the same transaction id can settle it
+    @Column(nullable = false)
+    private Boolean outcomeUnknown = false;
+    
+    @CreatedDate
+    private LocalDateTime createdAt;
+    
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+    
+    public enum OutboxStatus {
+        PENDING, IN_PROGRESS, COMPLETED
+    }
+    
+    // Explicit getter and setter methods (in case Lombok isn't working properly)
+    public Long getId() {
+        return this.id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Payment getPayment() {
+        return this.payment;
+    }
+    
+    public void setPayment(Payment payment) {
+        this.payment = payment;
+    }
+    
+    public OutboxStatus getStatus() {
+        return this.status;
+    }
+    
+    public void setStatus(OutboxStatus status) {
+        this.status = status;
+    }
+    
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public String getInstrument() {
+        return this.instrument;
+    }
+    
+    public void setInstrument(String instrument) {
+        this.instrument = instrument;
+    }
+    
+    public String getLastError() {
+        return this.lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public LocalDateTime getNextAttemptAt() {
+        return this.nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    
+    public LocalDateTime getLockedUntil() {
+        return this.lockedUntil;
+    }
+    
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+    
+    public String getLeaseId() {
+        return this.leaseId;
+    }
+    
+    public void setLeaseId(String leaseId) {
+        this.leaseId = leaseId;
+    }
+    
+    public Boolean getOutcomeUnknown() {
+        return this.outcomeUnknown;
+    }
+    
+    public void setOutcomeUnknown(Boolean outcomeUnknown) {
+        this.outcomeUnknown = outcomeUnknown;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return this.updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
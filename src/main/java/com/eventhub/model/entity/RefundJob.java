@@ -0,0 +1,145 @@
+package com.eventhub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Bulk refund of an event's successful payments. Payments are processed in id order and
+ * {@code lastPaymentId} is advanced in the same transaction as each chunk's status changes,
+ * so a job interrupted by a restart carries on after the last committed chunk.
+ */
+@Entity
+@Table(name = "refund_jobs",
+       indexes = @Index(name = "idx_refund_jobs_event_status", columnList = "event_id, status"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class RefundJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+    
+    @Column(nullable = false)
+    private Long lastPaymentId = 0L;
+    
+    @Column(nullable = false)
+    private Integer refundedCount = 0;
+    
+    // Refunds the gateway declined or could not process; those payments stay SUCCESS
+    @Column(nullable = false)
+    private Integer failedCount = 0;
+    
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal refundedAmount = BigDecimal.ZERO;
+    
+    private LocalDateTime completedAt;
+    
+    @CreatedDate
+    private LocalDateTime createdAt;
+    
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+    
+    // PARTIAL: finished a pass with payments the gateway would not refund; starting the refund again retries them
+    public enum JobStatus {
+        RUNNING, PARTIAL, COMPLETED
+    }
+    
+    // Explicit getter and setter methods (in case Lombok isn't working properly)
+    public Long getId() {
+        return this.id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Event getEvent() {
+        return this.event;
+    }
+    
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+    
+    public JobStatus getStatus() {
+        return this.status;
+    }
+    
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+    
+    public Long getLastPaymentId() {
+        return this.lastPaymentId;
+    }
+    
+    public void setLastPaymentId(Long lastPaymentId) {
+        this.lastPaymentId = lastPaymentId;
+    }
+    
+    public Integer getRefundedCount() {
+        return this.refundedCount;
+    }
+    
+    public void setRefundedCount(Integer refundedCount) {
+        this.refundedCount = refundedCount;
+    }
+    
+    public Integer getFailedCount() {
+        return this.failedCount;
+    }
+    
+    public void setFailedCount(Integer failedCount) {
+        this.failedCount = failedCount;
+    }
+    
+    public BigDecimal getRefundedAmount() {
+        return this.refundedAmount;
+    }
+    
+    public void setRefundedAmount(BigDecimal refundedAmount) {
+        this.refundedAmount = refundedAmount;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return this.completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return this.updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
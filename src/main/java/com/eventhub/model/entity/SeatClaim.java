@@ -0,0 +1,67 @@
+package com.eventhub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * One taken seat. The unique key is what stops two application instances, each with its own
+ * in-memory seat map, from selling the same seat.
+ */
+@Entity
+@Table(name = "seat_claims",
+       uniqueConstraints = @UniqueConstraint(name = "uk_seat_claims_seat", columnNames = {"event_id", "seat_row_id", "seat_number"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatClaim {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "seat_row_id", nullable = false)
+    private EventSeatRow seatRow;
+    
+    // Zero-based, like Booking.firstSeat
+    @Column(name = "seat_number", nullable = false)
+    private Integer seatNumber;
+    
+    // Explicit getter and setter methods (in case Lombok isn't working properly)
+    public Long getId() {
+        return this.id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Event getEvent() {
+        return this.event;
+    }
+    
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+    
+    public EventSeatRow getSeatRow() {
+        return this.seatRow;
+    }
+    
+    public void setSeatRow(EventSeatRow seatRow) {
+        this.seatRow = seatRow;
+    }
+    
+    public Integer getSeatNumber() {
+        return this.seatNumber;
+    }
+    
+    public void setSeatNumber(Integer seatNumber) {
+        this.seatNumber = seatNumber;
+    }
+}
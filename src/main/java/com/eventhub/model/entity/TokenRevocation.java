@@ -0,0 +1,86 @@
+package com.eventhub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revoked JWT (subject is the token id) or a revoked user (subject is the email, and every
+ * token issued to them up to {@code revokedAt} is rejected). Rows can be purged once
+ * {@code expiresAt} has passed, since no token they cover is still valid by then.
+ */
+@Entity
+@Table(name = "token_revocations",
+       indexes = {
+           @Index(name = "idx_token_revocations_revoked_at", columnList = "revoked_at"),
+           @Index(name = "idx_token_revocations_expires_at", columnList = "expires_at")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RevocationType revocationType;
+    
+    @Column(nullable = false)
+    private String subject;
+    
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    public enum RevocationType {
+        TOKEN, USER
+    }
+    
+    // Explicit getter and setter methods (in case Lombok isn't working properly)
+    public Long getId() {
+        return this.id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public RevocationType getRevocationType() {
+        return this.revocationType;
+    }
+    
+    public void setRevocationType(RevocationType revocationType) {
+        this.revocationType = revocationType;
+    }
+    
+    public String getSubject() {
+        return this.subject;
+    }
+    
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+    
+    public LocalDateTime getRevokedAt() {
+        return this.revokedAt;
+    }
+    
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return this.expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,130 @@
+package com.eventhub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "waitlist_entries",
+       indexes = {
+           @Index(name = "idx_waitlist_event_status", columnList = "event_id, status, id"),
+           @Index(name = "idx_waitlist_status_hold", columnList = "status, hold_expires_at")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class WaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @Column(nullable = false)
+    private Integer numberOfTickets;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status;
+    
+    private LocalDateTime offeredAt;
+    
+    // Seats offered to this entry are held until then, after which they go to the next in line
+    private LocalDateTime holdExpiresAt;
+    
+    @CreatedDate
+    private LocalDateTime createdAt;
+    
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+    
+    public enum WaitlistStatus {
+        WAITING, OFFERED, CLAIMED, EXPIRED, CANCELLED
+    }
+    
+    // Explicit getter and setter methods (in case Lombok isn't working properly)
+    public Long getId() {
+        return this.id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Event getEvent() {
+        return this.event;
+    }
+    
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+    
+    public User getUser() {
+        return this.user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    public Integer getNumberOfTickets() {
+        return this.numberOfTickets;
+    }
+    
+    public void setNumberOfTickets(Integer numberOfTickets) {
+        this.numberOfTickets = numberOfTickets;
+    }
+    
+    public WaitlistStatus getStatus() {
+        return this.status;
+    }
+    
+    public void setStatus(WaitlistStatus status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getOfferedAt() {
+        return this.offeredAt;
+    }
+    
+    public void setOfferedAt(LocalDateTime offeredAt) {
+        this.offeredAt = offeredAt;
+    }
+    
+    public LocalDateTime getHoldExpiresAt() {
+        return this.holdExpiresAt;
+    }
+    
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return this.updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -3,21 +3,28 @@ package com.eventhub.repository;
 import com.eventhub.model.entity.Booking;
 import com.eventhub.model.entity.User;
 import com.eventhub.model.entity.Event;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
+    @EntityGraph(attributePaths = {"user", "event", "payment", "seatRow"})
     Optional<Booking> findByTicketId(String ticketId);
     
     Boolean existsByTicketId(String ticketId);
@@ -31,18 +38,27 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByStatus(Booking.BookingStatus status);
     
     // Added missing methods for service implementations
+    // List paths load everything BookingDTO reads in the same select; payment is the inverse
+    // side of a one-to-one and would otherwise cost a query per row even though it is LAZY
+    @EntityGraph(attributePaths = {"user", "event", "payment", "seatRow"})
     List<Booking> findByUserOrderByCreatedAtDesc(User user);
     
+    @EntityGraph(attributePaths = {"user", "event", "payment", "seatRow"})
     Page<Booking> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"user", "event", "payment", "seatRow"})
     List<Booking> findByEventOrderByCreatedAtDesc(Event event);
     
+    @EntityGraph(attributePaths = {"user", "event", "payment", "seatRow"})
     List<Booking> findAllByOrderByCreatedAtDesc();
     
+    @EntityGraph(attributePaths = {"user", "event", "payment", "seatRow"})
     Page<Booking> findAllByOrderByCreatedAtDesc(Pageable pageable);
     
+    @EntityGraph(attributePaths = {"user", "event", "payment", "seatRow"})
     List<Booking> findByStatusOrderByCreatedAtDesc(Booking.BookingStatus status);
     
+    @EntityGraph(attributePaths = {"user", "event", "payment", "seatRow"})
     List<Booking> findByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime startDate, LocalDateTime endDate);
     
     @Query("SELECT b FROM Booking b WHERE b.user.id = :userId ORDER BY b.createdAt DESC")
@@ -112,4 +128,68 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     
     @Query("SELECT e.category, COUNT(b) FROM Booking b JOIN b.event e WHERE b.status = 'CONFIRMED' GROUP BY e.category ORDER BY COUNT(b) DESC")
     List<Object[]> getBookingsByEventCategory();
-}
\ No newline at end of file
+    
+    // Ticket rendering
+    @Query("SELECT b.status FROM Booking b WHERE b.id = :id")
+    Optional<Booking.BookingStatus> findStatusById(@Param("id") Long id);
+    
+    @Query("SELECT b.user.email FROM Booking b WHERE b.id = :id")
+    Optional<String> findUserEmailById(@Param("id") Long id);
+    
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.event LEFT JOIN FETCH b.payment " +
+           "WHERE b.event.id = :eventId AND b.status = :status AND b.id > :afterId ORDER BY b.id")
+    List<Booking> findTicketBatch(@Param("eventId") Long eventId,
+                                  @Param("status") Booking.BookingStatus status,
+                                  @Param("afterId") Long afterId,
+                                  Pageable pageable);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.event LEFT JOIN FETCH b.payment " +
+           "WHERE b.event.id = :eventId AND b.status = :status ORDER BY b.id")
+    Stream<Booking> streamByEventIdAndStatus(@Param("eventId") Long eventId,
+                                             @Param("status") Booking.BookingStatus status);
+    
+    // Streaming exports; newest first by id, with everything the DTO needs fetched up front
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.event LEFT JOIN FETCH b.payment " +
+           "LEFT JOIN FETCH b.seatRow ORDER BY b.id DESC")
+    Stream<Booking> streamAllForExport();
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.event LEFT JOIN FETCH b.payment " +
+           "LEFT JOIN FETCH b.seatRow WHERE b.status = :status ORDER BY b.id DESC")
+    Stream<Booking> streamByStatusForExport(@Param("status") Booking.BookingStatus status);
+    
+    // Gate check-in preload: id, ticketId, numberOfTickets only
+    @Query("SELECT b.id, b.ticketId, b.numberOfTickets FROM Booking b WHERE b.event.id = :eventId AND b.status = 'CONFIRMED'")
+    List<Object[]> findCheckInRowsByEventId(@Param("eventId") Long eventId);
+    
+    // Tickets of loaded check-in events cancelled since the last sync, so every instance revokes them
+    @Query("SELECT b.event.id, b.ticketId FROM Booking b WHERE b.event.id IN :eventIds " +
+           "AND b.status = 'CANCELLED' AND b.updatedAt >= :since")
+    List<Object[]> findCancelledTicketIdsSince(@Param("eventIds") Collection<Long> eventIds,
+                                               @Param("since") LocalDateTime since);
+    
+    // Tickets of loaded check-in events confirmed since the last sync: outbox payments, day-of sales, waitlist claims
+    @Query("SELECT b.event.id, b.id, b.ticketId, b.numberOfTickets FROM Booking b WHERE b.event.id IN :eventIds " +
+           "AND b.status = 'CONFIRMED' AND b.updatedAt >= :since")
+    List<Object[]> findConfirmedCheckInRowsSince(@Param("eventIds") Collection<Long> eventIds,
+                                                 @Param("since") LocalDateTime since);
+    
+    // Seats held by live bookings, used to rebuild an event's seat map
+    @Query("SELECT b.seatRow.id, b.firstSeat, b.numberOfTickets FROM Booking b " +
+           "WHERE b.event.id = :eventId AND b.seatRow IS NOT NULL AND b.status <> 'CANCELLED'")
+    List<Object[]> findSeatAssignmentsByEventId(@Param("eventId") Long eventId);
+    
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.event.id = :eventId AND b.status <> 'CANCELLED'")
+    Long countActiveByEventId(@Param("eventId") Long eventId);
+}
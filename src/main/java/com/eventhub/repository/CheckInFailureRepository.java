@@ -0,0 +1,11 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.entity.CheckInFailure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CheckInFailureRepository extends JpaRepository<CheckInFailure, Long> {
+    
+    long countByEventIdAndReason(Long eventId, CheckInFailure.Reason reason);
+}
@@ -0,0 +1,24 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.entity.CheckIn;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CheckInRepository extends JpaRepository<CheckIn, Long> {
+    
+    @Query("SELECT COUNT(c) FROM CheckIn c WHERE c.event.id = :eventId")
+    Long countByEventId(@Param("eventId") Long eventId);
+    
+    // Admissions already used per booking, so a reload never lets a ticket in twice
+    @Query("SELECT c.booking.id, COUNT(c) FROM CheckIn c WHERE c.event.id = :eventId GROUP BY c.booking.id")
+    List<Object[]> countAdmissionsByBookingForEvent(@Param("eventId") Long eventId);
+    
+    @Query("SELECT c.booking.id, COUNT(c) FROM CheckIn c WHERE c.booking.id IN :bookingIds GROUP BY c.booking.id")
+    List<Object[]> countAdmissionsByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+}
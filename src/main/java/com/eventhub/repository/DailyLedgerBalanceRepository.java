@@ -0,0 +1,33 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.entity.DailyLedgerBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyLedgerBalanceRepository extends JpaRepository<DailyLedgerBalance, Long> {
+    
+    /**
+     * Rows of [account, paymentMethod, cumulativeCredit, cumulativeDebit] from the latest balance
+     * row of each account and payment method; one index lookup per pair, however many days exist
+     */
+    @Query("SELECT b.account, b.paymentMethod, b.cumulativeCredit, b.cumulativeDebit FROM DailyLedgerBalance b " +
+           "WHERE (b.paymentMethod, b.account, b.balanceDate) IN (" +
+           "SELECT l.paymentMethod, l.account, MAX(l.balanceDate) FROM DailyLedgerBalance l " +
+           "GROUP BY l.paymentMethod, l.account)")
+    List<Object[]> getAccountTotals();
+    
+    /**
+     * Same as {@link #getAccountTotals()} as of the end of the given day
+     */
+    @Query("SELECT b.account, b.paymentMethod, b.cumulativeCredit, b.cumulativeDebit FROM DailyLedgerBalance b " +
+           "WHERE (b.paymentMethod, b.account, b.balanceDate) IN (" +
+           "SELECT l.paymentMethod, l.account, MAX(l.balanceDate) FROM DailyLedgerBalance l " +
+           "WHERE l.balanceDate <= :date GROUP BY l.paymentMethod, l.account)")
+    List<Object[]> getAccountTotalsAsOf(@Param("date") LocalDate date);
+}
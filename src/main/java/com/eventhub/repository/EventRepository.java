@@ -4,6 +4,7 @@ import com.eventhub.model.entity.Event;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -94,6 +95,31 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT e FROM Event e WHERE e.isActive = true AND e.availableSeats > 0 AND e.date > CURRENT_DATE")
     List<Event> findAvailableUpcomingEvents();
     
+    /**
+     * Change the seat counts in one statement, so concurrent changes cannot overwrite each other,
+     * and bump the seat version that orders seat broadcasts. Taking seats only succeeds while enough
+     * are available; returns 0 otherwise. Pending entity changes are flushed first; refresh the event
+     * afterwards.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.totalSeats = e.totalSeats + :totalSeats, " +
+           "e.availableSeats = e.availableSeats + :availableSeats, e.seatVersion = e.seatVersion + 1 " +
+           "WHERE e.id = :id AND (:availableSeats >= 0 OR e.availableSeats + :availableSeats >= 0)")
+    int adjustSeats(@Param("id") Long id, @Param("totalSeats") int totalSeats,
+                    @Param("availableSeats") int availableSeats);
+    
+    default int addAvailableSeats(Long id, int seats) {
+        return adjustSeats(id, 0, seats);
+    }
+    
+    /**
+     * Set both seat counts to a new total (a fresh seating layout) and bump the seat version
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.totalSeats = :totalSeats, e.availableSeats = :totalSeats, " +
+           "e.seatVersion = e.seatVersion + 1 WHERE e.id = :id")
+    int resetSeats(@Param("id") Long id, @Param("totalSeats") int totalSeats);
+    
     // Count queries for statistics
     @Query("SELECT COUNT(e) FROM Event e WHERE e.isActive = true")
     Long countActiveEvents();
@@ -0,0 +1,21 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.entity.EventSeatRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EventSeatRowRepository extends JpaRepository<EventSeatRow, Long> {
+    
+    @Query("SELECT r FROM EventSeatRow r WHERE r.event.id = :eventId ORDER BY r.position")
+    List<EventSeatRow> findByEventIdOrderByPosition(@Param("eventId") Long eventId);
+    
+    @Modifying
+    @Query("DELETE FROM EventSeatRow r WHERE r.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
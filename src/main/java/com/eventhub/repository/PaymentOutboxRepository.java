@@ -0,0 +1,57 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.entity.PaymentOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, Long> {
+    
+    // Entries that are due, or whose worker lease ran out
+    @Query("SELECT o.id FROM PaymentOutbox o WHERE (o.status = 'PENDING' AND o.nextAttemptAt <= :now) " +
+           "OR (o.status = 'IN_PROGRESS' AND o.lockedUntil < :now) ORDER BY o.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * Take the lease on an entry. Returns 0 if another worker has it or it is not due.
+     */
+    @Modifying
+    @Query("UPDATE PaymentOutbox o SET o.status = 'IN_PROGRESS', o.leaseId = :leaseId, o.lockedUntil = :lockedUntil, " +
+           "o.attempts = o.attempts + 1, o.updatedAt = :now WHERE o.id = :id AND " +
+           "((o.status = 'PENDING' AND o.nextAttemptAt <= :now) OR (o.status = 'IN_PROGRESS' AND o.lockedUntil < :now))")
+    int claim(@Param("id") Long id, @Param("leaseId") String leaseId, @Param("now") LocalDateTime now,
+              @Param("lockedUntil") LocalDateTime lockedUntil);
+    
+    /**
+     * End a lease, moving the entry to COMPLETED or back to PENDING. Returns 0 if the lease
+     * expired and another worker has taken the entry since.
+     */
+    @Modifying
+    @Query("UPDATE PaymentOutbox o SET o.status = :status, o.lastError = :lastError, o.nextAttemptAt = :nextAttemptAt, " +
+           "o.leaseId = NULL, o.lockedUntil = NULL, o.updatedAt = :now " +
+           "WHERE o.id = :id AND o.status = 'IN_PROGRESS' AND o.leaseId = :leaseId")
+    int release(@Param("id") Long id, @Param("leaseId") String leaseId, @Param("status") PaymentOutbox.OutboxStatus status,
+                @Param("lastError") String lastError, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                @Param("now") LocalDateTime now);
+    
+    /**
+     * Flag that a call under this lease may have charged without an answer
+     */
+    @Modifying
+    @Query("UPDATE PaymentOutbox o SET o.outcomeUnknown = true " +
+           "WHERE o.id = :id AND o.status = 'IN_PROGRESS' AND o.leaseId = :leaseId")
+    int markOutcomeUnknown(@Param("id") Long id, @Param("leaseId") String leaseId);
+    
+    @Query("SELECT o FROM PaymentOutbox o JOIN FETCH o.payment WHERE o.id = :id")
+    Optional<PaymentOutbox> findWithPaymentById(@Param("id") Long id);
+    
+    Long countByStatus(PaymentOutbox.OutboxStatus status);
+}
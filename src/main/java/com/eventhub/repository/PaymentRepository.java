@@ -2,8 +2,12 @@ package com.eventhub.repository;
 
 import com.eventhub.model.entity.Payment;
 import com.eventhub.model.entity.Booking;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,10 +15,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
+    @EntityGraph(attributePaths = "booking")
     Optional<Payment> findByTransactionId(String transactionId);
     
     Optional<Payment> findByBooking(Booking booking);
@@ -24,15 +30,21 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByPaymentMethod(Payment.PaymentMethod paymentMethod);
     
     // Added missing methods that were causing the constructor exception
+    // List paths fetch the booking with the payment; PaymentResponse only reads the user and
+    // event ids, which come from the booking row's foreign keys without loading either
+    @EntityGraph(attributePaths = "booking")
     List<Payment> findAllByOrderByCreatedAtDesc();
     
+    @EntityGraph(attributePaths = "booking")
     List<Payment> findByStatusOrderByCreatedAtDesc(Payment.PaymentStatus status);
     
+    @EntityGraph(attributePaths = "booking")
     List<Payment> findByPaymentMethodOrderByCreatedAtDesc(Payment.PaymentMethod paymentMethod);
     
+    @EntityGraph(attributePaths = "booking")
     List<Payment> findByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime startDate, LocalDateTime endDate);
     
-    @Query("SELECT p FROM Payment p WHERE p.booking.user.id = :userId ORDER BY p.createdAt DESC")
+    @Query("SELECT p FROM Payment p JOIN FETCH p.booking b WHERE b.user.id = :userId ORDER BY p.createdAt DESC")
     List<Payment> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
     
     @Query("SELECT p FROM Payment p WHERE p.createdAt BETWEEN :startDate AND :endDate ORDER BY p.createdAt DESC")
@@ -69,4 +81,27 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     @Query("SELECT p.paymentMethod, COUNT(p) FROM Payment p WHERE p.status = 'SUCCESS' GROUP BY p.paymentMethod")
     List<Object[]> getPaymentMethodStatistics();
+    
+    /**
+     * Rows of [status, paymentMethod, count, sum(amount)] for every combination present
+     */
+    @Query("SELECT p.status, p.paymentMethod, COUNT(p), SUM(p.amount) FROM Payment p GROUP BY p.status, p.paymentMethod")
+    List<Object[]> getStatusMethodTotals();
+    
+    // Streaming exports; newest first by id, with everything the response needs fetched up front
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Payment p JOIN FETCH p.booking b JOIN FETCH b.user JOIN FETCH b.event ORDER BY p.id DESC")
+    Stream<Payment> streamAllForExport();
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Payment p JOIN FETCH p.booking b JOIN FETCH b.user JOIN FETCH b.event " +
+           "WHERE p.createdAt BETWEEN :startDate AND :endDate ORDER BY p.id DESC")
+    Stream<Payment> streamByCreatedAtBetweenForExport(@Param("startDate") LocalDateTime startDate,
+                                                      @Param("endDate") LocalDateTime endDate);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.entity.RefundJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefundJobRepository extends JpaRepository<RefundJob, Long> {
+    
+    Optional<RefundJob> findFirstByEventIdAndStatusIn(Long eventId, Collection<RefundJob.JobStatus> statuses);
+    
+    List<RefundJob> findByStatus(RefundJob.JobStatus status);
+    
+    List<RefundJob> findByEventIdOrderByCreatedAtDesc(Long eventId);
+}
@@ -5,6 +5,7 @@ import com.eventhub.model.entity.User;
 import com.eventhub.model.entity.Event;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,16 +20,18 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     
     List<Review> findByEvent(Event event);
     
+    @EntityGraph(attributePaths = {"user", "event"})
     Page<Review> findByEvent(Event event, Pageable pageable);
     
     List<Review> findByUser(User user);
     
+    @EntityGraph(attributePaths = {"user", "event"})
     List<Review> findByEventOrderByCreatedAtDesc(Event event);
     
-    @Query("SELECT r FROM Review r WHERE r.event.id = :eventId ORDER BY r.createdAt DESC")
+    @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.event WHERE r.event.id = :eventId ORDER BY r.createdAt DESC")
     List<Review> findByEventIdOrderByCreatedAtDesc(@Param("eventId") Long eventId);
     
-    @Query("SELECT r FROM Review r WHERE r.user.id = :userId ORDER BY r.createdAt DESC")
+    @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.event WHERE r.user.id = :userId ORDER BY r.createdAt DESC")
     List<Review> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
     
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.event.id = :eventId")
@@ -0,0 +1,20 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.entity.SeatClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SeatClaimRepository extends JpaRepository<SeatClaim, Long> {
+    
+    @Modifying
+    @Query("DELETE FROM SeatClaim c WHERE c.seatRow.id = :rowId AND c.seatNumber >= :firstSeat AND c.seatNumber < :endSeat")
+    int deleteSeats(@Param("rowId") Long rowId, @Param("firstSeat") int firstSeat, @Param("endSeat") int endSeat);
+    
+    @Modifying
+    @Query("DELETE FROM SeatClaim c WHERE c.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
@@ -0,0 +1,23 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    
+    List<TokenRevocation> findByExpiresAtAfter(LocalDateTime now);
+    
+    List<TokenRevocation> findByRevokedAtGreaterThanEqual(LocalDateTime since);
+    
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -19,6 +19,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Boolean existsByEmail(String email);
     
+    // Email-only projections for the in-memory registered email filter
+    @Query("SELECT u.email FROM User u")
+    List<String> findAllEmails();
+    
+    @Query("SELECT u.email FROM User u WHERE u.createdAt >= :since")
+    List<String> findEmailsCreatedSince(@Param("since") LocalDateTime since);
+    
     List<User> findByIsActive(Boolean isActive);
     
     // Added missing methods for service implementations
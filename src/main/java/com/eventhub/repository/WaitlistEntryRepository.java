@@ -0,0 +1,71 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.entity.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    
+    @Query("SELECT w FROM WaitlistEntry w JOIN FETCH w.event WHERE w.user.id = :userId ORDER BY w.createdAt DESC")
+    List<WaitlistEntry> findByUserIdWithEvent(@Param("userId") Long userId);
+    
+    @Query("SELECT COUNT(w) > 0 FROM WaitlistEntry w WHERE w.user.id = :userId AND w.event.id = :eventId " +
+           "AND w.status IN ('WAITING', 'OFFERED')")
+    boolean existsActiveEntry(@Param("userId") Long userId, @Param("eventId") Long eventId);
+    
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.event.id = :eventId AND w.status = 'WAITING' AND w.id <= :id")
+    long countWaitingUpTo(@Param("eventId") Long eventId, @Param("id") Long id);
+    
+    // Next WAITING entries in FIFO order that fit in the released seats. Rows another release has
+    // locked are skipped (lock timeout -2 is Hibernate's SKIP LOCKED) instead of waited for.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.event.id = :eventId AND w.status = 'WAITING' " +
+           "AND w.numberOfTickets <= :seats AND w.id > :afterId ORDER BY w.id")
+    List<WaitlistEntry> lockNextWaiting(@Param("eventId") Long eventId, @Param("seats") int seats,
+                                        @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT w.id, w.user.email FROM WaitlistEntry w WHERE w.id IN :ids")
+    List<Object[]> findUserEmails(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'OFFERED', w.offeredAt = :now, w.holdExpiresAt = :holdExpiresAt, " +
+           "w.updatedAt = :now WHERE w.id IN :ids AND w.status = 'WAITING'")
+    int offerAll(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                 @Param("holdExpiresAt") LocalDateTime holdExpiresAt);
+    
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = :status, w.updatedAt = :now WHERE w.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") WaitlistEntry.WaitlistStatus status,
+                     @Param("now") LocalDateTime now);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.id = :id")
+    Optional<WaitlistEntry> findByIdForUpdate(@Param("id") Long id);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.user.id = :userId AND w.event.id = :eventId " +
+           "AND w.status = 'OFFERED' AND w.holdExpiresAt > :now")
+    Optional<WaitlistEntry> findActiveHold(@Param("userId") Long userId, @Param("eventId") Long eventId,
+                                           @Param("now") LocalDateTime now);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w JOIN FETCH w.user WHERE w.status = 'OFFERED' AND w.holdExpiresAt <= :now " +
+           "ORDER BY w.event.id")
+    List<WaitlistEntry> findExpiredHolds(@Param("now") LocalDateTime now);
+}
@@ -26,6 +26,11 @@ public interface AuthService {
      */
     boolean validateToken(String token);
     
+    /**
+     * Revoke a JWT token so it is rejected from now on
+     */
+    void logout(String token);
+    
     /**
      * Extract username from JWT token
      */
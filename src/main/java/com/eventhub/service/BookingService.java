@@ -3,9 +3,11 @@ package com.eventhub.service;
 import com.eventhub.dto.BookingDTO;
 import com.eventhub.dto.CreateBookingRequest;
 import com.eventhub.model.entity.Booking;
+import com.eventhub.util.RecordStreamWriter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -62,6 +64,19 @@ public interface BookingService {
      */
     List<BookingDTO> getBookingsByStatus(Booking.BookingStatus status);
     
+    /**
+     * Stream all bookings, newest first, without holding them in memory (Admin only)
+     * @return Number of bookings written
+     */
+    long exportAllBookings(RecordStreamWriter.Format format, OutputStream outputStream);
+    
+    /**
+     * Stream the bookings with a status, newest first, without holding them in memory
+     * @return Number of bookings written
+     */
+    long exportBookingsByStatus(Booking.BookingStatus status, RecordStreamWriter.Format format,
+                                OutputStream outputStream);
+    
     /**
      * Get bookings by date range
      */
@@ -88,12 +103,33 @@ public interface BookingService {
     BookingStatistics getBookingStatistics();
     
     /**
-     * Generate ticket PDF
+     * Generate ticket PDF (booking owner or admin)
      */
     byte[] generateTicketPdf(Long bookingId);
     
     /**
-     * Generate ticket QR code
+     * Check that a ticket can be rendered for a booking and that the caller owns the booking or
+     * is an admin, before any bytes are streamed
+     */
+    void validateTicketAvailable(Long bookingId);
+    
+    /**
+     * Stream ticket PDF to the given output stream
+     */
+    void writeTicketPdf(Long bookingId, OutputStream outputStream);
+    
+    /**
+     * Stream one ticket page per admission for a booking
+     */
+    void writeBookingTicketsPdf(Long bookingId, OutputStream outputStream);
+    
+    /**
+     * Stream tickets for all confirmed bookings of an event (Admin only)
+     */
+    void writeEventTicketsPdf(Long eventId, OutputStream outputStream);
+    
+    /**
+     * Generate ticket QR code (booking owner or admin)
      */
     byte[] generateTicketQRCode(String ticketId);
     
@@ -0,0 +1,104 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.CheckInResult;
+import com.eventhub.util.TicketTokenCodec;
+
+import java.util.List;
+
+public interface CheckInService {
+    
+    /**
+     * Load the confirmed tickets of an event into the in-memory validation set
+     */
+    CheckInStatistics loadEvent(Long eventId);
+    
+    /**
+     * Drop an event's validation set once the gates close
+     */
+    void unloadEvent(Long eventId);
+    
+    /**
+     * Validate and admit a batch of scanned tickets; loads the event on first use.
+     * Entries must be signed QR tokens; bare ticket ids are rejected as INVALID_TOKEN unless
+     * {@code checkin.allow-bare-ticket-ids} is set.
+     */
+    List<CheckInResult> scan(Long eventId, List<String> ticketIds, String gate);
+    
+    /**
+     * Stop admitting a cancelled or refunded ticket once the current transaction commits.
+     * Other instances pick the cancellation up on their next revocation sync.
+     */
+    void revokeTicket(Long eventId, String ticketId);
+    
+    /**
+     * Check a signed ticket token's signature and expiry in memory, without touching the database
+     */
+    TicketTokenCodec.VerifiedTicket verifyToken(String token);
+    
+    /**
+     * Get check-in statistics for a loaded event
+     */
+    CheckInStatistics getStatistics(Long eventId);
+    
+    /**
+     * Write queued check-in records to the database
+     * @return Number of records flushed
+     */
+    int flushPendingCheckIns();
+    
+    /**
+     * Inner class for check-in statistics
+     */
+    class CheckInStatistics {
+        private Long eventId;
+        private boolean loaded;
+        private long tickets;
+        private long totalAdmissions;
+        private long admitted;
+        private long pendingFlush;
+        // Admissions another instance had already recorded, i.e. people let in twice
+        private long duplicateAdmissions;
+        // Check-ins set aside after repeated write failures
+        private long failedRecords;
+        
+        public CheckInStatistics() {}
+        
+        public CheckInStatistics(Long eventId, boolean loaded, long tickets, long totalAdmissions,
+                                 long admitted, long pendingFlush, long duplicateAdmissions,
+                                 long failedRecords) {
+            this.eventId = eventId;
+            this.loaded = loaded;
+            this.tickets = tickets;
+            this.totalAdmissions = totalAdmissions;
+            this.admitted = admitted;
+            this.pendingFlush = pendingFlush;
+            this.duplicateAdmissions = duplicateAdmissions;
+            this.failedRecords = failedRecords;
+        }
+        
+        // Getters and Setters
+        public Long getEventId() { return eventId; }
+        public void setEventId(Long eventId) { this.eventId = eventId; }
+        
+        public boolean isLoaded() { return loaded; }
+        public void setLoaded(boolean loaded) { this.loaded = loaded; }
+        
+        public long getTickets() { return tickets; }
+        public void setTickets(long tickets) { this.tickets = tickets; }
+        
+        public long getTotalAdmissions() { return totalAdmissions; }
+        public void setTotalAdmissions(long totalAdmissions) { this.totalAdmissions = totalAdmissions; }
+        
+        public long getAdmitted() { return admitted; }
+        public void setAdmitted(long admitted) { this.admitted = admitted; }
+        
+        public long getPendingFlush() { return pendingFlush; }
+        public void setPendingFlush(long pendingFlush) { this.pendingFlush = pendingFlush; }
+        
+        public long getDuplicateAdmissions() { return duplicateAdmissions; }
+        public void setDuplicateAdmissions(long duplicateAdmissions) { this.duplicateAdmissions = duplicateAdmissions; }
+        
+        public long getFailedRecords() { return failedRecords; }
+        public void setFailedRecords(long failedRecords) { this.failedRecords = failedRecords; }
+    }
+}
@@ -0,0 +1,61 @@
+package com.eventhub.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface LedgerService {
+    
+    /**
+     * Post the sale of a payment that just succeeded. Posting the same payment twice is a no-op.
+     */
+    void recordSale(String transactionId);
+    
+    /**
+     * Post the reversal of a refunded payment. Posting the same refund twice is a no-op.
+     */
+    void recordRefund(String transactionId);
+    
+    /**
+     * Revenue net of refunds since the ledger began
+     */
+    RevenueTotals getRevenueTotals();
+    
+    /**
+     * Revenue net of refunds posted between two days, inclusive
+     */
+    RevenueTotals getRevenueTotals(LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Revenue figures read from the daily ledger balances
+     */
+    class RevenueTotals {
+        private BigDecimal totalRevenue;
+        private BigDecimal ticketRevenue;
+        private BigDecimal serviceFees;
+        private Map<String, BigDecimal> revenueByMethod;
+        
+        public RevenueTotals() {}
+        
+        public RevenueTotals(BigDecimal totalRevenue, BigDecimal ticketRevenue, BigDecimal serviceFees,
+                             Map<String, BigDecimal> revenueByMethod) {
+            this.totalRevenue = totalRevenue;
+            this.ticketRevenue = ticketRevenue;
+            this.serviceFees = serviceFees;
+            this.revenueByMethod = revenueByMethod;
+        }
+        
+        // Getters and Setters
+        public BigDecimal getTotalRevenue() { return totalRevenue; }
+        public void setTotalRevenue(BigDecimal totalRevenue) { this.totalRevenue = totalRevenue; }
+        
+        public BigDecimal getTicketRevenue() { return ticketRevenue; }
+        public void setTicketRevenue(BigDecimal ticketRevenue) { this.ticketRevenue = ticketRevenue; }
+        
+        public BigDecimal getServiceFees() { return serviceFees; }
+        public void setServiceFees(BigDecimal serviceFees) { this.serviceFees = serviceFees; }
+        
+        public Map<String, BigDecimal> getRevenueByMethod() { return revenueByMethod; }
+        public void setRevenueByMethod(Map<String, BigDecimal> revenueByMethod) { this.revenueByMethod = revenueByMethod; }
+    }
+}
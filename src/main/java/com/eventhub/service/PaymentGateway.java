@@ -0,0 +1,65 @@
+package com.eventhub.service;
+
+import com.eventhub.model.entity.Payment;
+
+import java.math.BigDecimal;
+
+/**
+ * Payment provider integration. Implementations may block; callers run them off the request path.
+ */
+public interface PaymentGateway {
+    
+    /**
+     * Charge a payment instrument. Providers deduplicate charges by transaction id: a charge
+     * repeated with the same id returns the outcome of the first one and never takes the money
+     * twice, so a charge whose outcome is unknown is settled by retrying it.
+     * @param instrument Non-sensitive instrument description stored with the payment
+     * @return Approved or declined result
+     * @throws GatewayUnavailableException if the provider could not be reached or did not answer in time;
+     *         the charge may be retried with the same transaction id
+     */
+    GatewayResult charge(String transactionId, Payment.PaymentMethod method, BigDecimal amount, String instrument);
+    
+    /**
+     * Refund a charge in full. Providers deduplicate refunds by transaction id, so a retried
+     * refund is not paid out twice.
+     * @throws GatewayUnavailableException as for charge
+     */
+    GatewayResult refund(String transactionId, Payment.PaymentMethod method, BigDecimal amount);
+    
+    /**
+     * Outcome of a charge that reached the provider
+     */
+    class GatewayResult {
+        private final boolean approved;
+        private final String message;
+        
+        public GatewayResult(boolean approved, String message) {
+            this.approved = approved;
+            this.message = message;
+        }
+        
+        public boolean isApproved() { return approved; }
+        public String getMessage() { return message; }
+    }
+    
+    /**
+     * Transient failure: error, timeout, open circuit or full bulkhead. When the call may have
+     * reached the provider (e.g. it timed out mid-flight) the outcome is unknown: the money may
+     * have been taken, and only a retry with the same transaction id can tell.
+     */
+    class GatewayUnavailableException extends RuntimeException {
+        private final boolean outcomeUnknown;
+        
+        public GatewayUnavailableException(String message) {
+            this(message, false);
+        }
+        
+        public GatewayUnavailableException(String message, boolean outcomeUnknown) {
+            super(message);
+            this.outcomeUnknown = outcomeUnknown;
+        }
+        
+        public boolean isOutcomeUnknown() { return outcomeUnknown; }
+    }
+}
@@ -0,0 +1,16 @@
+package com.eventhub.service;
+
+public interface PaymentOutboxService {
+    
+    /**
+     * Hand an outbox entry to the gateway workers. Never blocks; if the workers are saturated
+     * the entry is left for the next poll.
+     */
+    void dispatch(Long outboxId);
+    
+    /**
+     * Dispatch entries that are due, including ones whose worker died mid-way
+     * @return Number of entries dispatched
+     */
+    int dispatchDue();
+}
@@ -4,7 +4,9 @@ import com.eventhub.dto.PaymentRequest;
 import com.eventhub.dto.PaymentResponse;
 import com.eventhub.dto.RefundRequest;
 import com.eventhub.model.entity.Payment;
+import com.eventhub.util.RecordStreamWriter;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -51,6 +53,19 @@ public interface PaymentService {
      */
     List<PaymentResponse> getPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate);
     
+    /**
+     * Stream all payments, newest first, without holding them in memory (Admin only)
+     * @return Number of payments written
+     */
+    long exportAllPayments(RecordStreamWriter.Format format, OutputStream outputStream);
+    
+    /**
+     * Stream the payments of a date range, newest first, without holding them in memory
+     * @return Number of payments written
+     */
+    long exportPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                   RecordStreamWriter.Format format, OutputStream outputStream);
+    
     /**
      * Process refund
      */
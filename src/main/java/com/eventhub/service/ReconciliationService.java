@@ -0,0 +1,61 @@
+package com.eventhub.service;
+
+import java.time.LocalDate;
+
+public interface ReconciliationService {
+    
+    /**
+     * Reconcile the payments created on a day against that day's gateway report and write the
+     * mismatch and per-method settlement files. An interrupted run for the same day resumes
+     * from its last checkpoint.
+     */
+    ReconciliationResult reconcile(LocalDate date);
+    
+    /**
+     * Summary of a reconciliation run
+     */
+    class ReconciliationResult {
+        private LocalDate date;
+        private long paymentsProcessed;
+        private long matched;
+        private long mismatches;
+        private int gatewayRecords;
+        private boolean resumed;
+        private String outputDirectory;
+        
+        public ReconciliationResult() {}
+        
+        public ReconciliationResult(LocalDate date, long paymentsProcessed, long matched, long mismatches,
+                                    int gatewayRecords, boolean resumed, String outputDirectory) {
+            this.date = date;
+            this.paymentsProcessed = paymentsProcessed;
+            this.matched = matched;
+            this.mismatches = mismatches;
+            this.gatewayRecords = gatewayRecords;
+            this.resumed = resumed;
+            this.outputDirectory = outputDirectory;
+        }
+        
+        // Getters and Setters
+        public LocalDate getDate() { return date; }
+        public void setDate(LocalDate date) { this.date = date; }
+        
+        public long getPaymentsProcessed() { return paymentsProcessed; }
+        public void setPaymentsProcessed(long paymentsProcessed) { this.paymentsProcessed = paymentsProcessed; }
+        
+        public long getMatched() { return matched; }
+        public void setMatched(long matched) { this.matched = matched; }
+        
+        public long getMismatches() { return mismatches; }
+        public void setMismatches(long mismatches) { this.mismatches = mismatches; }
+        
+        public int getGatewayRecords() { return gatewayRecords; }
+        public void setGatewayRecords(int gatewayRecords) { this.gatewayRecords = gatewayRecords; }
+        
+        public boolean isResumed() { return resumed; }
+        public void setResumed(boolean resumed) { this.resumed = resumed; }
+        
+        public String getOutputDirectory() { return outputDirectory; }
+        public void setOutputDirectory(String outputDirectory) { this.outputDirectory = outputDirectory; }
+    }
+}
@@ -0,0 +1,25 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.RefundJobDTO;
+
+import java.util.List;
+
+public interface RefundJobService {
+    
+    /**
+     * Start refunding every successful payment of a deleted event, or return the job already doing
+     * so. A PARTIAL job is restarted to retry the payments it could not refund. The job runs in the
+     * background once the calling transaction commits.
+     */
+    RefundJobDTO startEventRefund(Long eventId);
+    
+    /**
+     * Get a refund job with its progress
+     */
+    RefundJobDTO getJob(Long jobId);
+    
+    /**
+     * Get the refund jobs of an event, newest first
+     */
+    List<RefundJobDTO> getJobsForEvent(Long eventId);
+}
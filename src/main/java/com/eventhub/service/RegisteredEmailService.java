@@ -0,0 +1,15 @@
+package com.eventhub.service;
+
+public interface RegisteredEmailService {
+    
+    /**
+     * Whether an account uses this email. Emails the in-memory filter has never seen are
+     * answered without a query; only possible matches are checked against the database.
+     */
+    boolean isRegistered(String email);
+    
+    /**
+     * Record an email that is being registered, before the transaction commits
+     */
+    void add(String email);
+}
@@ -0,0 +1,39 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.SeatLayoutDTO;
+import com.eventhub.dto.SeatLayoutRequest;
+import com.eventhub.model.entity.Booking;
+
+import java.io.OutputStream;
+
+public interface SeatMapService {
+    
+    /**
+     * Replace an event's seat layout; only allowed before the event has bookings
+     */
+    SeatLayoutDTO defineLayout(Long eventId, SeatLayoutRequest seatLayoutRequest);
+    
+    /**
+     * Get an event's rows with their free seat counts
+     */
+    SeatLayoutDTO getLayout(Long eventId);
+    
+    /**
+     * Write the binary occupancy snapshot of an event (see SeatMap.writeSnapshot)
+     */
+    void writeSnapshot(Long eventId, OutputStream outputStream);
+    
+    /**
+     * Claim adjacent seats for a new booking and record them on it. Seats are given back
+     * if the surrounding transaction rolls back. Fails if another instance has just taken
+     * the chosen seats.
+     * @param section Preferred section, or null for any
+     * @return false if the event has no seat layout (general admission)
+     */
+    boolean assignSeats(Booking booking, String section);
+    
+    /**
+     * Give a booking's seats back once the surrounding transaction commits
+     */
+    void releaseSeats(Booking booking);
+}
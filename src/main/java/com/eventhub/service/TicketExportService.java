@@ -0,0 +1,17 @@
+package com.eventhub.service;
+
+import java.io.OutputStream;
+
+public interface TicketExportService {
+    
+    /**
+     * Check that an event exists before an export starts streaming
+     */
+    void validateExport(Long eventId);
+    
+    /**
+     * Stream a ZIP of ticket PDFs for all confirmed bookings of an event (Admin only)
+     * @return Number of tickets written
+     */
+    int exportEventTickets(Long eventId, OutputStream outputStream);
+}
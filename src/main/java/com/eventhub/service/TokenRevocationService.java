@@ -0,0 +1,21 @@
+package com.eventhub.service;
+
+import io.jsonwebtoken.Claims;
+
+public interface TokenRevocationService {
+    
+    /**
+     * Revoke one token until it expires, e.g. on logout
+     */
+    void revokeToken(Claims claims);
+    
+    /**
+     * Revoke every token issued to a user up to now, e.g. on deactivation
+     */
+    void revokeUser(String email);
+    
+    /**
+     * Check verified claims against the in-memory revocation list; never queries the database
+     */
+    boolean isRevoked(Claims claims);
+}
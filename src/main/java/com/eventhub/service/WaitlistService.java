@@ -0,0 +1,45 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.JoinWaitlistRequest;
+import com.eventhub.dto.WaitlistEntryDTO;
+import com.eventhub.model.entity.Event;
+import com.eventhub.model.entity.User;
+
+import java.util.List;
+
+public interface WaitlistService {
+    
+    /**
+     * Put the current user on a sold-out event's waitlist
+     */
+    WaitlistEntryDTO joinWaitlist(JoinWaitlistRequest joinWaitlistRequest);
+    
+    /**
+     * Leave the waitlist; seats held for the entry go to the next in line
+     */
+    void leaveWaitlist(Long entryId);
+    
+    /**
+     * Get the current user's waitlist entries
+     */
+    List<WaitlistEntryDTO> getCurrentUserEntries();
+    
+    /**
+     * Offer an event's available seats to the front of its waitlist. Call inside the transaction
+     * that released the seats, after updating availableSeats.
+     * @return Number of seats put on hold
+     */
+    int offerReleasedSeats(Event event);
+    
+    /**
+     * Consume the user's unexpired hold for an event, if any
+     * @return Number of seats that were held for the user, 0 if none
+     */
+    int consumeHold(User user, Event event);
+    
+    /**
+     * Expire holds that were not claimed in time and offer the seats onwards
+     * @return Number of holds expired
+     */
+    int expireHolds();
+}
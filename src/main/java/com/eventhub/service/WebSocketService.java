@@ -1,6 +1,7 @@
 package com.eventhub.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
@@ -58,7 +59,7 @@ public class WebSocketService {
     /**
      * Send seat availability updates for specific event
      */
-    public void sendSeatUpdate(String eventId, Map<String, Object> seatData) {
+    public void sendSeatUpdate(String eventId, Object seatData) {
         try {
             System.out.println("💺 WebSocketService: Sending seat update for event " + eventId);
             messagingTemplate.convertAndSend("/topic/seats/" + eventId, seatData);
@@ -83,6 +84,40 @@ public class WebSocketService {
         }
     }
     
+    /**
+     * Send one notification to both the global events topic and the admin dashboard, encoded once
+     */
+    public void sendGlobalAndDashboardUpdate(Object notification) {
+        try {
+            System.out.println("🌍 WebSocketService: Sending global and admin dashboard notification");
+            broadcast(encode(notification), "/topic/events", "/topic/admin/dashboard");
+            System.out.println("✅ WebSocketService: Global and dashboard notification sent successfully");
+        } catch (Exception e) {
+            System.err.println("❌ WebSocketService: Failed to send global and dashboard notification - " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Convert a payload to its JSON message once, with the same converter convertAndSend uses
+     */
+    public Message<?> encode(Object payload) {
+        Message<?> message = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (message == null) {
+            throw new IllegalArgumentException("No converter for " + payload.getClass().getName());
+        }
+        return message;
+    }
+    
+    /**
+     * Send an encoded message to several destinations; the payload bytes are shared, not re-serialized
+     */
+    public void broadcast(Message<?> message, String... destinations) {
+        for (String destination : destinations) {
+            messagingTemplate.send(destination, message);
+        }
+    }
+    
     /**
      * Send payment updates to specific user
      */
@@ -8,20 +8,30 @@ import com.eventhub.model.entity.User;
 import com.eventhub.repository.RoleRepository;
 import com.eventhub.repository.UserRepository;
 import com.eventhub.service.AuthService;
+import com.eventhub.service.RegisteredEmailService;
+import com.eventhub.service.TokenRevocationService;
 import com.eventhub.service.UserService;
 import com.eventhub.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -45,7 +55,19 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private RegisteredEmailService registeredEmailService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    // No transaction, so no pooled connection is held while waiting for a password hashing slot;
+    // the user lookup runs in its own short transaction
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String authenticateUser(LoginRequest loginRequest) {
         try {
             Authentication authentication = authenticationManager.authenticate(
@@ -55,75 +77,50 @@ public class AuthServiceImpl implements AuthService {
                 )
             );
             
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            if (!user.getIsActive()) {
-                throw new RuntimeException("Account is deactivated");
-            }
-            
-            String role = user.getRoles().iterator().next().getName().name();
-            return jwtUtil.generateToken(userDetails.getUsername(), role);
+            // The provider already loaded the user and rejected inactive accounts
+            UserDetailsServiceImpl.UserPrincipal principal = (UserDetailsServiceImpl.UserPrincipal) authentication.getPrincipal();
+            List<String> roles = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+            return jwtUtil.generateToken(principal.getId(), principal.getName(), principal.getUsername(), roles, true);
             
         } catch (BadCredentialsException e) {
             throw new RuntimeException("Invalid email or password");
+        } catch (DisabledException e) {
+            throw new RuntimeException("Account is deactivated");
         }
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDTO registerUser(RegisterRequest registerRequest) {
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new RuntimeException("Email is already taken!");
-        }
-        
-        // Create new user account
-        User user = new User();
-        user.setName(registerRequest.getName());
-        user.setEmail(registerRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
-        user.setPhone(registerRequest.getPhone());
-        user.setIsActive(true);
-        
-        Role userRole = roleRepository.findByName(Role.RoleName.ROLE_USER)
-            .orElseThrow(() -> new RuntimeException("User Role not set."));
-        
-        Set<Role> roles = new HashSet<>();
-        roles.add(userRole);
-        user.setRoles(roles);
-        
-        User savedUser = userRepository.save(user);
-        return userService.convertToDTO(savedUser);
+        return register(registerRequest, Role.RoleName.ROLE_USER, "User Role not set.");
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDTO registerAdmin(RegisterRequest registerRequest) {
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new RuntimeException("Email is already taken!");
-        }
-        
-        // Create new admin account
-        User user = new User();
-        user.setName(registerRequest.getName());
-        user.setEmail(registerRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
-        user.setPhone(registerRequest.getPhone());
-        user.setIsActive(true);
-        
-        Role adminRole = roleRepository.findByName(Role.RoleName.ROLE_ADMIN)
-            .orElseThrow(() -> new RuntimeException("Admin Role not set."));
-        
-        Set<Role> roles = new HashSet<>();
-        roles.add(adminRole);
-        user.setRoles(roles);
-        
-        User savedUser = userRepository.save(user);
-        return userService.convertToDTO(savedUser);
+        return register(registerRequest, Role.RoleName.ROLE_ADMIN, "Admin Role not set.");
     }
     
     @Override
     public boolean validateToken(String token) {
-        return jwtUtil.validateToken(token);
+        try {
+            return !tokenRevocationService.isRevoked(jwtUtil.parseClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+    
+    @Override
+    public void logout(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RuntimeException("Invalid or expired token");
+        }
+        tokenRevocationService.revokeToken(claims);
     }
     
     @Override
@@ -133,6 +130,48 @@ public class AuthServiceImpl implements AuthService {
     
     @Override
     public boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+        return registeredEmailService.isRegistered(email);
+    }
+    
+    /**
+     * The password is hashed before the transaction starts, so the slow hash (and any wait for a
+     * hashing slot) does not hold a pooled connection.
+     */
+    private UserDTO register(RegisterRequest registerRequest, Role.RoleName roleName, String missingRoleMessage) {
+        if (registeredEmailService.isRegistered(registerRequest.getEmail())) {
+            throw new RuntimeException("Email is already taken!");
+        }
+        String passwordHash = passwordEncoder.encode(registerRequest.getPassword());
+        
+        return transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setName(registerRequest.getName());
+            user.setEmail(registerRequest.getEmail());
+            user.setPassword(passwordHash);
+            user.setPhone(registerRequest.getPhone());
+            user.setIsActive(true);
+            
+            Role role = roleRepository.findByName(roleName)
+                .orElseThrow(() -> new RuntimeException(missingRoleMessage));
+            
+            Set<Role> roles = new HashSet<>();
+            roles.add(role);
+            user.setRoles(roles);
+            
+            return userService.convertToDTO(saveNewUser(user));
+        });
+    }
+    
+    /**
+     * The email is added to the availability filter first so a concurrent check cannot report it free.
+     * A registration that raced past the check is rejected by the unique constraint on users.email.
+     */
+    private User saveNewUser(User user) {
+        registeredEmailService.add(user.getEmail());
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Email is already taken!");
+        }
     }
 }
\ No newline at end of file
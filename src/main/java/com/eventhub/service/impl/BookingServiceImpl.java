@@ -9,23 +9,36 @@ import com.eventhub.repository.BookingRepository;
 import com.eventhub.repository.EventRepository;
 import com.eventhub.repository.UserRepository;
 import com.eventhub.service.BookingService;
+import com.eventhub.service.CheckInService;
+import com.eventhub.service.LedgerService;
+import com.eventhub.service.SeatMapService;
+import com.eventhub.service.WaitlistService;
 import com.eventhub.util.PdfGenerator;
 import com.eventhub.util.QrCodeUtil;
+import com.eventhub.util.RecordStreamWriter;
+import com.eventhub.util.SeatUpdateCoalescer;
 import com.eventhub.util.ServiceFeeCalculator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -49,6 +62,31 @@ public class BookingServiceImpl implements BookingService {
     @Autowired
     private QrCodeUtil qrCodeUtil;
     
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private SeatMapService seatMapService;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private RecordStreamWriter recordStreamWriter;
+    
+    @Autowired
+    private SeatUpdateCoalescer seatUpdateCoalescer;
+    
+    @Autowired
+    private CheckInService checkInService;
+    
+    private static final int TICKET_BATCH_SIZE = 50;
+    
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+    
     @Override
     public BookingDTO createBooking(CreateBookingRequest createBookingRequest) {
         // Get current authenticated user
@@ -65,7 +103,9 @@ public class BookingServiceImpl implements BookingService {
             throw new RuntimeException("Event is not active");
         }
         
-        if (event.getAvailableSeats() < createBookingRequest.getNumberOfTickets()) {
+        // Seats offered to this user from the waitlist are already taken out of availableSeats
+        int heldSeats = waitlistService.consumeHold(user, event);
+        if (event.getAvailableSeats() + heldSeats < createBookingRequest.getNumberOfTickets()) {
             throw new RuntimeException("Not enough available seats");
         }
         
@@ -89,9 +129,18 @@ public class BookingServiceImpl implements BookingService {
         booking.setServiceFee(serviceFee);
         booking.setStatus(Booking.BookingStatus.PENDING);
         
+        // Reserved seating: claim adjacent seats (no-op for general admission events)
+        seatMapService.assignSeats(booking, createBookingRequest.getSeatSection());
+        
         // Update available seats
-        event.setAvailableSeats(event.getAvailableSeats() - createBookingRequest.getNumberOfTickets());
-        eventRepository.save(event);
+        int seatsFromPool = createBookingRequest.getNumberOfTickets() - heldSeats;
+        addAvailableSeats(event, -seatsFromPool);
+        if (seatsFromPool < 0) {
+            // Held more than was booked; pass the rest on
+            waitlistService.offerReleasedSeats(event);
+        }
+        // After any new offers, so the broadcast count has their holds taken out
+        seatUpdateCoalescer.submit(event);
         
         // Save booking
         Booking savedBooking = bookingRepository.save(booking);
@@ -179,6 +228,25 @@ public class BookingServiceImpl implements BookingService {
             .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAllBookings(RecordStreamWriter.Format format, OutputStream outputStream) {
+        try (Stream<Booking> bookings = bookingRepository.streamAllForExport()) {
+            return recordStreamWriter.write(bookings.map(this::convertToDTO), format, outputStream,
+                this::clearAfterExportRows);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBookingsByStatus(Booking.BookingStatus status, RecordStreamWriter.Format format,
+                                       OutputStream outputStream) {
+        try (Stream<Booking> bookings = bookingRepository.streamByStatusForExport(status)) {
+            return recordStreamWriter.write(bookings.map(this::convertToDTO), format, outputStream,
+                this::clearAfterExportRows);
+        }
+    }
+    
     @Override
     public List<BookingDTO> getBookingsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         List<Booking> bookings = bookingRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(startDate, endDate);
@@ -195,12 +263,18 @@ public class BookingServiceImpl implements BookingService {
         Booking.BookingStatus oldStatus = booking.getStatus();
         booking.setStatus(status);
         
+        if (status == Booking.BookingStatus.CANCELLED && oldStatus != Booking.BookingStatus.CANCELLED) {
+            seatMapService.releaseSeats(booking);
+        }
+        
         // Handle seat availability when status changes
         if (oldStatus == Booking.BookingStatus.CONFIRMED && status == Booking.BookingStatus.CANCELLED) {
             // Release seats back to event
             Event event = booking.getEvent();
-            event.setAvailableSeats(event.getAvailableSeats() + booking.getNumberOfTickets());
-            eventRepository.save(event);
+            addAvailableSeats(event, booking.getNumberOfTickets());
+            waitlistService.offerReleasedSeats(event);
+            seatUpdateCoalescer.submit(event);
+            checkInService.revokeTicket(event.getId(), booking.getTicketId());
         }
         
         Booking updatedBooking = bookingRepository.save(booking);
@@ -232,11 +306,10 @@ public class BookingServiceImpl implements BookingService {
         long pendingBookings = bookingRepository.countByStatus(Booking.BookingStatus.PENDING);
         long cancelledBookings = bookingRepository.countByStatus(Booking.BookingStatus.CANCELLED);
         
-        BigDecimal totalRevenue = bookingRepository.getTotalRevenue();
-        BigDecimal totalServiceFees = bookingRepository.getTotalServiceFees();
-        
-        if (totalRevenue == null) totalRevenue = BigDecimal.ZERO;
-        if (totalServiceFees == null) totalServiceFees = BigDecimal.ZERO;
+        // Revenue comes from the ledger's daily balances rather than a SUM over every booking
+        LedgerService.RevenueTotals revenue = ledgerService.getRevenueTotals();
+        BigDecimal totalRevenue = revenue.getTotalRevenue();
+        BigDecimal totalServiceFees = revenue.getServiceFees();
         
         return new BookingStatistics(totalBookings, confirmedBookings, pendingBookings, 
             cancelledBookings, totalRevenue, totalServiceFees);
@@ -246,6 +319,7 @@ public class BookingServiceImpl implements BookingService {
     public byte[] generateTicketPdf(Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId));
+        checkTicketOwner(booking.getUser().getEmail());
         
         if (booking.getStatus() != Booking.BookingStatus.CONFIRMED) {
             throw new RuntimeException("Ticket can only be generated for confirmed bookings");
@@ -253,7 +327,7 @@ public class BookingServiceImpl implements BookingService {
         
         try {
             // Generate QR code for ticket
-            String qrData = generateQrCodeData(booking);
+            String qrData = qrCodeUtil.buildTicketData(booking);
             byte[] qrCode = qrCodeUtil.generateQrCode(qrData);
             
             // Generate PDF ticket
@@ -263,13 +337,70 @@ public class BookingServiceImpl implements BookingService {
         }
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public void validateTicketAvailable(Long bookingId) {
+        checkTicketOwner(bookingRepository.findUserEmailById(bookingId)
+            .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId)));
+        Booking.BookingStatus status = bookingRepository.findStatusById(bookingId)
+            .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId));
+        
+        if (status != Booking.BookingStatus.CONFIRMED) {
+            throw new RuntimeException("Ticket can only be generated for confirmed bookings");
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void writeTicketPdf(Long bookingId, OutputStream outputStream) {
+        Booking booking = findConfirmedBooking(bookingId);
+        
+        try {
+            byte[] qrCode = qrCodeUtil.generateQrCode(qrCodeUtil.buildTicketData(booking));
+            pdfGenerator.writeTicket(booking, qrCode, outputStream);
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating ticket PDF: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void writeBookingTicketsPdf(Long bookingId, OutputStream outputStream) {
+        Booking booking = findConfirmedBooking(bookingId);
+        
+        try {
+            byte[] qrCode = qrCodeUtil.generateQrCode(qrCodeUtil.buildTicketData(booking));
+            pdfGenerator.writeTickets(booking, qrCode, outputStream);
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating ticket PDF: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    // Streams every ticket of an event, so it gets the export timeout instead of the 30 s default
+    @Transactional(readOnly = true, timeoutString = "${tickets.export.timeout-seconds:600}")
+    public void writeEventTicketsPdf(Long eventId, OutputStream outputStream) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Event not found with id: " + eventId);
+        }
+        
+        try {
+            int pages = pdfGenerator.writeTickets(confirmedBookingsOf(eventId),
+                booking -> qrCodeUtil.generateQrCode(qrCodeUtil.buildTicketData(booking)), outputStream);
+            System.out.println("🎫 Rendered " + pages + " ticket pages for event " + eventId);
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating event tickets PDF: " + e.getMessage());
+        }
+    }
+    
     @Override
     public byte[] generateTicketQRCode(String ticketId) {
         Booking booking = bookingRepository.findByTicketId(ticketId)
             .orElseThrow(() -> new RuntimeException("Booking not found with ticket ID: " + ticketId));
+        checkTicketOwner(booking.getUser().getEmail());
         
         try {
-            String qrData = generateQrCodeData(booking);
+            String qrData = qrCodeUtil.buildTicketData(booking);
             return qrCodeUtil.generateQrCode(qrData);
         } catch (Exception e) {
             throw new RuntimeException("Error generating QR code: " + e.getMessage());
@@ -299,26 +430,93 @@ public class BookingServiceImpl implements BookingService {
         // If pending, release the seats
         if (booking.getStatus() == Booking.BookingStatus.PENDING) {
             Event event = booking.getEvent();
-            event.setAvailableSeats(event.getAvailableSeats() + booking.getNumberOfTickets());
-            eventRepository.save(event);
+            addAvailableSeats(event, booking.getNumberOfTickets());
+            waitlistService.offerReleasedSeats(event);
+            seatUpdateCoalescer.submit(event);
+        }
+        
+        if (booking.getStatus() != Booking.BookingStatus.CANCELLED) {
+            seatMapService.releaseSeats(booking);
         }
         
         bookingRepository.delete(booking);
     }
     
     // Helper methods
-    private String generateTicketId() {
-        return "TKT-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    // Atomic seat count change; fails rather than overbook when another booking took the seats first
+    private void addAvailableSeats(Event event, int seats) {
+        if (eventRepository.addAvailableSeats(event.getId(), seats) == 0) {
+            throw new RuntimeException("Not enough available seats");
+        }
+        entityManager.refresh(event);
+    }
+    
+    // Ticket QR codes are admission credentials, so only the booking's owner or an admin may fetch them
+    private void checkTicketOwner(String ownerEmail) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean isAdmin = authentication.getAuthorities().stream()
+            .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        
+        if (!isAdmin && !authentication.getName().equals(ownerEmail)) {
+            throw new RuntimeException("You can only access tickets of your own bookings");
+        }
+    }
+    
+    private Booking findConfirmedBooking(Long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId)
+            .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId));
+        
+        if (booking.getStatus() != Booking.BookingStatus.CONFIRMED) {
+            throw new RuntimeException("Ticket can only be generated for confirmed bookings");
+        }
+        return booking;
     }
     
-    private String generateQrCodeData(Booking booking) {
-        return String.format("TICKET:%s|EVENT:%d|USER:%d|TICKETS:%d|DATE:%s",
-            booking.getTicketId(),
-            booking.getEvent().getId(),
-            booking.getUser().getId(),
-            booking.getNumberOfTickets(),
-            booking.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
-        );
+    /**
+     * Lazily walks the confirmed bookings of an event in id order, one batch at a time.
+     * The persistence context is cleared between batches so rendered bookings can be collected.
+     */
+    private Iterable<Booking> confirmedBookingsOf(Long eventId) {
+        return () -> new Iterator<Booking>() {
+            private Iterator<Booking> batch = Collections.emptyIterator();
+            private long lastId = 0L;
+            private boolean exhausted;
+            
+            @Override
+            public boolean hasNext() {
+                if (!batch.hasNext() && !exhausted) {
+                    entityManager.clear();
+                    List<Booking> next = bookingRepository.findTicketBatch(eventId,
+                        Booking.BookingStatus.CONFIRMED, lastId, PageRequest.of(0, TICKET_BATCH_SIZE));
+                    exhausted = next.size() < TICKET_BATCH_SIZE;
+                    batch = next.iterator();
+                }
+                return batch.hasNext();
+            }
+            
+            @Override
+            public Booking next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Booking booking = batch.next();
+                lastId = booking.getId();
+                return booking;
+            }
+        };
+    }
+    
+    /**
+     * Detach exported bookings now and then so the persistence context stays small
+     */
+    private void clearAfterExportRows(long rowsWritten) {
+        if (rowsWritten % EXPORT_CLEAR_INTERVAL == 0) {
+            entityManager.clear();
+        }
+    }
+    
+    private String generateTicketId() {
+        return "TKT-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
     
     @Override
@@ -346,6 +544,15 @@ public class BookingServiceImpl implements BookingService {
         dto.setUserName(booking.getUser().getName());
         dto.setUserEmail(booking.getUser().getEmail());
         
+        // Seat details for reserved seating
+        if (booking.getSeatRow() != null && booking.getFirstSeat() != null) {
+            int firstSeat = booking.getFirstSeat() + 1;
+            int lastSeat = booking.getFirstSeat() + booking.getNumberOfTickets();
+            dto.setSeatSection(booking.getSeatRow().getSection());
+            dto.setSeatRow(booking.getSeatRow().getRowLabel());
+            dto.setSeatNumbers(firstSeat == lastSeat ? String.valueOf(firstSeat) : firstSeat + "-" + lastSeat);
+        }
+        
         // Payment details if payment exists
         if (booking.getPayment() != null) {
             dto.setTransactionId(booking.getPayment().getTransactionId());
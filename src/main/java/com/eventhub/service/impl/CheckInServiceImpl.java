@@ -0,0 +1,530 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.dto.CheckInResult;
+import com.eventhub.model.entity.CheckInFailure;
+import com.eventhub.repository.BookingRepository;
+import com.eventhub.repository.CheckInFailureRepository;
+import com.eventhub.repository.CheckInRepository;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.service.CheckInService;
+import com.eventhub.util.TicketTokenCodec;
+import com.eventhub.util.TicketValidationSet;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gate check-in. Scans are validated against an in-memory set per event and never touch the
+ * database on the request path; admitted check-ins are queued and written in batches by a
+ * scheduled flush. The class is deliberately not @Transactional so scans never hold a connection.
+ *
+ * Each instance has its own sets. Cancellations made here revoke the ticket on commit, and every
+ * {@code checkin.revocation-sync-ms} the loaded events are checked for tickets cancelled
+ * elsewhere, including by bulk refunds. Likewise every {@code checkin.confirmation-sync-ms} tickets
+ * confirmed after the event was loaded are added, so late payments and day-of sales get in. Two instances can still admit the same admission before
+ * either has flushed; the unique key on check_ins catches that at flush time and the second
+ * record is kept in check_in_failures as a DUPLICATE_ADMISSION.
+ *
+ * A batch that violates a constraint is retried row by row so one bad row cannot hold back the
+ * rest. Rows that keep failing are moved to check_in_failures after
+ * {@code checkin.flush-max-attempts} tries. While the database is unreachable nothing is counted
+ * as an attempt and the queue simply waits.
+ */
+@Service
+public class CheckInServiceImpl implements CheckInService {
+
+    private static final String INSERT_CHECK_IN_SQL =
+        "INSERT INTO check_ins (booking_id, event_id, ticket_id, admission_number, gate, checked_in_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_FAILURE_SQL =
+        "INSERT INTO check_in_failures (booking_id, event_id, ticket_id, admission_number, gate, checked_in_at, " +
+        "reason, error, attempts, recorded_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CheckInRepository checkInRepository;
+
+    @Autowired
+    private CheckInFailureRepository checkInFailureRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TicketTokenCodec ticketTokenCodec;
+
+    @Value("${checkin.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${checkin.flush-max-attempts:5}")
+    private int flushMaxAttempts;
+
+    @Value("${checkin.revocation-sync-overlap-seconds:60}")
+    private long revocationSyncOverlapSeconds;
+
+    // Ticket ids are printed on every PDF, so accepting them bare bypasses the token signature
+    @Value("${checkin.allow-bare-ticket-ids:false}")
+    private boolean allowBareTicketIds;
+
+    private final Map<Long, EventTickets> validationSets = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<PendingCheckIn> pendingCheckIns = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private volatile LocalDateTime lastRevocationSync;
+    private volatile LocalDateTime lastConfirmationSync;
+
+    @PostConstruct
+    public void init() {
+        lastRevocationSync = LocalDateTime.now();
+        lastConfirmationSync = lastRevocationSync;
+    }
+
+    @Override
+    public CheckInStatistics loadEvent(Long eventId) {
+        return toStatistics(eventId, loadValidationSet(eventId));
+    }
+
+    @Override
+    public void unloadEvent(Long eventId) {
+        if (validationSets.remove(eventId) != null) {
+            flushPendingCheckIns();
+            System.out.println("🚪 Unloaded check-in set for event " + eventId);
+        }
+    }
+
+    @Override
+    public List<CheckInResult> scan(Long eventId, List<String> ticketIds, String gate) {
+        EventTickets tickets = validationSets.get(eventId);
+        if (tickets == null) {
+            tickets = loadValidationSet(eventId);
+        }
+
+        List<CheckInResult> results = new ArrayList<>(ticketIds.size());
+        for (String scanned : ticketIds) {
+            String ticketId = scanned;
+            if (ticketTokenCodec.isToken(scanned)) {
+                TicketTokenCodec.VerifiedTicket token = ticketTokenCodec.verify(scanned);
+                CheckInResult.Status rejection = rejectToken(token, eventId);
+                if (rejection != null) {
+                    results.add(new CheckInResult(token.getTicketId(), rejection, null, null));
+                    continue;
+                }
+                ticketId = token.getTicketId();
+            } else if (!allowBareTicketIds) {
+                results.add(new CheckInResult(null, CheckInResult.Status.INVALID_TOKEN, null, null));
+                continue;
+            }
+
+            TicketValidationSet set = null;
+            int slot = TicketValidationSet.NOT_FOUND;
+            if (ticketId != null) {
+                for (TicketValidationSet candidate : tickets.sets) {
+                    slot = candidate.find(ticketId);
+                    if (slot != TicketValidationSet.NOT_FOUND) {
+                        set = candidate;
+                        break;
+                    }
+                }
+            }
+            if (set == null) {
+                results.add(new CheckInResult(ticketId, CheckInResult.Status.UNKNOWN, null, null));
+                continue;
+            }
+
+            int admission = set.claim(slot);
+            if (admission == 0) {
+                results.add(set.isRevoked(slot)
+                    ? new CheckInResult(ticketId, CheckInResult.Status.CANCELLED, null, set.admissions(slot))
+                    : new CheckInResult(ticketId, CheckInResult.Status.ALREADY_USED,
+                        set.usedAdmissions(slot), set.admissions(slot)));
+                continue;
+            }
+
+            pendingCheckIns.add(new PendingCheckIn(set.bookingId(slot), eventId, set.ticketId(slot),
+                admission, gate, LocalDateTime.now()));
+            pendingCount.incrementAndGet();
+            results.add(new CheckInResult(ticketId, CheckInResult.Status.ADMITTED, admission, set.admissions(slot)));
+        }
+        return results;
+    }
+
+    @Override
+    public void revokeTicket(Long eventId, String ticketId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revokeLoaded(eventId, ticketId);
+                }
+            });
+        } else {
+            revokeLoaded(eventId, ticketId);
+        }
+    }
+
+    /**
+     * Revoke tickets cancelled on any instance since the last sync, re-reading a short overlap
+     * window so a cancellation committed late is not missed
+     */
+    @Scheduled(fixedDelayString = "${checkin.revocation-sync-ms:5000}")
+    public void syncRevokedTickets() {
+        LocalDateTime start = LocalDateTime.now();
+        if (!validationSets.isEmpty()) {
+            List<Object[]> rows = bookingRepository.findCancelledTicketIdsSince(new ArrayList<>(validationSets.keySet()),
+                lastRevocationSync.minusSeconds(revocationSyncOverlapSeconds));
+            for (Object[] row : rows) {
+                revokeLoaded((Long) row[0], (String) row[1]);
+            }
+        }
+        lastRevocationSync = start;
+    }
+
+    /**
+     * Add tickets confirmed on any instance since the last sync, with the same overlap window as
+     * revocations. Admissions another instance already recorded for them stay used.
+     */
+    @Scheduled(fixedDelayString = "${checkin.confirmation-sync-ms:5000}")
+    public synchronized void syncConfirmedTickets() {
+        LocalDateTime start = LocalDateTime.now();
+        if (!validationSets.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>();
+            for (Object[] row : bookingRepository.findConfirmedCheckInRowsSince(new ArrayList<>(validationSets.keySet()),
+                    lastConfirmationSync.minusSeconds(revocationSyncOverlapSeconds))) {
+                EventTickets tickets = validationSets.get((Long) row[0]);
+                if (tickets != null && !tickets.contains((String) row[2])) {
+                    rows.add(row);
+                }
+            }
+            if (!rows.isEmpty()) {
+                Map<Long, Integer> usedByBooking = new HashMap<>();
+                List<Long> bookingIds = new ArrayList<>(rows.size());
+                rows.forEach(row -> bookingIds.add((Long) row[1]));
+                for (Object[] row : checkInRepository.countAdmissionsByBookingIds(bookingIds)) {
+                    usedByBooking.put((Long) row[0], ((Number) row[1]).intValue());
+                }
+                for (Object[] row : rows) {
+                    Long eventId = (Long) row[0];
+                    Long bookingId = (Long) row[1];
+                    EventTickets tickets = validationSets.get(eventId);
+                    if (tickets != null) {
+                        tickets.add((String) row[2], bookingId, (Integer) row[3], usedByBooking.getOrDefault(bookingId, 0));
+                        System.out.println("🎟️ Added ticket " + row[2] + " confirmed after check-in opened at event " + eventId);
+                    }
+                }
+            }
+        }
+        lastConfirmationSync = start;
+    }
+
+    @Override
+    public TicketTokenCodec.VerifiedTicket verifyToken(String token) {
+        return ticketTokenCodec.verify(token);
+    }
+
+    @Override
+    public CheckInStatistics getStatistics(Long eventId) {
+        EventTickets tickets = validationSets.get(eventId);
+        if (tickets == null) {
+            Long recorded = checkInRepository.countByEventId(eventId);
+            return new CheckInStatistics(eventId, false, 0, 0, recorded != null ? recorded : 0, pendingCount.get(),
+                countFailures(eventId, CheckInFailure.Reason.DUPLICATE_ADMISSION),
+                countFailures(eventId, CheckInFailure.Reason.WRITE_FAILED));
+        }
+        return toStatistics(eventId, tickets);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${checkin.flush-interval-ms:500}")
+    public synchronized int flushPendingCheckIns() {
+        int flushed = 0;
+        List<PendingCheckIn> batch = new ArrayList<>(Math.min(flushBatchSize, Math.max(pendingCount.get(), 1)));
+        // Rows to try again on the next run, held back so this run does not spin on them
+        List<PendingCheckIn> retry = new ArrayList<>();
+        PendingCheckIn next;
+        try {
+            while (true) {
+                batch.clear();
+                while (batch.size() < flushBatchSize && (next = pendingCheckIns.poll()) != null) {
+                    batch.add(next);
+                }
+                if (batch.isEmpty()) {
+                    return flushed;
+                }
+
+                try {
+                    // One transaction, so a failed batch leaves nothing behind to collide with on retry
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                        INSERT_CHECK_IN_SQL, batch, batch.size(), (ps, checkIn) -> bindCheckIn(ps, checkIn)));
+                    pendingCount.addAndGet(-batch.size());
+                    flushed += batch.size();
+                } catch (DataIntegrityViolationException e) {
+                    int written = flushEach(batch, retry);
+                    if (written < 0) {
+                        return flushed;
+                    }
+                    flushed += written;
+                } catch (RuntimeException e) {
+                    if (isUnavailable(e)) {
+                        retry.addAll(batch);
+                        System.err.println("❌ Failed to flush " + batch.size() + " check-ins, database unavailable: " + e.getMessage());
+                        return flushed;
+                    }
+                    for (PendingCheckIn checkIn : batch) {
+                        failAttempt(checkIn, e, retry);
+                    }
+                    System.err.println("❌ Failed to flush " + batch.size() + " check-ins: " + e.getMessage());
+                }
+            }
+        } finally {
+            pendingCheckIns.addAll(retry);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushPendingCheckIns();
+    }
+
+    // Helper methods
+    private synchronized EventTickets loadValidationSet(Long eventId) {
+        EventTickets existing = validationSets.get(eventId);
+        if (existing != null) {
+            return existing;
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Event not found with id: " + eventId);
+        }
+
+        // Queued check-ins must be in the database before used admissions are counted
+        flushPendingCheckIns();
+
+        Map<Long, Integer> usedByBooking = new HashMap<>();
+        for (Object[] row : checkInRepository.countAdmissionsByBookingForEvent(eventId)) {
+            usedByBooking.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        // Check-ins the flush could not write yet still used their admission
+        for (PendingCheckIn checkIn : pendingCheckIns) {
+            if (checkIn.eventId == eventId) {
+                usedByBooking.merge(checkIn.bookingId, checkIn.admissionNumber, Integer::max);
+            }
+        }
+
+        List<Object[]> rows = bookingRepository.findCheckInRowsByEventId(eventId);
+        TicketValidationSet set = new TicketValidationSet(rows.size());
+        for (Object[] row : rows) {
+            Long bookingId = (Long) row[0];
+            set.add((String) row[1], bookingId, (Integer) row[2], usedByBooking.getOrDefault(bookingId, 0));
+        }
+
+        EventTickets tickets = new EventTickets(set);
+        validationSets.put(eventId, tickets);
+        System.out.println("🎟️ Loaded " + set.size() + " tickets (" + set.totalAdmissions() +
+            " admissions) for check-in at event " + eventId);
+        return tickets;
+    }
+
+    private CheckInResult.Status rejectToken(TicketTokenCodec.VerifiedTicket token, Long eventId) {
+        switch (token.getStatus()) {
+            case INVALID:
+                return CheckInResult.Status.INVALID_TOKEN;
+            case EXPIRED:
+                return CheckInResult.Status.EXPIRED;
+            default:
+                return token.getEventId() != eventId ? CheckInResult.Status.WRONG_EVENT : null;
+        }
+    }
+
+    private CheckInStatistics toStatistics(Long eventId, EventTickets tickets) {
+        long size = 0;
+        long totalAdmissions = 0;
+        long admitted = 0;
+        for (TicketValidationSet set : tickets.sets) {
+            size += set.size();
+            totalAdmissions += set.totalAdmissions();
+            admitted += set.admittedCount();
+        }
+        return new CheckInStatistics(eventId, true, size, totalAdmissions, admitted, pendingCount.get(),
+            countFailures(eventId, CheckInFailure.Reason.DUPLICATE_ADMISSION),
+            countFailures(eventId, CheckInFailure.Reason.WRITE_FAILED));
+    }
+
+    private long countFailures(Long eventId, CheckInFailure.Reason reason) {
+        return checkInFailureRepository.countByEventIdAndReason(eventId, reason);
+    }
+
+    private void revokeLoaded(Long eventId, String ticketId) {
+        EventTickets tickets = validationSets.get(eventId);
+        if (tickets != null && ticketId != null && tickets.revoke(ticketId)) {
+            System.out.println("🚫 Revoked ticket " + ticketId + " for check-in at event " + eventId);
+        }
+    }
+
+    /**
+     * Write a batch one row at a time to find the rows at fault
+     * @return rows written, or -1 if the database became unavailable; the unwritten rows are
+     *         then in {@code retry}
+     */
+    private int flushEach(List<PendingCheckIn> batch, List<PendingCheckIn> retry) {
+        int written = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            PendingCheckIn checkIn = batch.get(i);
+            try {
+                jdbcTemplate.update(INSERT_CHECK_IN_SQL, ps -> bindCheckIn(ps, checkIn));
+                pendingCount.decrementAndGet();
+                written++;
+            } catch (DuplicateKeyException e) {
+                // Another instance recorded this admission first: two people got in on it
+                System.err.println("⚠️ Admission " + checkIn.admissionNumber + " of ticket " + checkIn.ticketId +
+                    " (event " + checkIn.eventId + ", gate " + checkIn.gate + ") was already recorded elsewhere");
+                setAside(checkIn, CheckInFailure.Reason.DUPLICATE_ADMISSION, null, retry);
+            } catch (RuntimeException e) {
+                if (isUnavailable(e)) {
+                    retry.addAll(batch.subList(i, batch.size()));
+                    System.err.println("❌ Failed to flush check-ins, database unavailable: " + e.getMessage());
+                    return -1;
+                }
+                failAttempt(checkIn, e, retry);
+            }
+        }
+        return written;
+    }
+
+    private void failAttempt(PendingCheckIn checkIn, RuntimeException e, List<PendingCheckIn> retry) {
+        if (++checkIn.attempts < flushMaxAttempts) {
+            retry.add(checkIn);
+            return;
+        }
+        System.err.println("❌ Giving up on check-in of ticket " + checkIn.ticketId + " admission " +
+            checkIn.admissionNumber + " after " + checkIn.attempts + " attempts: " + e.getMessage());
+        setAside(checkIn, CheckInFailure.Reason.WRITE_FAILED, e.getMessage(), retry);
+    }
+
+    // Move a row to check_in_failures; if even that fails it stays queued rather than being lost
+    private void setAside(PendingCheckIn checkIn, CheckInFailure.Reason reason, String error,
+                          List<PendingCheckIn> retry) {
+        try {
+            jdbcTemplate.update(INSERT_FAILURE_SQL, ps -> {
+                bindCheckIn(ps, checkIn);
+                ps.setString(7, reason.name());
+                ps.setString(8, error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+                ps.setInt(9, checkIn.attempts);
+                ps.setTimestamp(10, Timestamp.valueOf(LocalDateTime.now()));
+            });
+            pendingCount.decrementAndGet();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Failed to record check-in failure for ticket " + checkIn.ticketId + ": " + e.getMessage());
+            retry.add(checkIn);
+        }
+    }
+
+    private static void bindCheckIn(PreparedStatement ps, PendingCheckIn checkIn) throws SQLException {
+        ps.setLong(1, checkIn.bookingId);
+        ps.setLong(2, checkIn.eventId);
+        ps.setString(3, checkIn.ticketId);
+        ps.setInt(4, checkIn.admissionNumber);
+        ps.setString(5, checkIn.gate);
+        ps.setTimestamp(6, Timestamp.valueOf(checkIn.checkedInAt));
+    }
+
+    // Connection and transaction failures say nothing about the rows, so they do not count as attempts
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof DataAccessResourceFailureException || e instanceof TransientDataAccessException
+            || e instanceof TransactionException;
+    }
+
+    /**
+     * The validation sets of one loaded event. Tickets confirmed after loading go into the newest
+     * set; when it is full a set twice its size is appended, so lookups walk only a few sets.
+     * Tickets are only added under the service lock; lookups and revocations run concurrently.
+     */
+    private static class EventTickets {
+        private volatile TicketValidationSet[] sets;
+
+        EventTickets(TicketValidationSet loaded) {
+            this.sets = new TicketValidationSet[] {loaded};
+        }
+
+        boolean contains(String ticketId) {
+            for (TicketValidationSet set : sets) {
+                if (set.find(ticketId) != TicketValidationSet.NOT_FOUND) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(String ticketId, long bookingId, int admissions, int alreadyUsed) {
+            TicketValidationSet newest = sets[sets.length - 1];
+            if (newest.isFull()) {
+                TicketValidationSet[] grown = Arrays.copyOf(sets, sets.length + 1);
+                newest = new TicketValidationSet(Math.max(newest.size() * 2, 64));
+                grown[sets.length] = newest;
+                sets = grown;
+            }
+            newest.add(ticketId, bookingId, admissions, alreadyUsed);
+        }
+
+        boolean revoke(String ticketId) {
+            for (TicketValidationSet set : sets) {
+                if (set.revoke(ticketId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class PendingCheckIn {
+        private final long bookingId;
+        private final long eventId;
+        private final String ticketId;
+        private final int admissionNumber;
+        private final String gate;
+        private final LocalDateTime checkedInAt;
+        private int attempts;
+
+        PendingCheckIn(long bookingId, long eventId, String ticketId, int admissionNumber,
+                       String gate, LocalDateTime checkedInAt) {
+            this.bookingId = bookingId;
+            this.eventId = eventId;
+            this.ticketId = ticketId;
+            this.admissionNumber = admissionNumber;
+            this.gate = gate;
+            this.checkedInAt = checkedInAt;
+        }
+    }
+}
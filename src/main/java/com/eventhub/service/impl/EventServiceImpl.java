@@ -2,11 +2,16 @@
 package com.eventhub.service.impl;
 
 import com.eventhub.dto.EventDTO;
+import com.eventhub.dto.EventNotification;
 import com.eventhub.model.entity.Event;
 import com.eventhub.repository.EventRepository;
 import com.eventhub.repository.ReviewRepository;
 import com.eventhub.service.EventService;
+import com.eventhub.service.RefundJobService;
 import com.eventhub.service.WebSocketService;
+import com.eventhub.util.SeatUpdateCoalescer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -37,6 +42,15 @@ public class EventServiceImpl implements EventService {
     @Autowired
     private WebSocketService webSocketService;
     
+    @Autowired
+    private SeatUpdateCoalescer seatUpdateCoalescer;
+    
+    @Autowired
+    private RefundJobService refundJobService;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     @Override
     public EventDTO createEvent(EventDTO eventDTO) {
         System.out.println("🎯 EventServiceImpl: Creating event - " + eventDTO.getTitle());
@@ -77,32 +91,11 @@ public class EventServiceImpl implements EventService {
         try {
             System.out.println("🚀 Sending real-time notifications for new event: " + eventDTO.getTitle());
             
-            // 1. Send to global event subscribers (all users)
-            Map<String, Object> globalNotification = new HashMap<>();
-            globalNotification.put("type", "NEW_EVENT");
-            globalNotification.put("event", eventDTO);
-            globalNotification.put("timestamp", LocalDateTime.now());
-            
-            webSocketService.sendGlobalEventNotification(globalNotification);
-            System.out.println("✅ Sent global event notification");
+            // 1. One notification for global event subscribers (all users) and the admin dashboard
+            webSocketService.sendGlobalAndDashboardUpdate(EventNotification.eventCreated(eventDTO));
+            System.out.println("✅ Sent global and admin dashboard notification");
             
-            // 2. Send to admin dashboard subscribers (admins only)
-            Map<String, Object> adminDashboardNotification = new HashMap<>();
-            adminDashboardNotification.put("type", "NEW_EVENT_CREATED");
-            adminDashboardNotification.put("eventId", eventDTO.getId());
-            adminDashboardNotification.put("eventTitle", eventDTO.getTitle());
-            adminDashboardNotification.put("eventCategory", eventDTO.getCategory());
-            adminDashboardNotification.put("eventDate", eventDTO.getDate());
-            adminDashboardNotification.put("eventPrice", eventDTO.getPrice());
-            adminDashboardNotification.put("totalSeats", eventDTO.getTotalSeats());
-            adminDashboardNotification.put("availableSeats", eventDTO.getAvailableSeats());
-            adminDashboardNotification.put("message", "New event '" + eventDTO.getTitle() + "' has been created successfully");
-            adminDashboardNotification.put("timestamp", LocalDateTime.now());
-            
-            webSocketService.sendDashboardUpdate(adminDashboardNotification);
-            System.out.println("✅ Sent admin dashboard notification");
-            
-            // 3. Send event-specific update
+            // 2. Send event-specific update
             Map<String, Object> specificEventNotification = new HashMap<>();
             specificEventNotification.put("type", "EVENT_CREATED");
             specificEventNotification.put("event", eventDTO);
@@ -136,10 +129,14 @@ public class EventServiceImpl implements EventService {
         existingEvent.setUpdatedAt(LocalDateTime.now());
         
         // Update total seats and adjust available seats if needed
-        if (eventDTO.getTotalSeats() != null) {
+        if (eventDTO.getTotalSeats() != null && !eventDTO.getTotalSeats().equals(existingEvent.getTotalSeats())) {
             int seatDifference = eventDTO.getTotalSeats() - existingEvent.getTotalSeats();
-            existingEvent.setTotalSeats(eventDTO.getTotalSeats());
-            existingEvent.setAvailableSeats(existingEvent.getAvailableSeats() + seatDifference);
+            // One statement, so bookings made meanwhile are not overwritten
+            if (eventRepository.adjustSeats(id, seatDifference, seatDifference) == 0) {
+                throw new RuntimeException("Cannot reduce total seats below the seats already booked");
+            }
+            entityManager.refresh(existingEvent);
+            seatUpdateCoalescer.submit(existingEvent);
         }
         
         Event updatedEvent = eventRepository.save(existingEvent);
@@ -170,25 +167,10 @@ public class EventServiceImpl implements EventService {
         try {
             System.out.println("🔄 Sending real-time notifications for updated event: " + eventDTO.getTitle());
             
-            // 1. Global event update
-            Map<String, Object> globalNotification = new HashMap<>();
-            globalNotification.put("type", "EVENT_UPDATED");
-            globalNotification.put("event", eventDTO);
-            globalNotification.put("timestamp", LocalDateTime.now());
-            
-            webSocketService.sendGlobalEventNotification(globalNotification);
-            
-            // 2. Admin dashboard update
-            Map<String, Object> adminDashboardNotification = new HashMap<>();
-            adminDashboardNotification.put("type", "EVENT_UPDATED");
-            adminDashboardNotification.put("eventId", eventDTO.getId());
-            adminDashboardNotification.put("eventTitle", eventDTO.getTitle());
-            adminDashboardNotification.put("message", "Event '" + eventDTO.getTitle() + "' has been updated");
-            adminDashboardNotification.put("timestamp", LocalDateTime.now());
-            
-            webSocketService.sendDashboardUpdate(adminDashboardNotification);
+            // 1. Global and admin dashboard update
+            webSocketService.sendGlobalAndDashboardUpdate(EventNotification.eventUpdated(eventDTO));
             
-            // 3. Event-specific update
+            // 2. Event-specific update
             webSocketService.sendEventUpdate(eventDTO.getId().toString(), eventDTO);
             
             System.out.println("✅ Sent all event update notifications");
@@ -382,29 +364,12 @@ public class EventServiceImpl implements EventService {
             System.out.println("🔄 Sending real-time notifications for status change: " + eventDTO.getTitle() + 
                               " (Active: " + eventDTO.getIsActive() + ")");
             
-            // 1. Global status change notification
-            Map<String, Object> globalNotification = new HashMap<>();
-            globalNotification.put("type", "EVENT_STATUS_CHANGED");
-            globalNotification.put("event", eventDTO);
-            globalNotification.put("isActive", eventDTO.getIsActive());
-            globalNotification.put("timestamp", LocalDateTime.now());
+            // 1. Global and admin dashboard notification
+            EventNotification notification = EventNotification.eventStatusChanged(eventDTO);
+            webSocketService.sendGlobalAndDashboardUpdate(notification);
             
-            webSocketService.sendGlobalEventNotification(globalNotification);
-            
-            // 2. Admin dashboard notification
-            Map<String, Object> adminNotification = new HashMap<>();
-            adminNotification.put("type", "EVENT_STATUS_CHANGED");
-            adminNotification.put("eventId", eventDTO.getId());
-            adminNotification.put("eventTitle", eventDTO.getTitle());
-            adminNotification.put("isActive", eventDTO.getIsActive());
-            adminNotification.put("message", "Event '" + eventDTO.getTitle() + "' is now " + 
-                                             (eventDTO.getIsActive() ? "active" : "inactive"));
-            adminNotification.put("timestamp", LocalDateTime.now());
-            
-            webSocketService.sendDashboardUpdate(adminNotification);
-            
-            // 3. Event-specific notification
-            webSocketService.sendEventUpdate(eventDTO.getId().toString(), globalNotification);
+            // 2. Event-specific notification
+            webSocketService.sendEventUpdate(eventDTO.getId().toString(), notification);
             
             System.out.println("✅ Sent all status change notifications");
             
@@ -430,6 +395,9 @@ public class EventServiceImpl implements EventService {
         
         System.out.println("✅ EventServiceImpl: Event soft deleted from database");
         
+        // Paid bookings are refunded in the background once the delete commits
+        refundJobService.startEventRefund(id);
+        
         // Send real-time delete notification
         if (TransactionSynchronizationManager.isSynchronizationActive()) {
             TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
@@ -451,25 +419,8 @@ public class EventServiceImpl implements EventService {
         try {
             System.out.println("🗑️ Sending real-time notifications for deleted event: " + eventTitle);
             
-            // 1. Global deletion notification
-            Map<String, Object> globalNotification = new HashMap<>();
-            globalNotification.put("type", "EVENT_DELETED");
-            globalNotification.put("eventId", eventId);
-            globalNotification.put("eventTitle", eventTitle);
-            globalNotification.put("message", "Event '" + eventTitle + "' has been deleted");
-            globalNotification.put("timestamp", LocalDateTime.now());
-            
-            webSocketService.sendGlobalEventNotification(globalNotification);
-            
-            // 2. Admin dashboard notification
-            Map<String, Object> adminDashboardNotification = new HashMap<>();
-            adminDashboardNotification.put("type", "EVENT_DELETED");
-            adminDashboardNotification.put("eventId", eventId);
-            adminDashboardNotification.put("eventTitle", eventTitle);
-            adminDashboardNotification.put("message", "Event '" + eventTitle + "' has been deleted successfully");
-            adminDashboardNotification.put("timestamp", LocalDateTime.now());
-            
-            webSocketService.sendDashboardUpdate(adminDashboardNotification);
+            // Global and admin dashboard notification
+            webSocketService.sendGlobalAndDashboardUpdate(EventNotification.eventDeleted(eventId, eventTitle, null));
             
             System.out.println("✅ Sent all event deletion notifications");
             
@@ -486,76 +437,16 @@ public class EventServiceImpl implements EventService {
         Event event = eventRepository.findById(eventId)
             .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
         
-        int newAvailableSeats = event.getAvailableSeats() - seatsBooked;
-        if (newAvailableSeats < 0) {
+        event.setUpdatedAt(LocalDateTime.now());
+        if (eventRepository.addAvailableSeats(eventId, -seatsBooked) == 0) {
             throw new RuntimeException("Not enough available seats");
         }
+        entityManager.refresh(event);
         
-        event.setAvailableSeats(newAvailableSeats);
-        event.setUpdatedAt(LocalDateTime.now());
-        eventRepository.save(event);
-        
-        System.out.println("✅ EventServiceImpl: Seats updated - Available: " + newAvailableSeats);
+        System.out.println("✅ EventServiceImpl: Seats updated - Available: " + event.getAvailableSeats());
         
-        // Send real-time seat update notification
-        if (TransactionSynchronizationManager.isSynchronizationActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
-                @Override
-                public void afterCommit() {
-                    System.out.println("📡 EventServiceImpl: Seat update transaction committed, sending notifications...");
-                    sendSeatUpdateNotifications(eventId, event, newAvailableSeats);
-                }
-            });
-        } else {
-            sendSeatUpdateNotifications(eventId, event, newAvailableSeats);
-        }
-    }
-    
-    /**
-     * Send comprehensive real-time notifications for seat updates
-     */
-    private void sendSeatUpdateNotifications(Long eventId, Event event, int newAvailableSeats) {
-        try {
-            System.out.println("💺 Sending real-time seat update notifications for event: " + event.getTitle());
-            
-            // 1. Send seat-specific update
-            Map<String, Object> seatUpdate = new HashMap<>();
-            seatUpdate.put("eventId", eventId);
-            seatUpdate.put("availableSeats", newAvailableSeats);
-            seatUpdate.put("totalSeats", event.getTotalSeats());
-            seatUpdate.put("bookedSeats", event.getTotalSeats() - newAvailableSeats);
-            seatUpdate.put("timestamp", LocalDateTime.now());
-            
-            webSocketService.sendSeatUpdate(eventId.toString(), seatUpdate);
-            
-            // 2. Send general event update
-            Map<String, Object> eventUpdate = new HashMap<>();
-            eventUpdate.put("type", "SEAT_UPDATE");
-            eventUpdate.put("eventId", eventId);
-            eventUpdate.put("eventTitle", event.getTitle());
-            eventUpdate.put("availableSeats", newAvailableSeats);
-            eventUpdate.put("totalSeats", event.getTotalSeats());
-            eventUpdate.put("timestamp", LocalDateTime.now());
-            
-            webSocketService.sendGlobalEventNotification(eventUpdate);
-            
-            // 3. Send admin dashboard notification
-            Map<String, Object> adminNotification = new HashMap<>();
-            adminNotification.put("type", "SEAT_UPDATE");
-            adminNotification.put("eventId", eventId);
-            adminNotification.put("eventTitle", event.getTitle());
-            adminNotification.put("availableSeats", newAvailableSeats);
-            adminNotification.put("message", "Seats updated for '" + event.getTitle() + "' - " + newAvailableSeats + " seats remaining");
-            adminNotification.put("timestamp", LocalDateTime.now());
-            
-            webSocketService.sendDashboardUpdate(adminNotification);
-            
-            System.out.println("✅ Sent all seat update notifications");
-            
-        } catch (Exception e) {
-            System.err.println("❌ Failed to send WebSocket seat update notifications: " + e.getMessage());
-            e.printStackTrace();
-        }
+        // Coalesced with other seat changes and broadcast after commit
+        seatUpdateCoalescer.submit(event);
     }
     
     @Override
@@ -0,0 +1,256 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.event.PaymentStatusChangedEvent;
+import com.eventhub.model.entity.LedgerEntry;
+import com.eventhub.model.entity.Payment;
+import com.eventhub.repository.DailyLedgerBalanceRepository;
+import com.eventhub.service.LedgerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only double-entry revenue ledger.
+ *
+ * A sale debits GATEWAY_CLEARING with the payment amount and credits TICKET_REVENUE and
+ * SERVICE_FEES; a refund posts the mirror image. Postings are made from the payment status
+ * events, in the transaction that changes the status, and add into one balance row per day,
+ * payment method and account. Each balance row also keeps the running totals up to its day,
+ * carried forward from the previous row when a day's row is created, so revenue figures read
+ * one row per account and payment method for a balance, or two for a date range, rather than
+ * summing every day. If the ledger is empty at startup it is backfilled from the payments table.
+ */
+@Service
+public class LedgerServiceImpl implements LedgerService {
+
+    private static final String POSTING_SOURCE_SQL =
+        "SELECT p.amount, p.payment_method, b.service_fee FROM payments p " +
+        "JOIN bookings b ON b.id = p.booking_id WHERE p.transaction_id = ?";
+
+    // The (transaction_id, entry_type, account) key turns a repeated posting into a no-op
+    private static final String INSERT_ENTRY_VALUES =
+        "INSERT IGNORE INTO ledger_entries (transaction_id, entry_type, account, payment_method, debit, credit, " +
+        "entry_date, created_at) VALUES ";
+
+    // Creates the day's row, carrying the running totals forward from the account's previous row
+    private static final String OPEN_BALANCE_SQL =
+        "INSERT IGNORE INTO ledger_daily_balances (balance_date, payment_method, account, debit_total, credit_total, " +
+        "cumulative_debit, cumulative_credit) SELECT ?, ?, ?, 0, 0, COALESCE(MAX(p.cumulative_debit), 0), " +
+        "COALESCE(MAX(p.cumulative_credit), 0) FROM (SELECT cumulative_debit, cumulative_credit FROM ledger_daily_balances " +
+        "WHERE payment_method = ? AND account = ? AND balance_date < ? ORDER BY balance_date DESC LIMIT 1) p";
+
+    // Adds to the day's totals and to the running totals of that day and any later one (normally
+    // none; a posting dated just before midnight can commit after the next day's row was opened)
+    private static final String ADD_TO_BALANCE_SQL =
+        "UPDATE ledger_daily_balances SET cumulative_debit = cumulative_debit + ?, cumulative_credit = cumulative_credit + ?, " +
+        "debit_total = CASE WHEN balance_date = ? THEN debit_total + ? ELSE debit_total END, " +
+        "credit_total = CASE WHEN balance_date = ? THEN credit_total + ? ELSE credit_total END " +
+        "WHERE payment_method = ? AND account = ? AND balance_date >= ?";
+
+    private static final String BACKFILL_SQL =
+        "INSERT IGNORE INTO ledger_entries (transaction_id, entry_type, account, payment_method, debit, credit, " +
+        "entry_date, created_at) SELECT p.transaction_id, '%s', '%s', p.payment_method, %s, %s, DATE(%s), NOW() " +
+        "FROM payments p JOIN bookings b ON b.id = p.booking_id WHERE p.status IN (%s)";
+
+    private static final String REBUILD_BALANCES_SQL =
+        "INSERT INTO ledger_daily_balances (balance_date, payment_method, account, debit_total, credit_total) " +
+        "SELECT entry_date, payment_method, account, SUM(debit), SUM(credit) FROM ledger_entries " +
+        "GROUP BY entry_date, payment_method, account " +
+        "ON DUPLICATE KEY UPDATE debit_total = VALUES(debit_total), credit_total = VALUES(credit_total)";
+
+    private static final String REBUILD_RUNNING_TOTALS_SQL =
+        "UPDATE ledger_daily_balances b JOIN (SELECT id, SUM(debit_total) OVER w AS running_debit, " +
+        "SUM(credit_total) OVER w AS running_credit FROM ledger_daily_balances " +
+        "WINDOW w AS (PARTITION BY payment_method, account ORDER BY balance_date)) r ON r.id = b.id " +
+        "SET b.cumulative_debit = r.running_debit, b.cumulative_credit = r.running_credit";
+
+    // Rows from before the running totals existed have them at zero
+    private static final String MISSING_RUNNING_TOTALS_SQL =
+        "SELECT 1 FROM ledger_daily_balances WHERE cumulative_debit < debit_total OR cumulative_credit < credit_total LIMIT 1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DailyLedgerBalanceRepository dailyLedgerBalanceRepository;
+
+    /**
+     * Runs in the publisher's transaction, so a posting commits or rolls back with the status change
+     */
+    @EventListener
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        if (event.getNewStatus() == Payment.PaymentStatus.SUCCESS) {
+            recordSale(event.getTransactionId());
+        } else if (event.getNewStatus() == Payment.PaymentStatus.REFUNDED) {
+            recordRefund(event.getTransactionId());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recordSale(String transactionId) {
+        post(transactionId, LedgerEntry.EntryType.SALE);
+    }
+
+    @Override
+    @Transactional
+    public void recordRefund(String transactionId) {
+        post(transactionId, LedgerEntry.EntryType.REFUND);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RevenueTotals getRevenueTotals() {
+        return toRevenueTotals(dailyLedgerBalanceRepository.getAccountTotals());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RevenueTotals getRevenueTotals(LocalDate startDate, LocalDate endDate) {
+        List<Object[]> accountTotals = new ArrayList<>(dailyLedgerBalanceRepository.getAccountTotalsAsOf(endDate));
+        // Take off the balance before the range by adding it with debit and credit swapped
+        for (Object[] row : dailyLedgerBalanceRepository.getAccountTotalsAsOf(startDate.minusDays(1))) {
+            accountTotals.add(new Object[] {row[0], row[1], row[3], row[2]});
+        }
+        return toRevenueTotals(accountTotals);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!jdbcTemplate.queryForList("SELECT 1 FROM ledger_entries LIMIT 1").isEmpty()) {
+            if (!jdbcTemplate.queryForList(MISSING_RUNNING_TOTALS_SQL).isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(REBUILD_RUNNING_TOTALS_SQL));
+                System.out.println("📒 Rebuilt the ledger's running balances");
+            }
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            int posted = 0;
+            for (LedgerEntry.EntryType entryType : LedgerEntry.EntryType.values()) {
+                boolean sale = entryType == LedgerEntry.EntryType.SALE;
+                String dateColumn = sale ? "p.created_at" : "p.updated_at";
+                String statuses = sale ? "'SUCCESS', 'REFUNDED'" : "'REFUNDED'";
+                for (LedgerEntry.Account account : LedgerEntry.Account.values()) {
+                    String amount = account == LedgerEntry.Account.GATEWAY_CLEARING ? "p.amount"
+                        : account == LedgerEntry.Account.SERVICE_FEES ? "COALESCE(b.service_fee, 0)"
+                        : "p.amount - COALESCE(b.service_fee, 0)";
+                    boolean debit = (account == LedgerEntry.Account.GATEWAY_CLEARING) == sale;
+                    posted += jdbcTemplate.update(String.format(BACKFILL_SQL, entryType, account,
+                        debit ? amount : "0", debit ? "0" : amount, dateColumn, statuses));
+                }
+            }
+            jdbcTemplate.update(REBUILD_BALANCES_SQL);
+            jdbcTemplate.update(REBUILD_RUNNING_TOTALS_SQL);
+            if (posted > 0) {
+                System.out.println("📒 Backfilled " + posted + " ledger entries from existing payments");
+            }
+        });
+    }
+
+    private void post(String transactionId, LedgerEntry.EntryType entryType) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(POSTING_SOURCE_SQL, transactionId);
+        if (rows.isEmpty()) {
+            System.err.println("⚠️ No payment " + transactionId + " to post to the ledger");
+            return;
+        }
+        Map<String, Object> row = rows.get(0);
+        BigDecimal amount = (BigDecimal) row.get("amount");
+        String method = (String) row.get("payment_method");
+        BigDecimal serviceFee = row.get("service_fee") != null ? (BigDecimal) row.get("service_fee") : BigDecimal.ZERO;
+
+        boolean sale = entryType == LedgerEntry.EntryType.SALE;
+        // Legs stay in Account order so concurrent postings lock balance rows in the same order
+        List<Leg> legs = List.of(
+            new Leg(LedgerEntry.Account.GATEWAY_CLEARING, amount, sale),
+            new Leg(LedgerEntry.Account.TICKET_REVENUE, amount.subtract(serviceFee), !sale),
+            new Leg(LedgerEntry.Account.SERVICE_FEES, serviceFee, !sale));
+
+        Date today = Date.valueOf(LocalDate.now());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> entryArgs = new ArrayList<>();
+        List<Object[]> openArgs = new ArrayList<>();
+        List<Object[]> addArgs = new ArrayList<>();
+        for (Leg leg : legs) {
+            entryArgs.add(transactionId);
+            entryArgs.add(entryType.name());
+            entryArgs.add(leg.account.name());
+            entryArgs.add(method);
+            entryArgs.add(leg.debit);
+            entryArgs.add(leg.credit);
+            entryArgs.add(today);
+            entryArgs.add(now);
+
+            openArgs.add(new Object[] {today, method, leg.account.name(), method, leg.account.name(), today});
+            addArgs.add(new Object[] {leg.debit, leg.credit, today, leg.debit, today, leg.credit,
+                method, leg.account.name(), today});
+        }
+
+        int inserted = jdbcTemplate.update(INSERT_ENTRY_VALUES + placeholders(legs.size(), 8), entryArgs.toArray());
+        if (inserted == 0) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(OPEN_BALANCE_SQL, openArgs);
+        jdbcTemplate.batchUpdate(ADD_TO_BALANCE_SQL, addArgs);
+    }
+
+    private RevenueTotals toRevenueTotals(List<Object[]> accountTotals) {
+        BigDecimal ticketRevenue = BigDecimal.ZERO;
+        BigDecimal serviceFees = BigDecimal.ZERO;
+        Map<String, BigDecimal> revenueByMethod = new LinkedHashMap<>();
+        for (Payment.PaymentMethod method : Payment.PaymentMethod.values()) {
+            revenueByMethod.put(method.name(), BigDecimal.ZERO);
+        }
+
+        for (Object[] row : accountTotals) {
+            LedgerEntry.Account account = (LedgerEntry.Account) row[0];
+            if (account == LedgerEntry.Account.GATEWAY_CLEARING) {
+                continue;
+            }
+            Payment.PaymentMethod method = (Payment.PaymentMethod) row[1];
+            BigDecimal net = ((BigDecimal) row[2]).subtract((BigDecimal) row[3]);
+            if (account == LedgerEntry.Account.TICKET_REVENUE) {
+                ticketRevenue = ticketRevenue.add(net);
+            } else {
+                serviceFees = serviceFees.add(net);
+            }
+            revenueByMethod.merge(method.name(), net, BigDecimal::add);
+        }
+
+        return new RevenueTotals(ticketRevenue.add(serviceFees), ticketRevenue, serviceFees, revenueByMethod);
+    }
+
+    private static String placeholders(int rows, int columns) {
+        String row = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        return String.join(", ", Collections.nCopies(rows, row));
+    }
+
+    private static class Leg {
+        private final LedgerEntry.Account account;
+        private final BigDecimal debit;
+        private final BigDecimal credit;
+
+        Leg(LedgerEntry.Account account, BigDecimal amount, boolean debit) {
+            this.account = account;
+            this.debit = debit ? amount : BigDecimal.ZERO;
+            this.credit = debit ? BigDecimal.ZERO : amount;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.model.entity.Booking;
+import com.eventhub.model.entity.Payment;
+import com.eventhub.model.entity.PaymentOutbox;
+import com.eventhub.repository.BookingRepository;
+import com.eventhub.repository.PaymentOutboxRepository;
+import com.eventhub.service.PaymentGateway;
+import com.eventhub.service.PaymentGateway.GatewayResult;
+import com.eventhub.service.PaymentOutboxService;
+import com.eventhub.service.WebSocketService;
+import com.eventhub.util.PaymentStateMachine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs accepted payments against the gateway. Each entry is processed in three steps: a short
+ * transaction takes a lease on the outbox row, the gateway is called with no transaction or
+ * connection held, and a second short transaction applies the result through the
+ * {@link PaymentStateMachine}. Users are told the outcome over WebSocket after that commits.
+ * Each lease has a random id, and the result is only applied while that lease is still held, so
+ * a worker whose lease expired mid-call cannot overwrite the outcome of the worker that took over.
+ */
+@Service
+public class PaymentOutboxServiceImpl implements PaymentOutboxService {
+
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentStateMachine paymentStateMachine;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PaymentGateway paymentGateway;
+
+    @Value("${payment.outbox.workers:8}")
+    private int workers;
+
+    @Value("${payment.outbox.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${payment.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${payment.outbox.lease-seconds:30}")
+    private long leaseSeconds;
+
+    @Value("${payment.outbox.retry-backoff-ms:2000}")
+    private long retryBackoffMs;
+
+    @Value("${payment.outbox.poll-batch-size:100}")
+    private int pollBatchSize;
+
+    private ThreadPoolExecutor gatewayExecutor;
+
+    // Entries queued or running on this instance, so polling does not queue them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        gatewayExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "payment-gateway-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Unfinished entries keep their lease and are picked up again after it expires
+        gatewayExecutor.shutdown();
+        gatewayExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void dispatch(Long outboxId) {
+        if (!inFlight.add(outboxId)) {
+            return;
+        }
+        try {
+            gatewayExecutor.execute(() -> {
+                try {
+                    process(outboxId);
+                } catch (Exception e) {
+                    System.err.println("❌ Payment outbox entry " + outboxId + " failed: " + e.getMessage());
+                } finally {
+                    inFlight.remove(outboxId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(outboxId);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${payment.outbox.poll-interval-ms:1000}")
+    public int dispatchDue() {
+        List<Long> due = transactionTemplate.execute(status ->
+            paymentOutboxRepository.findDueIds(LocalDateTime.now(), PageRequest.of(0, pollBatchSize)));
+        if (due == null || due.isEmpty()) {
+            return 0;
+        }
+        due.forEach(this::dispatch);
+        return due.size();
+    }
+
+    // Helper methods
+    private void process(Long outboxId) {
+        String leaseId = UUID.randomUUID().toString();
+        GatewayCall call = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (paymentOutboxRepository.claim(outboxId, leaseId, now, now.plusSeconds(leaseSeconds)) == 0) {
+                return null;
+            }
+            PaymentOutbox entry = paymentOutboxRepository.findWithPaymentById(outboxId).orElse(null);
+            if (entry == null) {
+                return null;
+            }
+            Payment payment = entry.getPayment();
+            return new GatewayCall(payment.getTransactionId(), payment.getPaymentMethod(),
+                payment.getAmount(), entry.getInstrument());
+        });
+        if (call == null) {
+            return;
+        }
+
+        GatewayResult result;
+        try {
+            result = paymentGateway.charge(call.transactionId, call.method, call.amount, call.instrument);
+        } catch (Exception e) {
+            notify(transactionTemplate.execute(status -> recordGatewayError(outboxId, leaseId, e)));
+            return;
+        }
+        notify(transactionTemplate.execute(status -> applyResult(outboxId, leaseId, result)));
+    }
+
+    private PaymentNotification applyResult(Long outboxId, String leaseId, GatewayResult result) {
+        PaymentOutbox entry = paymentOutboxRepository.findWithPaymentById(outboxId).orElse(null);
+        if (entry == null || !release(entry, leaseId, PaymentOutbox.OutboxStatus.COMPLETED,
+                entry.getLastError(), entry.getNextAttemptAt())) {
+            return null;
+        }
+
+        Payment payment = entry.getPayment();
+        Payment.PaymentStatus target = result.isApproved() ? Payment.PaymentStatus.SUCCESS : Payment.PaymentStatus.FAILED;
+        if (!paymentStateMachine.canTransition(payment.getStatus(), target)) {
+            // Already settled elsewhere (e.g. by an admin); the late result is dropped
+            System.out.println("⚠️ Ignoring gateway result for " + payment.getTransactionId() +
+                " in status " + payment.getStatus());
+            return null;
+        }
+        paymentStateMachine.transition(payment, target, result.getMessage());
+
+        Booking booking = payment.getBooking();
+        if (target == Payment.PaymentStatus.SUCCESS && booking.getStatus() == Booking.BookingStatus.PENDING) {
+            booking.setStatus(Booking.BookingStatus.CONFIRMED);
+            booking.setUpdatedAt(LocalDateTime.now());
+            bookingRepository.save(booking);
+        }
+        return new PaymentNotification(payment, booking);
+    }
+
+    private PaymentNotification recordGatewayError(Long outboxId, String leaseId, Exception error) {
+        PaymentOutbox entry = paymentOutboxRepository.findWithPaymentById(outboxId).orElse(null);
+        if (entry == null) {
+            return null;
+        }
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        String lastError = message.length() > 500 ? message.substring(0, 500) : message;
+
+        // Anything but a clean gateway failure may have charged the customer
+        boolean outcomeUnknown = !(error instanceof PaymentGateway.GatewayUnavailableException) ||
+            ((PaymentGateway.GatewayUnavailableException) error).isOutcomeUnknown();
+        if (outcomeUnknown && paymentOutboxRepository.markOutcomeUnknown(outboxId, leaseId) == 0) {
+            System.out.println("⚠️ Lease on payment outbox entry " + outboxId + " was lost; dropping this result");
+            return null;
+        }
+        outcomeUnknown = outcomeUnknown || Boolean.TRUE.equals(entry.getOutcomeUnknown());
+
+        // A charge that may have gone through is retried with the same transaction id until the
+        // gateway answers, rather than failed while the money may have been taken
+        if (entry.getAttempts() < maxAttempts || outcomeUnknown) {
+            // Exponential backoff: 1x, 2x, 4x ... the base delay
+            long delay = retryBackoffMs << Math.min(entry.getAttempts() - 1, 10);
+            if (!release(entry, leaseId, PaymentOutbox.OutboxStatus.PENDING, lastError,
+                    LocalDateTime.now().plusNanos(delay * 1_000_000L))) {
+                return null;
+            }
+            System.err.println("⚠️ Gateway error for payment " + entry.getPayment().getTransactionId() +
+                ", attempt " + entry.getAttempts() + (outcomeUnknown ? " (outcome unknown)" : "") + ": " + message);
+            return null;
+        }
+
+        if (!release(entry, leaseId, PaymentOutbox.OutboxStatus.COMPLETED, lastError, entry.getNextAttemptAt())) {
+            return null;
+        }
+        Payment payment = entry.getPayment();
+        if (!paymentStateMachine.canTransition(payment.getStatus(), Payment.PaymentStatus.FAILED)) {
+            return null;
+        }
+        paymentStateMachine.transition(payment, Payment.PaymentStatus.FAILED,
+            "Payment gateway unavailable after " + entry.getAttempts() + " attempts");
+        return new PaymentNotification(payment, payment.getBooking());
+    }
+
+    // false if the lease ran out and the entry now belongs to another worker
+    private boolean release(PaymentOutbox entry, String leaseId, PaymentOutbox.OutboxStatus status,
+                            String lastError, LocalDateTime nextAttemptAt) {
+        if (paymentOutboxRepository.release(entry.getId(), leaseId, status, lastError, nextAttemptAt, LocalDateTime.now()) == 0) {
+            System.out.println("⚠️ Lease on payment outbox entry " + entry.getId() + " was lost; dropping this result");
+            return false;
+        }
+        return true;
+    }
+
+    private void notify(PaymentNotification notification) {
+        if (notification != null) {
+            webSocketService.sendPaymentUpdate(notification.userEmail, notification.payload);
+        }
+    }
+
+    private static class GatewayCall {
+        private final String transactionId;
+        private final Payment.PaymentMethod method;
+        private final BigDecimal amount;
+        private final String instrument;
+
+        GatewayCall(String transactionId, Payment.PaymentMethod method, BigDecimal amount, String instrument) {
+            this.transactionId = transactionId;
+            this.method = method;
+            this.amount = amount;
+            this.instrument = instrument;
+        }
+    }
+
+    /**
+     * Built inside the transaction, sent after it commits.
+     */
+    private static class PaymentNotification {
+        private final String userEmail;
+        private final Map<String, Object> payload = new HashMap<>();
+
+        PaymentNotification(Payment payment, Booking booking) {
+            this.userEmail = booking.getUser().getEmail();
+            payload.put("type", "PAYMENT_UPDATE");
+            payload.put("transactionId", payment.getTransactionId());
+            payload.put("bookingId", booking.getId());
+            payload.put("ticketId", booking.getTicketId());
+            payload.put("amount", payment.getAmount());
+            payload.put("status", payment.getStatus());
+            payload.put("bookingStatus", booking.getStatus());
+            payload.put("message", payment.getPaymentGatewayResponse());
+            payload.put("timestamp", LocalDateTime.now());
+        }
+    }
+}
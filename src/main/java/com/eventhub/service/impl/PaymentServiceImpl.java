@@ -3,20 +3,38 @@ package com.eventhub.service.impl;
 import com.eventhub.dto.PaymentRequest;
 import com.eventhub.dto.PaymentResponse;
 import com.eventhub.dto.RefundRequest;
+import com.eventhub.event.PaymentStatusChangedEvent;
 import com.eventhub.model.entity.Booking;
 import com.eventhub.model.entity.Payment;
+import com.eventhub.model.entity.PaymentOutbox;
 import com.eventhub.repository.BookingRepository;
+import com.eventhub.repository.PaymentOutboxRepository;
 import com.eventhub.repository.PaymentRepository;
+import com.eventhub.service.CheckInService;
+import com.eventhub.service.PaymentOutboxService;
 import com.eventhub.service.PaymentService;
+import com.eventhub.util.PaymentStateMachine;
+import com.eventhub.util.PaymentStatisticsCache;
+import com.eventhub.util.RecordStreamWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -28,6 +46,37 @@ public class PaymentServiceImpl implements PaymentService {
     @Autowired
     private BookingRepository bookingRepository;
     
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+    
+    @Autowired
+    private PaymentOutboxService paymentOutboxService;
+    
+    @Autowired
+    private PaymentStateMachine paymentStateMachine;
+    
+    @Autowired
+    private PaymentStatisticsCache paymentStatisticsCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private RecordStreamWriter recordStreamWriter;
+    
+    @Autowired
+    private CheckInService checkInService;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+    
+    /**
+     * Accept a payment. The request transaction only validates and writes the PENDING payment plus
+     * its outbox entry; the gateway is called by PaymentOutboxService after commit and the result
+     * is pushed to the user over WebSocket.
+     */
     @Override
     public PaymentResponse processPayment(PaymentRequest paymentRequest) {
         // Get booking
@@ -59,33 +108,42 @@ public class PaymentServiceImpl implements PaymentService {
         payment.setCreatedAt(LocalDateTime.now());
         payment.setUpdatedAt(LocalDateTime.now());
         
-        // Process payment based on method
-        Payment processedPayment;
-        switch (paymentRequest.getPaymentMethod()) {
-            case CARD:
-                processedPayment = processCardPaymentInternal(payment, paymentRequest);
-                break;
-            case UPI:
-                processedPayment = processUpiPaymentInternal(payment, paymentRequest);
-                break;
-            case NET_BANKING:
-                processedPayment = processNetBankingPaymentInternal(payment, paymentRequest);
-                break;
-            case WALLET:
-                processedPayment = processWalletPaymentInternal(payment, paymentRequest);
-                break;
-            default:
-                throw new RuntimeException("Unsupported payment method");
+        // Reject malformed payment details straight away, as the gateway would
+        String validationError = validateInstrument(paymentRequest);
+        if (validationError != null) {
+            payment.setStatus(Payment.PaymentStatus.FAILED);
+            payment.setPaymentGatewayResponse(validationError);
+            Payment failedPayment = paymentRepository.save(payment);
+            eventPublisher.publishEvent(new PaymentStatusChangedEvent(failedPayment.getTransactionId(),
+                null, failedPayment.getStatus()));
+            return convertToResponse(failedPayment);
         }
         
-        // Update booking status if payment successful
-        if (processedPayment.getStatus() == Payment.PaymentStatus.SUCCESS) {
-            booking.setStatus(Booking.BookingStatus.CONFIRMED);
-            booking.setUpdatedAt(LocalDateTime.now());
-            bookingRepository.save(booking);
-        }
+        payment.setPaymentGatewayResponse("Payment accepted for processing");
+        Payment savedPayment = paymentRepository.save(payment);
+        eventPublisher.publishEvent(new PaymentStatusChangedEvent(savedPayment.getTransactionId(),
+            null, savedPayment.getStatus()));
+        
+        PaymentOutbox outboxEntry = new PaymentOutbox();
+        outboxEntry.setPayment(savedPayment);
+        outboxEntry.setStatus(PaymentOutbox.OutboxStatus.PENDING);
+        outboxEntry.setAttempts(0);
+        outboxEntry.setInstrument(describeInstrument(paymentRequest));
+        outboxEntry.setNextAttemptAt(LocalDateTime.now());
+        PaymentOutbox savedEntry = paymentOutboxRepository.save(outboxEntry);
+        
+        // Fast path; if this is lost the outbox poller picks the entry up
+        Long outboxId = savedEntry.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                paymentOutboxService.dispatch(outboxId);
+            }
+        });
         
-        return convertToResponse(processedPayment);
+        PaymentResponse response = convertToResponse(savedPayment);
+        response.setMessage("Payment accepted for processing");
+        return response;
     }
     
     @Override
@@ -146,6 +204,25 @@ public class PaymentServiceImpl implements PaymentService {
             .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAllPayments(RecordStreamWriter.Format format, OutputStream outputStream) {
+        try (Stream<Payment> payments = paymentRepository.streamAllForExport()) {
+            return recordStreamWriter.write(payments.map(this::convertToResponse), format, outputStream,
+                this::clearAfterExportRows);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                          RecordStreamWriter.Format format, OutputStream outputStream) {
+        try (Stream<Payment> payments = paymentRepository.streamByCreatedAtBetweenForExport(startDate, endDate)) {
+            return recordStreamWriter.write(payments.map(this::convertToResponse), format, outputStream,
+                this::clearAfterExportRows);
+        }
+    }
+    
     @Override
     public PaymentResponse processRefund(RefundRequest refundRequest) {
         Payment payment = paymentRepository.findByTransactionId(refundRequest.getTransactionId())
@@ -163,15 +240,14 @@ public class PaymentServiceImpl implements PaymentService {
         // Process refund
         try {
             // In real implementation, this would call the payment gateway's refund API
-            payment.setStatus(Payment.PaymentStatus.REFUNDED);
-            payment.setPaymentGatewayResponse("Refund processed successfully");
-            payment.setUpdatedAt(LocalDateTime.now());
+            paymentStateMachine.transition(payment, Payment.PaymentStatus.REFUNDED, "Refund processed successfully");
             
             // Update booking status
             Booking booking = payment.getBooking();
             booking.setStatus(Booking.BookingStatus.CANCELLED);
             booking.setUpdatedAt(LocalDateTime.now());
             bookingRepository.save(booking);
+            checkInService.revokeTicket(booking.getEvent().getId(), booking.getTicketId());
             
             Payment updatedPayment = paymentRepository.save(payment);
             return convertToResponse(updatedPayment);
@@ -195,8 +271,7 @@ public class PaymentServiceImpl implements PaymentService {
         Payment payment = paymentRepository.findByTransactionId(transactionId)
             .orElseThrow(() -> new RuntimeException("Payment not found"));
         
-        payment.setStatus(status);
-        payment.setUpdatedAt(LocalDateTime.now());
+        paymentStateMachine.transition(payment, status, null);
         Payment updatedPayment = paymentRepository.save(payment);
         
         return convertToResponse(updatedPayment);
@@ -204,36 +279,7 @@ public class PaymentServiceImpl implements PaymentService {
     
     @Override
     public PaymentStatistics getPaymentStatistics() {
-        long totalPayments = paymentRepository.count();
-        long successfulPayments = paymentRepository.countByStatus(Payment.PaymentStatus.SUCCESS);
-        long failedPayments = paymentRepository.countByStatus(Payment.PaymentStatus.FAILED);
-        long pendingPayments = paymentRepository.countByStatus(Payment.PaymentStatus.PENDING);
-        long refundedPayments = paymentRepository.countByStatus(Payment.PaymentStatus.REFUNDED);
-        
-        BigDecimal totalAmount = paymentRepository.getTotalSuccessfulPayments();
-        BigDecimal successfulAmount = totalAmount; // Same as total for successful payments
-        
-        if (totalAmount == null) totalAmount = BigDecimal.ZERO;
-        if (successfulAmount == null) successfulAmount = BigDecimal.ZERO;
-        
-        // Get payment method statistics
-        List<PaymentMethodStats> methodStats = List.of(
-            new PaymentMethodStats(Payment.PaymentMethod.CARD, 
-                paymentRepository.countByPaymentMethod(Payment.PaymentMethod.CARD), 
-                paymentRepository.getTotalAmountByPaymentMethod(Payment.PaymentMethod.CARD)),
-            new PaymentMethodStats(Payment.PaymentMethod.UPI, 
-                paymentRepository.countByPaymentMethod(Payment.PaymentMethod.UPI), 
-                paymentRepository.getTotalAmountByPaymentMethod(Payment.PaymentMethod.UPI)),
-            new PaymentMethodStats(Payment.PaymentMethod.NET_BANKING, 
-                paymentRepository.countByPaymentMethod(Payment.PaymentMethod.NET_BANKING), 
-                paymentRepository.getTotalAmountByPaymentMethod(Payment.PaymentMethod.NET_BANKING)),
-            new PaymentMethodStats(Payment.PaymentMethod.WALLET, 
-                paymentRepository.countByPaymentMethod(Payment.PaymentMethod.WALLET), 
-                paymentRepository.getTotalAmountByPaymentMethod(Payment.PaymentMethod.WALLET))
-        );
-        
-        return new PaymentStatistics(totalPayments, successfulPayments, failedPayments,
-            pendingPayments, refundedPayments, totalAmount, successfulAmount, methodStats);
+        return paymentStatisticsCache.get(this::loadPaymentStatistics);
     }
     
     @Override
@@ -257,88 +303,106 @@ public class PaymentServiceImpl implements PaymentService {
     }
     
     // Private helper methods for different payment methods
-    private Payment processCardPaymentInternal(Payment payment, PaymentRequest request) {
-        // Simulate card payment processing
-        try {
-            // Validate card details
-            if (request.getCardNumber() == null || request.getCardNumber().length() < 16) {
-                payment.setStatus(Payment.PaymentStatus.FAILED);
-                payment.setPaymentGatewayResponse("Invalid card number");
-            } else if (request.getExpiryDate() == null) {
-                payment.setStatus(Payment.PaymentStatus.FAILED);
-                payment.setPaymentGatewayResponse("Invalid expiry date");
-            } else if (request.getCvv() == null || request.getCvv().length() != 3) {
-                payment.setStatus(Payment.PaymentStatus.FAILED);
-                payment.setPaymentGatewayResponse("Invalid CVV");
-            } else {
-                // Simulate successful payment
-                payment.setStatus(Payment.PaymentStatus.SUCCESS);
-                payment.setPaymentGatewayResponse("Card payment successful");
-            }
-        } catch (Exception e) {
-            payment.setStatus(Payment.PaymentStatus.FAILED);
-            payment.setPaymentGatewayResponse("Card payment failed: " + e.getMessage());
+    
+    /**
+     * Detach exported payments now and then so the persistence context stays small
+     */
+    private void clearAfterExportRows(long rowsWritten) {
+        if (rowsWritten % EXPORT_CLEAR_INTERVAL == 0) {
+            entityManager.clear();
         }
-        
-        payment.setUpdatedAt(LocalDateTime.now());
-        return paymentRepository.save(payment);
     }
     
-    private Payment processUpiPaymentInternal(Payment payment, PaymentRequest request) {
-        // Simulate UPI payment processing
-        try {
-            if (request.getUpiId() == null || !request.getUpiId().contains("@")) {
-                payment.setStatus(Payment.PaymentStatus.FAILED);
-                payment.setPaymentGatewayResponse("Invalid UPI ID");
-            } else {
-                payment.setStatus(Payment.PaymentStatus.SUCCESS);
-                payment.setPaymentGatewayResponse("UPI payment successful");
+    /**
+     * Build the statistics from one GROUP BY status, method aggregation. Method counts cover all
+     * statuses; amounts only count successful payments.
+     */
+    private PaymentStatistics loadPaymentStatistics() {
+        Map<Payment.PaymentStatus, Long> countByStatus = new EnumMap<>(Payment.PaymentStatus.class);
+        Map<Payment.PaymentMethod, Long> countByMethod = new EnumMap<>(Payment.PaymentMethod.class);
+        Map<Payment.PaymentMethod, BigDecimal> successAmountByMethod = new EnumMap<>(Payment.PaymentMethod.class);
+        long totalPayments = 0;
+        BigDecimal successfulAmount = BigDecimal.ZERO;
+        
+        for (Object[] row : paymentRepository.getStatusMethodTotals()) {
+            Payment.PaymentStatus status = (Payment.PaymentStatus) row[0];
+            Payment.PaymentMethod method = (Payment.PaymentMethod) row[1];
+            long count = ((Number) row[2]).longValue();
+            BigDecimal amount = row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO;
+            
+            totalPayments += count;
+            countByStatus.merge(status, count, Long::sum);
+            countByMethod.merge(method, count, Long::sum);
+            if (status == Payment.PaymentStatus.SUCCESS) {
+                successfulAmount = successfulAmount.add(amount);
+                successAmountByMethod.merge(method, amount, BigDecimal::add);
             }
-        } catch (Exception e) {
-            payment.setStatus(Payment.PaymentStatus.FAILED);
-            payment.setPaymentGatewayResponse("UPI payment failed: " + e.getMessage());
         }
         
-        payment.setUpdatedAt(LocalDateTime.now());
-        return paymentRepository.save(payment);
+        List<PaymentMethodStats> methodStats = new ArrayList<>();
+        for (Payment.PaymentMethod method : Payment.PaymentMethod.values()) {
+            methodStats.add(new PaymentMethodStats(method, countByMethod.getOrDefault(method, 0L),
+                successAmountByMethod.get(method)));
+        }
+        
+        // Total amount has always meant the successful amount
+        return new PaymentStatistics(totalPayments,
+            countByStatus.getOrDefault(Payment.PaymentStatus.SUCCESS, 0L),
+            countByStatus.getOrDefault(Payment.PaymentStatus.FAILED, 0L),
+            countByStatus.getOrDefault(Payment.PaymentStatus.PENDING, 0L),
+            countByStatus.getOrDefault(Payment.PaymentStatus.REFUNDED, 0L),
+            successfulAmount, successfulAmount, methodStats);
     }
     
-    private Payment processNetBankingPaymentInternal(Payment payment, PaymentRequest request) {
-        // Simulate net banking payment processing
-        try {
-            if (request.getBankCode() == null || request.getBankCode().isEmpty()) {
-                payment.setStatus(Payment.PaymentStatus.FAILED);
-                payment.setPaymentGatewayResponse("Invalid bank code");
-            } else {
-                payment.setStatus(Payment.PaymentStatus.SUCCESS);
-                payment.setPaymentGatewayResponse("Net banking payment successful");
-            }
-        } catch (Exception e) {
-            payment.setStatus(Payment.PaymentStatus.FAILED);
-            payment.setPaymentGatewayResponse("Net banking payment failed: " + e.getMessage());
+    /**
+     * @return reason the payment details are unusable, or null if they are valid
+     */
+    private String validateInstrument(PaymentRequest request) {
+        switch (request.getPaymentMethod()) {
+            case CARD:
+                if (request.getCardNumber() == null || request.getCardNumber().length() < 16) {
+                    return "Invalid card number";
+                }
+                if (request.getExpiryDate() == null) {
+                    return "Invalid expiry date";
+                }
+                if (request.getCvv() == null || request.getCvv().length() != 3) {
+                    return "Invalid CVV";
+                }
+                return null;
+            case UPI:
+                return request.getUpiId() == null || !request.getUpiId().contains("@") ? "Invalid UPI ID" : null;
+            case NET_BANKING:
+                return request.getBankCode() == null || request.getBankCode().isEmpty() ? "Invalid bank code" : null;
+            case WALLET:
+                return request.getWalletId() == null || request.getWalletId().isEmpty() ? "Invalid wallet ID" : null;
+            default:
+                throw new RuntimeException("Unsupported payment method");
         }
-        
-        payment.setUpdatedAt(LocalDateTime.now());
-        return paymentRepository.save(payment);
     }
     
-    private Payment processWalletPaymentInternal(Payment payment, PaymentRequest request) {
-        // Simulate wallet payment processing
-        try {
-            if (request.getWalletId() == null || request.getWalletId().isEmpty()) {
-                payment.setStatus(Payment.PaymentStatus.FAILED);
-                payment.setPaymentGatewayResponse("Invalid wallet ID");
-            } else {
-                payment.setStatus(Payment.PaymentStatus.SUCCESS);
-                payment.setPaymentGatewayResponse("Wallet payment successful");
-            }
-        } catch (Exception e) {
-            payment.setStatus(Payment.PaymentStatus.FAILED);
-            payment.setPaymentGatewayResponse("Wallet payment failed: " + e.getMessage());
+    /**
+     * Non-sensitive description of the payment instrument for the outbox. Card numbers are
+     * reduced to their last four digits and the CVV is never kept.
+     */
+    private String describeInstrument(PaymentRequest request) {
+        String description;
+        switch (request.getPaymentMethod()) {
+            case CARD:
+                String cardNumber = request.getCardNumber();
+                description = "CARD ****" + cardNumber.substring(cardNumber.length() - 4) + " " + request.getExpiryDate();
+                break;
+            case UPI:
+                description = "UPI " + request.getUpiId();
+                break;
+            case NET_BANKING:
+                description = "NET_BANKING " + request.getBankCode();
+                break;
+            default:
+                description = "WALLET " + request.getWalletId();
+                break;
         }
-        
-        payment.setUpdatedAt(LocalDateTime.now());
-        return paymentRepository.save(payment);
+        return description.length() > 100 ? description.substring(0, 100) : description;
     }
     
     // Helper method to convert Payment entity to PaymentResponse DTO
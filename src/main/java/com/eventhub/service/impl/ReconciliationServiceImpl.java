@@ -0,0 +1,418 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.model.entity.Payment;
+import com.eventhub.service.ReconciliationService;
+import com.eventhub.util.GatewayReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nightly payment reconciliation and settlement.
+ *
+ * The day's payments are read in id order through a forward-only JDBC cursor with a fixed fetch
+ * size and looked up in the memory-mapped gateway report. Mismatch and settlement rows are
+ * appended to files as they are found. Every {@code checkpoint-interval} payments the files are
+ * flushed and the last payment id, running totals, file lengths and the matched report rows are
+ * saved; a failed run then resumes from there, first cutting the files back to their
+ * checkpointed length.
+ *
+ * Reports are read from {@code <report-dir>/gateway-report-<date>.csv}; output goes to
+ * {@code <output-dir>/<date>/}.
+ */
+@Service
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    private static final String PAYMENTS_SQL =
+        "SELECT id, transaction_id, payment_method, status, amount FROM payments " +
+        "WHERE created_at >= ? AND created_at < ? AND id > ? ORDER BY id";
+
+    private static final String MISMATCH_FILE = "mismatches.csv";
+    private static final String MISMATCH_HEADER =
+        "type,transaction_id,payment_id,eventhub_status,gateway_status,eventhub_amount,gateway_amount";
+    private static final String SETTLEMENT_HEADER = "transaction_id,payment_id,amount";
+    private static final String SUMMARY_FILE = "settlement-summary.csv";
+    private static final String CHECKPOINT_FILE = "checkpoint.properties";
+    private static final String MATCHED_ROWS_FILE = "matched-rows.bin";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${reconciliation.report-dir:./reconciliation/reports}")
+    private String reportDir;
+
+    @Value("${reconciliation.output-dir:./reconciliation/output}")
+    private String outputDir;
+
+    @Value("${reconciliation.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${reconciliation.checkpoint-interval:5000}")
+    private int checkpointInterval;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Reconcile yesterday once its gateway report has been delivered
+     */
+    @Scheduled(cron = "${reconciliation.cron:0 30 2 * * *}")
+    public void reconcileYesterday() {
+        LocalDate date = LocalDate.now().minusDays(1);
+        if (!Files.exists(reportPath(date))) {
+            System.out.println("⚠️ No gateway report for " + date + ", skipping reconciliation");
+            return;
+        }
+        try {
+            reconcile(date);
+        } catch (Exception e) {
+            System.err.println("❌ Reconciliation for " + date + " failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public ReconciliationResult reconcile(LocalDate date) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("A reconciliation run is already in progress");
+        }
+        try {
+            return run(date);
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Reconciliation failed: " + e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Helper methods
+    private ReconciliationResult run(LocalDate date) throws IOException {
+        Path reportPath = reportPath(date);
+        if (!Files.exists(reportPath)) {
+            throw new RuntimeException("Gateway report not found: " + reportPath);
+        }
+        GatewayReport report = GatewayReport.open(reportPath);
+        Path directory = Paths.get(outputDir, date.toString());
+        Files.createDirectories(directory);
+
+        Checkpoint checkpoint = Checkpoint.load(directory);
+        boolean resumed = checkpoint != null && !checkpoint.completed;
+        if (!resumed) {
+            checkpoint = new Checkpoint();
+        }
+        BitSet matchedRows = resumed ? checkpoint.loadMatchedRows(directory) : new BitSet(report.size());
+        System.out.println("🧾 Reconciling payments for " + date + " against " + report.size() + " gateway records" +
+            (resumed ? ", resuming after payment " + checkpoint.lastPaymentId : ""));
+
+        Timestamp from = Timestamp.valueOf(date.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(date.plusDays(1).atStartOfDay());
+        long resumeAfter = checkpoint.lastPaymentId;
+
+        try (Run run = new Run(directory, checkpoint, report, matchedRows)) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(PAYMENTS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setTimestamp(1, from);
+                statement.setTimestamp(2, to);
+                statement.setLong(3, resumeAfter);
+                return statement;
+            }, (RowCallbackHandler) rs -> run.accept(
+                rs.getLong(1),
+                rs.getString(2),
+                Payment.PaymentMethod.valueOf(rs.getString(3)),
+                Payment.PaymentStatus.valueOf(rs.getString(4)),
+                rs.getBigDecimal(5)));
+            run.finish();
+        }
+
+        System.out.println("✅ Reconciliation for " + date + " done: " + checkpoint.processed + " payments, " +
+            checkpoint.mismatches + " mismatches");
+        return new ReconciliationResult(date, checkpoint.processed, checkpoint.matched, checkpoint.mismatches,
+            report.size(), resumed, directory.toAbsolutePath().toString());
+    }
+
+    private Path reportPath(LocalDate date) {
+        return Paths.get(reportDir, "gateway-report-" + date + ".csv");
+    }
+
+    private static String settlementFile(Payment.PaymentMethod method) {
+        return "settlement-" + method.name().toLowerCase().replace('_', '-') + ".csv";
+    }
+
+    /**
+     * One pass over the payments, writing to the output files
+     */
+    private class Run implements Closeable {
+        private final Path directory;
+        private final Checkpoint checkpoint;
+        private final GatewayReport report;
+        private final BitSet matchedRows;
+        private final OutputFile mismatchFile;
+        private final Map<Payment.PaymentMethod, OutputFile> settlementFiles = new EnumMap<>(Payment.PaymentMethod.class);
+        private int sinceCheckpoint;
+
+        Run(Path directory, Checkpoint checkpoint, GatewayReport report, BitSet matchedRows) throws IOException {
+            this.directory = directory;
+            this.checkpoint = checkpoint;
+            this.report = report;
+            this.matchedRows = matchedRows;
+            this.mismatchFile = OutputFile.open(directory.resolve(MISMATCH_FILE),
+                checkpoint.fileLength(MISMATCH_FILE), MISMATCH_HEADER);
+            for (Payment.PaymentMethod method : Payment.PaymentMethod.values()) {
+                String name = settlementFile(method);
+                settlementFiles.put(method, OutputFile.open(directory.resolve(name),
+                    checkpoint.fileLength(name), SETTLEMENT_HEADER));
+            }
+        }
+
+        void accept(long paymentId, String transactionId, Payment.PaymentMethod method,
+                    Payment.PaymentStatus status, BigDecimal amount) {
+            try {
+                int row = report.find(transactionId);
+                if (row < 0) {
+                    // Only payments where money moved must appear in the gateway report
+                    if (status == Payment.PaymentStatus.SUCCESS || status == Payment.PaymentStatus.REFUNDED) {
+                        mismatch("MISSING_IN_GATEWAY", transactionId, paymentId, status.name(), null, amount, null);
+                    }
+                } else {
+                    matchedRows.set(row);
+                    String gatewayStatus = report.status(row);
+                    BigDecimal gatewayAmount = report.amount(row);
+                    if (!gatewayStatus.equals(status.name())) {
+                        mismatch("STATUS_MISMATCH", transactionId, paymentId, status.name(), gatewayStatus,
+                            amount, gatewayAmount);
+                    } else if (gatewayAmount.compareTo(amount) != 0) {
+                        mismatch("AMOUNT_MISMATCH", transactionId, paymentId, status.name(), gatewayStatus,
+                            amount, gatewayAmount);
+                    } else {
+                        checkpoint.matched++;
+                        if (status == Payment.PaymentStatus.SUCCESS) {
+                            settlementFiles.get(method).writeLine(transactionId + "," + paymentId + "," + amount.toPlainString());
+                            checkpoint.settledCount[method.ordinal()]++;
+                            checkpoint.settledAmount[method.ordinal()] =
+                                checkpoint.settledAmount[method.ordinal()].add(amount);
+                        }
+                    }
+                }
+
+                checkpoint.processed++;
+                checkpoint.lastPaymentId = paymentId;
+                if (++sinceCheckpoint >= checkpointInterval) {
+                    saveCheckpoint();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Report rows no payment matched, then the settlement totals
+         */
+        void finish() throws IOException {
+            for (int row = matchedRows.nextClearBit(0); row < report.size(); row = matchedRows.nextClearBit(row + 1)) {
+                String transactionId = report.transactionId(row);
+                String type = report.find(transactionId) == row ? "MISSING_IN_EVENTHUB" : "DUPLICATE_IN_GATEWAY";
+                mismatch(type, transactionId, null, null, report.status(row), null, report.amount(row));
+            }
+
+            StringBuilder summary = new StringBuilder("payment_method,payments,amount\n");
+            for (Payment.PaymentMethod method : Payment.PaymentMethod.values()) {
+                summary.append(method).append(',')
+                    .append(checkpoint.settledCount[method.ordinal()]).append(',')
+                    .append(checkpoint.settledAmount[method.ordinal()].toPlainString()).append('\n');
+            }
+            Files.writeString(directory.resolve(SUMMARY_FILE), summary.toString(), StandardCharsets.UTF_8);
+
+            checkpoint.completed = true;
+            saveCheckpoint();
+        }
+
+        private void mismatch(String type, String transactionId, Long paymentId, String status, String gatewayStatus,
+                              BigDecimal amount, BigDecimal gatewayAmount) throws IOException {
+            mismatchFile.writeLine(type + "," + transactionId + "," + field(paymentId) + "," + field(status) + "," +
+                field(gatewayStatus) + "," + field(amount == null ? null : amount.toPlainString()) + "," +
+                field(gatewayAmount == null ? null : gatewayAmount.toPlainString()));
+            checkpoint.mismatches++;
+        }
+
+        private void saveCheckpoint() throws IOException {
+            checkpoint.fileLengths.put(MISMATCH_FILE, mismatchFile.sync());
+            for (Map.Entry<Payment.PaymentMethod, OutputFile> entry : settlementFiles.entrySet()) {
+                checkpoint.fileLengths.put(settlementFile(entry.getKey()), entry.getValue().sync());
+            }
+            checkpoint.save(directory, matchedRows);
+            sinceCheckpoint = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            mismatchFile.close();
+            for (OutputFile file : settlementFiles.values()) {
+                file.close();
+            }
+        }
+
+        private String field(Object value) {
+            return value == null ? "" : value.toString();
+        }
+    }
+
+    /**
+     * Append-only output file that can be cut back to a checkpointed length
+     */
+    private static class OutputFile implements Closeable {
+        private final FileChannel channel;
+        private final Writer writer;
+
+        private OutputFile(FileChannel channel) {
+            this.channel = channel;
+            this.writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+        }
+
+        static OutputFile open(Path path, long length, String header) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.truncate(length);
+            channel.position(length);
+            OutputFile file = new OutputFile(channel);
+            if (length == 0) {
+                file.writeLine(header);
+            }
+            return file;
+        }
+
+        void writeLine(String line) throws IOException {
+            writer.write(line);
+            writer.write('\n');
+        }
+
+        /**
+         * @return length of the file once everything written so far is on disk
+         */
+        long sync() throws IOException {
+            writer.flush();
+            channel.force(false);
+            return channel.position();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Progress of a run, stored next to its output
+     */
+    private static class Checkpoint {
+        private long lastPaymentId;
+        private long processed;
+        private long matched;
+        private long mismatches;
+        private boolean completed;
+        private final long[] settledCount = new long[Payment.PaymentMethod.values().length];
+        private final BigDecimal[] settledAmount = new BigDecimal[Payment.PaymentMethod.values().length];
+        private final Map<String, Long> fileLengths = new HashMap<>();
+
+        Checkpoint() {
+            Arrays.fill(settledAmount, BigDecimal.ZERO);
+        }
+
+        long fileLength(String file) {
+            return fileLengths.getOrDefault(file, 0L);
+        }
+
+        static Checkpoint load(Path directory) throws IOException {
+            Path path = directory.resolve(CHECKPOINT_FILE);
+            if (!Files.exists(path)) {
+                return null;
+            }
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            }
+            Checkpoint checkpoint = new Checkpoint();
+            checkpoint.lastPaymentId = Long.parseLong(properties.getProperty("lastPaymentId"));
+            checkpoint.processed = Long.parseLong(properties.getProperty("processed"));
+            checkpoint.matched = Long.parseLong(properties.getProperty("matched"));
+            checkpoint.mismatches = Long.parseLong(properties.getProperty("mismatches"));
+            checkpoint.completed = Boolean.parseBoolean(properties.getProperty("completed"));
+            for (Payment.PaymentMethod method : Payment.PaymentMethod.values()) {
+                checkpoint.settledCount[method.ordinal()] =
+                    Long.parseLong(properties.getProperty("settled." + method + ".count", "0"));
+                checkpoint.settledAmount[method.ordinal()] =
+                    new BigDecimal(properties.getProperty("settled." + method + ".amount", "0"));
+            }
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith("length.")) {
+                    checkpoint.fileLengths.put(name.substring(7), Long.parseLong(properties.getProperty(name)));
+                }
+            }
+            return checkpoint;
+        }
+
+        BitSet loadMatchedRows(Path directory) throws IOException {
+            Path path = directory.resolve(MATCHED_ROWS_FILE);
+            return Files.exists(path) ? BitSet.valueOf(Files.readAllBytes(path)) : new BitSet();
+        }
+
+        /**
+         * Matched rows are written first: if the run dies between the two files, the extra bits
+         * belong to payments after the checkpoint, which set them again when reprocessed.
+         */
+        void save(Path directory, BitSet matchedRows) throws IOException {
+            writeAtomically(directory.resolve(MATCHED_ROWS_FILE), matchedRows.toByteArray());
+
+            Properties properties = new Properties();
+            properties.setProperty("lastPaymentId", Long.toString(lastPaymentId));
+            properties.setProperty("processed", Long.toString(processed));
+            properties.setProperty("matched", Long.toString(matched));
+            properties.setProperty("mismatches", Long.toString(mismatches));
+            properties.setProperty("completed", Boolean.toString(completed));
+            for (Payment.PaymentMethod method : Payment.PaymentMethod.values()) {
+                properties.setProperty("settled." + method + ".count", Long.toString(settledCount[method.ordinal()]));
+                properties.setProperty("settled." + method + ".amount", settledAmount[method.ordinal()].toPlainString());
+            }
+            for (Map.Entry<String, Long> entry : fileLengths.entrySet()) {
+                properties.setProperty("length." + entry.getKey(), entry.getValue().toString());
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            properties.store(bytes, "Reconciliation checkpoint");
+            writeAtomically(directory.resolve(CHECKPOINT_FILE), bytes.toByteArray());
+        }
+
+        private static void writeAtomically(Path path, byte[] content) throws IOException {
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(temp, content);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.dto.RefundJobDTO;
+import com.eventhub.event.PaymentStatusChangedEvent;
+import com.eventhub.model.entity.Event;
+import com.eventhub.model.entity.Payment;
+import com.eventhub.model.entity.RefundJob;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.RefundJobRepository;
+import com.eventhub.service.CheckInService;
+import com.eventhub.service.PaymentGateway;
+import com.eventhub.service.RefundJobService;
+import com.eventhub.service.WebSocketService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Refunds an event's successful payments in chunks.
+ *
+ * Each chunk is read by keyset (payment id) and refunded at the gateway on a shared pool of
+ * {@code refund.parallelism} threads. The payment and booking status changes for the chunk are
+ * then written with JDBC batch updates, in the same transaction that advances the job's
+ * {@code lastPaymentId}. Progress goes to the admin dashboard topic after every chunk. Jobs still
+ * RUNNING at startup are resumed. A chunk that was refunded at the gateway but not committed is
+ * refunded again on resume, which the gateway deduplicates by transaction id.
+ *
+ * Payments the gateway would not refund stay SUCCESS, and a job that leaves any behind ends as
+ * PARTIAL rather than COMPLETED; starting the refund again sweeps the event once more. Only
+ * deleted (inactive) events can be refunded, since cancelled bookings do not give their seats back.
+ */
+@Service
+public class RefundJobServiceImpl implements RefundJobService {
+
+    private static final String CHUNK_SQL =
+        "SELECT p.id, p.transaction_id, p.payment_method, p.amount, p.booking_id, b.ticket_id FROM payments p " +
+        "JOIN bookings b ON b.id = p.booking_id " +
+        "WHERE b.event_id = ? AND p.status = 'SUCCESS' AND p.id > ? ORDER BY p.id LIMIT ?";
+
+    private static final String REMAINING_SQL =
+        "SELECT COUNT(*) FROM payments p JOIN bookings b ON b.id = p.booking_id " +
+        "WHERE b.event_id = ? AND p.status = 'SUCCESS'";
+
+    // The status guard mirrors the SUCCESS -> REFUNDED rule of PaymentStateMachine
+    private static final String REFUND_PAYMENT_SQL =
+        "UPDATE payments SET status = 'REFUNDED', payment_gateway_response = ?, updated_at = ? " +
+        "WHERE id = ? AND status = 'SUCCESS'";
+
+    private static final String CANCEL_BOOKING_SQL =
+        "UPDATE bookings SET status = 'CANCELLED', updated_at = ? WHERE id = ?";
+
+    private static final String ADVANCE_JOB_SQL =
+        "UPDATE refund_jobs SET last_payment_id = ?, refunded_count = refunded_count + ?, " +
+        "failed_count = failed_count + ?, refunded_amount = refunded_amount + ?, updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private RefundJobRepository refundJobRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PaymentGateway paymentGateway;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CheckInService checkInService;
+
+    @Value("${refund.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${refund.parallelism:8}")
+    private int parallelism;
+
+    @Value("${refund.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${refund.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    // Jobs run one at a time; their gateway calls fan out on the refund pool
+    private ExecutorService jobExecutor;
+    private ExecutorService refundExecutor;
+    private final Set<Long> activeJobs = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "refund-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadCount = new AtomicInteger();
+        refundExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "refund-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        refundExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeJobs() {
+        List<RefundJob> running = refundJobRepository.findByStatus(RefundJob.JobStatus.RUNNING);
+        if (!running.isEmpty()) {
+            System.out.println("💸 Resuming " + running.size() + " refund job(s)");
+            running.forEach(job -> submit(job.getId()));
+        }
+    }
+
+    @Override
+    @Transactional
+    public RefundJobDTO startEventRefund(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
+        if (Boolean.TRUE.equals(event.getIsActive())) {
+            throw new RuntimeException("Refunds can only be started for deleted events");
+        }
+
+        RefundJob job = refundJobRepository.findFirstByEventIdAndStatusIn(eventId,
+            List.of(RefundJob.JobStatus.RUNNING, RefundJob.JobStatus.PARTIAL)).orElse(null);
+        if (job != null && job.getStatus() == RefundJob.JobStatus.PARTIAL) {
+            // Refunded payments are no longer SUCCESS, so a sweep from the start only retries the failures
+            job.setStatus(RefundJob.JobStatus.RUNNING);
+            job.setLastPaymentId(0L);
+            job.setFailedCount(0);
+            job.setCompletedAt(null);
+            job = refundJobRepository.save(job);
+            System.out.println("💸 Retrying failed refunds of job " + job.getId() + " for event " + eventId);
+        } else if (job == null) {
+            job = new RefundJob();
+            job.setEvent(event);
+            job.setStatus(RefundJob.JobStatus.RUNNING);
+            job.setLastPaymentId(0L);
+            job.setRefundedCount(0);
+            job.setFailedCount(0);
+            job.setRefundedAmount(BigDecimal.ZERO);
+            job = refundJobRepository.save(job);
+            System.out.println("💸 Created refund job " + job.getId() + " for event " + eventId);
+        }
+
+        Long jobId = job.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(jobId);
+                }
+            });
+        } else {
+            submit(jobId);
+        }
+        return convertToDTO(job, eventId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RefundJobDTO getJob(Long jobId) {
+        RefundJob job = refundJobRepository.findById(jobId)
+            .orElseThrow(() -> new RuntimeException("Refund job not found with id: " + jobId));
+        return convertToDTO(job, job.getEvent().getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RefundJobDTO> getJobsForEvent(Long eventId) {
+        return refundJobRepository.findByEventIdOrderByCreatedAtDesc(eventId).stream()
+            .map(job -> convertToDTO(job, eventId))
+            .collect(Collectors.toList());
+    }
+
+    // Helper methods
+    private void submit(Long jobId) {
+        if (!activeJobs.add(jobId)) {
+            return;
+        }
+        jobExecutor.execute(() -> {
+            try {
+                runJob(jobId);
+            } catch (Exception e) {
+                // Left RUNNING; it is picked up again on the next start or request
+                System.err.println("❌ Refund job " + jobId + " stopped: " + e.getMessage());
+            } finally {
+                activeJobs.remove(jobId);
+            }
+        });
+    }
+
+    private void runJob(Long jobId) {
+        // {eventId, lastPaymentId} of a job that is still running
+        long[] cursor = transactionTemplate.execute(status -> refundJobRepository.findById(jobId)
+            .filter(found -> found.getStatus() == RefundJob.JobStatus.RUNNING)
+            .map(found -> new long[] {found.getEvent().getId(), found.getLastPaymentId()})
+            .orElse(null));
+        if (cursor == null) {
+            return;
+        }
+        long eventId = cursor[0];
+        long lastPaymentId = cursor[1];
+        System.out.println("💸 Running refund job " + jobId + " for event " + eventId + " after payment " + lastPaymentId);
+
+        while (true) {
+            List<RefundItem> chunk = jdbcTemplate.query(CHUNK_SQL, (rs, rowNum) -> new RefundItem(
+                rs.getLong(1),
+                rs.getString(2),
+                Payment.PaymentMethod.valueOf(rs.getString(3)),
+                rs.getBigDecimal(4),
+                rs.getLong(5),
+                rs.getString(6)), eventId, lastPaymentId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            List<Future<Boolean>> results = new ArrayList<>(chunk.size());
+            for (RefundItem item : chunk) {
+                results.add(refundExecutor.submit(() -> refundAtGateway(item)));
+            }
+            List<RefundItem> refunded = new ArrayList<>(chunk.size());
+            int failed = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    if (results.get(i).get()) {
+                        refunded.add(chunk.get(i));
+                    } else {
+                        failed++;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Refund job interrupted");
+                } catch (ExecutionException e) {
+                    failed++;
+                }
+            }
+
+            long chunkLastId = chunk.get(chunk.size() - 1).paymentId;
+            int chunkFailed = failed;
+            transactionTemplate.executeWithoutResult(status -> applyChunk(jobId, eventId, chunkLastId, refunded, chunkFailed));
+            lastPaymentId = chunkLastId;
+            sendProgress(jobId, "REFUND_PROGRESS");
+        }
+
+        Integer remaining = jdbcTemplate.queryForObject(REMAINING_SQL, Integer.class, eventId);
+        boolean partial = remaining != null && remaining > 0;
+        transactionTemplate.executeWithoutResult(status -> refundJobRepository.findById(jobId).ifPresent(found -> {
+            found.setStatus(partial ? RefundJob.JobStatus.PARTIAL : RefundJob.JobStatus.COMPLETED);
+            found.setCompletedAt(LocalDateTime.now());
+            refundJobRepository.save(found);
+        }));
+        if (partial) {
+            sendProgress(jobId, "REFUND_PARTIAL");
+            System.out.println("⚠️ Refund job " + jobId + " for event " + eventId + " left " + remaining +
+                " payment(s) unrefunded");
+        } else {
+            sendProgress(jobId, "REFUND_COMPLETED");
+            System.out.println("✅ Refund job " + jobId + " for event " + eventId + " completed");
+        }
+    }
+
+    /**
+     * @return true if the gateway refunded the payment; transient failures are retried with backoff
+     */
+    private boolean refundAtGateway(RefundItem item) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return paymentGateway.refund(item.transactionId, item.method, item.amount).isApproved();
+            } catch (PaymentGateway.GatewayUnavailableException e) {
+                if (attempt >= maxAttempts) {
+                    System.err.println("⚠️ Refund of " + item.transactionId + " failed: " + e.getMessage());
+                    return false;
+                }
+                Thread.sleep(retryBackoffMs * attempt);
+            }
+        }
+    }
+
+    private void applyChunk(Long jobId, long eventId, long lastPaymentId, List<RefundItem> refunded, int failed) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<RefundItem> applied = new ArrayList<>(refunded.size());
+        if (!refunded.isEmpty()) {
+            int[][] counts = jdbcTemplate.batchUpdate(REFUND_PAYMENT_SQL, refunded, refunded.size(), (ps, item) -> {
+                ps.setString(1, "Refund processed successfully");
+                ps.setTimestamp(2, now);
+                ps.setLong(3, item.paymentId);
+            });
+            // Skip payments whose status changed since the chunk was read. Rewritten batches
+            // report SUCCESS_NO_INFO instead of a count, which is taken as applied.
+            int index = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    RefundItem item = refunded.get(index++);
+                    if (count != 0) {
+                        applied.add(item);
+                    }
+                }
+            }
+            jdbcTemplate.batchUpdate(CANCEL_BOOKING_SQL, applied, applied.size(), (ps, item) -> {
+                ps.setTimestamp(1, now);
+                ps.setLong(2, item.bookingId);
+            });
+        }
+
+        BigDecimal amount = BigDecimal.ZERO;
+        for (RefundItem item : applied) {
+            amount = amount.add(item.amount);
+            eventPublisher.publishEvent(new PaymentStatusChangedEvent(item.transactionId,
+                Payment.PaymentStatus.SUCCESS, Payment.PaymentStatus.REFUNDED));
+            checkInService.revokeTicket(eventId, item.ticketId);
+        }
+        jdbcTemplate.update(ADVANCE_JOB_SQL, lastPaymentId, applied.size(), failed, amount, now, jobId);
+    }
+
+    private void sendProgress(Long jobId, String type) {
+        RefundJobDTO job = transactionTemplate.execute(status -> refundJobRepository.findById(jobId)
+            .map(found -> convertToDTO(found, found.getEvent().getId()))
+            .orElse(null));
+        if (job == null) {
+            return;
+        }
+        Map<String, Object> progress = new HashMap<>();
+        progress.put("type", type);
+        progress.put("job", job);
+        progress.put("timestamp", LocalDateTime.now());
+        webSocketService.sendDashboardUpdate(progress);
+    }
+
+    private RefundJobDTO convertToDTO(RefundJob job, Long eventId) {
+        return new RefundJobDTO(job.getId(), eventId, job.getStatus(), job.getRefundedCount(),
+            job.getFailedCount(), job.getRefundedAmount(), job.getCreatedAt(), job.getCompletedAt());
+    }
+
+    private static class RefundItem {
+        private final long paymentId;
+        private final String transactionId;
+        private final Payment.PaymentMethod method;
+        private final BigDecimal amount;
+        private final long bookingId;
+        private final String ticketId;
+
+        RefundItem(long paymentId, String transactionId, Payment.PaymentMethod method, BigDecimal amount,
+                   long bookingId, String ticketId) {
+            this.paymentId = paymentId;
+            this.transactionId = transactionId;
+            this.method = method;
+            this.amount = amount;
+            this.bookingId = bookingId;
+            this.ticketId = ticketId;
+        }
+    }
+}
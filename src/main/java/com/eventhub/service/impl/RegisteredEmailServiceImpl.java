@@ -0,0 +1,167 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.repository.UserRepository;
+import com.eventhub.service.RegisteredEmailService;
+import com.eventhub.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filter of every registered email, so availability checks for new addresses never reach
+ * MySQL. A miss is a definite "not registered"; a hit falls through to {@code existsByEmail}.
+ *
+ * Emails are matched lower-cased, like the case-insensitive users.email column. Non-ASCII emails
+ * always go to the database because accent-insensitive collations may treat them as equal to a
+ * different spelling. Accounts created on other instances are picked up every
+ * {@code security.email-filter.sync-ms}, re-reading a short overlap window; until then, the unique
+ * constraint on users.email still rejects a duplicate registration. The filter is rebuilt at twice
+ * the size once it holds more emails than it was sized for.
+ */
+@Service
+public class RegisteredEmailServiceImpl implements RegisteredEmailService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.email-filter.expected-entries:100000}")
+    private long expectedEntries;
+
+    @Value("${security.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${security.email-filter.sync-overlap-seconds:60}")
+    private long syncOverlapSeconds;
+
+    private volatile BloomFilter bloomFilter;
+
+    // Capacity the current filter was sized for, and roughly how many distinct emails it holds
+    private volatile long capacity;
+    private final AtomicLong inserted = new AtomicLong();
+
+    private volatile LocalDateTime lastSync;
+
+    private Counter absentLookups;
+    private Counter confirmedLookups;
+    private Counter falsePositiveLookups;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+
+        absentLookups = lookupCounter("absent");
+        confirmedLookups = lookupCounter("present");
+        falsePositiveLookups = lookupCounter("false_positive");
+        Gauge.builder("auth.email.filter.false.positive.rate", this, service -> service.bloomFilter.estimatedFalsePositiveRate())
+            .description("False-positive rate implied by the bits set in the registered email filter")
+            .register(meterRegistry);
+        Gauge.builder("auth.email.filter.observed.false.positive.rate", this, RegisteredEmailServiceImpl::observedFalsePositiveRate)
+            .description("Share of unregistered emails the filter sent to the database")
+            .register(meterRegistry);
+        Gauge.builder("auth.email.filter.entries", inserted, AtomicLong::get)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isRegistered(String email) {
+        if (email == null) {
+            return false;
+        }
+        String key = key(email);
+        if (key != null && !bloomFilter.mightContain(key)) {
+            absentLookups.increment();
+            return false;
+        }
+
+        boolean exists = userRepository.existsByEmail(email);
+        if (key != null) {
+            (exists ? confirmedLookups : falsePositiveLookups).increment();
+        }
+        return exists;
+    }
+
+    @Override
+    public void add(String email) {
+        String key = key(email);
+        if (key != null) {
+            put(bloomFilter, key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.email-filter.sync-ms:5000}")
+    public void sync() {
+        if (inserted.get() > capacity) {
+            rebuild();
+            return;
+        }
+        LocalDateTime start = LocalDateTime.now();
+        BloomFilter filter = bloomFilter;
+        userRepository.findEmailsCreatedSince(lastSync.minusSeconds(syncOverlapSeconds))
+            .forEach(email -> putEmail(filter, email));
+        lastSync = start;
+    }
+
+    private void rebuild() {
+        LocalDateTime start = LocalDateTime.now();
+        List<String> emails = userRepository.findAllEmails();
+        long size = Math.max(expectedEntries, emails.size() * 2L);
+        BloomFilter filter = new BloomFilter(size, falsePositiveRate);
+        inserted.set(0);
+        emails.forEach(email -> putEmail(filter, email));
+        capacity = size;
+        bloomFilter = filter;
+        // Emails added to the old filter while the table was read are re-read from here
+        lastSync = start;
+        System.out.println("📧 Loaded " + emails.size() + " registered emails into the availability filter");
+    }
+
+    private void putEmail(BloomFilter filter, String email) {
+        String key = key(email);
+        if (key != null) {
+            put(filter, key);
+        }
+    }
+
+    private void put(BloomFilter filter, String key) {
+        if (!filter.mightContain(key)) {
+            filter.put(key);
+            inserted.incrementAndGet();
+        }
+    }
+
+    private double observedFalsePositiveRate() {
+        double falsePositives = falsePositiveLookups.count();
+        double unregistered = falsePositives + absentLookups.count();
+        return unregistered == 0 ? 0 : falsePositives / unregistered;
+    }
+
+    private Counter lookupCounter(String result) {
+        return Counter.builder("auth.email.filter.lookups")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    // null for emails the filter must not answer
+    private static String key(String email) {
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) > 127) {
+                return null;
+            }
+        }
+        return key;
+    }
+}
@@ -0,0 +1,196 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.model.entity.Payment;
+import com.eventhub.service.PaymentGateway;
+import com.eventhub.util.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps the real gateway with a bulkhead, a timeout and a circuit breaker per payment method,
+ * so a slow or failing provider for one method cannot tie up the workers serving the others.
+ *
+ * The bulkhead is a semaphore in front of a fixed thread pool of the same size: a call that
+ * cannot get a permit is rejected at once rather than queued, and the permit is only returned
+ * when the provider call actually ends, so calls abandoned after a timeout still count. Settings live under {@code payment.gateway.<method>.*}, falling
+ * back to {@code payment.gateway.default.*}: bulkhead-size, timeout-ms, breaker.window-size,
+ * breaker.minimum-calls, breaker.failure-rate, breaker.open-ms and breaker.half-open-calls.
+ * Declines count as successes for the breaker; only errors and timeouts trip it.
+ *
+ * A call abandoned after it started keeps running at the provider, so its failure is reported
+ * with an unknown outcome; charges are deduplicated by transaction id, so retrying it is safe.
+ */
+@Service
+@Primary
+public class ResilientPaymentGateway implements PaymentGateway {
+
+    @Autowired
+    @Qualifier("simulatedPaymentGateway")
+    private PaymentGateway delegate;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Payment.PaymentMethod, Guard> guards = new EnumMap<>(Payment.PaymentMethod.class);
+
+    @PostConstruct
+    public void init() {
+        for (Payment.PaymentMethod method : Payment.PaymentMethod.values()) {
+            String key = method.name().toLowerCase().replace('_', '-');
+            int bulkheadSize = property(key, "bulkhead-size", Integer.class, 4);
+
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(bulkheadSize, bulkheadSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "gateway-" + key + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            executor.prestartAllCoreThreads();
+
+            CircuitBreaker breaker = new CircuitBreaker(key,
+                property(key, "breaker.window-size", Integer.class, 20),
+                property(key, "breaker.minimum-calls", Integer.class, 10),
+                property(key, "breaker.failure-rate", Double.class, 0.5),
+                property(key, "breaker.open-ms", Long.class, 10000L),
+                property(key, "breaker.half-open-calls", Integer.class, 3));
+
+            Guard guard = new Guard(executor, new Semaphore(bulkheadSize), breaker, property(key, "timeout-ms", Long.class, 5000L));
+            guards.put(method, guard);
+
+            Gauge.builder("payment.gateway.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half open")
+                .tag("method", method.name())
+                .register(meterRegistry);
+            Gauge.builder("payment.gateway.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("method", method.name())
+                .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        guards.values().forEach(guard -> guard.executor.shutdownNow());
+    }
+
+    @Override
+    public GatewayResult charge(String transactionId, Payment.PaymentMethod method, BigDecimal amount, String instrument) {
+        return call(method, () -> delegate.charge(transactionId, method, amount, instrument));
+    }
+
+    @Override
+    public GatewayResult refund(String transactionId, Payment.PaymentMethod method, BigDecimal amount) {
+        return call(method, () -> delegate.refund(transactionId, method, amount));
+    }
+
+    private GatewayResult call(Payment.PaymentMethod method, Callable<GatewayResult> gatewayCall) {
+        Guard guard = guards.get(method);
+        if (!guard.breaker.tryAcquirePermission()) {
+            throw new GatewayUnavailableException(method + " gateway circuit is open");
+        }
+
+        if (!guard.bulkhead.tryAcquire()) {
+            guard.breaker.releasePermission();
+            throw new GatewayUnavailableException(method + " gateway is at capacity");
+        }
+        // Whoever flips this owns the permit: the task when it starts, or the caller if it gives up first
+        AtomicBoolean started = new AtomicBoolean();
+        Future<GatewayResult> future;
+        try {
+            future = guard.executor.submit(() -> {
+                if (!started.compareAndSet(false, true)) {
+                    return null;
+                }
+                try {
+                    return gatewayCall.call();
+                } finally {
+                    guard.bulkhead.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            guard.bulkhead.release();
+            guard.breaker.releasePermission();
+            throw new GatewayUnavailableException(method + " gateway is shutting down");
+        }
+
+        try {
+            GatewayResult result = future.get(guard.timeoutMs, TimeUnit.MILLISECONDS);
+            guard.breaker.onSuccess();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            // A call that never started cannot have charged anything
+            boolean reachedProvider = !started.compareAndSet(false, true);
+            if (!reachedProvider) {
+                guard.bulkhead.release();
+            }
+            guard.breaker.onFailure();
+            throw new GatewayUnavailableException(method + " gateway timed out after " + guard.timeoutMs + " ms",
+                reachedProvider);
+        } catch (ExecutionException e) {
+            guard.breaker.onFailure();
+            Throwable cause = e.getCause();
+            if (cause instanceof GatewayUnavailableException) {
+                throw (GatewayUnavailableException) cause;
+            }
+            throw new GatewayUnavailableException(method + " gateway error: " + cause.getMessage(), true);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            boolean reachedProvider = !started.compareAndSet(false, true);
+            if (!reachedProvider) {
+                guard.bulkhead.release();
+            }
+            guard.breaker.releasePermission();
+            Thread.currentThread().interrupt();
+            throw new GatewayUnavailableException("Interrupted while waiting for the " + method + " gateway",
+                reachedProvider);
+        }
+    }
+
+    /**
+     * {@code payment.gateway.<method>.<name>}, falling back to {@code payment.gateway.default.<name>}
+     */
+    private <T> T property(String key, String name, Class<T> type, T defaultValue) {
+        T fallback = environment.getProperty("payment.gateway.default." + name, type, defaultValue);
+        return environment.getProperty("payment.gateway." + key + "." + name, type, fallback);
+    }
+
+    private static class Guard {
+        private final ThreadPoolExecutor executor;
+        private final Semaphore bulkhead;
+        private final CircuitBreaker breaker;
+        private final long timeoutMs;
+
+        Guard(ThreadPoolExecutor executor, Semaphore bulkhead, CircuitBreaker breaker, long timeoutMs) {
+            this.executor = executor;
+            this.bulkhead = bulkhead;
+            this.breaker = breaker;
+            this.timeoutMs = timeoutMs;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.dto.SeatLayoutDTO;
+import com.eventhub.dto.SeatLayoutRequest;
+import com.eventhub.model.entity.Booking;
+import com.eventhub.model.entity.Event;
+import com.eventhub.model.entity.EventSeatRow;
+import com.eventhub.model.entity.SeatClaim;
+import com.eventhub.repository.BookingRepository;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.EventSeatRowRepository;
+import com.eventhub.repository.SeatClaimRepository;
+import com.eventhub.service.SeatMapService;
+import com.eventhub.util.SeatMap;
+import com.eventhub.util.SeatUpdateCoalescer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reserved seating. Each seated event has an in-memory {@link SeatMap} built on first use from
+ * its layout rows and the seats of its live bookings; afterwards bookings claim and release seats
+ * on the map without locking, and the booking rows remain the durable record.
+ *
+ * The maps are per application instance, so every claimed seat is also written to seat_claims,
+ * whose unique key on (event, row, seat) settles races between instances. A booking that loses
+ * one fails with "seat taken" and the local map, which missed the other instance's booking, is
+ * dropped and rebuilt on next use. Events without a layout are not cached, so each booking checks
+ * for layout rows again and picks up a layout defined on another instance.
+ */
+@Service
+@Transactional
+public class SeatMapServiceImpl implements SeatMapService {
+
+    @Autowired
+    private EventSeatRowRepository eventSeatRowRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatClaimRepository seatClaimRepository;
+
+    @Autowired
+    private SeatUpdateCoalescer seatUpdateCoalescer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<Long, EventSeats> seatMaps = new ConcurrentHashMap<>();
+
+    @Override
+    public SeatLayoutDTO defineLayout(Long eventId, SeatLayoutRequest seatLayoutRequest) {
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
+
+        Long activeBookings = bookingRepository.countActiveByEventId(eventId);
+        if (activeBookings != null && activeBookings > 0) {
+            throw new RuntimeException("Seat layout cannot be changed once the event has bookings");
+        }
+
+        // Keep the rows of a section together, in the order sections first appear
+        Map<String, List<SeatLayoutRequest.Row>> bySection = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (SeatLayoutRequest.Row row : seatLayoutRequest.getRows()) {
+            if (!seen.add(row.getSection() + "\u0000" + row.getLabel())) {
+                throw new RuntimeException("Duplicate row " + row.getLabel() + " in section " + row.getSection());
+            }
+            bySection.computeIfAbsent(row.getSection(), section -> new ArrayList<>()).add(row);
+        }
+
+        seatClaimRepository.deleteByEventId(eventId);
+        eventSeatRowRepository.deleteByEventId(eventId);
+        List<EventSeatRow> rows = new ArrayList<>(seatLayoutRequest.getRows().size());
+        int totalSeats = 0;
+        for (List<SeatLayoutRequest.Row> sectionRows : bySection.values()) {
+            for (SeatLayoutRequest.Row row : sectionRows) {
+                EventSeatRow seatRow = new EventSeatRow();
+                seatRow.setEvent(event);
+                seatRow.setSection(row.getSection());
+                seatRow.setRowLabel(row.getLabel());
+                seatRow.setSeatCount(row.getSeats());
+                seatRow.setPosition(rows.size());
+                rows.add(seatRow);
+                totalSeats += row.getSeats();
+            }
+        }
+        List<EventSeatRow> savedRows = eventSeatRowRepository.saveAll(rows);
+
+        eventRepository.resetSeats(eventId, totalSeats);
+        entityManager.refresh(event);
+        seatUpdateCoalescer.submit(event);
+
+        EventSeats seats = new EventSeats(savedRows);
+        afterCommit(() -> seatMaps.put(eventId, seats));
+
+        System.out.println("💺 Defined seat layout for event " + eventId + ": " + savedRows.size() +
+            " rows, " + totalSeats + " seats");
+        return toDTO(eventId, seats);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SeatLayoutDTO getLayout(Long eventId) {
+        return toDTO(eventId, requireSeats(eventId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeSnapshot(Long eventId, OutputStream outputStream) {
+        try {
+            requireSeats(eventId).map.writeSnapshot(outputStream);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing seat snapshot: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean assignSeats(Booking booking, String section) {
+        EventSeats seats = seatsFor(booking.getEvent().getId());
+        if (seats == EventSeats.NONE) {
+            return false;
+        }
+
+        int fromRow = 0;
+        int toRow = seats.map.rowCount();
+        if (section != null && !section.isBlank()) {
+            int[] range = seats.sectionRows.get(section);
+            if (range == null) {
+                throw new RuntimeException("Unknown section: " + section);
+            }
+            fromRow = range[0];
+            toRow = range[1];
+        }
+
+        int count = booking.getNumberOfTickets();
+        long block = seats.map.claimBlock(count, fromRow, toRow);
+        if (block == SeatMap.NO_BLOCK) {
+            throw new RuntimeException("No " + count + " adjacent seats available" +
+                (fromRow == 0 && toRow == seats.map.rowCount() ? "" : " in section " + section));
+        }
+
+        int row = SeatMap.row(block);
+        int firstSeat = SeatMap.firstSeat(block);
+        EventSeatRow seatRow = entityManager.getReference(EventSeatRow.class, seats.rowIds[row]);
+        booking.setSeatRow(seatRow);
+        booking.setFirstSeat(firstSeat);
+
+        boolean[] takenElsewhere = new boolean[1];
+        Long eventId = booking.getEvent().getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (takenElsewhere[0]) {
+                    seatMaps.remove(eventId, seats);
+                } else if (status != STATUS_COMMITTED) {
+                    seats.map.release(row, firstSeat, count);
+                }
+            }
+        });
+
+        List<SeatClaim> claims = new ArrayList<>(count);
+        for (int seat = firstSeat; seat < firstSeat + count; seat++) {
+            SeatClaim claim = new SeatClaim();
+            claim.setEvent(booking.getEvent());
+            claim.setSeatRow(seatRow);
+            claim.setSeatNumber(seat);
+            claims.add(claim);
+        }
+        try {
+            seatClaimRepository.saveAllAndFlush(claims);
+        } catch (DataIntegrityViolationException e) {
+            takenElsewhere[0] = true;
+            throw new RuntimeException("Seats in row " + seats.labels[row] + " were just taken, please try again");
+        }
+        return true;
+    }
+
+    @Override
+    public void releaseSeats(Booking booking) {
+        if (booking.getSeatRow() == null || booking.getFirstSeat() == null) {
+            return;
+        }
+        seatClaimRepository.deleteSeats(booking.getSeatRow().getId(), booking.getFirstSeat(),
+            booking.getFirstSeat() + booking.getNumberOfTickets());
+
+        // A map that is not loaded yet reads the committed bookings when it is built
+        EventSeats seats = seatMaps.get(booking.getEvent().getId());
+        if (seats == null) {
+            return;
+        }
+        Integer row = seats.rowIndexById.get(booking.getSeatRow().getId());
+        if (row == null) {
+            return;
+        }
+
+        int firstSeat = booking.getFirstSeat();
+        int count = booking.getNumberOfTickets();
+        afterCommit(() -> seats.map.release(row, firstSeat, count));
+    }
+
+    // Helper methods
+    private EventSeats requireSeats(Long eventId) {
+        EventSeats seats = seatsFor(eventId);
+        if (seats == EventSeats.NONE) {
+            if (!eventRepository.existsById(eventId)) {
+                throw new RuntimeException("Event not found with id: " + eventId);
+            }
+            throw new RuntimeException("Event has no seat layout");
+        }
+        return seats;
+    }
+
+    private EventSeats seatsFor(Long eventId) {
+        EventSeats loaded = seatMaps.computeIfAbsent(eventId, id -> {
+            List<EventSeatRow> rows = eventSeatRowRepository.findByEventIdOrderByPosition(id);
+            if (rows.isEmpty()) {
+                // Not cached, so a layout defined later on another instance is seen by the next booking
+                return null;
+            }
+            EventSeats seats = new EventSeats(rows);
+            for (Object[] assignment : bookingRepository.findSeatAssignmentsByEventId(id)) {
+                Integer row = seats.rowIndexById.get((Long) assignment[0]);
+                if (row == null || !seats.map.claim(row, (Integer) assignment[1], (Integer) assignment[2])) {
+                    System.err.println("❌ Overlapping seat assignment in row " + assignment[0] + " of event " + id);
+                }
+            }
+            System.out.println("💺 Loaded seat map for event " + id + ": " + seats.map.freeSeats() + " seats free");
+            return seats;
+        });
+        return loaded != null ? loaded : EventSeats.NONE;
+    }
+
+    private SeatLayoutDTO toDTO(Long eventId, EventSeats seats) {
+        List<SeatLayoutDTO.Row> rows = new ArrayList<>(seats.map.rowCount());
+        long totalSeats = 0;
+        for (int row = 0; row < seats.map.rowCount(); row++) {
+            rows.add(new SeatLayoutDTO.Row(seats.sections[row], seats.labels[row],
+                seats.map.seatCount(row), seats.map.freeSeats(row)));
+            totalSeats += seats.map.seatCount(row);
+        }
+        return new SeatLayoutDTO(eventId, totalSeats, seats.map.freeSeats(), rows);
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Seat map of one event plus what is needed to translate between row indexes and rows.
+     */
+    private static class EventSeats {
+        private static final EventSeats NONE = new EventSeats(List.of());
+
+        private final SeatMap map;
+        private final long[] rowIds;
+        private final String[] sections;
+        private final String[] labels;
+        private final Map<Long, Integer> rowIndexById = new HashMap<>();
+        private final Map<String, int[]> sectionRows = new HashMap<>();
+
+        EventSeats(List<EventSeatRow> rows) {
+            int[] seatCounts = new int[rows.size()];
+            rowIds = new long[rows.size()];
+            sections = new String[rows.size()];
+            labels = new String[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                EventSeatRow row = rows.get(i);
+                seatCounts[i] = row.getSeatCount();
+                rowIds[i] = row.getId();
+                sections[i] = row.getSection();
+                labels[i] = row.getRowLabel();
+                rowIndexById.put(row.getId(), i);
+                // Rows are ordered by section, so each section is one index range
+                int[] range = sectionRows.get(row.getSection());
+                if (range == null) {
+                    sectionRows.put(row.getSection(), new int[] {i, i + 1});
+                } else {
+                    range[1] = i + 1;
+                }
+            }
+            map = new SeatMap(seatCounts);
+        }
+    }
+}
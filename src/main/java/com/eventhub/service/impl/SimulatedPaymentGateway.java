@@ -0,0 +1,174 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.model.entity.Payment;
+import com.eventhub.service.PaymentGateway;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * In-process stand-in for the payment providers. Each payment method has its own profile under
+ * {@code payment.gateway.simulator.<method>.*} (method in kebab case, e.g. net-banking), with
+ * unset values taken from {@code payment.gateway.simulator.default.*}:
+ * <ul>
+ *   <li>median-latency-ms / p99-latency-ms: log-normal latency distribution</li>
+ *   <li>error-rate: share of calls that fail with a transient error</li>
+ *   <li>decline-rate: share of calls the provider declines</li>
+ *   <li>stall-rate / stall-ms: share of calls that hang, and for how long</li>
+ * </ul>
+ * Sleeps are interruptible, so a caller that times out can cancel the call.
+ *
+ * Like a real provider, the simulator deduplicates by transaction id: the outcome is recorded
+ * before the call's latency, so a call abandoned mid-flight has still taken effect, and a repeat
+ * with the same id returns the recorded outcome instead of charging or refunding again. Transient
+ * errors are raised before anything is recorded. Outcomes are kept for
+ * {@code payment.gateway.simulator.idempotency-retention-ms}.
+ */
+@Service("simulatedPaymentGateway")
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    // z-score of the 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.3263;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${payment.gateway.simulator.idempotency-retention-ms:86400000}")
+    private long idempotencyRetentionMs;
+
+    private final Map<Payment.PaymentMethod, Profile> profiles = new EnumMap<>(Payment.PaymentMethod.class);
+
+    // Recorded outcomes by transaction id, one map per operation
+    private final Map<String, Outcome> charges = new ConcurrentHashMap<>();
+    private final Map<String, Outcome> refunds = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (Payment.PaymentMethod method : Payment.PaymentMethod.values()) {
+            String key = method.name().toLowerCase().replace('_', '-');
+            Profile profile = new Profile(
+                property(key, "median-latency-ms", Long.class, 50L),
+                property(key, "p99-latency-ms", Long.class, 200L),
+                property(key, "error-rate", Double.class, 0.0),
+                property(key, "decline-rate", Double.class, 0.0),
+                property(key, "stall-rate", Double.class, 0.0),
+                property(key, "stall-ms", Long.class, 30000L));
+            profiles.put(method, profile);
+        }
+    }
+
+    @Override
+    public GatewayResult charge(String transactionId, Payment.PaymentMethod method, BigDecimal amount, String instrument) {
+        Profile profile = profiles.get(method);
+        return simulateCall(charges, transactionId, method, profile, () -> {
+            if (ThreadLocalRandom.current().nextDouble() < profile.declineRate) {
+                return new GatewayResult(false, "Payment declined by provider");
+            }
+            switch (method) {
+                case CARD:
+                    return new GatewayResult(true, "Card payment successful");
+                case UPI:
+                    return new GatewayResult(true, "UPI payment successful");
+                case NET_BANKING:
+                    return new GatewayResult(true, "Net banking payment successful");
+                default:
+                    return new GatewayResult(true, "Wallet payment successful");
+            }
+        });
+    }
+
+    @Override
+    public GatewayResult refund(String transactionId, Payment.PaymentMethod method, BigDecimal amount) {
+        return simulateCall(refunds, transactionId, method, profiles.get(method),
+            () -> new GatewayResult(true, "Refund processed successfully"));
+    }
+
+    /**
+     * Fail the call at the configured error rate, otherwise record its outcome (or reuse the one
+     * already recorded for the transaction) and wait out the call's latency or stall
+     */
+    private GatewayResult simulateCall(Map<String, Outcome> outcomes, String transactionId,
+                                       Payment.PaymentMethod method, Profile profile,
+                                       Supplier<GatewayResult> decide) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < profile.errorRate) {
+            throw new GatewayUnavailableException("Simulated " + method + " gateway error");
+        }
+        Outcome outcome = outcomes.computeIfAbsent(transactionId,
+            id -> new Outcome(decide.get(), System.currentTimeMillis()));
+        try {
+            if (random.nextDouble() < profile.stallRate) {
+                Thread.sleep(profile.stallMs);
+            } else {
+                Thread.sleep(profile.sampleLatency(random));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // The outcome is already recorded, the caller just never hears of it
+            throw new GatewayUnavailableException("Gateway call interrupted", true);
+        }
+        return outcome.result;
+    }
+
+    /**
+     * Forget outcomes older than the retention window
+     */
+    @Scheduled(fixedDelayString = "${payment.gateway.simulator.idempotency-purge-ms:3600000}")
+    public void purgeOutcomes() {
+        long cutoff = System.currentTimeMillis() - idempotencyRetentionMs;
+        charges.values().removeIf(outcome -> outcome.recordedAt < cutoff);
+        refunds.values().removeIf(outcome -> outcome.recordedAt < cutoff);
+    }
+
+    /**
+     * {@code payment.gateway.simulator.<method>.<name>}, falling back to {@code payment.gateway.simulator.default.<name>}
+     */
+    private <T> T property(String key, String name, Class<T> type, T defaultValue) {
+        T fallback = environment.getProperty("payment.gateway.simulator.default." + name, type, defaultValue);
+        return environment.getProperty("payment.gateway.simulator." + key + "." + name, type, fallback);
+    }
+
+    private static class Outcome {
+        private final GatewayResult result;
+        private final long recordedAt;
+
+        Outcome(GatewayResult result, long recordedAt) {
+            this.result = result;
+            this.recordedAt = recordedAt;
+        }
+    }
+
+    private static class Profile {
+        private final double mu;
+        private final double sigma;
+        private final double errorRate;
+        private final double declineRate;
+        private final double stallRate;
+        private final long stallMs;
+
+        Profile(long medianLatencyMs, long p99LatencyMs, double errorRate, double declineRate,
+                double stallRate, long stallMs) {
+            long median = Math.max(1, medianLatencyMs);
+            this.mu = Math.log(median);
+            this.sigma = Math.log(Math.max(p99LatencyMs, median) / (double) median) / Z_99;
+            this.errorRate = errorRate;
+            this.declineRate = declineRate;
+            this.stallRate = stallRate;
+            this.stallMs = stallMs;
+        }
+
+        long sampleLatency(ThreadLocalRandom random) {
+            return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+        }
+    }
+}
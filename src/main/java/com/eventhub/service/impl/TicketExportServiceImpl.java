@@ -0,0 +1,189 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.model.entity.Booking;
+import com.eventhub.repository.BookingRepository;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.service.TicketExportService;
+import com.eventhub.util.PdfGenerator;
+import com.eventhub.util.QrCodeUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+public class TicketExportServiceImpl implements TicketExportService {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PdfGenerator pdfGenerator;
+
+    @Autowired
+    private QrCodeUtil qrCodeUtil;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${tickets.export.parallelism:4}")
+    private int parallelism;
+
+    @Value("${tickets.export.max-in-flight:16}")
+    private int maxInFlight;
+
+    // Clear the persistence context every N rows so scrolled entities can be collected
+    private static final int CLEAR_INTERVAL = 100;
+
+    private ExecutorService renderExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        renderExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "ticket-export-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderExecutor.shutdownNow();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void validateExport(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Event not found with id: " + eventId);
+        }
+    }
+
+    /**
+     * Bookings are scrolled from the database and handed to the render pool as they arrive.
+     * At most maxInFlight tickets are rendered but not yet written, and entries are written
+     * in booking order, so memory stays bounded no matter how large the event is.
+     * A ticket that fails to render is listed in export-errors.txt instead of aborting the export.
+     */
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${tickets.export.timeout-seconds:600}")
+    public int exportEventTickets(Long eventId, OutputStream outputStream) {
+        validateExport(eventId);
+
+        ArrayDeque<Future<RenderedTicket>> inFlight = new ArrayDeque<>(maxInFlight);
+        StringBuilder errors = new StringBuilder();
+        int written = 0;
+        int scrolled = 0;
+
+        try (Stream<Booking> bookings = bookingRepository.streamByEventIdAndStatus(eventId, Booking.BookingStatus.CONFIRMED)) {
+            ZipOutputStream zip = new ZipOutputStream(outputStream);
+            // PDF content streams are already compressed
+            zip.setLevel(Deflater.BEST_SPEED);
+
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                Booking booking = iterator.next();
+                if (++scrolled % CLEAR_INTERVAL == 0) {
+                    // Everything the renderer needs was fetch-joined, so detached bookings stay usable
+                    entityManager.clear();
+                }
+
+                if (inFlight.size() >= maxInFlight) {
+                    written += writeEntry(zip, inFlight.poll(), errors);
+                }
+                inFlight.add(renderExecutor.submit(() -> render(booking)));
+
+                // Write whatever has already finished without blocking the scroll
+                while (!inFlight.isEmpty() && inFlight.peek().isDone()) {
+                    written += writeEntry(zip, inFlight.poll(), errors);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                written += writeEntry(zip, inFlight.poll(), errors);
+            }
+
+            if (errors.length() > 0) {
+                zip.putNextEntry(new ZipEntry("export-errors.txt"));
+                zip.write(errors.toString().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+
+            System.out.println("📦 Exported " + written + " tickets for event " + eventId);
+            return written;
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing ticket export: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Ticket export interrupted");
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private int writeEntry(ZipOutputStream zip, Future<RenderedTicket> future, StringBuilder errors)
+            throws IOException, InterruptedException {
+        RenderedTicket ticket;
+        try {
+            ticket = future.get();
+        } catch (ExecutionException e) {
+            // render() catches its own failures; anything here is unexpected
+            throw new RuntimeException("Ticket rendering failed: " + e.getCause().getMessage());
+        }
+
+        if (ticket.pdf == null) {
+            errors.append(ticket.ticketId).append(": ").append(ticket.error).append('\n');
+            return 0;
+        }
+        zip.putNextEntry(new ZipEntry(ticket.ticketId + ".pdf"));
+        zip.write(ticket.pdf);
+        zip.closeEntry();
+        return 1;
+    }
+
+    private RenderedTicket render(Booking booking) {
+        try {
+            byte[] qrCode = qrCodeUtil.generateQrCode(qrCodeUtil.buildTicketData(booking));
+            return new RenderedTicket(booking.getTicketId(), pdfGenerator.generateTicket(booking, qrCode), null);
+        } catch (Exception e) {
+            System.err.println("❌ Failed to render ticket " + booking.getTicketId() + ": " + e.getMessage());
+            return new RenderedTicket(booking.getTicketId(), null, e.getMessage());
+        }
+    }
+
+    private static class RenderedTicket {
+        private final String ticketId;
+        private final byte[] pdf;
+        private final String error;
+
+        RenderedTicket(String ticketId, byte[] pdf, String error) {
+            this.ticketId = ticketId;
+            this.pdf = pdf;
+            this.error = error;
+        }
+    }
+}
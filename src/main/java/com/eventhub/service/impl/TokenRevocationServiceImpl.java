@@ -0,0 +1,183 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.model.entity.TokenRevocation;
+import com.eventhub.repository.TokenRevocationRepository;
+import com.eventhub.service.TokenRevocationService;
+import com.eventhub.util.BloomFilter;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the token_revocations table mirrored in memory so request authorization never reads it.
+ *
+ * Revoked token ids and user emails sit in exact maps behind a bloom filter, so the common case
+ * of a token that was never revoked is answered by the filter alone. Local revocations are applied
+ * at once; rows written by other instances are picked up every {@code security.revocation.sync-ms}.
+ * Each sync re-reads a short overlap window so rows committed late or stamped by a slightly
+ * skewed clock are not missed. Expired entries are dropped and the filter rebuilt as they age out.
+ */
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+    
+    private static final String TOKEN_KEY = "t:";
+    private static final String USER_KEY = "u:";
+    
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+    
+    @Value("${jwt.expiration:86400000}")
+    private long tokenLifetimeMs;
+    
+    @Value("${security.revocation.expected-entries:100000}")
+    private long expectedEntries;
+    
+    @Value("${security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    @Value("${security.revocation.sync-overlap-seconds:60}")
+    private long syncOverlapSeconds;
+    
+    // Token id or user email -> revocation; a user's entry covers tokens issued up to revokedAt
+    private final Map<String, Revocation> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Revocation> revokedUsers = new ConcurrentHashMap<>();
+    
+    private volatile BloomFilter bloomFilter;
+    
+    private volatile LocalDateTime lastSync;
+    
+    @PostConstruct
+    public void init() {
+        LocalDateTime start = LocalDateTime.now();
+        bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+        tokenRevocationRepository.findByExpiresAtAfter(start).forEach(this::apply);
+        lastSync = start;
+        System.out.println("🔐 Loaded " + (revokedTokens.size() + revokedUsers.size()) + " token revocations");
+    }
+    
+    @Override
+    @Transactional
+    public void revokeToken(Claims claims) {
+        if (claims.getId() == null) {
+            System.err.println("⚠️ Token for " + claims.getSubject() + " has no id and cannot be revoked individually");
+            return;
+        }
+        save(TokenRevocation.RevocationType.TOKEN, claims.getId(), LocalDateTime.now(),
+            toLocalDateTime(claims.getExpiration()));
+    }
+    
+    @Override
+    @Transactional
+    public void revokeUser(String email) {
+        LocalDateTime now = LocalDateTime.now();
+        save(TokenRevocation.RevocationType.USER, email, now, now.plusNanos(tokenLifetimeMs * 1_000_000));
+    }
+    
+    @Override
+    public boolean isRevoked(Claims claims) {
+        BloomFilter filter = bloomFilter;
+        String tokenId = claims.getId();
+        if (tokenId != null && filter.mightContain(TOKEN_KEY + tokenId) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        String email = claims.getSubject();
+        if (email != null && filter.mightContain(USER_KEY + email)) {
+            Revocation revocation = revokedUsers.get(email);
+            Date issuedAt = claims.getIssuedAt();
+            // iat has second precision, so a token from the same second as the revocation is rejected
+            return revocation != null && (issuedAt == null || issuedAt.getTime() <= revocation.revokedAt);
+        }
+        return false;
+    }
+    
+    @Scheduled(fixedDelayString = "${security.revocation.sync-ms:5000}")
+    public void sync() {
+        LocalDateTime start = LocalDateTime.now();
+        List<TokenRevocation> rows = tokenRevocationRepository.findByRevokedAtGreaterThanEqual(
+            lastSync.minusSeconds(syncOverlapSeconds));
+        rows.forEach(this::apply);
+        lastSync = start;
+        
+        long now = System.currentTimeMillis();
+        boolean removed = revokedTokens.values().removeIf(revocation -> revocation.expiresAt <= now);
+        removed |= revokedUsers.values().removeIf(revocation -> revocation.expiresAt <= now);
+        if (removed) {
+            rebuildBloomFilter();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${security.revocation.purge-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = tokenRevocationRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            System.out.println("🧹 Purged " + deleted + " expired token revocations");
+        }
+    }
+    
+    private void save(TokenRevocation.RevocationType type, String subject, LocalDateTime revokedAt,
+                      LocalDateTime expiresAt) {
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setRevocationType(type);
+        revocation.setSubject(subject);
+        revocation.setRevokedAt(revokedAt);
+        revocation.setExpiresAt(expiresAt);
+        tokenRevocationRepository.save(revocation);
+        apply(revocation);
+    }
+    
+    private void apply(TokenRevocation row) {
+        Revocation revocation = new Revocation(toEpochMillis(row.getRevokedAt()), toEpochMillis(row.getExpiresAt()));
+        if (row.getRevocationType() == TokenRevocation.RevocationType.TOKEN) {
+            revokedTokens.put(row.getSubject(), revocation);
+            bloomFilter.put(TOKEN_KEY + row.getSubject());
+        } else {
+            // Keep the latest revocation of a user so it covers every token issued before it
+            revokedUsers.merge(row.getSubject(), revocation,
+                (current, next) -> next.revokedAt > current.revokedAt ? next : current);
+            bloomFilter.put(USER_KEY + row.getSubject());
+        }
+    }
+    
+    /**
+     * Swap in a filter holding only live entries. Keys are added again after the swap so a
+     * revocation applied while the new filter was being built is not lost.
+     */
+    private void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(expectedEntries, falsePositiveRate);
+        revokedTokens.keySet().forEach(tokenId -> rebuilt.put(TOKEN_KEY + tokenId));
+        revokedUsers.keySet().forEach(email -> rebuilt.put(USER_KEY + email));
+        bloomFilter = rebuilt;
+        revokedTokens.keySet().forEach(tokenId -> rebuilt.put(TOKEN_KEY + tokenId));
+        revokedUsers.keySet().forEach(email -> rebuilt.put(USER_KEY + email));
+    }
+    
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+    
+    private static class Revocation {
+        private final long revokedAt;
+        private final long expiresAt;
+        
+        Revocation(long revokedAt, long expiresAt) {
+            this.revokedAt = revokedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -2,10 +2,13 @@ package com.eventhub.service.impl;
 
 import com.eventhub.model.entity.User;
 import com.eventhub.repository.UserRepository;
+import com.eventhub.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -15,7 +18,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
@@ -29,6 +32,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         return UserPrincipal.create(user);
     }
     
+    /**
+     * Called after a successful login when the stored hash uses an older cost than the encoder
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + userDetails.getUsername()));
+        
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        System.out.println("🔐 Rehashed password for " + user.getEmail() + " at the current cost");
+        
+        return UserPrincipal.create(user);
+    }
+    
     public static class UserPrincipal implements UserDetails {
         private Long id;
         private String name;
@@ -62,6 +81,31 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             );
         }
         
+        /**
+         * Build a principal from the claims of a token issued with the user's details
+         * @return null if the token does not carry them
+         */
+        public static UserPrincipal fromClaims(Claims claims) {
+            Object userId = claims.get(JwtUtil.USER_ID_CLAIM);
+            Object roles = claims.get(JwtUtil.ROLES_CLAIM);
+            if (!(userId instanceof Number) || !(roles instanceof List)) {
+                return null;
+            }
+            
+            List<GrantedAuthority> authorities = ((List<?>) roles).stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toList());
+            
+            return new UserPrincipal(
+                ((Number) userId).longValue(),
+                claims.get(JwtUtil.NAME_CLAIM, String.class),
+                claims.getSubject(),
+                null,
+                authorities,
+                !Boolean.FALSE.equals(claims.get(JwtUtil.ACTIVE_CLAIM, Boolean.class))
+            );
+        }
+        
         @Override
         public List<GrantedAuthority> getAuthorities() {
             return authorities;
@@ -3,7 +3,9 @@ package com.eventhub.service.impl;
 import com.eventhub.dto.UserDTO;
 import com.eventhub.model.entity.User;
 import com.eventhub.repository.UserRepository;
+import com.eventhub.service.TokenRevocationService;
 import com.eventhub.service.UserService;
+import com.eventhub.util.AuthenticatedPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +25,12 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
     @Override
     public UserDTO getUserById(Long id) {
         User user = userRepository.findById(id)
@@ -55,6 +63,7 @@ public class UserServiceImpl implements UserService {
         existingUser.setUpdatedAt(LocalDateTime.now());
         
         User updatedUser = userRepository.save(existingUser);
+        principalCache.invalidateUser(existingUser.getEmail());
         return convertToDTO(updatedUser);
     }
     
@@ -87,6 +96,10 @@ public class UserServiceImpl implements UserService {
         user.setUpdatedAt(LocalDateTime.now());
         
         User updatedUser = userRepository.save(user);
+        principalCache.invalidateUser(user.getEmail());
+        if (!updatedUser.getIsActive()) {
+            tokenRevocationService.revokeUser(user.getEmail());
+        }
         return convertToDTO(updatedUser);
     }
     
@@ -99,6 +112,8 @@ public class UserServiceImpl implements UserService {
         user.setIsActive(false);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        principalCache.invalidateUser(user.getEmail());
+        tokenRevocationService.revokeUser(user.getEmail());
     }
     
     @Override
@@ -0,0 +1,305 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.dto.JoinWaitlistRequest;
+import com.eventhub.dto.WaitlistEntryDTO;
+import com.eventhub.model.entity.Event;
+import com.eventhub.model.entity.User;
+import com.eventhub.model.entity.WaitlistEntry;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.UserRepository;
+import com.eventhub.repository.WaitlistEntryRepository;
+import com.eventhub.service.WaitlistService;
+import com.eventhub.service.WebSocketService;
+import com.eventhub.util.SeatUpdateCoalescer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-event waitlist. The waitlist_entries table is the FIFO, shared by every instance: a release
+ * locks the next WAITING entries that fit with SELECT ... FOR UPDATE SKIP LOCKED, so concurrent
+ * releases on any node never offer the same entry twice. Offers for one release are written with
+ * a single bulk UPDATE and users are notified only after the releasing transaction commits.
+ */
+@Service
+@Transactional
+public class WaitlistServiceImpl implements WaitlistService {
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private SeatUpdateCoalescer seatUpdateCoalescer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${waitlist.hold-minutes:15}")
+    private long holdMinutes;
+
+    @Value("${waitlist.max-offers-per-release:200}")
+    private int maxOffersPerRelease;
+
+    @Override
+    public WaitlistEntryDTO joinWaitlist(JoinWaitlistRequest joinWaitlistRequest) {
+        User user = getCurrentUser();
+        Event event = eventRepository.findById(joinWaitlistRequest.getEventId())
+            .orElseThrow(() -> new RuntimeException("Event not found"));
+
+        if (!event.getIsActive()) {
+            throw new RuntimeException("Event is not active");
+        }
+        if (event.getDate().isBefore(LocalDateTime.now().toLocalDate())) {
+            throw new RuntimeException("Cannot join the waitlist for past events");
+        }
+        if (event.getAvailableSeats() >= joinWaitlistRequest.getNumberOfTickets()) {
+            throw new RuntimeException("Seats are available, please book directly");
+        }
+        if (waitlistEntryRepository.existsActiveEntry(user.getId(), event.getId())) {
+            throw new RuntimeException("You are already on the waitlist for this event");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setEvent(event);
+        entry.setUser(user);
+        entry.setNumberOfTickets(joinWaitlistRequest.getNumberOfTickets());
+        entry.setStatus(WaitlistEntry.WaitlistStatus.WAITING);
+        WaitlistEntry savedEntry = waitlistEntryRepository.save(entry);
+
+        System.out.println("⏳ User " + user.getId() + " joined the waitlist for event " + event.getId());
+        return convertToDTO(savedEntry, waitlistEntryRepository.countWaitingUpTo(event.getId(), savedEntry.getId()));
+    }
+
+    @Override
+    public void leaveWaitlist(Long entryId) {
+        User user = getCurrentUser();
+        WaitlistEntry entry = waitlistEntryRepository.findByIdForUpdate(entryId)
+            .orElseThrow(() -> new RuntimeException("Waitlist entry not found with id: " + entryId));
+
+        if (!entry.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("Waitlist entry not found with id: " + entryId);
+        }
+
+        WaitlistEntry.WaitlistStatus oldStatus = entry.getStatus();
+        if (oldStatus != WaitlistEntry.WaitlistStatus.WAITING && oldStatus != WaitlistEntry.WaitlistStatus.OFFERED) {
+            throw new RuntimeException("Waitlist entry is no longer active");
+        }
+
+        entry.setStatus(WaitlistEntry.WaitlistStatus.CANCELLED);
+        waitlistEntryRepository.save(entry);
+
+        Event event = entry.getEvent();
+        if (oldStatus == WaitlistEntry.WaitlistStatus.OFFERED) {
+            addAvailableSeats(event, entry.getNumberOfTickets());
+            offerReleasedSeats(event);
+            seatUpdateCoalescer.submit(event);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDTO> getCurrentUserEntries() {
+        User user = getCurrentUser();
+        return waitlistEntryRepository.findByUserIdWithEvent(user.getId()).stream()
+            .map(entry -> convertToDTO(entry, entry.getStatus() == WaitlistEntry.WaitlistStatus.WAITING
+                ? waitlistEntryRepository.countWaitingUpTo(entry.getEvent().getId(), entry.getId())
+                : null))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public int offerReleasedSeats(Event event) {
+        int freeSeats = event.getAvailableSeats();
+        if (freeSeats <= 0) {
+            return 0;
+        }
+
+        // Walk the line in id order. An entry that wants more seats than are left keeps its place,
+        // and smaller requests behind it are served.
+        Map<Long, Integer> ticketsById = new LinkedHashMap<>();
+        int seatsLeft = freeSeats;
+        long afterId = 0L;
+        while (seatsLeft > 0 && ticketsById.size() < maxOffersPerRelease) {
+            int pageSize = maxOffersPerRelease - ticketsById.size();
+            List<WaitlistEntry> page = waitlistEntryRepository.lockNextWaiting(event.getId(), seatsLeft, afterId,
+                PageRequest.of(0, pageSize));
+            for (WaitlistEntry entry : page) {
+                afterId = entry.getId();
+                if (entry.getNumberOfTickets() <= seatsLeft) {
+                    ticketsById.put(entry.getId(), entry.getNumberOfTickets());
+                    seatsLeft -= entry.getNumberOfTickets();
+                }
+                // The bulk UPDATE below bypasses the persistence context; the row lock stays until commit
+                entityManager.detach(entry);
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        if (ticketsById.isEmpty()) {
+            return 0;
+        }
+
+        // The entries are locked, so none can leave the waitlist before this commits
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime holdExpiresAt = now.plusMinutes(holdMinutes);
+        waitlistEntryRepository.offerAll(ticketsById.keySet(), now, holdExpiresAt);
+
+        int heldSeats = freeSeats - seatsLeft;
+        addAvailableSeats(event, -heldSeats);
+        seatUpdateCoalescer.submit(event);
+
+        Map<Long, String> emails = new HashMap<>();
+        for (Object[] row : waitlistEntryRepository.findUserEmails(ticketsById.keySet())) {
+            emails.put((Long) row[0], (String) row[1]);
+        }
+        // On rollback the entries simply stay WAITING in the table
+        List<QueuedEntry> notified = new ArrayList<>(ticketsById.size());
+        ticketsById.forEach((id, tickets) -> notified.add(new QueuedEntry(id, emails.get(id), tickets)));
+        afterCommit(() -> notified.forEach(entry -> notifyOffer(entry, event, holdExpiresAt)));
+
+        System.out.println("🎟️ Offered " + heldSeats + " seats to " + notified.size() +
+            " waitlisted users for event " + event.getId());
+        return heldSeats;
+    }
+
+    @Override
+    public int consumeHold(User user, Event event) {
+        return waitlistEntryRepository.findActiveHold(user.getId(), event.getId(), LocalDateTime.now())
+            .map(entry -> {
+                entry.setStatus(WaitlistEntry.WaitlistStatus.CLAIMED);
+                waitlistEntryRepository.save(entry);
+                return entry.getNumberOfTickets();
+            })
+            .orElse(0);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${waitlist.sweep-interval-ms:15000}")
+    public int expireHolds() {
+        List<WaitlistEntry> expired = waitlistEntryRepository.findExpiredHolds(LocalDateTime.now());
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(expired.size());
+        Map<Long, Integer> seatsByEvent = new HashMap<>();
+        List<String> userEmails = new ArrayList<>(expired.size());
+        for (WaitlistEntry entry : expired) {
+            ids.add(entry.getId());
+            seatsByEvent.merge(entry.getEvent().getId(), entry.getNumberOfTickets(), Integer::sum);
+            userEmails.add(entry.getUser().getEmail());
+        }
+        waitlistEntryRepository.updateStatus(ids, WaitlistEntry.WaitlistStatus.EXPIRED, LocalDateTime.now());
+
+        for (Map.Entry<Long, Integer> released : seatsByEvent.entrySet()) {
+            eventRepository.findById(released.getKey()).ifPresent(event -> {
+                addAvailableSeats(event, released.getValue());
+                offerReleasedSeats(event);
+                seatUpdateCoalescer.submit(event);
+            });
+        }
+
+        afterCommit(() -> {
+            Map<String, Object> notification = new HashMap<>();
+            notification.put("type", "WAITLIST_OFFER_EXPIRED");
+            notification.put("message", "Your held seats were released because the booking was not completed in time");
+            notification.put("timestamp", LocalDateTime.now());
+            userEmails.forEach(email -> webSocketService.sendUserNotification(email, notification));
+        });
+
+        System.out.println("⌛ Expired " + ids.size() + " waitlist holds");
+        return ids.size();
+    }
+
+    // Helper methods
+    private void addAvailableSeats(Event event, int seats) {
+        if (eventRepository.addAvailableSeats(event.getId(), seats) == 0) {
+            throw new RuntimeException("Not enough available seats to hold for the waitlist");
+        }
+        // The row stays locked until commit, so the refreshed count is the one that will be committed
+        entityManager.refresh(event);
+    }
+
+    private void notifyOffer(QueuedEntry entry, Event event, LocalDateTime holdExpiresAt) {
+        Map<String, Object> notification = new HashMap<>();
+        notification.put("type", "WAITLIST_OFFER");
+        notification.put("waitlistEntryId", entry.id);
+        notification.put("eventId", event.getId());
+        notification.put("eventTitle", event.getTitle());
+        notification.put("numberOfTickets", entry.tickets);
+        notification.put("holdExpiresAt", holdExpiresAt);
+        notification.put("message", "Seats are available for " + event.getTitle() + ". Complete your booking before the hold expires.");
+        webSocketService.sendUserNotification(entry.userEmail, notification);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return userRepository.findByEmail(authentication.getName())
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private WaitlistEntryDTO convertToDTO(WaitlistEntry entry, Long position) {
+        WaitlistEntryDTO dto = new WaitlistEntryDTO();
+        dto.setId(entry.getId());
+        dto.setEventId(entry.getEvent().getId());
+        dto.setEventTitle(entry.getEvent().getTitle());
+        dto.setNumberOfTickets(entry.getNumberOfTickets());
+        dto.setStatus(entry.getStatus());
+        dto.setPosition(position);
+        dto.setHoldExpiresAt(entry.getHoldExpiresAt());
+        dto.setCreatedAt(entry.getCreatedAt());
+        return dto;
+    }
+
+    private static class QueuedEntry {
+        private final long id;
+        private final String userEmail;
+        private final int tickets;
+
+        QueuedEntry(long id, String userEmail, int tickets) {
+            this.id = id;
+            this.userEmail = userEmail;
+            this.tickets = tickets;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.eventhub.util;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Principals of recently validated JWTs, with the token's verified claims, keyed by the SHA-256
+ * of the token so raw tokens are never held in memory. An entry lives until the token expires or
+ * for the max age, whichever is sooner, so a cached token never outlives its signature check.
+ *
+ * Changes to a user must call {@link #invalidateUser}. A principal loaded before an
+ * invalidation is not stored, so a request racing with the change cannot cache the old state.
+ */
+@Component
+public class AuthenticatedPrincipalCache {
+
+    @Value("${security.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${security.principal-cache.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    private final Map<String, CachedPrincipal> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * @return the cached principal and claims, or null if the token has not been seen or its entry expired
+     */
+    public CachedPrincipal get(String token) {
+        CachedPrincipal entry = entries.get(key(token));
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(entry.key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Version to pass to {@link #put}; read it before loading the principal
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Cache a principal for a token that has just been validated
+     * @param claims the token's verified claims
+     * @param loadedAtVersion {@link #version()} read before the principal was loaded
+     */
+    public void put(String token, UserDetails principal, Claims claims, long loadedAtVersion) {
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(claims.getExpiration().getTime(), now + maxAgeSeconds * 1000);
+        if (expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        String key = key(token);
+        entries.put(key, new CachedPrincipal(key, principal, claims, expiresAt));
+        if (version.get() != loadedAtVersion) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Drop every cached principal of a user, now and again once the current transaction commits
+     */
+    public void invalidateUser(String email) {
+        removeUser(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeUser(email);
+                }
+            });
+        }
+    }
+
+    private void removeUser(String email) {
+        version.incrementAndGet();
+        entries.values().removeIf(entry -> entry.principal.getUsername().equals(email));
+    }
+
+    /**
+     * Drop expired entries, then arbitrary ones until the cache is back under 90% of its bound
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        int target = maxEntries * 9 / 10;
+        Iterator<CachedPrincipal> iterator = entries.values().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static final class CachedPrincipal {
+        private final String key;
+        private final UserDetails principal;
+        private final Claims claims;
+        private final long expiresAt;
+
+        CachedPrincipal(String key, UserDetails principal, Claims claims, long expiresAt) {
+            this.key = key;
+            this.principal = principal;
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+
+        public UserDetails getPrincipal() { return principal; }
+        public Claims getClaims() { return claims; }
+    }
+}
@@ -0,0 +1,138 @@
+package com.eventhub.util;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * Outcomes of the last {@code windowSize} calls are kept in a ring buffer. Once at least
+ * {@code minimumCalls} have been recorded and the failure rate reaches the threshold, the breaker
+ * opens and rejects calls for {@code openDurationMs}. It then lets {@code halfOpenCalls} trial
+ * calls through: if they all succeed it closes again, the first failure re-opens it.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final boolean[] failures;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+    private final int halfOpenCalls;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failureCount;
+    private long openedAt;
+    private int halfOpenPermitted;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openDurationMs, int halfOpenCalls) {
+        if (windowSize <= 0 || minimumCalls <= 0 || halfOpenCalls <= 0) {
+            throw new IllegalArgumentException("Circuit breaker sizes must be positive");
+        }
+        this.name = name;
+        this.failures = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * @return true if the call may proceed; the caller must then report its outcome
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitted >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermitted++;
+        }
+        return true;
+    }
+
+    /**
+     * Hand back a permission whose call never reached the protected resource
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermitted > 0) {
+            halfOpenPermitted--;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSucceeded >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls
+                && failureCount >= failureRateThreshold * recorded) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0.0 : (double) failureCount / recorded;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean failed) {
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (recorded == failures.length) {
+            if (failures[next]) {
+                failureCount--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[next] = failed;
+        if (failed) {
+            failureCount++;
+        }
+        next = (next + 1) % failures.length;
+    }
+
+    private void transitionTo(State target) {
+        System.out.println("🔌 Circuit breaker " + name + ": " + state + " -> " + target);
+        state = target;
+        halfOpenPermitted = 0;
+        halfOpenSucceeded = 0;
+        if (target == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        } else if (target == State.CLOSED) {
+            recorded = 0;
+            next = 0;
+            failureCount = 0;
+        }
+    }
+}
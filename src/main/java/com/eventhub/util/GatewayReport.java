@@ -0,0 +1,205 @@
+package com.eventhub.util;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Gateway settlement report, memory-mapped and indexed by transaction id.
+ *
+ * The file is CSV with one {@code transaction_id,status,amount} record per line and an optional
+ * header. Only line offsets and an open-addressing hash table of row numbers are kept on the heap;
+ * fields are decoded from the mapped bytes when a row is looked at. Transaction ids are ASCII.
+ */
+public final class GatewayReport {
+
+    private static final byte[] HEADER = "transaction_id".getBytes(StandardCharsets.US_ASCII);
+
+    private final MappedByteBuffer buffer;
+    private int[] lineStart = new int[1024];
+    private int[] lineEnd = new int[1024];
+    // Offset of the first and second comma of each line
+    private int[] comma1 = new int[1024];
+    private int[] comma2 = new int[1024];
+    private int rows;
+    private int[] slots;
+    private int mask;
+
+    private GatewayReport(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        scanLines();
+        buildIndex();
+    }
+
+    public static GatewayReport open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Gateway report is too large to map: " + size + " bytes");
+            }
+            return new GatewayReport(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * @return row of the first record with this transaction id, or -1
+     */
+    public int find(String transactionId) {
+        int slot = hash(transactionId) & mask;
+        while (slots[slot] != 0) {
+            int row = slots[slot] - 1;
+            if (idEquals(row, transactionId)) {
+                return row;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public String transactionId(int row) {
+        return text(lineStart[row], comma1[row]);
+    }
+
+    public String status(int row) {
+        return text(comma1[row] + 1, comma2[row]);
+    }
+
+    public BigDecimal amount(int row) {
+        return new BigDecimal(text(comma2[row] + 1, lineEnd[row]));
+    }
+
+    private void scanLines() {
+        int limit = buffer.limit();
+        int position = 0;
+        int lineNumber = 0;
+        while (position < limit) {
+            int start = position;
+            int first = -1;
+            int second = -1;
+            while (position < limit && buffer.get(position) != '\n') {
+                if (buffer.get(position) == ',') {
+                    if (first < 0) {
+                        first = position;
+                    } else if (second < 0) {
+                        second = position;
+                    }
+                }
+                position++;
+            }
+            int end = position;
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            position++;
+            lineNumber++;
+
+            if (end == start || (lineNumber == 1 && startsWith(start, end, HEADER))) {
+                continue;
+            }
+            if (second < 0 || first == start) {
+                throw new IllegalArgumentException("Malformed gateway report line " + lineNumber);
+            }
+            if (rows == lineStart.length) {
+                int capacity = rows * 2;
+                lineStart = Arrays.copyOf(lineStart, capacity);
+                lineEnd = Arrays.copyOf(lineEnd, capacity);
+                comma1 = Arrays.copyOf(comma1, capacity);
+                comma2 = Arrays.copyOf(comma2, capacity);
+            }
+            lineStart[rows] = start;
+            lineEnd[rows] = end;
+            comma1[rows] = first;
+            comma2[rows] = second;
+            rows++;
+        }
+    }
+
+    private void buildIndex() {
+        int capacity = Integer.highestOneBit(Math.max(rows, 1) * 2 - 1) << 1;
+        slots = new int[capacity];
+        mask = capacity - 1;
+        for (int row = 0; row < rows; row++) {
+            int slot = hash(lineStart[row], comma1[row]) & mask;
+            boolean duplicate = false;
+            while (slots[slot] != 0) {
+                if (sameId(slots[slot] - 1, row)) {
+                    duplicate = true;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (!duplicate) {
+                slots[slot] = row + 1;
+            }
+        }
+    }
+
+    private int hash(int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + (buffer.get(i) & 0xFF);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(String id) {
+        int h = 0;
+        for (int i = 0; i < id.length(); i++) {
+            h = 31 * h + id.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private boolean idEquals(int row, String id) {
+        int start = lineStart[row];
+        if (comma1[row] - start != id.length()) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if ((buffer.get(start + i) & 0xFF) != id.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean sameId(int rowA, int rowB) {
+        int length = comma1[rowA] - lineStart[rowA];
+        if (comma1[rowB] - lineStart[rowB] != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(lineStart[rowA] + i) != buffer.get(lineStart[rowB] + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean startsWith(int from, int to, byte[] prefix) {
+        if (to - from < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(from + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String text(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII).trim();
+    }
+}
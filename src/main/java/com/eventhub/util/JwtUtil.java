@@ -2,6 +2,7 @@ package com.eventhub.util;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -10,21 +11,50 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies the API's JWTs. The signing key and parser are built once at startup and
+ * shared; both are immutable and thread-safe. Callers that need several claims from one token
+ * should call {@link #parseClaims} once instead of the single-claim helpers.
+ */
 @Component
 public class JwtUtil {
     
+    // Principal claims, so a token can be authorized without loading the user
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String NAME_CLAIM = "name";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String ACTIVE_CLAIM = "active";
+    
     @Value("${jwt.secret:mySecretKey}")
     private String secret;
     
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private Long expiration;
     
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Key signingKey;
+    
+    private JwtParser jwtParser;
+    
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+    
+    /**
+     * Verify a token's signature and expiry and return its claims
+     * @throws ExpiredJwtException if the token has expired
+     * @throws JwtException if the token is malformed or the signature does not match
+     */
+    public Claims parseClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
     }
     
     public String extractUsername(String token) {
@@ -36,22 +66,10 @@ public class JwtUtil {
     }
     
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
     
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-    
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-    
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, userDetails.getUsername());
@@ -63,27 +81,45 @@ public class JwtUtil {
         return createToken(claims, username);
     }
     
+    /**
+     * Token carrying everything needed to build the principal, for stateless authorization
+     */
+    public String generateToken(Long userId, String name, String username, List<String> roles, boolean active) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("role", roles.isEmpty() ? null : roles.get(0));
+        claims.put(USER_ID_CLAIM, userId);
+        claims.put(NAME_CLAIM, name);
+        claims.put(ROLES_CLAIM, roles);
+        claims.put(ACTIVE_CLAIM, active);
+        return createToken(claims, username);
+    }
+    
+    // Every token gets a random id (jti) so it can be revoked on its own
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(parseClaims(token), userDetails);
+    }
+    
+    /**
+     * Check already verified claims against a user
+     */
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
     }
     
     public Boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
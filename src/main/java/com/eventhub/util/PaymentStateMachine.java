@@ -0,0 +1,59 @@
+package com.eventhub.util;
+
+import com.eventhub.event.PaymentStatusChangedEvent;
+import com.eventhub.model.entity.Payment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Allowed payment status transitions. Every status change goes through {@link #transition}
+ * so a late or duplicated gateway result can never move a payment backwards, and every change
+ * is announced as a {@link PaymentStatusChangedEvent}.
+ */
+@Component
+public class PaymentStateMachine {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Map<Payment.PaymentStatus, Set<Payment.PaymentStatus>> transitions =
+        new EnumMap<>(Payment.PaymentStatus.class);
+
+    public PaymentStateMachine() {
+        transitions.put(Payment.PaymentStatus.PENDING,
+            EnumSet.of(Payment.PaymentStatus.SUCCESS, Payment.PaymentStatus.FAILED));
+        transitions.put(Payment.PaymentStatus.SUCCESS, EnumSet.of(Payment.PaymentStatus.REFUNDED));
+        transitions.put(Payment.PaymentStatus.FAILED, EnumSet.noneOf(Payment.PaymentStatus.class));
+        transitions.put(Payment.PaymentStatus.REFUNDED, EnumSet.noneOf(Payment.PaymentStatus.class));
+    }
+
+    public boolean canTransition(Payment.PaymentStatus from, Payment.PaymentStatus to) {
+        return transitions.get(from).contains(to);
+    }
+
+    /**
+     * Move a payment to a new status
+     * @param gatewayResponse Message to record, or null to keep the current one
+     * @throws IllegalStateException if the transition is not allowed
+     */
+    public void transition(Payment payment, Payment.PaymentStatus to, String gatewayResponse) {
+        Payment.PaymentStatus from = payment.getStatus();
+        if (!canTransition(from, to)) {
+            throw new IllegalStateException("Payment " + payment.getTransactionId() +
+                " cannot move from " + from + " to " + to);
+        }
+        payment.setStatus(to);
+        if (gatewayResponse != null) {
+            payment.setPaymentGatewayResponse(gatewayResponse);
+        }
+        payment.setUpdatedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(new PaymentStatusChangedEvent(payment.getTransactionId(), from, to));
+    }
+}
@@ -0,0 +1,63 @@
+package com.eventhub.util;
+
+import com.eventhub.event.PaymentStatusChangedEvent;
+import com.eventhub.service.PaymentService.PaymentStatistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the admin payment statistics until a payment is created or changes status.
+ *
+ * Invalidation runs after the changing transaction commits. A load that started before the
+ * invalidation may have read the old data, so its result is only kept if no invalidation
+ * happened in between. The max age is a backstop for writes that bypass the event.
+ */
+@Component
+public class PaymentStatisticsCache {
+
+    @Value("${payment.statistics.cache-seconds:60}")
+    private long cacheSeconds;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Entry entry;
+
+    public PaymentStatistics get(Supplier<PaymentStatistics> loader) {
+        Entry current = entry;
+        long now = System.currentTimeMillis();
+        if (current != null && now - current.loadedAt < cacheSeconds * 1000) {
+            return current.statistics;
+        }
+
+        long loadVersion = version.get();
+        PaymentStatistics statistics = loader.get();
+        if (version.get() == loadVersion) {
+            entry = new Entry(statistics, now);
+        }
+        return statistics;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        entry = null;
+    }
+
+    private static class Entry {
+        private final PaymentStatistics statistics;
+        private final long loadedAt;
+
+        Entry(PaymentStatistics statistics, long loadedAt) {
+            this.statistics = statistics;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package com.eventhub.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Minimal streaming PDF 1.4 writer.
+ *
+ * Objects are written to the target stream as soon as they are complete, so memory use
+ * is bounded by a single page's content stream plus the cross-reference table
+ * (one long per object). Only the two standard Helvetica fonts, 8-bit grayscale
+ * images and non-interlaced grayscale or RGB PNGs are supported, which is all the ticket
+ * and invoice layouts need.
+ *
+ * The writer never closes the underlying stream; call {@link #finish()} (or
+ * {@link #close()}) to write the page tree, cross-reference table and trailer.
+ */
+public class PdfDocumentWriter implements Closeable {
+
+    public static final float PAGE_WIDTH = 595f;  // A4 in points
+    public static final float PAGE_HEIGHT = 842f;
+
+    public enum Font {
+        REGULAR("F1"), BOLD("F2");
+
+        private final String resourceName;
+
+        Font(String resourceName) {
+            this.resourceName = resourceName;
+        }
+    }
+
+    // Object numbers reserved up front so pages can reference their parent before it is written
+    private static final int CATALOG_REF = 1;
+    private static final int PAGES_REF = 2;
+    private static final int FONT_REGULAR_REF = 3;
+    private static final int FONT_BOLD_REF = 4;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final CountingOutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final byte[] deflateBuffer = new byte[8192];
+    private final Page page = new Page();
+    private final String title;
+
+    private long[] offsets = new long[64];
+    private int lastObjectRef = FONT_BOLD_REF;
+    private int[] pageRefs = new int[16];
+    private int pageCount;
+    private boolean pageOpen;
+    private boolean finished;
+
+    public PdfDocumentWriter(OutputStream target, String title) throws IOException {
+        this.out = new CountingOutputStream(new BufferedOutputStream(target, 16 * 1024));
+        this.title = title;
+
+        // Header plus a binary comment so transfer tools treat the file as binary
+        writeAscii("%PDF-1.4\n");
+        out.write(new byte[]{'%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'});
+
+        writeFont(FONT_REGULAR_REF, "Helvetica");
+        writeFont(FONT_BOLD_REF, "Helvetica-Bold");
+    }
+
+    /**
+     * Start a new A4 page. The previous page must have been ended.
+     */
+    public Page beginPage() {
+        if (pageOpen) {
+            throw new IllegalStateException("Previous page has not been ended");
+        }
+        if (finished) {
+            throw new IllegalStateException("Document already finished");
+        }
+        page.reset();
+        pageOpen = true;
+        return page;
+    }
+
+    /**
+     * Write the current page's content stream and page object.
+     */
+    public void endPage() throws IOException {
+        if (!pageOpen) {
+            throw new IllegalStateException("No page in progress");
+        }
+        int contentRef = writeDeflatedStream("", page.content.buffer(), 0, page.content.size());
+
+        int pageRef = allocateRef();
+        beginObject(pageRef);
+        StringBuilder dict = new StringBuilder(256);
+        dict.append("<< /Type /Page /Parent ").append(PAGES_REF).append(" 0 R")
+            .append(" /MediaBox [0 0 ").append(num(PAGE_WIDTH)).append(' ').append(num(PAGE_HEIGHT)).append(']')
+            .append(" /Resources << /Font << /F1 ").append(FONT_REGULAR_REF).append(" 0 R /F2 ")
+            .append(FONT_BOLD_REF).append(" 0 R >>");
+        if (page.imageCount > 0) {
+            dict.append(" /XObject <<");
+            for (int i = 0; i < page.imageCount; i++) {
+                dict.append(" /Im").append(page.imageRefs[i]).append(' ').append(page.imageRefs[i]).append(" 0 R");
+            }
+            dict.append(" >>");
+        }
+        dict.append(" >> /Contents ").append(contentRef).append(" 0 R >>\n");
+        writeAscii(dict);
+        endObject();
+
+        if (pageCount == pageRefs.length) {
+            pageRefs = Arrays.copyOf(pageRefs, pageRefs.length * 2);
+        }
+        pageRefs[pageCount++] = pageRef;
+        pageOpen = false;
+    }
+
+    /**
+     * Write an 8-bit grayscale image as an XObject and return its object number.
+     * The image can be drawn on any later page via {@link Page#image}.
+     */
+    public int addGrayImage(int width, int height, byte[] pixels) throws IOException {
+        if (pixels.length < width * height) {
+            throw new IllegalArgumentException("Pixel buffer smaller than " + width + "x" + height);
+        }
+        String dict = "/Type /XObject /Subtype /Image /Width " + width + " /Height " + height
+            + " /ColorSpace /DeviceGray /BitsPerComponent 8 /Interpolate false ";
+        return writeDeflatedStream(dict, pixels, 0, width * height);
+    }
+
+    /**
+     * Embed a PNG without decoding it: its IDAT data is already a zlib stream of
+     * predictor-filtered rows, which PDF reads with FlateDecode and PNG predictors (15).
+     * @return Image object number, or -1 for palette, alpha, interlaced or malformed PNGs
+     */
+    public int addPngImage(byte[] png) throws IOException {
+        if (png == null || png.length < PNG_SIGNATURE.length + 25
+                || !Arrays.equals(png, 0, PNG_SIGNATURE.length, PNG_SIGNATURE, 0, PNG_SIGNATURE.length)) {
+            return -1;
+        }
+        int pos = PNG_SIGNATURE.length;
+        if (pngInt(png, pos) != 13 || !pngType(png, pos + 4, "IHDR")) {
+            return -1;
+        }
+        int width = pngInt(png, pos + 8);
+        int height = pngInt(png, pos + 12);
+        int bitDepth = png[pos + 16] & 0xFF;
+        int colorType = png[pos + 17] & 0xFF;
+        int interlace = png[pos + 20] & 0xFF;
+        int colors = colorType == 0 ? 1 : colorType == 2 ? 3 : 0;
+        if (colors == 0 || interlace != 0 || width <= 0 || height <= 0) {
+            return -1;
+        }
+
+        ByteArrayOutputStream idat = new ByteArrayOutputStream(png.length);
+        pos += 8 + 13 + 4;
+        while (pos + 8 <= png.length) {
+            int length = pngInt(png, pos);
+            if (length < 0 || pos + 12L + length > png.length) {
+                return -1;
+            }
+            if (pngType(png, pos + 4, "IDAT")) {
+                idat.write(png, pos + 8, length);
+            } else if (pngType(png, pos + 4, "IEND")) {
+                break;
+            }
+            pos += 12 + length;
+        }
+        if (idat.size() == 0) {
+            return -1;
+        }
+
+        int streamRef = allocateRef();
+        beginObject(streamRef);
+        writeAscii("<< /Type /XObject /Subtype /Image /Width " + width + " /Height " + height
+            + " /ColorSpace " + (colors == 1 ? "/DeviceGray" : "/DeviceRGB") + " /BitsPerComponent " + bitDepth
+            + " /Interpolate false /Filter /FlateDecode /DecodeParms << /Predictor 15 /Colors " + colors
+            + " /BitsPerComponent " + bitDepth + " /Columns " + width + " >> /Length " + idat.size() + " >>\nstream\n");
+        idat.writeTo(out);
+        writeAscii("\nendstream\n");
+        endObject();
+        return streamRef;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * Write the page tree, catalog, cross-reference table and trailer.
+     * The underlying stream is flushed but left open.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (pageOpen) {
+            endPage();
+        }
+        if (pageCount == 0) {
+            beginPage();
+            endPage();
+        }
+
+        beginObject(PAGES_REF);
+        StringBuilder kids = new StringBuilder(32 + pageCount * 8);
+        kids.append("<< /Type /Pages /Kids [");
+        for (int i = 0; i < pageCount; i++) {
+            if (i > 0) kids.append(' ');
+            kids.append(pageRefs[i]).append(" 0 R");
+        }
+        kids.append("] /Count ").append(pageCount).append(" >>\n");
+        writeAscii(kids);
+        endObject();
+
+        beginObject(CATALOG_REF);
+        writeAscii("<< /Type /Catalog /Pages " + PAGES_REF + " 0 R >>\n");
+        endObject();
+
+        int infoRef = allocateRef();
+        beginObject(infoRef);
+        out.write(("<< /Producer (EventHub) /Title ").getBytes(StandardCharsets.US_ASCII));
+        writeLiteral(out, title != null ? title : "EventHub Document");
+        writeAscii(" >>\n");
+        endObject();
+
+        long xrefOffset = out.count;
+        StringBuilder xref = new StringBuilder(64 + lastObjectRef * 20);
+        xref.append("xref\n0 ").append(lastObjectRef + 1).append('\n');
+        xref.append("0000000000 65535 f \n");
+        for (int ref = 1; ref <= lastObjectRef; ref++) {
+            String offset = Long.toString(offsets[ref]);
+            for (int pad = offset.length(); pad < 10; pad++) xref.append('0');
+            xref.append(offset).append(" 00000 n \n");
+        }
+        xref.append("trailer\n<< /Size ").append(lastObjectRef + 1)
+            .append(" /Root ").append(CATALOG_REF).append(" 0 R /Info ").append(infoRef).append(" 0 R >>\n")
+            .append("startxref\n").append(xrefOffset).append("\n%%EOF\n");
+        writeAscii(xref);
+
+        out.flush();
+        deflater.end();
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    // Low-level object helpers
+
+    private int allocateRef() {
+        int ref = ++lastObjectRef;
+        if (ref >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        return ref;
+    }
+
+    private void beginObject(int ref) throws IOException {
+        offsets[ref] = out.count;
+        writeAscii(ref + " 0 obj\n");
+    }
+
+    private void endObject() throws IOException {
+        writeAscii("endobj\n");
+    }
+
+    private void writeFont(int ref, String baseFont) throws IOException {
+        beginObject(ref);
+        writeAscii("<< /Type /Font /Subtype /Type1 /BaseFont /" + baseFont + " /Encoding /WinAnsiEncoding >>\n");
+        endObject();
+    }
+
+    /**
+     * Write a Flate-compressed stream object. The compressed length is not known up
+     * front, so it is written as a separate indirect object right after the stream.
+     */
+    private int writeDeflatedStream(String extraDict, byte[] data, int offset, int length) throws IOException {
+        int streamRef = allocateRef();
+        int lengthRef = allocateRef();
+
+        beginObject(streamRef);
+        writeAscii("<< " + extraDict + "/Filter /FlateDecode /Length " + lengthRef + " 0 R >>\nstream\n");
+        long start = out.count;
+
+        deflater.reset();
+        deflater.setInput(data, offset, length);
+        deflater.finish();
+        while (!deflater.finished()) {
+            int n = deflater.deflate(deflateBuffer);
+            out.write(deflateBuffer, 0, n);
+        }
+        long streamLength = out.count - start;
+
+        writeAscii("\nendstream\n");
+        endObject();
+
+        beginObject(lengthRef);
+        writeAscii(streamLength + "\n");
+        endObject();
+        return streamRef;
+    }
+
+    private static int pngInt(byte[] png, int pos) {
+        return ((png[pos] & 0xFF) << 24) | ((png[pos + 1] & 0xFF) << 16)
+            | ((png[pos + 2] & 0xFF) << 8) | (png[pos + 3] & 0xFF);
+    }
+
+    private static boolean pngType(byte[] png, int pos, String type) {
+        for (int i = 0; i < 4; i++) {
+            if (png[pos + i] != type.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeAscii(CharSequence s) throws IOException {
+        out.write(s.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Write a PDF literal string in WinAnsiEncoding, escaping delimiters.
+     * Characters outside the encoding are replaced.
+     */
+    private static void writeLiteral(OutputStream target, String text) throws IOException {
+        target.write('(');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '(': case ')': case '\\':
+                    target.write('\\');
+                    target.write(c);
+                    break;
+                case '₹': // Rupee sign is not part of WinAnsiEncoding
+                    target.write('R');
+                    target.write('s');
+                    target.write('.');
+                    break;
+                case '•':
+                    target.write(0x95);
+                    break;
+                case '–':
+                    target.write(0x96);
+                    break;
+                case '—':
+                    target.write(0x97);
+                    break;
+                default:
+                    if (c >= 0x20 && c < 0x7F || c >= 0xA0 && c <= 0xFF) {
+                        target.write(c);
+                    } else {
+                        target.write('?');
+                    }
+            }
+        }
+        target.write(')');
+    }
+
+    private static String num(float value) {
+        long scaled = Math.round(value * 100.0);
+        StringBuilder sb = new StringBuilder(12);
+        if (scaled < 0) {
+            sb.append('-');
+            scaled = -scaled;
+        }
+        sb.append(scaled / 100);
+        long fraction = scaled % 100;
+        if (fraction != 0) {
+            sb.append('.');
+            if (fraction < 10) {
+                sb.append('0').append(fraction);
+            } else {
+                sb.append(fraction % 10 == 0 ? fraction / 10 : fraction);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Drawing operations for the page currently being built. Coordinates are in
+     * points with the origin at the bottom-left corner of the page.
+     */
+    public static class Page {
+        private final ReusableBuffer content = new ReusableBuffer(4096);
+        private int[] imageRefs = new int[4];
+        private int imageCount;
+
+        private void reset() {
+            content.reset();
+            imageCount = 0;
+        }
+
+        public Page text(Font font, float size, float x, float y, String text) throws IOException {
+            if (text == null || text.isEmpty()) return this;
+            op("BT /" + font.resourceName + " " + num(size) + " Tf " + num(x) + " " + num(y) + " Td ");
+            writeLiteral(content, text);
+            op(" Tj ET\n");
+            return this;
+        }
+
+        public Page line(float x1, float y1, float x2, float y2, float width) throws IOException {
+            op(num(width) + " w " + num(x1) + " " + num(y1) + " m " + num(x2) + " " + num(y2) + " l S\n");
+            return this;
+        }
+
+        public Page fillRect(float x, float y, float w, float h, float gray) throws IOException {
+            op(num(gray) + " g " + num(x) + " " + num(y) + " " + num(w) + " " + num(h) + " re f 0 g\n");
+            return this;
+        }
+
+        public Page strokeRect(float x, float y, float w, float h, float width) throws IOException {
+            op(num(width) + " w " + num(x) + " " + num(y) + " " + num(w) + " " + num(h) + " re S\n");
+            return this;
+        }
+
+        public Page textColor(float gray) throws IOException {
+            op(num(gray) + " g\n");
+            return this;
+        }
+
+        public Page image(int imageRef, float x, float y, float w, float h) throws IOException {
+            boolean registered = false;
+            for (int i = 0; i < imageCount; i++) {
+                if (imageRefs[i] == imageRef) {
+                    registered = true;
+                    break;
+                }
+            }
+            if (!registered) {
+                if (imageCount == imageRefs.length) {
+                    imageRefs = Arrays.copyOf(imageRefs, imageCount * 2);
+                }
+                imageRefs[imageCount++] = imageRef;
+            }
+            op("q " + num(w) + " 0 0 " + num(h) + " " + num(x) + " " + num(y) + " cm /Im" + imageRef + " Do Q\n");
+            return this;
+        }
+
+        private void op(String s) throws IOException {
+            content.write(s.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * ByteArrayOutputStream that exposes its buffer so content can be deflated without a copy.
+     */
+    private static class ReusableBuffer extends ByteArrayOutputStream {
+        ReusableBuffer(int size) {
+            super(size);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -1,137 +1,311 @@
 package com.eventhub.util;
 
 import com.eventhub.model.entity.Booking;
+import com.eventhub.util.PdfDocumentWriter.Font;
 import org.springframework.stereotype.Component;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 
 @Component
 public class PdfGenerator {
-    
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm a");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy, hh:mm a");
+
+    private static final float MARGIN = 50f;
+    private static final float LINE_HEIGHT = 16f;
+    private static final float QR_SIZE = 150f;
+
+    private static final String[] TERMS = {
+        "• This ticket is non-transferable and must be presented along with a valid ID.",
+        "• Entry is subject to security checks and event organizer's terms.",
+        "• No refunds will be provided unless the event is cancelled.",
+        "• Please arrive at least 30 minutes before the event start time.",
+        "• EventHub is not responsible for any loss, damage, or injury during the event."
+    };
+
+    /**
+     * Supplies the QR code image for a booking while rendering multi-ticket documents
+     */
+    @FunctionalInterface
+    public interface TicketQrSource {
+        byte[] qrCodeFor(Booking booking) throws Exception;
+    }
+
     /**
-     * Generate ticket PDF for a booking (simplified version without external dependencies)
+     * Generate ticket PDF for a booking
      * @param booking The booking to generate ticket for
-     * @param qrCode QR code as byte array
-     * @return PDF as byte array (currently returns text content)
+     * @param qrCode QR code as PNG byte array
+     * @return PDF as byte array
      * @throws Exception if PDF generation fails
      */
     public byte[] generateTicket(Booking booking, byte[] qrCode) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 * 1024);
+        writeTicket(booking, qrCode, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Stream a single-page ticket PDF for a booking to the given output stream
+     * @param booking The booking to generate ticket for
+     * @param qrCode QR code as PNG byte array (skipped if it cannot be decoded)
+     * @param out Target stream, left open
+     * @throws Exception if PDF generation fails
+     */
+    public void writeTicket(Booking booking, byte[] qrCode, OutputStream out) throws Exception {
         try {
-            // For now, generate a simple text-based ticket
-            StringBuilder ticketContent = new StringBuilder();
-            ticketContent.append("=".repeat(50)).append("\n");
-            ticketContent.append("         EVENTHUB TICKET\n");
-            ticketContent.append("=".repeat(50)).append("\n\n");
-            
-            ticketContent.append("EVENT DETAILS:\n");
-            ticketContent.append("-".repeat(20)).append("\n");
-            ticketContent.append("Event: ").append(booking.getEvent().getTitle()).append("\n");
-            ticketContent.append("Date: ").append(booking.getEvent().getDate().format(DateTimeFormatter.ofPattern("dd MMM yyyy"))).append("\n");
-            ticketContent.append("Time: ").append(booking.getEvent().getTime().format(DateTimeFormatter.ofPattern("hh:mm a"))).append("\n");
-            ticketContent.append("Venue: ").append(booking.getEvent().getLocation()).append("\n");
-            ticketContent.append("Category: ").append(booking.getEvent().getCategory()).append("\n\n");
-            
-            ticketContent.append("BOOKING DETAILS:\n");
-            ticketContent.append("-".repeat(20)).append("\n");
-            ticketContent.append("Ticket ID: ").append(booking.getTicketId()).append("\n");
-            ticketContent.append("Tickets: ").append(booking.getNumberOfTickets()).append("\n");
-            ticketContent.append("Subtotal: ₹").append(booking.getTotalAmount().subtract(booking.getServiceFee())).append("\n");
-            ticketContent.append("Service Fee: ₹").append(booking.getServiceFee()).append("\n");
-            ticketContent.append("Total Amount: ₹").append(booking.getTotalAmount()).append("\n");
-            ticketContent.append("Status: ").append(booking.getStatus()).append("\n");
-            ticketContent.append("Booked On: ").append(booking.getCreatedAt().format(DateTimeFormatter.ofPattern("dd MMM yyyy, hh:mm a"))).append("\n\n");
-            
-            ticketContent.append("CUSTOMER DETAILS:\n");
-            ticketContent.append("-".repeat(20)).append("\n");
-            ticketContent.append("Name: ").append(booking.getUser().getName()).append("\n");
-            ticketContent.append("Email: ").append(booking.getUser().getEmail()).append("\n");
-            if (booking.getUser().getPhone() != null) {
-                ticketContent.append("Phone: ").append(booking.getUser().getPhone()).append("\n");
-            }
-            ticketContent.append("\n");
-            
-            ticketContent.append("TERMS & CONDITIONS:\n");
-            ticketContent.append("-".repeat(20)).append("\n");
-            ticketContent.append("• This ticket is non-transferable and must be presented along with a valid ID.\n");
-            ticketContent.append("• Entry is subject to security checks and event organizer's terms.\n");
-            ticketContent.append("• No refunds will be provided unless the event is cancelled.\n");
-            ticketContent.append("• Please arrive at least 30 minutes before the event start time.\n");
-            ticketContent.append("• EventHub is not responsible for any loss, damage, or injury during the event.\n\n");
-            
-            ticketContent.append("For support: support@eventhub.com | +91-1234567890\n");
-            ticketContent.append("=".repeat(50)).append("\n");
-            
-            return ticketContent.toString().getBytes(StandardCharsets.UTF_8);
-            
+            PdfDocumentWriter pdf = new PdfDocumentWriter(out, "EventHub Ticket " + booking.getTicketId());
+            int qrImage = addQrImage(pdf, qrCode);
+            drawTicketPage(pdf, booking, qrImage, 0, 0);
+            pdf.finish();
         } catch (Exception e) {
             throw new Exception("Failed to generate ticket: " + e.getMessage(), e);
         }
     }
-    
+
     /**
-     * Generate booking summary PDF (simplified version)
+     * Stream one ticket page per admission for every booking into a single PDF.
+     * Bookings are consumed lazily and only one booking's QR image is held at a time,
+     * so memory stays flat regardless of how many tickets are rendered.
+     * @param bookings Bookings to render, iterated once
+     * @param qrSource Supplies the QR code for each booking
+     * @param out Target stream, left open
+     * @return Number of pages written
+     * @throws Exception if PDF generation fails
+     */
+    public int writeTickets(Iterable<Booking> bookings, TicketQrSource qrSource, OutputStream out) throws Exception {
+        try {
+            PdfDocumentWriter pdf = new PdfDocumentWriter(out, "EventHub Tickets");
+            for (Booking booking : bookings) {
+                int qrImage = addQrImage(pdf, qrSource.qrCodeFor(booking));
+                int admissions = Math.max(1, booking.getNumberOfTickets());
+                for (int admission = 1; admission <= admissions; admission++) {
+                    drawTicketPage(pdf, booking, qrImage, admission, admissions);
+                }
+            }
+            int pages = pdf.getPageCount();
+            pdf.finish();
+            return pages;
+        } catch (Exception e) {
+            throw new Exception("Failed to generate tickets: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stream one ticket page per admission for a single booking
+     */
+    public int writeTickets(Booking booking, byte[] qrCode, OutputStream out) throws Exception {
+        return writeTickets(Collections.singletonList(booking), b -> qrCode, out);
+    }
+
+    /**
+     * Generate booking summary PDF
      * @param booking The booking to generate summary for
-     * @return PDF as byte array (currently returns text content)
+     * @return PDF as byte array
      * @throws Exception if PDF generation fails
      */
     public byte[] generateBookingSummary(Booking booking) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4 * 1024);
+        writeBookingSummary(booking, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Stream booking summary PDF to the given output stream
+     */
+    public void writeBookingSummary(Booking booking, OutputStream out) throws Exception {
         try {
-            StringBuilder summary = new StringBuilder();
-            summary.append("BOOKING SUMMARY\n");
-            summary.append("=".repeat(30)).append("\n\n");
-            
-            summary.append("Booking ID: ").append(booking.getId()).append("\n");
-            summary.append("Ticket ID: ").append(booking.getTicketId()).append("\n");
-            summary.append("Event: ").append(booking.getEvent().getTitle()).append("\n");
-            summary.append("Customer: ").append(booking.getUser().getName()).append("\n");
-            summary.append("Email: ").append(booking.getUser().getEmail()).append("\n");
-            summary.append("Tickets: ").append(booking.getNumberOfTickets()).append("\n");
-            summary.append("Total Amount: ₹").append(booking.getTotalAmount()).append("\n");
-            summary.append("Status: ").append(booking.getStatus()).append("\n");
-            summary.append("Booking Date: ").append(booking.getCreatedAt().format(DateTimeFormatter.ofPattern("dd MMM yyyy, hh:mm a"))).append("\n");
-            
-            return summary.toString().getBytes(StandardCharsets.UTF_8);
-            
+            PdfDocumentWriter pdf = new PdfDocumentWriter(out, "Booking Summary " + booking.getTicketId());
+            PdfDocumentWriter.Page page = pdf.beginPage();
+            float y = drawHeader(page, "BOOKING SUMMARY");
+
+            y = field(page, y, "Booking ID", String.valueOf(booking.getId()));
+            y = field(page, y, "Ticket ID", booking.getTicketId());
+            y = field(page, y, "Event", booking.getEvent().getTitle());
+            y = field(page, y, "Customer", booking.getUser().getName());
+            y = field(page, y, "Email", booking.getUser().getEmail());
+            y = field(page, y, "Tickets", String.valueOf(booking.getNumberOfTickets()));
+            y = field(page, y, "Total Amount", money(booking.getTotalAmount()));
+            y = field(page, y, "Status", String.valueOf(booking.getStatus()));
+            field(page, y, "Booking Date", booking.getCreatedAt().format(DATE_TIME_FORMAT));
+
+            drawFooter(page);
+            pdf.endPage();
+            pdf.finish();
         } catch (Exception e) {
             throw new Exception("Failed to generate booking summary: " + e.getMessage(), e);
         }
     }
-    
+
     /**
-     * Generate invoice PDF (simplified version)
+     * Generate invoice PDF
      * @param booking The booking to generate invoice for
-     * @return PDF as byte array (currently returns text content)
+     * @return PDF as byte array
      * @throws Exception if PDF generation fails
      */
     public byte[] generateInvoice(Booking booking) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4 * 1024);
+        writeInvoice(booking, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Stream invoice PDF to the given output stream
+     */
+    public void writeInvoice(Booking booking, OutputStream out) throws Exception {
         try {
-            StringBuilder invoice = new StringBuilder();
-            invoice.append("EVENTHUB INVOICE\n");
-            invoice.append("=".repeat(30)).append("\n\n");
-            
-            invoice.append("Invoice Date: ").append(booking.getCreatedAt().format(DateTimeFormatter.ofPattern("dd MMM yyyy"))).append("\n");
-            invoice.append("Transaction ID: ").append(booking.getTicketId()).append("\n\n");
-            
-            invoice.append("BILLING INFORMATION:\n");
-            invoice.append("-".repeat(20)).append("\n");
-            invoice.append("Customer: ").append(booking.getUser().getName()).append("\n");
-            invoice.append("Email: ").append(booking.getUser().getEmail()).append("\n\n");
-            
-            invoice.append("ITEMS:\n");
-            invoice.append("-".repeat(20)).append("\n");
-            invoice.append("Description: ").append(booking.getEvent().getTitle()).append("\n");
-            invoice.append("Quantity: ").append(booking.getNumberOfTickets()).append("\n");
-            invoice.append("Rate: ₹").append(booking.getEvent().getPrice()).append("\n");
-            invoice.append("Amount: ₹").append(booking.getTotalAmount().subtract(booking.getServiceFee())).append("\n");
-            invoice.append("Service Fee: ₹").append(booking.getServiceFee()).append("\n");
-            invoice.append("TOTAL: ₹").append(booking.getTotalAmount()).append("\n");
-            
-            return invoice.toString().getBytes(StandardCharsets.UTF_8);
-            
+            PdfDocumentWriter pdf = new PdfDocumentWriter(out, "EventHub Invoice " + booking.getTicketId());
+            PdfDocumentWriter.Page page = pdf.beginPage();
+            float y = drawHeader(page, "EVENTHUB INVOICE");
+
+            y = field(page, y, "Invoice Date", booking.getCreatedAt().format(DATE_FORMAT));
+            y = field(page, y, "Transaction ID", booking.getTicketId());
+
+            y = section(page, y, "BILLING INFORMATION");
+            y = field(page, y, "Customer", booking.getUser().getName());
+            y = field(page, y, "Email", booking.getUser().getEmail());
+
+            y = section(page, y, "ITEMS");
+            y = field(page, y, "Description", booking.getEvent().getTitle());
+            y = field(page, y, "Quantity", String.valueOf(booking.getNumberOfTickets()));
+            y = field(page, y, "Rate", money(booking.getEvent().getPrice()));
+            y = field(page, y, "Amount", money(booking.getTotalAmount().subtract(booking.getServiceFee())));
+            y = field(page, y, "Service Fee", money(booking.getServiceFee()));
+            page.line(MARGIN, y + 6, PdfDocumentWriter.PAGE_WIDTH - MARGIN, y + 6, 0.5f);
+            y -= 6;
+            page.text(Font.BOLD, 12, MARGIN, y, "TOTAL");
+            page.text(Font.BOLD, 12, MARGIN + 130, y, money(booking.getTotalAmount()));
+
+            drawFooter(page);
+            pdf.endPage();
+            pdf.finish();
         } catch (Exception e) {
             throw new Exception("Failed to generate invoice: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    // Layout helpers
+
+    /**
+     * Render one ticket page. When admissions is 0 the page covers the whole booking,
+     * otherwise it is admission N of M.
+     */
+    private void drawTicketPage(PdfDocumentWriter pdf, Booking booking, int qrImage,
+                                int admission, int admissions) throws Exception {
+        PdfDocumentWriter.Page page = pdf.beginPage();
+        float y = drawHeader(page, "EVENTHUB TICKET");
+
+        if (qrImage > 0) {
+            float qrX = PdfDocumentWriter.PAGE_WIDTH - MARGIN - QR_SIZE;
+            float qrY = y - QR_SIZE + LINE_HEIGHT;
+            page.image(qrImage, qrX, qrY, QR_SIZE, QR_SIZE);
+            page.text(Font.REGULAR, 8, qrX, qrY - 12, booking.getTicketId());
+        }
+        if (admissions > 0) {
+            page.text(Font.BOLD, 14, MARGIN, y, "Admission " + admission + " of " + admissions);
+            y -= LINE_HEIGHT * 1.5f;
+        }
+
+        y = section(page, y, "EVENT DETAILS");
+        y = field(page, y, "Event", booking.getEvent().getTitle());
+        y = field(page, y, "Date", booking.getEvent().getDate().format(DATE_FORMAT));
+        y = field(page, y, "Time", booking.getEvent().getTime().format(TIME_FORMAT));
+        y = field(page, y, "Venue", booking.getEvent().getLocation());
+        y = field(page, y, "Category", String.valueOf(booking.getEvent().getCategory()));
+
+        y = section(page, y, "BOOKING DETAILS");
+        y = field(page, y, "Ticket ID", booking.getTicketId());
+        y = field(page, y, "Tickets", String.valueOf(booking.getNumberOfTickets()));
+        y = field(page, y, "Subtotal", money(booking.getTotalAmount().subtract(booking.getServiceFee())));
+        y = field(page, y, "Service Fee", money(booking.getServiceFee()));
+        y = field(page, y, "Total Amount", money(booking.getTotalAmount()));
+        y = field(page, y, "Status", String.valueOf(booking.getStatus()));
+        y = field(page, y, "Booked On", booking.getCreatedAt().format(DATE_TIME_FORMAT));
+
+        y = section(page, y, "CUSTOMER DETAILS");
+        y = field(page, y, "Name", booking.getUser().getName());
+        y = field(page, y, "Email", booking.getUser().getEmail());
+        if (booking.getUser().getPhone() != null) {
+            y = field(page, y, "Phone", booking.getUser().getPhone());
+        }
+
+        y = section(page, y, "TERMS & CONDITIONS");
+        for (String term : TERMS) {
+            page.text(Font.REGULAR, 9, MARGIN, y, term);
+            y -= LINE_HEIGHT - 4;
+        }
+
+        drawFooter(page);
+        pdf.endPage();
+    }
+
+    private float drawHeader(PdfDocumentWriter.Page page, String title) throws Exception {
+        float top = PdfDocumentWriter.PAGE_HEIGHT;
+        page.fillRect(0, top - 70, PdfDocumentWriter.PAGE_WIDTH, 70, 0.15f);
+        page.textColor(1f);
+        page.text(Font.BOLD, 22, MARGIN, top - 45, title);
+        page.textColor(0f);
+        return top - 100;
+    }
+
+    private void drawFooter(PdfDocumentWriter.Page page) throws Exception {
+        page.line(MARGIN, 60, PdfDocumentWriter.PAGE_WIDTH - MARGIN, 60, 0.5f);
+        page.text(Font.REGULAR, 9, MARGIN, 45, "For support: support@eventhub.com | +91-1234567890");
+    }
+
+    private float section(PdfDocumentWriter.Page page, float y, String title) throws Exception {
+        y -= LINE_HEIGHT / 2;
+        page.text(Font.BOLD, 12, MARGIN, y, title);
+        page.line(MARGIN, y - 4, MARGIN + 200, y - 4, 0.5f);
+        return y - LINE_HEIGHT - 2;
+    }
+
+    private float field(PdfDocumentWriter.Page page, float y, String label, String value) throws Exception {
+        page.text(Font.BOLD, 10, MARGIN, y, label + ":");
+        page.text(Font.REGULAR, 10, MARGIN + 130, y, value);
+        return y - LINE_HEIGHT;
+    }
+
+    private String money(BigDecimal amount) {
+        return "Rs. " + (amount != null ? amount.toPlainString() : "0.00");
+    }
+
+    /**
+     * Embed the QR PNG's compressed data as is; other image formats are decoded to grayscale.
+     * @return Image object number, or -1 if the bytes are not a readable image
+     */
+    private int addQrImage(PdfDocumentWriter pdf, byte[] qrCode) throws Exception {
+        if (qrCode == null || qrCode.length == 0) {
+            return -1;
+        }
+        int pngImage = pdf.addPngImage(qrCode);
+        if (pngImage > 0) {
+            return pngImage;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(qrCode));
+        if (image == null) {
+            return -1;
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        byte[] gray = new byte[width * height];
+        int[] row = new int[width];
+        for (int yy = 0; yy < height; yy++) {
+            image.getRGB(0, yy, width, 1, row, 0, width);
+            for (int xx = 0; xx < width; xx++) {
+                int rgb = row[xx];
+                int luminance = (((rgb >> 16) & 0xFF) * 299 + ((rgb >> 8) & 0xFF) * 587 + (rgb & 0xFF) * 114) / 1000;
+                gray[yy * width + xx] = (byte) luminance;
+            }
+        }
+        return pdf.addGrayImage(width, height, gray);
+    }
+}
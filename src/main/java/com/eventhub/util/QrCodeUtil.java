@@ -1,52 +1,119 @@
 package com.eventhub.util;
 
+import com.eventhub.model.entity.Booking;
+import com.eventhub.model.entity.Event;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Arrays;
 
 @Component
 public class QrCodeUtil {
-    
+
+    private static final int DEFAULT_SIZE = 300;
+    private static final int QUIET_ZONE = 4;
+    private static final int MIN_SIZE = 21 + QUIET_ZONE * 2;
+    private static final int MAX_SIZE = 2000;
+
+    // Logo covers at most a fifth of the width (4% of the area), well inside what level H recovers
+    private static final int LOGO_SIZE_DIVISOR = 5;
+
+    // Per-thread output buffer, grown on demand and reused across codes. Buffers grown past
+    // MAX_CACHED_BUFFER serve that one image only, so a rare large code does not stay pinned per thread.
+    private static final int MAX_CACHED_BUFFER = 64 * 1024;
+    private static final ThreadLocal<byte[]> PNG_BUFFER = ThreadLocal.withInitial(() -> new byte[8 * 1024]);
+
+    @Autowired
+    private TicketTokenCodec ticketTokenCodec;
+
+    @Value("${ticket.token.grace-hours:12}")
+    private long tokenGraceHours;
+
     /**
-     * Generate QR code as byte array (simplified version without external dependencies)
+     * Generate QR code as PNG byte array
      * @param data The data to encode in QR code
-     * @return QR code as byte array (currently returns the data as text)
+     * @return QR code as PNG byte array
      * @throws Exception if QR code generation fails
      */
     public byte[] generateQrCode(String data) throws Exception {
+        return generateQrCode(data, DEFAULT_SIZE);
+    }
+
+    /**
+     * Generate QR code with custom size
+     * @param data The data to encode in QR code
+     * @param size The size of the QR code in pixels (width and height)
+     * @return QR code as PNG byte array
+     * @throws Exception if QR code generation fails
+     */
+    public byte[] generateQrCode(String data, int size) throws Exception {
         try {
-            // For now, return a simple text representation
-            // In production, you would use a QR code library like ZXing
-            String qrText = "QR CODE DATA:\n" + data + "\n\n[QR Code would be displayed here in actual implementation]";
-            return qrText.getBytes(StandardCharsets.UTF_8);
-            
+            validate(data, size);
+            QrEncoder.Matrix matrix = QrEncoder.encode(data, QrEncoder.ErrorCorrection.M);
+            return render(matrix, size, null);
         } catch (Exception e) {
             throw new Exception("Failed to generate QR code: " + e.getMessage(), e);
         }
     }
-    
+
     /**
-     * Generate QR code with custom size (simplified version)
+     * Generate QR code PNG straight into a caller-supplied buffer, avoiding the result copy.
      * @param data The data to encode in QR code
-     * @param size The size of the QR code (width and height)
-     * @return QR code as byte array
-     * @throws Exception if QR code generation fails
+     * @param size The size of the QR code in pixels
+     * @param buffer Target buffer
+     * @return Number of bytes written, or -1 if the buffer is too small
      */
-    public byte[] generateQrCode(String data, int size) throws Exception {
-        // For now, ignore the size parameter and use the basic method
-        return generateQrCode(data);
+    public int writeQrCode(String data, int size, byte[] buffer) {
+        validate(data, size);
+        QrEncoder.Matrix matrix = QrEncoder.encode(data, QrEncoder.ErrorCorrection.M);
+        return QrPngWriter.write(matrix, size, QUIET_ZONE, null, buffer, 0);
     }
-    
+
     /**
-     * Generate QR code with logo in center (simplified version)
+     * Generate QR code with logo in center. Uses the highest error correction level
+     * so the modules hidden behind the logo can be recovered.
      * @param data The data to encode in QR code
      * @param logoBytes The logo image as byte array
-     * @return QR code with logo as byte array
+     * @return QR code with logo as PNG byte array
      * @throws Exception if QR code generation fails
      */
     public byte[] generateQrCodeWithLogo(String data, byte[] logoBytes) throws Exception {
-        // For now, ignore the logo and use the basic method
-        return generateQrCode(data);
+        try {
+            validate(data, DEFAULT_SIZE);
+            BufferedImage logoImage = logoBytes != null ? ImageIO.read(new ByteArrayInputStream(logoBytes)) : null;
+            if (logoImage == null) {
+                throw new IllegalArgumentException("Logo is not a readable image");
+            }
+
+            QrEncoder.Matrix matrix = QrEncoder.encode(data, QrEncoder.ErrorCorrection.H);
+            return render(matrix, DEFAULT_SIZE, toGrayLogo(logoImage, DEFAULT_SIZE / LOGO_SIZE_DIVISOR));
+        } catch (Exception e) {
+            throw new Exception("Failed to generate QR code: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Build the payload printed in a ticket's QR code: a signed token that gates can verify
+     * without a database lookup. It expires a grace period after the event starts. Only reads
+     * fields that are already loaded, so it is safe to call on detached bookings from worker threads.
+     * @param booking The booking the ticket belongs to
+     * @return QR code payload
+     */
+    public String buildTicketData(Booking booking) {
+        Event event = booking.getEvent();
+        LocalDateTime startsAt = event.getTime() != null
+            ? event.getDate().atTime(event.getTime())
+            : event.getDate().atTime(LocalTime.MAX);
+        long expiresAt = startsAt.plusHours(tokenGraceHours).atZone(ZoneId.systemDefault()).toEpochSecond();
+
+        return ticketTokenCodec.encode(booking.getTicketId(), event.getId(), booking.getNumberOfTickets(), expiresAt);
     }
     
     /**
@@ -55,6 +122,69 @@ public class QrCodeUtil {
      * @return true if data is valid for QR code generation
      */
     public boolean isValidQrData(String data) {
-        return data != null && !data.trim().isEmpty() && data.length() <= 4296; // QR code max capacity
+        return data != null && !data.trim().isEmpty()
+            && utf8Length(data) <= QrEncoder.capacity(QrEncoder.ErrorCorrection.M);
+    }
+
+    private void validate(String data, int size) {
+        if (!isValidQrData(data)) {
+            throw new IllegalArgumentException("Invalid QR code data");
+        }
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("QR code size must be between " + MIN_SIZE + " and " + MAX_SIZE + " pixels");
+        }
+    }
+
+    private byte[] render(QrEncoder.Matrix matrix, int size, QrPngWriter.Logo logo) {
+        byte[] buffer = PNG_BUFFER.get();
+        int length;
+        while ((length = QrPngWriter.write(matrix, size, QUIET_ZONE, logo, buffer, 0)) < 0) {
+            buffer = new byte[buffer.length * 2];
+            if (buffer.length <= MAX_CACHED_BUFFER) {
+                PNG_BUFFER.set(buffer);
+            }
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Scale the logo to a square grayscale tile with a white frame so it does not
+     * touch the surrounding modules.
+     */
+    private QrPngWriter.Logo toGrayLogo(BufferedImage image, int size) {
+        byte[] pixels = new byte[size * size];
+        Arrays.fill(pixels, (byte) 0xFF);
+        int frame = Math.max(2, size / 10);
+        int inner = size - frame * 2;
+        for (int y = 0; y < inner; y++) {
+            int sy = y * image.getHeight() / inner;
+            for (int x = 0; x < inner; x++) {
+                int argb = image.getRGB(x * image.getWidth() / inner, sy);
+                int alpha = (argb >>> 24) & 0xFF;
+                int luminance = (((argb >> 16) & 0xFF) * 299 + ((argb >> 8) & 0xFF) * 587 + (argb & 0xFF) * 114) / 1000;
+                // Blend transparent areas onto white
+                int gray = (luminance * alpha + 255 * (255 - alpha)) / 255;
+                pixels[(y + frame) * size + x + frame] = (byte) gray;
+            }
+        }
+        return new QrPngWriter.Logo(pixels, size);
+    }
+
+    private int utf8Length(String data) {
+        int length = 0;
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
     }
-}
\ No newline at end of file
+}
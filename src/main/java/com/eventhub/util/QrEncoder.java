@@ -0,0 +1,620 @@
+package com.eventhub.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * QR Code Model 2 encoder (ISO/IEC 18004) for byte-mode data, versions 1 to 40.
+ *
+ * Written for throughput rather than generality: every buffer needed to build a symbol
+ * (data codewords, error correction blocks, module matrix, penalty scratch space) is sized
+ * for version 40 and kept in a per-thread workspace, so encoding a ticket allocates nothing
+ * beyond the first call on each thread. Modules are stored one byte each in a flat array.
+ *
+ * The returned {@link Matrix} is a view over that thread's workspace and is only valid until
+ * the same thread encodes again; render or copy it before the next call.
+ */
+public final class QrEncoder {
+
+    public enum ErrorCorrection {
+        L(1), M(0), Q(3), H(2);
+
+        // Two-bit value used in the format information, which is not in ordinal order
+        private final int formatBits;
+
+        ErrorCorrection(int formatBits) {
+            this.formatBits = formatBits;
+        }
+    }
+
+    public static final int MIN_VERSION = 1;
+    public static final int MAX_VERSION = 40;
+
+    private static final int MAX_SIZE = MAX_VERSION * 4 + 17;
+    private static final int MAX_CODEWORDS = 3706;
+    private static final int MAX_ECC_PER_BLOCK = 30;
+
+    // Indexed by [ErrorCorrection.ordinal()][version]
+    static final byte[][] ECC_CODEWORDS_PER_BLOCK = {
+        {-1,  7, 10, 15, 20, 26, 18, 20, 24, 30, 18, 20, 24, 26, 30, 22, 24, 28, 30, 28, 28, 28, 28, 30, 30, 26, 28, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30},
+        {-1, 10, 16, 26, 18, 24, 16, 18, 22, 22, 26, 30, 22, 22, 24, 24, 28, 28, 26, 26, 26, 26, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28},
+        {-1, 13, 22, 18, 26, 18, 24, 18, 22, 20, 24, 28, 26, 24, 20, 30, 24, 28, 28, 26, 30, 28, 30, 30, 30, 30, 28, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30},
+        {-1, 17, 28, 22, 16, 22, 28, 26, 26, 24, 28, 24, 28, 22, 24, 24, 30, 28, 28, 26, 28, 30, 24, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30},
+    };
+
+    static final byte[][] NUM_ERROR_CORRECTION_BLOCKS = {
+        {-1, 1, 1, 1, 1, 1, 2, 2, 2, 2,  4,  4,  4,  4,  4,  6,  6,  6,  6,  7,  8,  8,  9,  9, 10, 12, 12, 12, 13, 14, 15, 16, 17, 18, 19, 19, 20, 21, 22, 24, 25},
+        {-1, 1, 1, 1, 2, 2, 4, 4, 4, 5,  5,  5,  8,  9,  9, 10, 10, 11, 13, 14, 16, 17, 17, 18, 20, 21, 23, 25, 26, 28, 29, 31, 33, 35, 37, 38, 40, 43, 45, 47, 49},
+        {-1, 1, 1, 2, 2, 4, 4, 6, 6, 8,  8,  8, 10, 12, 16, 12, 17, 16, 18, 21, 20, 23, 23, 25, 27, 29, 34, 34, 35, 38, 40, 43, 45, 48, 51, 53, 56, 59, 62, 65, 68},
+        {-1, 1, 1, 2, 4, 4, 4, 5, 6, 8,  8, 11, 11, 16, 16, 18, 16, 19, 21, 25, 25, 25, 34, 30, 32, 35, 37, 40, 42, 45, 48, 51, 54, 57, 60, 63, 66, 70, 74, 77, 81},
+    };
+
+    private static final int PENALTY_N1 = 3;
+    private static final int PENALTY_N2 = 3;
+    private static final int PENALTY_N3 = 40;
+    private static final int PENALTY_N4 = 10;
+
+    // GF(256) arithmetic with the QR polynomial x^8 + x^4 + x^3 + x^2 + 1
+    private static final int[] GF_EXP = new int[512];
+    private static final int[] GF_LOG = new int[256];
+
+    // Reed-Solomon generator polynomials by degree, highest coefficient (always 1) omitted
+    static final int[][] GENERATORS = new int[MAX_ECC_PER_BLOCK + 1][];
+
+    static {
+        int x = 1;
+        for (int i = 0; i < 255; i++) {
+            GF_EXP[i] = x;
+            GF_LOG[x] = i;
+            x <<= 1;
+            if (x >= 0x100) {
+                x ^= 0x11D;
+            }
+        }
+        for (int i = 255; i < GF_EXP.length; i++) {
+            GF_EXP[i] = GF_EXP[i - 255];
+        }
+
+        for (byte[] row : ECC_CODEWORDS_PER_BLOCK) {
+            for (int v = 1; v < row.length; v++) {
+                int degree = row[v];
+                if (GENERATORS[degree] == null) {
+                    GENERATORS[degree] = computeGenerator(degree);
+                }
+            }
+        }
+    }
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    private QrEncoder() {
+    }
+
+    /**
+     * Read-only view of an encoded symbol, backed by the calling thread's workspace.
+     */
+    public static final class Matrix {
+        private final byte[] modules;
+        private int size;
+        private int version;
+
+        private Matrix(byte[] modules) {
+            this.modules = modules;
+        }
+
+        /** Side length in modules, excluding the quiet zone */
+        public int getSize() {
+            return size;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public boolean isDark(int x, int y) {
+            return modules[y * size + x] != 0;
+        }
+    }
+
+    /**
+     * Encode text with the lowest version that fits. ASCII text is copied straight into the
+     * workspace; anything else is encoded as UTF-8 first.
+     */
+    public static Matrix encode(CharSequence text, ErrorCorrection ecl) {
+        Workspace ws = WORKSPACE.get();
+        int length = text.length();
+        boolean ascii = length <= ws.input.length;
+        for (int i = 0; ascii && i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                ascii = false;
+            } else {
+                ws.input[i] = (byte) c;
+            }
+        }
+        if (ascii) {
+            return encode(ws, ws.input, length, ecl);
+        }
+        byte[] utf8 = text.toString().getBytes(StandardCharsets.UTF_8);
+        return encode(ws, utf8, utf8.length, ecl);
+    }
+
+    /**
+     * Encode raw bytes with the lowest version that fits.
+     */
+    public static Matrix encode(byte[] data, int length, ErrorCorrection ecl) {
+        return encode(WORKSPACE.get(), data, length, ecl);
+    }
+
+    /**
+     * Maximum number of bytes that fit in a version 40 symbol at the given level.
+     */
+    public static int capacity(ErrorCorrection ecl) {
+        return (numDataCodewords(MAX_VERSION, ecl) * 8 - 4 - 16) / 8;
+    }
+
+    private static Matrix encode(Workspace ws, byte[] data, int length, ErrorCorrection ecl) {
+        int version = MIN_VERSION;
+        while (true) {
+            int capacityBits = numDataCodewords(version, ecl) * 8;
+            int usedBits = 4 + characterCountBits(version) + length * 8;
+            if (usedBits <= capacityBits) {
+                break;
+            }
+            if (++version > MAX_VERSION) {
+                throw new IllegalArgumentException("Data too long for a QR code: " + length + " bytes");
+            }
+        }
+
+        int dataCodewords = numDataCodewords(version, ecl);
+        writeDataCodewords(ws, data, length, version, dataCodewords);
+        int totalCodewords = addEccAndInterleave(ws, version, ecl, dataCodewords);
+
+        int size = version * 4 + 17;
+        ws.matrix.size = size;
+        ws.matrix.version = version;
+        Arrays.fill(ws.modules, 0, size * size, (byte) 0);
+        Arrays.fill(ws.function, 0, size * size, (byte) 0);
+
+        drawFunctionPatterns(ws, size, version, ecl);
+        drawCodewords(ws, size, totalCodewords);
+
+        // Pick the mask with the lowest penalty; applying a mask twice undoes it
+        int bestMask = 0;
+        int minPenalty = Integer.MAX_VALUE;
+        for (int mask = 0; mask < 8; mask++) {
+            applyMask(ws, size, mask);
+            drawFormatBits(ws, size, ecl, mask);
+            int penalty = penaltyScore(ws, size);
+            if (penalty < minPenalty) {
+                bestMask = mask;
+                minPenalty = penalty;
+            }
+            applyMask(ws, size, mask);
+        }
+        applyMask(ws, size, bestMask);
+        drawFormatBits(ws, size, ecl, bestMask);
+        return ws.matrix;
+    }
+
+    // Data encoding
+
+    private static void writeDataCodewords(Workspace ws, byte[] data, int length, int version, int capacity) {
+        byte[] out = ws.codewords;
+        Arrays.fill(out, 0, capacity, (byte) 0);
+        int bit = 0;
+        bit = appendBits(out, bit, 0x4, 4); // byte mode
+        bit = appendBits(out, bit, length, characterCountBits(version));
+        for (int i = 0; i < length; i++) {
+            bit = appendBits(out, bit, data[i] & 0xFF, 8);
+        }
+
+        int capacityBits = capacity * 8;
+        bit += Math.min(4, capacityBits - bit); // terminator, already zero
+        bit = (bit + 7) & ~7;                   // pad to a byte boundary
+        for (int pad = 0xEC; bit < capacityBits; pad ^= 0xEC ^ 0x11) {
+            out[bit >>> 3] = (byte) pad;
+            bit += 8;
+        }
+    }
+
+    private static int appendBits(byte[] out, int bitPos, int value, int count) {
+        for (int i = count - 1; i >= 0; i--, bitPos++) {
+            if (((value >>> i) & 1) != 0) {
+                out[bitPos >>> 3] |= (byte) (0x80 >>> (bitPos & 7));
+            }
+        }
+        return bitPos;
+    }
+
+    /**
+     * Split the data codewords into blocks, compute each block's error correction and write
+     * the interleaved result into the workspace's final codeword buffer.
+     */
+    private static int addEccAndInterleave(Workspace ws, int version, ErrorCorrection ecl, int dataCodewords) {
+        int numBlocks = NUM_ERROR_CORRECTION_BLOCKS[ecl.ordinal()][version];
+        int blockEccLen = ECC_CODEWORDS_PER_BLOCK[ecl.ordinal()][version];
+        int rawCodewords = numRawDataModules(version) / 8;
+        int numShortBlocks = numBlocks - rawCodewords % numBlocks;
+        int shortBlockDataLen = rawCodewords / numBlocks - blockEccLen;
+        int[] generator = GENERATORS[blockEccLen];
+
+        byte[] data = ws.codewords;
+        byte[] ecc = ws.ecc;
+        for (int block = 0, offset = 0; block < numBlocks; block++) {
+            int dataLen = shortBlockDataLen + (block < numShortBlocks ? 0 : 1);
+            reedSolomonRemainder(data, offset, dataLen, generator, ecc, block * blockEccLen);
+            offset += dataLen;
+        }
+
+        byte[] out = ws.interleaved;
+        int pos = 0;
+        for (int i = 0; i <= shortBlockDataLen; i++) {
+            for (int block = 0, offset = 0; block < numBlocks; block++) {
+                int dataLen = shortBlockDataLen + (block < numShortBlocks ? 0 : 1);
+                if (i < dataLen) {
+                    out[pos++] = data[offset + i];
+                }
+                offset += dataLen;
+            }
+        }
+        for (int i = 0; i < blockEccLen; i++) {
+            for (int block = 0; block < numBlocks; block++) {
+                out[pos++] = ecc[block * blockEccLen + i];
+            }
+        }
+        if (pos != rawCodewords || dataCodewords + numBlocks * blockEccLen != rawCodewords) {
+            throw new IllegalStateException("Codeword layout mismatch for version " + version);
+        }
+        return pos;
+    }
+
+    private static int[] computeGenerator(int degree) {
+        int[] result = new int[degree];
+        result[degree - 1] = 1;
+        int root = 1;
+        for (int i = 0; i < degree; i++) {
+            for (int j = 0; j < degree; j++) {
+                result[j] = multiply(result[j], root);
+                if (j + 1 < degree) {
+                    result[j] ^= result[j + 1];
+                }
+            }
+            root = multiply(root, 0x02);
+        }
+        return result;
+    }
+
+    static void reedSolomonRemainder(byte[] data, int offset, int length, int[] generator,
+                                    byte[] out, int outOffset) {
+        int degree = generator.length;
+        Arrays.fill(out, outOffset, outOffset + degree, (byte) 0);
+        for (int i = 0; i < length; i++) {
+            int factor = (data[offset + i] ^ out[outOffset]) & 0xFF;
+            System.arraycopy(out, outOffset + 1, out, outOffset, degree - 1);
+            out[outOffset + degree - 1] = 0;
+            if (factor != 0) {
+                int logFactor = GF_LOG[factor];
+                for (int j = 0; j < degree; j++) {
+                    if (generator[j] != 0) {
+                        out[outOffset + j] ^= (byte) GF_EXP[GF_LOG[generator[j]] + logFactor];
+                    }
+                }
+            }
+        }
+    }
+
+    static int multiply(int a, int b) {
+        if (a == 0 || b == 0) {
+            return 0;
+        }
+        return GF_EXP[GF_LOG[a] + GF_LOG[b]];
+    }
+
+    // Matrix construction
+
+    private static void drawFunctionPatterns(Workspace ws, int size, int version, ErrorCorrection ecl) {
+        for (int i = 0; i < size; i++) {
+            setFunction(ws, size, 6, i, i % 2 == 0);
+            setFunction(ws, size, i, 6, i % 2 == 0);
+        }
+
+        drawFinderPattern(ws, size, 3, 3);
+        drawFinderPattern(ws, size, size - 4, 3);
+        drawFinderPattern(ws, size, 3, size - 4);
+
+        if (version > 1) {
+            int numAlign = version / 7 + 2;
+            int step = (version * 8 + numAlign * 3 + 5) / (numAlign * 4 - 4) * 2;
+            int[] positions = ws.alignment;
+            positions[0] = 6;
+            for (int i = numAlign - 1, pos = size - 7; i >= 1; i--, pos -= step) {
+                positions[i] = pos;
+            }
+            for (int i = 0; i < numAlign; i++) {
+                for (int j = 0; j < numAlign; j++) {
+                    // Skip the three corners occupied by finder patterns
+                    if (i == 0 && j == 0 || i == 0 && j == numAlign - 1 || i == numAlign - 1 && j == 0) {
+                        continue;
+                    }
+                    drawAlignmentPattern(ws, size, positions[i], positions[j]);
+                }
+            }
+        }
+
+        // Reserve the format areas now; real bits are drawn once the mask is chosen
+        drawFormatBits(ws, size, ecl, 0);
+        drawVersion(ws, size, version);
+    }
+
+    private static void drawFinderPattern(Workspace ws, int size, int x, int y) {
+        for (int dy = -4; dy <= 4; dy++) {
+            for (int dx = -4; dx <= 4; dx++) {
+                int dist = Math.max(Math.abs(dx), Math.abs(dy));
+                int xx = x + dx;
+                int yy = y + dy;
+                if (0 <= xx && xx < size && 0 <= yy && yy < size) {
+                    setFunction(ws, size, xx, yy, dist != 2 && dist != 4);
+                }
+            }
+        }
+    }
+
+    private static void drawAlignmentPattern(Workspace ws, int size, int x, int y) {
+        for (int dy = -2; dy <= 2; dy++) {
+            for (int dx = -2; dx <= 2; dx++) {
+                setFunction(ws, size, x + dx, y + dy, Math.max(Math.abs(dx), Math.abs(dy)) != 1);
+            }
+        }
+    }
+
+    private static void drawFormatBits(Workspace ws, int size, ErrorCorrection ecl, int mask) {
+        int data = ecl.formatBits << 3 | mask;
+        int rem = data;
+        for (int i = 0; i < 10; i++) {
+            rem = (rem << 1) ^ ((rem >>> 9) * 0x537);
+        }
+        int bits = (data << 10 | rem) ^ 0x5412;
+
+        // First copy, around the top-left finder
+        for (int i = 0; i <= 5; i++) {
+            setFunction(ws, size, 8, i, getBit(bits, i));
+        }
+        setFunction(ws, size, 8, 7, getBit(bits, 6));
+        setFunction(ws, size, 8, 8, getBit(bits, 7));
+        setFunction(ws, size, 7, 8, getBit(bits, 8));
+        for (int i = 9; i < 15; i++) {
+            setFunction(ws, size, 14 - i, 8, getBit(bits, i));
+        }
+
+        // Second copy, split between the top-right and bottom-left finders
+        for (int i = 0; i < 8; i++) {
+            setFunction(ws, size, size - 1 - i, 8, getBit(bits, i));
+        }
+        for (int i = 8; i < 15; i++) {
+            setFunction(ws, size, 8, size - 15 + i, getBit(bits, i));
+        }
+        setFunction(ws, size, 8, size - 8, true); // always dark
+    }
+
+    private static void drawVersion(Workspace ws, int size, int version) {
+        if (version < 7) {
+            return;
+        }
+        int rem = version;
+        for (int i = 0; i < 12; i++) {
+            rem = (rem << 1) ^ ((rem >>> 11) * 0x1F25);
+        }
+        int bits = version << 12 | rem;
+        for (int i = 0; i < 18; i++) {
+            boolean bit = getBit(bits, i);
+            int a = size - 11 + i % 3;
+            int b = i / 3;
+            setFunction(ws, size, a, b, bit);
+            setFunction(ws, size, b, a, bit);
+        }
+    }
+
+    /**
+     * Place codeword bits in the two-column zigzag, skipping function modules.
+     * Remainder bits at the end stay light.
+     */
+    private static void drawCodewords(Workspace ws, int size, int totalCodewords) {
+        byte[] codewords = ws.interleaved;
+        int totalBits = totalCodewords * 8;
+        int i = 0;
+        for (int right = size - 1; right >= 1; right -= 2) {
+            if (right == 6) {
+                right = 5; // skip the vertical timing pattern
+            }
+            boolean upward = ((right + 1) & 2) == 0;
+            for (int vert = 0; vert < size; vert++) {
+                int y = upward ? size - 1 - vert : vert;
+                for (int j = 0; j < 2; j++) {
+                    int index = y * size + right - j;
+                    if (ws.function[index] == 0 && i < totalBits) {
+                        ws.modules[index] = (byte) ((codewords[i >>> 3] >>> (7 - (i & 7))) & 1);
+                        i++;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void applyMask(Workspace ws, int size, int mask) {
+        byte[] modules = ws.modules;
+        byte[] function = ws.function;
+        for (int y = 0, index = 0; y < size; y++) {
+            for (int x = 0; x < size; x++, index++) {
+                if (function[index] != 0) {
+                    continue;
+                }
+                boolean invert;
+                switch (mask) {
+                    case 0: invert = (x + y) % 2 == 0; break;
+                    case 1: invert = y % 2 == 0; break;
+                    case 2: invert = x % 3 == 0; break;
+                    case 3: invert = (x + y) % 3 == 0; break;
+                    case 4: invert = (x / 3 + y / 2) % 2 == 0; break;
+                    case 5: invert = x * y % 2 + x * y % 3 == 0; break;
+                    case 6: invert = (x * y % 2 + x * y % 3) % 2 == 0; break;
+                    case 7: invert = ((x + y) % 2 + x * y % 3) % 2 == 0; break;
+                    default: throw new IllegalArgumentException("Invalid mask: " + mask);
+                }
+                if (invert) {
+                    modules[index] ^= 1;
+                }
+            }
+        }
+    }
+
+    // Mask penalty scoring (ISO/IEC 18004 section 7.8.3)
+
+    private static int penaltyScore(Workspace ws, int size) {
+        byte[] m = ws.modules;
+        int[] history = ws.runHistory;
+        int result = 0;
+
+        for (int y = 0; y < size; y++) {
+            int runColor = 0;
+            int runLength = 0;
+            Arrays.fill(history, 0);
+            for (int x = 0; x < size; x++) {
+                int color = m[y * size + x];
+                if (color == runColor) {
+                    runLength++;
+                    if (runLength == 5) {
+                        result += PENALTY_N1;
+                    } else if (runLength > 5) {
+                        result++;
+                    }
+                } else {
+                    addRunToHistory(runLength, history, size);
+                    if (runColor == 0) {
+                        result += countFinderLikePatterns(history) * PENALTY_N3;
+                    }
+                    runColor = color;
+                    runLength = 1;
+                }
+            }
+            result += terminateAndCount(runColor, runLength, history, size) * PENALTY_N3;
+        }
+
+        for (int x = 0; x < size; x++) {
+            int runColor = 0;
+            int runLength = 0;
+            Arrays.fill(history, 0);
+            for (int y = 0; y < size; y++) {
+                int color = m[y * size + x];
+                if (color == runColor) {
+                    runLength++;
+                    if (runLength == 5) {
+                        result += PENALTY_N1;
+                    } else if (runLength > 5) {
+                        result++;
+                    }
+                } else {
+                    addRunToHistory(runLength, history, size);
+                    if (runColor == 0) {
+                        result += countFinderLikePatterns(history) * PENALTY_N3;
+                    }
+                    runColor = color;
+                    runLength = 1;
+                }
+            }
+            result += terminateAndCount(runColor, runLength, history, size) * PENALTY_N3;
+        }
+
+        for (int y = 0; y < size - 1; y++) {
+            for (int x = 0; x < size - 1; x++) {
+                int index = y * size + x;
+                int color = m[index];
+                if (color == m[index + 1] && color == m[index + size] && color == m[index + size + 1]) {
+                    result += PENALTY_N2;
+                }
+            }
+        }
+
+        int total = size * size;
+        int dark = 0;
+        for (int i = 0; i < total; i++) {
+            dark += m[i];
+        }
+        int k = (Math.abs(dark * 20 - total * 10) + total - 1) / total - 1;
+        result += k * PENALTY_N4;
+        return result;
+    }
+
+    private static int countFinderLikePatterns(int[] history) {
+        int n = history[1];
+        boolean core = n > 0 && history[2] == n && history[3] == n * 3 && history[4] == n && history[5] == n;
+        return (core && history[0] >= n * 4 && history[6] >= n ? 1 : 0)
+             + (core && history[6] >= n * 4 && history[0] >= n ? 1 : 0);
+    }
+
+    private static int terminateAndCount(int runColor, int runLength, int[] history, int size) {
+        if (runColor != 0) {
+            addRunToHistory(runLength, history, size);
+            runLength = 0;
+        }
+        runLength += size; // light quiet zone after the last module
+        addRunToHistory(runLength, history, size);
+        return countFinderLikePatterns(history);
+    }
+
+    private static void addRunToHistory(int runLength, int[] history, int size) {
+        if (history[0] == 0) {
+            runLength += size; // light quiet zone before the first module
+        }
+        System.arraycopy(history, 0, history, 1, history.length - 1);
+        history[0] = runLength;
+    }
+
+    // Capacity helpers
+
+    private static int numRawDataModules(int version) {
+        int result = (16 * version + 128) * version + 64;
+        if (version >= 2) {
+            int numAlign = version / 7 + 2;
+            result -= (25 * numAlign - 10) * numAlign - 55;
+            if (version >= 7) {
+                result -= 36;
+            }
+        }
+        return result;
+    }
+
+    private static int numDataCodewords(int version, ErrorCorrection ecl) {
+        return numRawDataModules(version) / 8
+            - ECC_CODEWORDS_PER_BLOCK[ecl.ordinal()][version] * NUM_ERROR_CORRECTION_BLOCKS[ecl.ordinal()][version];
+    }
+
+    private static int characterCountBits(int version) {
+        return version <= 9 ? 8 : 16;
+    }
+
+    private static void setFunction(Workspace ws, int size, int x, int y, boolean dark) {
+        int index = y * size + x;
+        ws.modules[index] = (byte) (dark ? 1 : 0);
+        ws.function[index] = 1;
+    }
+
+    private static boolean getBit(int value, int i) {
+        return ((value >>> i) & 1) != 0;
+    }
+
+    /**
+     * Per-thread scratch space, sized once for the largest symbol.
+     */
+    private static final class Workspace {
+        final byte[] input = new byte[MAX_CODEWORDS];
+        final byte[] codewords = new byte[MAX_CODEWORDS];
+        final byte[] interleaved = new byte[MAX_CODEWORDS];
+        final byte[] ecc = new byte[MAX_CODEWORDS];
+        final byte[] modules = new byte[MAX_SIZE * MAX_SIZE];
+        final byte[] function = new byte[MAX_SIZE * MAX_SIZE];
+        final int[] alignment = new int[7];
+        final int[] runHistory = new int[7];
+        final Matrix matrix = new Matrix(modules);
+    }
+}
@@ -0,0 +1,217 @@
+package com.eventhub.util;
+
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a {@link QrEncoder.Matrix} as a grayscale PNG directly into a caller-supplied buffer.
+ *
+ * Plain codes are written as 1-bit grayscale; when a logo is overlaid the image switches to
+ * 8-bit grayscale. The Deflater, CRC and row buffer are reused per thread, so rendering
+ * allocates nothing once the caller's buffer is large enough.
+ */
+public final class QrPngWriter {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int CHUNK_OVERHEAD = 12; // length + type + CRC
+    private static final int MAX_IMAGE_SIZE = 4096;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private QrPngWriter() {
+    }
+
+    /**
+     * Grayscale logo overlay centred on the code. Pixels are 0 (black) to 255 (white).
+     */
+    public static final class Logo {
+        private final byte[] pixels;
+        private final int size;
+
+        public Logo(byte[] pixels, int size) {
+            if (pixels.length < size * size) {
+                throw new IllegalArgumentException("Logo pixel buffer smaller than " + size + "x" + size);
+            }
+            this.pixels = pixels;
+            this.size = size;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+
+    /**
+     * Render the matrix into {@code out} starting at {@code offset}.
+     * @param matrix Encoded symbol
+     * @param imageSize Requested width and height in pixels; modules are scaled by the largest
+     *                  whole factor that fits and the remainder becomes extra quiet zone
+     * @param border Quiet zone in modules (4 per the spec)
+     * @param logo Optional overlay, or null
+     * @return Number of bytes written, or -1 if {@code out} was too small
+     */
+    public static int write(QrEncoder.Matrix matrix, int imageSize, int border, Logo logo,
+                            byte[] out, int offset) {
+        int modules = matrix.getSize() + border * 2;
+        int size = Math.max(imageSize, modules);
+        if (size > MAX_IMAGE_SIZE) {
+            throw new IllegalArgumentException("QR image size must not exceed " + MAX_IMAGE_SIZE + " pixels");
+        }
+        int scale = size / modules;
+        int margin = (size - matrix.getSize() * scale) / 2;
+        int bitDepth = logo != null ? 8 : 1;
+        int rowBytes = bitDepth == 8 ? size : (size + 7) / 8;
+
+        State state = STATE.get();
+        byte[] row = state.row(rowBytes + 1);
+        int limit = out.length;
+        int pos = offset;
+
+        if (pos + SIGNATURE.length + CHUNK_OVERHEAD + 13 > limit) {
+            return -1;
+        }
+        System.arraycopy(SIGNATURE, 0, out, pos, SIGNATURE.length);
+        pos += SIGNATURE.length;
+
+        // IHDR
+        int chunkStart = pos;
+        pos = putInt(out, pos, 13);
+        pos = putType(out, pos, 'I', 'H', 'D', 'R');
+        pos = putInt(out, pos, size);
+        pos = putInt(out, pos, size);
+        out[pos++] = (byte) bitDepth;
+        out[pos++] = 0; // grayscale
+        out[pos++] = 0; // deflate
+        out[pos++] = 0; // adaptive filtering
+        out[pos++] = 0; // no interlace
+        pos = putCrc(state.crc, out, chunkStart, pos);
+
+        // IDAT, length is patched once the compressed size is known
+        chunkStart = pos;
+        int dataStart = chunkStart + 8;
+        if (dataStart > limit) {
+            return -1;
+        }
+        putType(out, chunkStart + 4, 'I', 'D', 'A', 'T');
+        pos = dataStart;
+
+        Deflater deflater = state.deflater;
+        deflater.reset();
+        int logoStart = logo != null ? (size - logo.size) / 2 : 0;
+        for (int y = 0; y < size; y++) {
+            row[0] = 0; // filter type None
+            if (bitDepth == 8) {
+                fillGrayRow(matrix, row, y, size, scale, margin, logo, logoStart);
+            } else {
+                fillBitRow(matrix, row, rowBytes, y, size, scale, margin);
+            }
+            deflater.setInput(row, 0, rowBytes + 1);
+            while (!deflater.needsInput()) {
+                if (pos == limit) {
+                    return -1;
+                }
+                pos += deflater.deflate(out, pos, limit - pos);
+            }
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+            if (pos == limit) {
+                return -1;
+            }
+            pos += deflater.deflate(out, pos, limit - pos);
+        }
+        putInt(out, chunkStart, pos - dataStart);
+        if (pos + 4 > limit) {
+            return -1;
+        }
+        pos = putCrc(state.crc, out, chunkStart, pos);
+
+        // IEND
+        if (pos + CHUNK_OVERHEAD > limit) {
+            return -1;
+        }
+        chunkStart = pos;
+        pos = putInt(out, pos, 0);
+        pos = putType(out, pos, 'I', 'E', 'N', 'D');
+        pos = putCrc(state.crc, out, chunkStart, pos);
+
+        return pos - offset;
+    }
+
+    private static void fillBitRow(QrEncoder.Matrix matrix, byte[] row, int rowBytes,
+                                   int y, int size, int scale, int margin) {
+        // 1 = white in 1-bit grayscale; start all white and clear bits for dark modules
+        for (int i = 1; i <= rowBytes; i++) {
+            row[i] = (byte) 0xFF;
+        }
+        int my = y - margin;
+        if (my < 0 || my >= matrix.getSize() * scale) {
+            return;
+        }
+        int moduleY = my / scale;
+        for (int moduleX = 0; moduleX < matrix.getSize(); moduleX++) {
+            if (!matrix.isDark(moduleX, moduleY)) {
+                continue;
+            }
+            int px = margin + moduleX * scale;
+            for (int end = px + scale; px < end; px++) {
+                row[1 + (px >>> 3)] &= (byte) ~(0x80 >>> (px & 7));
+            }
+        }
+    }
+
+    private static void fillGrayRow(QrEncoder.Matrix matrix, byte[] row, int y, int size, int scale,
+                                    int margin, Logo logo, int logoStart) {
+        int my = y - margin;
+        boolean inCode = my >= 0 && my < matrix.getSize() * scale;
+        int moduleY = inCode ? my / scale : 0;
+        for (int x = 0; x < size; x++) {
+            int mx = x - margin;
+            boolean dark = inCode && mx >= 0 && mx < matrix.getSize() * scale
+                && matrix.isDark(mx / scale, moduleY);
+            row[1 + x] = dark ? 0 : (byte) 0xFF;
+        }
+        int ly = y - logoStart;
+        if (ly >= 0 && ly < logo.size) {
+            System.arraycopy(logo.pixels, ly * logo.size, row, 1 + logoStart, logo.size);
+        }
+    }
+
+    private static int putInt(byte[] out, int pos, int value) {
+        out[pos] = (byte) (value >>> 24);
+        out[pos + 1] = (byte) (value >>> 16);
+        out[pos + 2] = (byte) (value >>> 8);
+        out[pos + 3] = (byte) value;
+        return pos + 4;
+    }
+
+    private static int putType(byte[] out, int pos, char a, char b, char c, char d) {
+        out[pos] = (byte) a;
+        out[pos + 1] = (byte) b;
+        out[pos + 2] = (byte) c;
+        out[pos + 3] = (byte) d;
+        return pos + 4;
+    }
+
+    /**
+     * Append the CRC of the chunk's type and data; {@code chunkStart} points at its length field.
+     */
+    private static int putCrc(CRC32 crc, byte[] out, int chunkStart, int pos) {
+        crc.reset();
+        crc.update(out, chunkStart + 4, pos - chunkStart - 4);
+        return putInt(out, pos, (int) crc.getValue());
+    }
+
+    private static final class State {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        final CRC32 crc = new CRC32();
+        byte[] row = new byte[1024];
+
+        byte[] row(int length) {
+            if (row.length < length) {
+                row = new byte[length];
+            }
+            return row;
+        }
+    }
+}
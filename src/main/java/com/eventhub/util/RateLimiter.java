@@ -0,0 +1,63 @@
+package com.eventhub.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by client, without locks on the hot path.
+ *
+ * Each bucket is a single timestamp: the time at which it will be full again (the generic cell
+ * rate algorithm). Taking a token moves that time forward by one refill interval with a CAS, so
+ * refill happens lazily on the next request and nothing ticks in the background. A bucket whose
+ * timestamp has passed is full and equivalent to a fresh one, which is what lets
+ * {@link #evictIdle} drop it.
+ */
+public final class RateLimiter {
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Take one token from a bucket of {@code capacity} tokens that refills completely over {@code periodNanos}
+     * @return 0 if the token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(String key, int capacity, long periodNanos) {
+        return tryAcquire(key, capacity, periodNanos, System.nanoTime());
+    }
+
+    long tryAcquire(String key, int capacity, long periodNanos, long now) {
+        long interval = periodNanos / capacity;
+        AtomicLong fullAt = buckets.get(key);
+        if (fullAt == null) {
+            fullAt = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current - now, 0) + interval;
+            if (next > periodNanos) {
+                return next - periodNanos;
+            }
+            if (fullAt.compareAndSet(current, now + next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drop every bucket that has refilled completely
+     * @return the number of buckets dropped
+     */
+    public int evictIdle() {
+        return evictIdle(System.nanoTime());
+    }
+
+    int evictIdle(long now) {
+        int before = buckets.size();
+        buckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+        return Math.max(0, before - buckets.size());
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
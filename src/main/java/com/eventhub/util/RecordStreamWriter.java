@@ -0,0 +1,135 @@
+package com.eventhub.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of flat DTOs as NDJSON (one JSON object per line) or CSV, one row at a time.
+ * CSV columns follow the DTO's JSON property order and are taken from the first row.
+ */
+@Component
+public class RecordStreamWriter {
+
+    private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {};
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new RuntimeException("Unsupported export format: " + value + " (use ndjson or csv)");
+        }
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * @param afterRow Called after each row is written, e.g. to clear the persistence context
+     * @return Number of rows written
+     */
+    public <T> long write(Stream<T> rows, Format format, OutputStream outputStream, LongConsumer afterRow) {
+        try {
+            return format == Format.NDJSON
+                ? writeNdjson(rows.iterator(), outputStream, afterRow)
+                : writeCsv(rows.iterator(), outputStream, afterRow);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing export: " + e.getMessage());
+        }
+    }
+
+    private <T> long writeNdjson(Iterator<T> rows, OutputStream outputStream, LongConsumer afterRow) throws IOException {
+        long count = 0;
+        // The generator must not close the servlet stream
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(outputStream)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                afterRow.accept(++count);
+            }
+        }
+        if (count > 0) {
+            outputStream.write('\n');
+        }
+        outputStream.flush();
+        return count;
+    }
+
+    private <T> long writeCsv(Iterator<T> rows, OutputStream outputStream, LongConsumer afterRow) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        List<String> columns = null;
+        List<Object> values = new ArrayList<>();
+        long count = 0;
+        while (rows.hasNext()) {
+            Map<String, Object> row = objectMapper.convertValue(rows.next(), ROW_TYPE);
+            if (columns == null) {
+                columns = new ArrayList<>(row.keySet());
+                writeCsvLine(writer, columns);
+            }
+            values.clear();
+            for (String column : columns) {
+                values.add(row.get(column));
+            }
+            writeCsvLine(writer, values);
+            afterRow.accept(++count);
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvLine(Writer writer, Iterable<?> values) throws IOException {
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            if (value != null) {
+                writer.write(escapeCsv(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,263 @@
+package com.eventhub.util;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free seat occupancy for one event.
+ *
+ * Each row is a run of 64-bit words with one bit per seat (1 = taken); padding bits past the
+ * last seat of a row are pre-set so they never look free. Finding N adjacent free seats works a
+ * word at a time: fully free words extend the current run by 64, and inside a mixed word the
+ * free bits are AND-ed with shifted copies of themselves until only starts of N-long runs remain.
+ * Claims and releases are CAS loops on the affected words, so concurrent bookings can never
+ * take the same seat and no lock is held while searching.
+ *
+ * Rows and seats are zero-based here; callers translate to labels.
+ */
+public final class SeatMap {
+
+    public static final long NO_BLOCK = -1L;
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final int[] rowSeats;
+    private final int[] rowWordOffset;
+    private final AtomicLongArray words;
+    private final AtomicIntegerArray rowFree;
+    private final LongAdder free = new LongAdder();
+
+    public SeatMap(int[] seatsPerRow) {
+        rowSeats = seatsPerRow.clone();
+        rowWordOffset = new int[rowSeats.length + 1];
+        for (int row = 0; row < rowSeats.length; row++) {
+            if (rowSeats[row] <= 0) {
+                throw new IllegalArgumentException("Row " + row + " must have at least one seat");
+            }
+            rowWordOffset[row + 1] = rowWordOffset[row] + ((rowSeats[row] + 63) >>> 6);
+        }
+
+        words = new AtomicLongArray(rowWordOffset[rowSeats.length]);
+        rowFree = new AtomicIntegerArray(rowSeats.length);
+        for (int row = 0; row < rowSeats.length; row++) {
+            int tail = rowSeats[row] & 63;
+            if (tail != 0) {
+                words.set(rowWordOffset[row + 1] - 1, -1L << tail);
+            }
+            rowFree.set(row, rowSeats[row]);
+            free.add(rowSeats[row]);
+        }
+    }
+
+    /**
+     * Claim {@code count} adjacent seats in the first row of {@code [fromRow, toRow)} that has them.
+     * @return packed {@code row << 32 | firstSeat}, or {@link #NO_BLOCK}
+     */
+    public long claimBlock(int count, int fromRow, int toRow) {
+        for (int row = fromRow; row < toRow; row++) {
+            if (count > rowSeats[row]) {
+                continue;
+            }
+            // Cheap pre-filter; the word scan below is authoritative
+            while (rowFree.get(row) >= count) {
+                int start = findRun(row, count);
+                if (start < 0) {
+                    break;
+                }
+                if (claim(row, start, count)) {
+                    return ((long) row << 32) | start;
+                }
+                // Lost a race for part of the block; search this row again
+            }
+        }
+        return NO_BLOCK;
+    }
+
+    /**
+     * Claim specific seats.
+     * @return false if any of them is already taken; nothing is claimed in that case
+     */
+    public boolean claim(int row, int firstSeat, int count) {
+        checkRange(row, firstSeat, count);
+        int base = rowWordOffset[row];
+        int end = firstSeat + count;
+        for (int seat = firstSeat; seat < end; ) {
+            int word = seat >>> 6;
+            int upTo = Math.min(end, (word + 1) << 6);
+            long mask = rangeMask(seat & 63, upTo - seat);
+            if (!setBits(base + word, mask)) {
+                // Undo the words already claimed
+                for (int undo = firstSeat; undo < seat; ) {
+                    int undoWord = undo >>> 6;
+                    int undoUpTo = Math.min(seat, (undoWord + 1) << 6);
+                    clearBits(base + undoWord, rangeMask(undo & 63, undoUpTo - undo));
+                    undo = undoUpTo;
+                }
+                return false;
+            }
+            seat = upTo;
+        }
+        rowFree.addAndGet(row, -count);
+        free.add(-count);
+        return true;
+    }
+
+    /**
+     * Release seats claimed earlier.
+     */
+    public void release(int row, int firstSeat, int count) {
+        checkRange(row, firstSeat, count);
+        int base = rowWordOffset[row];
+        int end = firstSeat + count;
+        for (int seat = firstSeat; seat < end; ) {
+            int word = seat >>> 6;
+            int upTo = Math.min(end, (word + 1) << 6);
+            clearBits(base + word, rangeMask(seat & 63, upTo - seat));
+            seat = upTo;
+        }
+        rowFree.addAndGet(row, count);
+        free.add(count);
+    }
+
+    public boolean isTaken(int row, int seat) {
+        checkRange(row, seat, 1);
+        return (words.get(rowWordOffset[row] + (seat >>> 6)) & (1L << seat)) != 0;
+    }
+
+    public int rowCount() {
+        return rowSeats.length;
+    }
+
+    public int seatCount(int row) {
+        return rowSeats[row];
+    }
+
+    public int freeSeats(int row) {
+        return rowFree.get(row);
+    }
+
+    public long freeSeats() {
+        return free.sum();
+    }
+
+    /**
+     * Write a compact binary snapshot:
+     * {@code int version, int rowCount}, then per row {@code int seatCount} followed by
+     * {@code ceil(seatCount / 8)} bytes where bit {@code s & 7} of byte {@code s >> 3} is set
+     * if seat {@code s} is taken. Integers are big-endian.
+     */
+    public void writeSnapshot(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(rowSeats.length);
+        byte[] buffer = new byte[64];
+        for (int row = 0; row < rowSeats.length; row++) {
+            int bytes = (rowSeats[row] + 7) >>> 3;
+            if (buffer.length < bytes) {
+                buffer = new byte[bytes];
+            }
+            int base = rowWordOffset[row];
+            for (int i = 0; i < bytes; i++) {
+                buffer[i] = (byte) (words.get(base + (i >>> 3)) >>> ((i & 7) << 3));
+            }
+            out.writeInt(rowSeats[row]);
+            out.write(buffer, 0, bytes);
+        }
+        out.flush();
+    }
+
+    public static int row(long block) {
+        return (int) (block >>> 32);
+    }
+
+    public static int firstSeat(long block) {
+        return (int) block;
+    }
+
+    /**
+     * @return first seat of a free run of {@code count} seats in the row, or -1
+     */
+    int findRun(int row, int count) {
+        int first = rowWordOffset[row];
+        int last = rowWordOffset[row + 1];
+        int run = 0;
+        int runStart = 0;
+        for (int w = first; w < last; w++) {
+            long taken = words.get(w);
+            int base = (w - first) << 6;
+            if (run == 0) {
+                runStart = base;
+            }
+            if (taken == 0) {
+                run += 64;
+                if (run >= count) {
+                    return runStart;
+                }
+                continue;
+            }
+            // Free run that started in earlier words and continues into this one
+            if (run + Long.numberOfTrailingZeros(taken) >= count) {
+                return runStart;
+            }
+            if (count <= 64) {
+                long starts = runStarts(~taken, count);
+                if (starts != 0) {
+                    return base + Long.numberOfTrailingZeros(starts);
+                }
+            }
+            run = Long.numberOfLeadingZeros(taken);
+            runStart = base + 64 - run;
+        }
+        return -1;
+    }
+
+    /**
+     * Bit i of the result is set when bits i .. i+count-1 of {@code free} are all set.
+     * Takes O(log count) shift-and steps.
+     */
+    static long runStarts(long free, int count) {
+        long m = free;
+        int length = 1;
+        while (length < count && m != 0) {
+            int shift = Math.min(length, count - length);
+            m &= m >>> shift;
+            length += shift;
+        }
+        return m;
+    }
+
+    private static long rangeMask(int fromBit, int bits) {
+        return bits == 64 ? -1L : ((1L << bits) - 1) << fromBit;
+    }
+
+    private boolean setBits(int index, long mask) {
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    private void clearBits(int index, long mask) {
+        while (true) {
+            long current = words.get(index);
+            if (words.compareAndSet(index, current, current & ~mask)) {
+                return;
+            }
+        }
+    }
+
+    private void checkRange(int row, int firstSeat, int count) {
+        if (row < 0 || row >= rowSeats.length || firstSeat < 0 || count <= 0 || firstSeat + count > rowSeats[row]) {
+            throw new IllegalArgumentException("Seats " + firstSeat + "+" + count + " are outside row " + row);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.eventhub.util;
+
+import com.eventhub.dto.EventNotification;
+import com.eventhub.dto.SeatUpdate;
+import com.eventhub.dto.SeatSnapshot;
+import com.eventhub.model.entity.Event;
+import com.eventhub.service.WebSocketService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects seat availability changes and broadcasts them once per flush window.
+ *
+ * Only the newest seat count of each event is kept; an update that replaces one not yet sent is
+ * counted as merged. Every {@code websocket.seat-updates.flush-ms} each changed event gets one
+ * message on its seat topic, and the global events topic and admin dashboard share one message:
+ * a SEAT_UPDATE when a single event changed, otherwise a SEAT_UPDATE_BATCH listing every change.
+ *
+ * Seat topic messages are {@link SeatUpdate}s carrying the absolute available seats, numbered by the
+ * event's seat version: the database bumps it in the same UPDATE that changes the seat counts, so
+ * every node numbers the same change the same way. Commits can reach this class out of order, so a
+ * count older than the one already pending or sent is dropped. Clients keep the highest number seen
+ * and ignore lower ones; a jump only means some counts were merged. A {@link #snapshot} is read
+ * from the database.
+ */
+@Component
+public class SeatUpdateCoalescer {
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, SeatState> pending = new ConcurrentHashMap<>();
+
+    // Seat version of the last count sent for each event
+    private final Map<Long, Long> sent = new ConcurrentHashMap<>();
+
+    private Counter submittedUpdates;
+    private Counter mergedUpdates;
+    private Counter staleUpdates;
+    private Counter sentMessages;
+
+    @PostConstruct
+    public void init() {
+        submittedUpdates = Counter.builder("websocket.seat.updates.submitted").register(meterRegistry);
+        mergedUpdates = Counter.builder("websocket.seat.updates.merged")
+            .description("Seat updates replaced by a newer one before they were sent")
+            .register(meterRegistry);
+        staleUpdates = Counter.builder("websocket.seat.updates.stale")
+            .description("Seat updates dropped because a newer one was already pending or sent")
+            .register(meterRegistry);
+        sentMessages = Counter.builder("websocket.seat.updates.messages").register(meterRegistry);
+        Gauge.builder("websocket.seat.updates.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Queue the event's current seat count, once the current transaction (if any) commits. The event
+     * must have been refreshed after its seat UPDATE, so its seat version matches the counts.
+     */
+    public void submit(Event event) {
+        SeatState state = new SeatState(event.getId(), event.getTitle(), event.getTotalSeats(), event.getAvailableSeats(),
+            event.getSeatVersion());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queue(state);
+                }
+            });
+        } else {
+            queue(state);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${websocket.seat-updates.flush-ms:100}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<SeatState> changed = new ArrayList<>();
+        for (Long eventId : pending.keySet()) {
+            SeatState state = pending.remove(eventId);
+            if (state != null) {
+                changed.add(state);
+            }
+        }
+
+        // A commit that reached us late may carry an older count than one already sent
+        changed.removeIf(state -> !markSent(state));
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<EventNotification> notifications = new ArrayList<>();
+            for (SeatState state : changed) {
+                webSocketService.sendSeatUpdate(state.eventId.toString(),
+                    new SeatUpdate(state.eventId, state.version, state.availableSeats));
+                notifications.add(EventNotification.seatUpdate(state.eventId, state.title, state.availableSeats,
+                    state.totalSeats, now));
+            }
+
+            // One payload, serialized once, for both the global topic and the admin dashboard
+            webSocketService.sendGlobalAndDashboardUpdate(notifications.size() == 1
+                ? notifications.get(0) : EventNotification.seatUpdateBatch(notifications, now));
+            sentMessages.increment(changed.size() + 2);
+        } catch (Exception e) {
+            System.err.println("❌ Failed to send WebSocket seat update notifications: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Current seat counts of an event, read from the database, with the seat version they belong to
+     */
+    public SeatSnapshot snapshot(Long eventId) {
+        try {
+            return jdbcTemplate.queryForObject(
+                "SELECT available_seats, total_seats, seat_version FROM events WHERE id = ?",
+                (rs, rowNum) -> new SeatSnapshot(eventId, rs.getLong("seat_version"),
+                    rs.getInt("available_seats"), rs.getInt("total_seats")),
+                eventId);
+        } catch (EmptyResultDataAccessException e) {
+            throw new RuntimeException("Event not found with id: " + eventId);
+        }
+    }
+
+    // Record the state as sent unless a newer (or the same) version already was
+    private boolean markSent(SeatState state) {
+        boolean[] newer = new boolean[1];
+        sent.compute(state.eventId, (eventId, sentVersion) -> {
+            newer[0] = sentVersion == null || state.version > sentVersion;
+            return newer[0] ? state.version : sentVersion;
+        });
+        if (!newer[0]) {
+            staleUpdates.increment();
+        }
+        return newer[0];
+    }
+
+    private void queue(SeatState state) {
+        submittedUpdates.increment();
+        Long sentVersion = sent.get(state.eventId);
+        if (sentVersion != null && state.version <= sentVersion) {
+            staleUpdates.increment();
+            return;
+        }
+        // Keep whichever of the pending and submitted counts has the higher version
+        boolean[] replaced = new boolean[1];
+        boolean[] stale = new boolean[1];
+        pending.merge(state.eventId, state, (queued, submitted) -> {
+            replaced[0] = true;
+            stale[0] = submitted.version <= queued.version;
+            return stale[0] ? queued : submitted;
+        });
+        if (stale[0]) {
+            staleUpdates.increment();
+        } else if (replaced[0]) {
+            mergedUpdates.increment();
+        }
+    }
+
+    private static class SeatState {
+        private final Long eventId;
+        private final String title;
+        private final int totalSeats;
+        private final int availableSeats;
+        private final long version;
+
+        SeatState(Long eventId, String title, int totalSeats, int availableSeats, long version) {
+            this.eventId = eventId;
+            this.title = title;
+            this.totalSeats = totalSeats;
+            this.availableSeats = availableSeats;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.eventhub.util;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Signed, compact ticket tokens for QR codes.
+ *
+ * Binary layout before base64url encoding:
+ * <pre>
+ *   version (1) | eventId (varint) | seats (varint) | expiresAt epoch seconds (varint)
+ *   | ticketId length (1) | ticketId (ASCII) | HMAC-SHA256 truncated to 16 bytes
+ * </pre>
+ * The token is prefixed with {@value #PREFIX} so scanners can tell it apart from a bare ticket id.
+ * Verification only needs the cached key, so gates can validate tickets while the database is
+ * slow or unreachable. The key must be its own secret: sharing {@code jwt.secret} would let
+ * anyone holding one key forge the other kind of token.
+ */
+@Component
+public class TicketTokenCodec {
+
+    public static final String PREFIX = "EH1.";
+
+    private static final byte VERSION = 1;
+    private static final int MAC_LENGTH = 16;
+    private static final int MAX_TICKET_ID_LENGTH = 64;
+    private static final int MAX_TOKEN_LENGTH = 256;
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Value("${ticket.token.secret}")
+    private String secret;
+
+    @Value("${jwt.secret:}")
+    private String jwtSecret;
+
+    private SecretKeySpec key;
+    private ThreadLocal<Mac> macs;
+
+    public enum Status {
+        VALID, EXPIRED, INVALID
+    }
+
+    /**
+     * Result of verifying a token. Claims are only set when the signature checked out.
+     */
+    public static final class VerifiedTicket {
+        private final Status status;
+        private final String ticketId;
+        private final long eventId;
+        private final int seats;
+        private final long expiresAt;
+
+        private VerifiedTicket(Status status, String ticketId, long eventId, int seats, long expiresAt) {
+            this.status = status;
+            this.ticketId = ticketId;
+            this.eventId = eventId;
+            this.seats = seats;
+            this.expiresAt = expiresAt;
+        }
+
+        public Status getStatus() { return status; }
+        public String getTicketId() { return ticketId; }
+        public long getEventId() { return eventId; }
+        public int getSeats() { return seats; }
+        public long getExpiresAt() { return expiresAt; }
+    }
+
+    private static final VerifiedTicket INVALID = new VerifiedTicket(Status.INVALID, null, 0, 0, 0);
+
+    @PostConstruct
+    public void init() {
+        if (secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("ticket.token.secret must be at least " + MIN_SECRET_LENGTH + " bytes");
+        }
+        if (secret.equals(jwtSecret)) {
+            throw new IllegalStateException("ticket.token.secret must differ from jwt.secret");
+        }
+        key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+    }
+
+    /**
+     * Build a signed token for a ticket
+     * @param ticketId ASCII ticket id
+     * @param eventId Event the ticket admits to
+     * @param seats Number of admissions on the ticket
+     * @param expiresAt Expiry as epoch seconds
+     * @return Token string safe to put in a QR code or URL
+     */
+    public String encode(String ticketId, long eventId, int seats, long expiresAt) {
+        if (ticketId.length() > MAX_TICKET_ID_LENGTH) {
+            throw new IllegalArgumentException("Ticket id too long for a token");
+        }
+        byte[] buffer = new byte[1 + 10 * 3 + 1 + ticketId.length() + MAC_LENGTH];
+        int pos = 0;
+        buffer[pos++] = VERSION;
+        pos = writeVarint(buffer, pos, eventId);
+        pos = writeVarint(buffer, pos, seats);
+        pos = writeVarint(buffer, pos, expiresAt);
+        buffer[pos++] = (byte) ticketId.length();
+        for (int i = 0; i < ticketId.length(); i++) {
+            char c = ticketId.charAt(i);
+            if (c >= 0x80) {
+                throw new IllegalArgumentException("Ticket id must be ASCII");
+            }
+            buffer[pos++] = (byte) c;
+        }
+
+        Mac mac = macs.get();
+        mac.update(buffer, 0, pos);
+        byte[] signature = mac.doFinal();
+        System.arraycopy(signature, 0, buffer, pos, MAC_LENGTH);
+        pos += MAC_LENGTH;
+
+        byte[] payload = pos == buffer.length ? buffer : Arrays.copyOf(buffer, pos);
+        return PREFIX + ENCODER.encodeToString(payload);
+    }
+
+    /**
+     * Verify a token's signature and expiry without any I/O
+     */
+    public VerifiedTicket verify(String token) {
+        if (!isToken(token) || token.length() > MAX_TOKEN_LENGTH) {
+            return INVALID;
+        }
+        byte[] data;
+        try {
+            data = DECODER.decode(token.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return INVALID;
+        }
+        if (data.length < 1 + 3 + 1 + MAC_LENGTH || data[0] != VERSION) {
+            return INVALID;
+        }
+
+        int signedLength = data.length - MAC_LENGTH;
+        Mac mac = macs.get();
+        mac.update(data, 0, signedLength);
+        byte[] expected = mac.doFinal();
+        int diff = 0;
+        for (int i = 0; i < MAC_LENGTH; i++) {
+            diff |= expected[i] ^ data[signedLength + i];
+        }
+        if (diff != 0) {
+            return INVALID;
+        }
+
+        // Signature is valid, so the fields below were written by encode()
+        long[] cursor = {1};
+        long eventId = readVarint(data, cursor, signedLength);
+        long seats = readVarint(data, cursor, signedLength);
+        long expiresAt = readVarint(data, cursor, signedLength);
+        int pos = (int) cursor[0];
+        if (eventId < 0 || seats < 0 || expiresAt < 0 || pos >= signedLength) {
+            return INVALID;
+        }
+        int idLength = data[pos++] & 0xFF;
+        if (pos + idLength != signedLength) {
+            return INVALID;
+        }
+        String ticketId = new String(data, pos, idLength, StandardCharsets.US_ASCII);
+
+        Status status = System.currentTimeMillis() / 1000 > expiresAt ? Status.EXPIRED : Status.VALID;
+        return new VerifiedTicket(status, ticketId, eventId, (int) seats, expiresAt);
+    }
+
+    public boolean isToken(String value) {
+        return value != null && value.startsWith(PREFIX);
+    }
+
+    private static int writeVarint(byte[] out, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+
+    /**
+     * @return decoded value, or -1 if the varint runs past {@code limit} or is too long
+     */
+    private static long readVarint(byte[] in, long[] cursor, int limit) {
+        long result = 0;
+        int pos = (int) cursor[0];
+        for (int shift = 0; shift < 63; shift += 7) {
+            if (pos >= limit) {
+                return -1;
+            }
+            byte b = in[pos++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                cursor[0] = pos;
+                return result;
+            }
+        }
+        return -1;
+    }
+}
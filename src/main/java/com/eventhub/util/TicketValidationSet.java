@@ -0,0 +1,190 @@
+package com.eventhub.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compact in-memory set of the valid tickets for one event, used at the gate.
+ *
+ * Tickets are keyed by a 64-bit hash of the ticket id in an open-addressing table with linear
+ * probing, so a lookup hashes the id and walks a few primitive array slots without allocating.
+ * Each slot keeps the number of admissions on the booking and how many have been used; claiming
+ * an admission is a single CAS on that counter, so concurrent scanners can never admit the same
+ * seat twice. A cancelled or refunded ticket is revoked by swapping its counter for
+ * {@link #REVOKED}, after which every claim on it fails.
+ *
+ * Publish the set safely (e.g. through a concurrent map). Tickets may still be added after
+ * publication, by one thread at a time: a slot's key is written last, so readers never see a
+ * half-added ticket. The capacity is fixed; once {@link #add} reports the set full, start another.
+ */
+public final class TicketValidationSet {
+
+    public static final int NOT_FOUND = -1;
+
+    // Used-admissions value of a revoked ticket
+    private static final int REVOKED = -1;
+
+    private final AtomicLongArray keys;
+    private final long[] bookingIds;
+    private final String[] ticketIds;
+    private final int[] seats;
+    private final AtomicIntegerArray used;
+    private final int mask;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder revokedSeats = new LongAdder();
+
+    private volatile int size;
+    private volatile long totalSeats;
+
+    public TicketValidationSet(int expectedTickets) {
+        // Keep the load factor at or below 0.5 so probe chains stay short
+        int capacity = Integer.highestOneBit(Math.max(16, expectedTickets * 2 - 1)) << 1;
+        keys = new AtomicLongArray(capacity);
+        bookingIds = new long[capacity];
+        ticketIds = new String[capacity];
+        seats = new int[capacity];
+        used = new AtomicIntegerArray(capacity);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Add a ticket. Only one thread may add at a time.
+     * @param alreadyUsed admissions already recorded for the booking
+     * @return false if the ticket was already present or the set is full
+     */
+    public boolean add(String ticketId, long bookingId, int admissions, int alreadyUsed) {
+        if (isFull()) {
+            return false;
+        }
+        long key = hash(ticketId);
+        int slot = (int) key & mask;
+        long candidate;
+        while ((candidate = keys.get(slot)) != 0) {
+            if (candidate == key && ticketIds[slot].equals(ticketId)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        bookingIds[slot] = bookingId;
+        ticketIds[slot] = ticketId;
+        seats[slot] = admissions;
+        int usedAdmissions = Math.min(alreadyUsed, admissions);
+        used.set(slot, usedAdmissions);
+        admitted.add(usedAdmissions);
+        totalSeats += admissions;
+        size++;
+        // Publishes the fields above to readers that find the key
+        keys.set(slot, key);
+        return true;
+    }
+
+    public boolean isFull() {
+        return size * 2 >= keys.length();
+    }
+
+    /**
+     * @return slot for the ticket, or {@link #NOT_FOUND}
+     */
+    public int find(CharSequence ticketId) {
+        long key = hash(ticketId);
+        int slot = (int) key & mask;
+        long candidate;
+        while ((candidate = keys.get(slot)) != 0) {
+            // Different ids can share a 64-bit hash, so the id itself decides
+            if (candidate == key && ticketIds[slot].contentEquals(ticketId)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Claim the next unused admission on a ticket.
+     * @return admission number starting at 1, or 0 if every admission has been used or the
+     *         ticket was revoked
+     */
+    public int claim(int slot) {
+        int limit = seats[slot];
+        while (true) {
+            int current = used.get(slot);
+            if (current == REVOKED || current >= limit) {
+                return 0;
+            }
+            if (used.compareAndSet(slot, current, current + 1)) {
+                admitted.increment();
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Stop admitting a ticket. Admissions already claimed stay counted as admitted.
+     * @return false if the ticket is not in the set or was already revoked
+     */
+    public boolean revoke(CharSequence ticketId) {
+        int slot = find(ticketId);
+        if (slot == NOT_FOUND || used.getAndSet(slot, REVOKED) == REVOKED) {
+            return false;
+        }
+        revokedSeats.add(seats[slot]);
+        return true;
+    }
+
+    public boolean isRevoked(int slot) {
+        return used.get(slot) == REVOKED;
+    }
+
+    public long bookingId(int slot) {
+        return bookingIds[slot];
+    }
+
+    public String ticketId(int slot) {
+        return ticketIds[slot];
+    }
+
+    public int admissions(int slot) {
+        return seats[slot];
+    }
+
+    /**
+     * @return admissions used so far, or 0 for a revoked ticket
+     */
+    public int usedAdmissions(int slot) {
+        return Math.max(used.get(slot), 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Admissions on the tickets that have not been revoked
+     */
+    public long totalAdmissions() {
+        return totalSeats - revokedSeats.sum();
+    }
+
+    public long admittedCount() {
+        return admitted.sum();
+    }
+
+    /**
+     * FNV-1a over the UTF-16 chars followed by the MurmurHash3 finalizer. Zero marks an empty
+     * slot, so it is remapped.
+     */
+    static long hash(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, n = value.length(); i < n; i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+}
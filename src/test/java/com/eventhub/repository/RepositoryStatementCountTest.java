@@ -0,0 +1,251 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.entity.Booking;
+import com.eventhub.model.entity.Event;
+import com.eventhub.model.entity.EventSeatRow;
+import com.eventhub.model.entity.Payment;
+import com.eventhub.model.entity.Review;
+import com.eventhub.model.entity.User;
+import com.eventhub.service.CheckInService;
+import com.eventhub.service.PaymentOutboxService;
+import com.eventhub.service.PaymentService;
+import com.eventhub.service.impl.PaymentServiceImpl;
+import com.eventhub.util.PaymentStateMachine;
+import com.eventhub.util.PaymentStatisticsCache;
+import com.eventhub.util.RecordStreamWriter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statement budgets for the list queries behind booking, payment and review DTOs, and for the
+ * cached payment statistics. Each test reads every association its DTO converter reads, so a lazy
+ * load that slips back in shows up as an extra prepared statement. Runs against an in-memory H2
+ * database.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({PaymentServiceImpl.class, PaymentStatisticsCache.class})
+class RepositoryStatementCountTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentStatisticsCache paymentStatisticsCache;
+
+    @MockBean
+    private PaymentOutboxService paymentOutboxService;
+
+    @MockBean
+    private PaymentStateMachine paymentStateMachine;
+
+    @MockBean
+    private RecordStreamWriter recordStreamWriter;
+
+    @MockBean
+    private CheckInService checkInService;
+
+    private User firstUser;
+    private Event firstEvent;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        firstUser = user("first@example.com");
+        User secondUser = user("second@example.com");
+        firstEvent = event("Concert");
+        Event secondEvent = event("Match");
+        EventSeatRow row = seatRow(firstEvent);
+
+        int n = 0;
+        for (User user : List.of(firstUser, secondUser)) {
+            for (Event event : List.of(firstEvent, secondEvent)) {
+                Booking booking = booking(user, event, "TKT-" + n, event == firstEvent ? row : null, n * 2);
+                if (n % 2 == 0) {
+                    payment(booking, "TXN-" + n);
+                }
+                review(user, event);
+                n++;
+            }
+        }
+        booking(firstUser, secondEvent, "TKT-" + n, null, null);
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void bookingListIsOneStatement() {
+        List<Booking> bookings = bookingRepository.findAllByOrderByCreatedAtDesc();
+        assertEquals(5, bookings.size());
+        bookings.forEach(RepositoryStatementCountTest::readBooking);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void bookingPageIsSelectPlusCount() {
+        Page<Booking> page = bookingRepository.findByUserOrderByCreatedAtDesc(firstUser, PageRequest.of(0, 2));
+        assertEquals(3, page.getTotalElements());
+        page.forEach(RepositoryStatementCountTest::readBooking);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void paymentListIsOneStatement() {
+        List<Payment> payments = paymentRepository.findAllByOrderByCreatedAtDesc();
+        assertEquals(2, payments.size());
+        for (Payment payment : payments) {
+            // PaymentResponse reads only the ids, which come from the booking row
+            payment.getTransactionId();
+            payment.getBooking().getTicketId();
+            payment.getBooking().getUser().getId();
+            payment.getBooking().getEvent().getId();
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void paymentStatisticsAreOneStatementThenCached() {
+        paymentStatisticsCache.invalidate();
+        PaymentService.PaymentStatistics loaded = paymentService.getPaymentStatistics();
+        assertEquals(2, loaded.getTotalPayments());
+        assertEquals(2, loaded.getSuccessfulPayments());
+        assertEquals(0, new BigDecimal("210.00").compareTo(loaded.getSuccessfulAmount()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        PaymentService.PaymentStatistics cached = paymentService.getPaymentStatistics();
+        assertEquals(2, cached.getTotalPayments());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void reviewListIsOneStatement() {
+        List<Review> reviews = reviewRepository.findByEventOrderByCreatedAtDesc(firstEvent);
+        assertEquals(2, reviews.size());
+        for (Review review : reviews) {
+            review.getUser().getName();
+            review.getUser().getEmail();
+            review.getEvent().getTitle();
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // Everything BookingServiceImpl.convertToDTO reads
+    private static void readBooking(Booking booking) {
+        booking.getEvent().getTitle();
+        booking.getEvent().getCategory();
+        booking.getUser().getName();
+        booking.getUser().getEmail();
+        if (booking.getSeatRow() != null) {
+            booking.getSeatRow().getSection();
+            booking.getSeatRow().getRowLabel();
+        }
+        if (booking.getPayment() != null) {
+            booking.getPayment().getTransactionId();
+            booking.getPayment().getStatus();
+        }
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setName(email.substring(0, email.indexOf('@')));
+        return testEntityManager.persist(user);
+    }
+
+    private Event event(String title) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setDate(LocalDate.now().plusDays(30));
+        event.setTime(LocalTime.of(19, 0));
+        event.setLocation("Arena");
+        event.setPrice(new BigDecimal("50.00"));
+        event.setTotalSeats(100);
+        event.setAvailableSeats(100);
+        event.setCategory(Event.Category.MUSIC);
+        return testEntityManager.persist(event);
+    }
+
+    private EventSeatRow seatRow(Event event) {
+        EventSeatRow row = new EventSeatRow();
+        row.setEvent(event);
+        row.setSection("Floor");
+        row.setRowLabel("A");
+        row.setSeatCount(20);
+        row.setPosition(0);
+        return testEntityManager.persist(row);
+    }
+
+    private Booking booking(User user, Event event, String ticketId, EventSeatRow row, Integer firstSeat) {
+        Booking booking = new Booking();
+        booking.setTicketId(ticketId);
+        booking.setUser(user);
+        booking.setEvent(event);
+        booking.setNumberOfTickets(2);
+        booking.setTotalAmount(new BigDecimal("105.00"));
+        booking.setServiceFee(new BigDecimal("5.00"));
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        booking.setSeatRow(row);
+        booking.setFirstSeat(row != null ? firstSeat : null);
+        return testEntityManager.persist(booking);
+    }
+
+    private void payment(Booking booking, String transactionId) {
+        Payment payment = new Payment();
+        payment.setTransactionId(transactionId);
+        payment.setBooking(booking);
+        payment.setAmount(booking.getTotalAmount());
+        payment.setPaymentMethod(Payment.PaymentMethod.CARD);
+        payment.setStatus(Payment.PaymentStatus.SUCCESS);
+        testEntityManager.persist(payment);
+    }
+
+    private void review(User user, Event event) {
+        Review review = new Review();
+        review.setUser(user);
+        review.setEvent(event);
+        review.setRating(4);
+        testEntityManager.persist(review);
+    }
+}
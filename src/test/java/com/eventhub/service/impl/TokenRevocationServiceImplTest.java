@@ -0,0 +1,137 @@
+package com.eventhub.service.impl;
+
+import com.eventhub.model.entity.TokenRevocation;
+import com.eventhub.repository.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceImplTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private TokenRevocationRepository repository;
+    private TokenRevocationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TokenRevocationRepository.class);
+        service = new TokenRevocationServiceImpl();
+        ReflectionTestUtils.setField(service, "tokenRevocationRepository", repository);
+        ReflectionTestUtils.setField(service, "tokenLifetimeMs", 86_400_000L);
+        ReflectionTestUtils.setField(service, "expectedEntries", 1000L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(service, "syncOverlapSeconds", 60L);
+    }
+
+    @Test
+    void revokedTokenIdIsRejected() {
+        service.init();
+        LocalDateTime now = LocalDateTime.now();
+        service.revokeToken(token("jti-1", now));
+
+        assertTrue(service.isRevoked(token("jti-1", now)));
+        assertFalse(service.isRevoked(token("jti-2", now)));
+    }
+
+    @Test
+    void userRevocationCoversTokensIssuedUpToItsSecond() {
+        LocalDateTime revokedAt = LocalDateTime.of(2026, 1, 1, 10, 0, 0, 500_000_000);
+        when(repository.findByExpiresAtAfter(any()))
+            .thenReturn(List.of(row(TokenRevocation.RevocationType.USER, EMAIL, revokedAt, LocalDateTime.now().plusDays(1))));
+        service.init();
+
+        // iat is truncated to whole seconds, so a token from the revocation's own second is rejected
+        assertTrue(service.isRevoked(issuedAt(EMAIL, revokedAt.minusSeconds(1))));
+        assertTrue(service.isRevoked(issuedAt(EMAIL, revokedAt.withNano(0))));
+        assertFalse(service.isRevoked(issuedAt(EMAIL, revokedAt.withNano(0).plusSeconds(1))));
+        assertTrue(service.isRevoked(Jwts.claims().setSubject(EMAIL)));
+        assertFalse(service.isRevoked(issuedAt("other@example.com", revokedAt.minusSeconds(1))));
+    }
+
+    @Test
+    void laterUserRevocationWins() {
+        LocalDateTime first = LocalDateTime.of(2026, 1, 1, 10, 0, 0);
+        LocalDateTime second = first.plusHours(1);
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(1);
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+            row(TokenRevocation.RevocationType.USER, EMAIL, second, expiresAt),
+            row(TokenRevocation.RevocationType.USER, EMAIL, first, expiresAt)));
+        service.init();
+
+        assertTrue(service.isRevoked(issuedAt(EMAIL, first.plusMinutes(30))));
+        assertFalse(service.isRevoked(issuedAt(EMAIL, second.plusSeconds(1))));
+    }
+
+    @Test
+    void syncPicksUpRevocationsFromOtherInstances() {
+        service.init();
+        LocalDateTime now = LocalDateTime.now();
+        assertFalse(service.isRevoked(token("jti-remote", now)));
+
+        when(repository.findByRevokedAtGreaterThanEqual(any())).thenReturn(List.of(
+            row(TokenRevocation.RevocationType.TOKEN, "jti-remote", now, now.plusHours(1))));
+        service.sync();
+
+        assertTrue(service.isRevoked(token("jti-remote", now)));
+    }
+
+    @Test
+    void expiredEntriesAreDroppedAndFilterRebuilt() {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+            row(TokenRevocation.RevocationType.TOKEN, "jti-live", now, now.plusHours(1))));
+        service.init();
+        Object filter = ReflectionTestUtils.getField(service, "bloomFilter");
+
+        // Nothing expired: the filter is kept
+        service.sync();
+        assertSame(filter, ReflectionTestUtils.getField(service, "bloomFilter"));
+
+        when(repository.findByRevokedAtGreaterThanEqual(any())).thenReturn(List.of(
+            row(TokenRevocation.RevocationType.TOKEN, "jti-expired", now.minusHours(2), now.minusHours(1))));
+        service.sync();
+
+        assertNotSame(filter, ReflectionTestUtils.getField(service, "bloomFilter"));
+        assertTrue(service.isRevoked(token("jti-live", now)));
+        assertFalse(service.isRevoked(token("jti-expired", now)));
+    }
+
+    private static Claims token(String id, LocalDateTime issuedAt) {
+        return issuedAt(EMAIL + ".token", issuedAt).setId(id).setExpiration(toDate(issuedAt.plusHours(1)));
+    }
+
+    // Signed tokens carry iat in whole seconds
+    private static Claims issuedAt(String email, LocalDateTime issuedAt) {
+        return Jwts.claims().setSubject(email).setIssuedAt(toDate(issuedAt.withNano(0)));
+    }
+
+    private static TokenRevocation row(TokenRevocation.RevocationType type, String subject,
+                                       LocalDateTime revokedAt, LocalDateTime expiresAt) {
+        TokenRevocation row = new TokenRevocation();
+        row.setRevocationType(type);
+        row.setSubject(subject);
+        row.setRevokedAt(revokedAt);
+        row.setExpiresAt(expiresAt);
+        return row;
+    }
+
+    private static Date toDate(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,84 @@
+package com.eventhub.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void neverForgetsAValue() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"), "value " + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        assertEquals(0.0, filter.estimatedFalsePositiveRate());
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        int probes = 200_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / probes;
+        assertTrue(observed < 0.015, "observed rate " + observed);
+        double estimated = filter.estimatedFalsePositiveRate();
+        assertTrue(estimated > 0.005 && estimated < 0.015, "estimated rate " + estimated);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+        assertFalse(filter.mightContain(""));
+        assertFalse(filter.mightContain("a"));
+        filter.put("a");
+        assertTrue(filter.mightContain("a"));
+    }
+
+    @Test
+    void concurrentPutsAreAllKept() throws Exception {
+        BloomFilter filter = new BloomFilter(80_000, 0.01);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                // Neighbouring values from different threads land in the same words
+                results.add(executor.submit(() -> {
+                    for (int i = thread; i < 80_000; i += threads) {
+                        filter.put("token" + i);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        for (int i = 0; i < 80_000; i++) {
+            assertTrue(filter.mightContain("token" + i), "token " + i);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.eventhub.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QrEncoderTest {
+
+    @Test
+    void reedSolomonMatchesReferenceVectors() {
+        // "01234567" in numeric mode, version 1-M (ISO/IEC 18004 Annex I)
+        assertEcc(new int[] {0x10, 0x20, 0x0C, 0x56, 0x61, 0x80, 0xEC, 0x11, 0xEC, 0x11, 0xEC, 0x11, 0xEC, 0x11, 0xEC, 0x11},
+            new int[] {0xA5, 0x24, 0xD4, 0xC1, 0xED, 0x36, 0xC7, 0x87, 0x2C, 0x55});
+        // "HELLO WORLD" in alphanumeric mode, version 1-M
+        assertEcc(new int[] {0x20, 0x5B, 0x0B, 0x78, 0xD1, 0x72, 0xDC, 0x4D, 0x43, 0x40, 0xEC, 0x11, 0xEC, 0x11, 0xEC, 0x11},
+            new int[] {0xC4, 0x23, 0x27, 0x77, 0xEB, 0xD7, 0xE7, 0xE2, 0x5D, 0x17});
+    }
+
+    @Test
+    void picksLowestVersionThatFits() {
+        // Byte mode capacities from ISO/IEC 18004 Table 7, in L, M, Q, H order
+        int[][] capacities = {
+            {1, 17, 14, 11, 7},
+            {9, 230, 180, 130, 98},
+            {10, 271, 213, 151, 119},
+            {40, 2953, 2331, 1663, 1273},
+        };
+        QrEncoder.ErrorCorrection[] levels = QrEncoder.ErrorCorrection.values();
+        byte[] data = new byte[3000];
+        for (int[] row : capacities) {
+            int version = row[0];
+            for (int level = 0; level < levels.length; level++) {
+                int capacity = row[level + 1];
+                QrEncoder.Matrix matrix = QrEncoder.encode(data, capacity, levels[level]);
+                assertEquals(version, matrix.getVersion(), capacity + " bytes at " + levels[level]);
+                assertEquals(version * 4 + 17, matrix.getSize());
+                if (version < QrEncoder.MAX_VERSION) {
+                    assertEquals(version + 1, QrEncoder.encode(data, capacity + 1, levels[level]).getVersion());
+                } else {
+                    assertEquals(capacity, QrEncoder.capacity(levels[level]));
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsDataBeyondVersion40() {
+        int length = QrEncoder.capacity(QrEncoder.ErrorCorrection.L) + 1;
+        assertThrows(IllegalArgumentException.class,
+            () -> QrEncoder.encode(new byte[length], length, QrEncoder.ErrorCorrection.L));
+    }
+
+    @Test
+    void randomPayloadsReadBack() {
+        Random random = new Random(1);
+        QrEncoder.ErrorCorrection[] levels = QrEncoder.ErrorCorrection.values();
+        for (int trial = 0; trial < 300; trial++) {
+            QrEncoder.ErrorCorrection ecl = levels[trial % levels.length];
+            int length = trial < 40 ? trial + 1 : 1 + random.nextInt(QrEncoder.capacity(ecl));
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+
+            QrEncoder.Matrix matrix = QrEncoder.encode(data, length, ecl);
+
+            assertEquals(ecl, QrReader.errorCorrection(matrix));
+            assertArrayEquals(data, QrReader.read(matrix), "trial " + trial + ", version " + matrix.getVersion());
+        }
+    }
+
+    @Test
+    void encodesTextAsUtf8() {
+        String ascii = "TICKET:TKT-1700000000000-ABCDEF12|EVENT:12|USER:5|TICKETS:3";
+        assertArrayEquals(ascii.getBytes(StandardCharsets.US_ASCII),
+            QrReader.read(QrEncoder.encode(ascii, QrEncoder.ErrorCorrection.M)));
+
+        String text = "Café Müller ₹499";
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8),
+            QrReader.read(QrEncoder.encode(text, QrEncoder.ErrorCorrection.M)));
+    }
+
+    @Test
+    void reusedWorkspaceGivesSameSymbol() {
+        QrEncoder.Matrix large = QrEncoder.encode(new byte[1000], 1000, QrEncoder.ErrorCorrection.L);
+        assertEquals(1000, QrReader.read(large).length);
+
+        byte[] first = modules(QrEncoder.encode("hello", QrEncoder.ErrorCorrection.Q));
+        QrEncoder.encode("something else entirely", QrEncoder.ErrorCorrection.H);
+        byte[] second = modules(QrEncoder.encode("hello", QrEncoder.ErrorCorrection.Q));
+        assertArrayEquals(first, second);
+    }
+
+    private static void assertEcc(int[] data, int[] expected) {
+        byte[] codewords = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            codewords[i] = (byte) data[i];
+        }
+        byte[] ecc = new byte[expected.length];
+        QrEncoder.reedSolomonRemainder(codewords, 0, codewords.length, QrEncoder.GENERATORS[expected.length], ecc, 0);
+
+        int[] actual = new int[ecc.length];
+        for (int i = 0; i < ecc.length; i++) {
+            actual[i] = ecc[i] & 0xFF;
+        }
+        assertArrayEquals(expected, actual);
+    }
+
+    private static byte[] modules(QrEncoder.Matrix matrix) {
+        byte[] modules = new byte[matrix.getSize() * matrix.getSize()];
+        for (int y = 0; y < matrix.getSize(); y++) {
+            for (int x = 0; x < matrix.getSize(); x++) {
+                modules[y * matrix.getSize() + x] = (byte) (matrix.isDark(x, y) ? 1 : 0);
+            }
+        }
+        return modules;
+    }
+}
@@ -0,0 +1,104 @@
+package com.eventhub.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QrPngWriterTest {
+
+    private static final String TICKET = "TICKET:TKT-1700000000000-ABCDEF12|EVENT:12|USER:5|TICKETS:3|DATE:2024-01-01T10:00:00";
+
+    @Test
+    void pixelsMatchModules() throws IOException {
+        QrEncoder.Matrix matrix = QrEncoder.encode(TICKET, QrEncoder.ErrorCorrection.M);
+        byte[] out = new byte[16 * 1024];
+        int length = QrPngWriter.write(matrix, 300, 4, null, out, 0);
+        assertTrue(length > 0);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(out, 0, length));
+        assertEquals(300, image.getWidth());
+        assertEquals(300, image.getHeight());
+        assertEquals(1, image.getColorModel().getPixelSize());
+
+        int scale = 300 / (matrix.getSize() + 8);
+        int margin = (300 - matrix.getSize() * scale) / 2;
+        for (int y = 0; y < matrix.getSize(); y++) {
+            for (int x = 0; x < matrix.getSize(); x++) {
+                for (int py = 0; py < scale; py++) {
+                    for (int px = 0; px < scale; px++) {
+                        boolean dark = gray(image, margin + x * scale + px, margin + y * scale + py) < 128;
+                        assertEquals(matrix.isDark(x, y), dark, "module " + x + "," + y);
+                    }
+                }
+            }
+        }
+        // Quiet zone and the leftover pixels around it are white
+        for (int i = 0; i < 300; i++) {
+            assertEquals(255, gray(image, i, margin - 1));
+            assertEquals(255, gray(image, margin - 1, i));
+            assertEquals(255, gray(image, i, margin + matrix.getSize() * scale));
+            assertEquals(255, gray(image, margin + matrix.getSize() * scale, i));
+        }
+    }
+
+    @Test
+    void writesAtOffset() throws IOException {
+        QrEncoder.Matrix matrix = QrEncoder.encode("hello", QrEncoder.ErrorCorrection.M);
+        byte[] atStart = new byte[8 * 1024];
+        int length = QrPngWriter.write(matrix, 200, 4, null, atStart, 0);
+
+        byte[] atOffset = new byte[8 * 1024];
+        assertEquals(length, QrPngWriter.write(matrix, 200, 4, null, atOffset, 100));
+        assertArrayEquals(Arrays.copyOf(atStart, length), Arrays.copyOfRange(atOffset, 100, 100 + length));
+        assertEquals(200, ImageIO.read(new ByteArrayInputStream(atOffset, 100, length)).getWidth());
+    }
+
+    @Test
+    void logoIsCompositedOverTheCentre() throws IOException {
+        QrEncoder.Matrix matrix = QrEncoder.encode(TICKET, QrEncoder.ErrorCorrection.H);
+        byte[] pixels = new byte[60 * 60];
+        Arrays.fill(pixels, (byte) 80);
+        byte[] out = new byte[64 * 1024];
+        int length = QrPngWriter.write(matrix, 300, 4, new QrPngWriter.Logo(pixels, 60), out, 0);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(out, 0, length));
+        assertEquals(8, image.getColorModel().getPixelSize());
+        assertEquals(80, gray(image, 120, 120));
+        assertEquals(80, gray(image, 179, 179));
+        assertEquals(255, gray(image, 0, 0));
+    }
+
+    @Test
+    void reportsBufferTooSmall() {
+        QrEncoder.Matrix matrix = QrEncoder.encode(TICKET, QrEncoder.ErrorCorrection.M);
+        byte[] out = new byte[16 * 1024];
+        int length = QrPngWriter.write(matrix, 300, 4, null, out, 0);
+
+        for (int size : new int[] {0, 20, 40, 100, length - 13, length - 1}) {
+            assertEquals(-1, QrPngWriter.write(matrix, 300, 4, null, new byte[size], 0), "buffer of " + size);
+        }
+        assertEquals(length, QrPngWriter.write(matrix, 300, 4, null, new byte[length], 0));
+    }
+
+    @Test
+    void rejectsOversizedImages() {
+        QrEncoder.Matrix matrix = QrEncoder.encode("hello", QrEncoder.ErrorCorrection.M);
+        assertThrows(IllegalArgumentException.class,
+            () -> QrPngWriter.write(matrix, 5000, 4, null, new byte[1024], 0));
+    }
+
+    // Raw sample, since getRGB would apply a gamma curve to 8-bit grayscale
+    private static int gray(BufferedImage image, int x, int y) {
+        int sample = image.getRaster().getSample(x, y, 0);
+        return image.getColorModel().getPixelSize() == 1 ? sample * 255 : sample;
+    }
+}
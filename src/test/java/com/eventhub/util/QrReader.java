@@ -0,0 +1,305 @@
+package com.eventhub.util;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Minimal QR reader for checking {@link QrEncoder} output. It shares nothing with the encoder
+ * except the block tables: format and version information, the function pattern layout, mask
+ * patterns, codeword placement and Reed-Solomon syndromes are all worked out independently
+ * from ISO/IEC 18004.
+ */
+final class QrReader {
+
+    private static final int[] GF_EXP = new int[512];
+    private static final int[] GF_LOG = new int[256];
+
+    // ISO/IEC 18004 Annex E, row and column centres of the alignment patterns
+    private static final int[][] ALIGNMENT_CENTRES = {
+        {}, {}, {6, 18}, {6, 22}, {6, 26}, {6, 30}, {6, 34}, {6, 22, 38}, {6, 24, 42}, {6, 26, 46},
+        {6, 28, 50}, {6, 30, 54}, {6, 32, 58}, {6, 34, 62}, {6, 26, 46, 66}, {6, 26, 48, 70},
+        {6, 26, 50, 74}, {6, 30, 54, 78}, {6, 30, 56, 82}, {6, 30, 58, 86}, {6, 34, 62, 90},
+        {6, 28, 50, 72, 94}, {6, 26, 50, 74, 98}, {6, 30, 54, 78, 102}, {6, 28, 54, 80, 106},
+        {6, 32, 58, 84, 110}, {6, 30, 58, 86, 114}, {6, 34, 62, 90, 118}, {6, 26, 50, 74, 98, 122},
+        {6, 30, 54, 78, 102, 126}, {6, 26, 52, 78, 104, 130}, {6, 30, 56, 82, 108, 134},
+        {6, 34, 60, 86, 112, 138}, {6, 30, 58, 86, 114, 142}, {6, 34, 62, 90, 118, 146},
+        {6, 30, 54, 78, 102, 126, 150}, {6, 24, 50, 76, 102, 128, 154}, {6, 28, 54, 80, 106, 132, 158},
+        {6, 32, 58, 84, 110, 136, 162}, {6, 26, 54, 82, 110, 138, 166}, {6, 30, 58, 86, 114, 142, 170},
+    };
+
+    // Error correction level by its two format bits
+    private static final QrEncoder.ErrorCorrection[] LEVELS = {
+        QrEncoder.ErrorCorrection.M, QrEncoder.ErrorCorrection.L,
+        QrEncoder.ErrorCorrection.H, QrEncoder.ErrorCorrection.Q,
+    };
+
+    static {
+        int x = 1;
+        for (int i = 0; i < 255; i++) {
+            GF_EXP[i] = x;
+            GF_LOG[x] = i;
+            x <<= 1;
+            if (x >= 0x100) {
+                x ^= 0x11D;
+            }
+        }
+        for (int i = 255; i < GF_EXP.length; i++) {
+            GF_EXP[i] = GF_EXP[i - 255];
+        }
+    }
+
+    private QrReader() {
+    }
+
+    /**
+     * Decode a byte-mode symbol, failing on any structural error or non-zero syndrome
+     */
+    static byte[] read(QrEncoder.Matrix matrix) {
+        int size = matrix.getSize();
+        int version = (size - 17) / 4;
+
+        int format = readFormat(matrix, size);
+        QrEncoder.ErrorCorrection ecl = LEVELS[format >>> 3];
+        int mask = format & 7;
+
+        boolean[][] function = functionModules(matrix, size, version);
+        byte[] codewords = readCodewords(matrix, size, function, mask);
+        byte[] data = correctAndJoin(codewords, version, ecl);
+
+        int bit = 0;
+        if (readBits(data, bit, 4) != 0x4) {
+            throw new IllegalStateException("Not byte mode");
+        }
+        bit += 4;
+        int countBits = version <= 9 ? 8 : 16;
+        int length = readBits(data, bit, countBits);
+        bit += countBits;
+        byte[] result = new byte[length];
+        for (int i = 0; i < length; i++, bit += 8) {
+            result[i] = (byte) readBits(data, bit, 8);
+        }
+        return result;
+    }
+
+    static QrEncoder.ErrorCorrection errorCorrection(QrEncoder.Matrix matrix) {
+        return LEVELS[readFormat(matrix, matrix.getSize()) >>> 3];
+    }
+
+    // Five data bits of the format information, after checking both copies and the BCH code
+    private static int readFormat(QrEncoder.Matrix matrix, int size) {
+        int first = 0;
+        for (int i = 0; i <= 5; i++) {
+            first |= bit(matrix, 8, i) << i;
+        }
+        first |= bit(matrix, 8, 7) << 6;
+        first |= bit(matrix, 8, 8) << 7;
+        first |= bit(matrix, 7, 8) << 8;
+        for (int i = 9; i < 15; i++) {
+            first |= bit(matrix, 14 - i, 8) << i;
+        }
+
+        int second = 0;
+        for (int i = 0; i < 8; i++) {
+            second |= bit(matrix, size - 1 - i, 8) << i;
+        }
+        for (int i = 8; i < 15; i++) {
+            second |= bit(matrix, 8, size - 15 + i) << i;
+        }
+        if (first != second) {
+            throw new IllegalStateException("Format information copies differ");
+        }
+        if (!matrix.isDark(8, size - 8)) {
+            throw new IllegalStateException("Dark module missing");
+        }
+
+        int data = (first ^ 0x5412) >>> 10;
+        int remainder = data;
+        for (int i = 0; i < 10; i++) {
+            remainder = (remainder << 1) ^ ((remainder >>> 9) * 0x537);
+        }
+        if (((data << 10 | remainder) ^ 0x5412) != first) {
+            throw new IllegalStateException("Format information BCH check failed");
+        }
+        return data;
+    }
+
+    // Function pattern map, checking finder, timing, alignment and version patterns on the way
+    private static boolean[][] functionModules(QrEncoder.Matrix matrix, int size, int version) {
+        boolean[][] function = new boolean[size][size];
+        for (int i = 0; i < size; i++) {
+            function[6][i] = true;
+            function[i][6] = true;
+        }
+        for (int i = 8; i < size - 8; i++) {
+            if (matrix.isDark(i, 6) != (i % 2 == 0) || matrix.isDark(6, i) != (i % 2 == 0)) {
+                throw new IllegalStateException("Timing pattern broken at " + i);
+            }
+        }
+
+        for (int y = 0; y < 9; y++) {
+            for (int x = 0; x < 9; x++) {
+                function[y][x] = true;
+            }
+            for (int x = size - 8; x < size; x++) {
+                function[y][x] = true;
+            }
+        }
+        for (int y = size - 8; y < size; y++) {
+            for (int x = 0; x < 9; x++) {
+                function[y][x] = true;
+            }
+        }
+        int[][] finders = {{3, 3}, {size - 4, 3}, {3, size - 4}};
+        for (int[] centre : finders) {
+            for (int dy = -3; dy <= 3; dy++) {
+                for (int dx = -3; dx <= 3; dx++) {
+                    boolean dark = Math.max(Math.abs(dx), Math.abs(dy)) != 2;
+                    if (matrix.isDark(centre[0] + dx, centre[1] + dy) != dark) {
+                        throw new IllegalStateException("Finder pattern broken");
+                    }
+                }
+            }
+        }
+
+        int[] centres = ALIGNMENT_CENTRES[version];
+        int last = centres.length - 1;
+        for (int i = 0; i <= last; i++) {
+            for (int j = 0; j <= last; j++) {
+                if ((i == 0 && j == 0) || (i == 0 && j == last) || (i == last && j == 0)) {
+                    continue;
+                }
+                for (int dy = -2; dy <= 2; dy++) {
+                    for (int dx = -2; dx <= 2; dx++) {
+                        int x = centres[j] + dx;
+                        int y = centres[i] + dy;
+                        function[y][x] = true;
+                        if (matrix.isDark(x, y) != (Math.max(Math.abs(dx), Math.abs(dy)) != 1)) {
+                            throw new IllegalStateException("Alignment pattern broken at " + x + "," + y);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (version >= 7) {
+            int versionBits = 0;
+            for (int i = 0; i < 18; i++) {
+                int a = size - 11 + i % 3;
+                int b = i / 3;
+                function[b][a] = true;
+                function[a][b] = true;
+                versionBits |= bit(matrix, a, b) << i;
+                if (matrix.isDark(a, b) != matrix.isDark(b, a)) {
+                    throw new IllegalStateException("Version information copies differ");
+                }
+            }
+            if (versionBits >>> 12 != version) {
+                throw new IllegalStateException("Version information says " + (versionBits >>> 12));
+            }
+        }
+        return function;
+    }
+
+    private static byte[] readCodewords(QrEncoder.Matrix matrix, int size, boolean[][] function, int mask) {
+        int dataModules = 0;
+        for (boolean[] row : function) {
+            for (boolean isFunction : row) {
+                if (!isFunction) {
+                    dataModules++;
+                }
+            }
+        }
+        byte[] codewords = new byte[dataModules / 8];
+        int i = 0;
+        for (int right = size - 1; right >= 1; right -= 2) {
+            if (right == 6) {
+                right = 5;
+            }
+            boolean upward = ((right + 1) & 2) == 0;
+            for (int vertical = 0; vertical < size; vertical++) {
+                int y = upward ? size - 1 - vertical : vertical;
+                for (int j = 0; j < 2; j++) {
+                    int x = right - j;
+                    if (function[y][x]) {
+                        continue;
+                    }
+                    if (i < codewords.length * 8 && (matrix.isDark(x, y) ^ masked(mask, x, y))) {
+                        codewords[i >>> 3] |= (byte) (0x80 >>> (i & 7));
+                    }
+                    i++;
+                }
+            }
+        }
+        return codewords;
+    }
+
+    // De-interleave the blocks, check every syndrome is zero and return the data codewords
+    private static byte[] correctAndJoin(byte[] codewords, int version, QrEncoder.ErrorCorrection ecl) {
+        int eccLength = QrEncoder.ECC_CODEWORDS_PER_BLOCK[ecl.ordinal()][version];
+        int numBlocks = QrEncoder.NUM_ERROR_CORRECTION_BLOCKS[ecl.ordinal()][version];
+        int shortBlockLength = codewords.length / numBlocks;
+        int numShortBlocks = numBlocks - codewords.length % numBlocks;
+
+        byte[][] blocks = new byte[numBlocks][];
+        for (int b = 0; b < numBlocks; b++) {
+            blocks[b] = new byte[shortBlockLength + (b < numShortBlocks ? 0 : 1)];
+        }
+        int pos = 0;
+        for (int i = 0; i <= shortBlockLength - eccLength; i++) {
+            for (byte[] block : blocks) {
+                if (i < block.length - eccLength) {
+                    block[i] = codewords[pos++];
+                }
+            }
+        }
+        for (int i = 0; i < eccLength; i++) {
+            for (byte[] block : blocks) {
+                block[block.length - eccLength + i] = codewords[pos++];
+            }
+        }
+
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        for (byte[] block : blocks) {
+            for (int s = 0; s < eccLength; s++) {
+                int syndrome = 0;
+                for (byte b : block) {
+                    syndrome = multiply(syndrome, GF_EXP[s]) ^ (b & 0xFF);
+                }
+                if (syndrome != 0) {
+                    throw new IllegalStateException("Non-zero syndrome in a version " + version + " block");
+                }
+            }
+            data.write(block, 0, block.length - eccLength);
+        }
+        return data.toByteArray();
+    }
+
+    private static boolean masked(int mask, int x, int y) {
+        switch (mask) {
+            case 0: return (x + y) % 2 == 0;
+            case 1: return y % 2 == 0;
+            case 2: return x % 3 == 0;
+            case 3: return (x + y) % 3 == 0;
+            case 4: return (x / 3 + y / 2) % 2 == 0;
+            case 5: return x * y % 2 + x * y % 3 == 0;
+            case 6: return (x * y % 2 + x * y % 3) % 2 == 0;
+            default: return ((x + y) % 2 + x * y % 3) % 2 == 0;
+        }
+    }
+
+    private static int multiply(int a, int b) {
+        return a == 0 || b == 0 ? 0 : GF_EXP[GF_LOG[a] + GF_LOG[b]];
+    }
+
+    private static int bit(QrEncoder.Matrix matrix, int x, int y) {
+        return matrix.isDark(x, y) ? 1 : 0;
+    }
+
+    private static int readBits(byte[] data, int pos, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int b = pos + i;
+            value = value << 1 | ((data[b >>> 3] >>> (7 - (b & 7))) & 1);
+        }
+        return value;
+    }
+}
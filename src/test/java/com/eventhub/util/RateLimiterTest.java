@@ -0,0 +1,85 @@
+package com.eventhub.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long T0 = 1_000 * SECOND;
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        RateLimiter limiter = new RateLimiter();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1", 5, 5 * SECOND, T0), "call " + i);
+        }
+        // Empty: the next token is one refill interval away
+        assertEquals(SECOND, limiter.tryAcquire("ip:1", 5, 5 * SECOND, T0));
+        assertEquals(SECOND, limiter.tryAcquire("ip:1", 5, 5 * SECOND, T0));
+        // Other clients have their own bucket
+        assertEquals(0, limiter.tryAcquire("ip:2", 5, 5 * SECOND, T0));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        RateLimiter limiter = new RateLimiter();
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("ip:1", 5, 5 * SECOND, T0);
+        }
+        assertEquals(SECOND / 2, limiter.tryAcquire("ip:1", 5, 5 * SECOND, T0 + SECOND / 2));
+        assertEquals(0, limiter.tryAcquire("ip:1", 5, 5 * SECOND, T0 + SECOND));
+        assertEquals(SECOND, limiter.tryAcquire("ip:1", 5, 5 * SECOND, T0 + SECOND));
+        assertEquals(SECOND / 2, limiter.tryAcquire("ip:1", 5, 5 * SECOND, T0 + 3 * SECOND / 2));
+
+        // After a whole idle period the full burst is back, and no more
+        long later = T0 + 10 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1", 5, 5 * SECOND, later), "call " + i);
+        }
+        assertEquals(SECOND, limiter.tryAcquire("ip:1", 5, 5 * SECOND, later));
+    }
+
+    @Test
+    void evictsOnlyFullBuckets() {
+        RateLimiter limiter = new RateLimiter();
+        limiter.tryAcquire("light", 5, 5 * SECOND, T0);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("heavy", 5, 5 * SECOND, T0);
+        }
+        assertEquals(2, limiter.size());
+
+        assertEquals(0, limiter.evictIdle(T0 + SECOND / 2));
+        assertEquals(1, limiter.evictIdle(T0 + SECOND));
+        assertEquals(1, limiter.size());
+        assertEquals(0, limiter.evictIdle(T0 + 4 * SECOND));
+        assertEquals(1, limiter.evictIdle(T0 + 5 * SECOND));
+        assertEquals(0, limiter.size());
+
+        // An evicted client starts again with a full bucket
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("heavy", 5, 5 * SECOND, T0 + 5 * SECOND), "call " + i);
+        }
+        assertEquals(SECOND, limiter.tryAcquire("heavy", 5, 5 * SECOND, T0 + 5 * SECOND));
+    }
+
+    @Test
+    void handlesNanoTimeOverflow() {
+        RateLimiter limiter = new RateLimiter();
+        long start = Long.MAX_VALUE - 2 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("ip:1", 5, 5 * SECOND, start);
+        }
+        // Four seconds later the clock has wrapped; four tokens have come back
+        long wrapped = start + 4 * SECOND;
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1", 5, 5 * SECOND, wrapped), "call " + i);
+        }
+        assertEquals(SECOND, limiter.tryAcquire("ip:1", 5, 5 * SECOND, wrapped));
+        assertEquals(0, limiter.evictIdle(wrapped + 4 * SECOND));
+        assertEquals(1, limiter.evictIdle(wrapped + 5 * SECOND));
+    }
+}
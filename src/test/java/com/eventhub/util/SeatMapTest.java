@@ -0,0 +1,174 @@
+package com.eventhub.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatMapTest {
+
+    @Test
+    void searchMatchesBruteForceModel() {
+        Random random = new Random(1);
+        for (int layout = 0; layout < 3000; layout++) {
+            int[] seatsPerRow = new int[1 + random.nextInt(4)];
+            for (int row = 0; row < seatsPerRow.length; row++) {
+                seatsPerRow[row] = 1 + random.nextInt(300);
+            }
+            SeatMap map = new SeatMap(seatsPerRow);
+            boolean[][] model = new boolean[seatsPerRow.length][];
+            for (int row = 0; row < seatsPerRow.length; row++) {
+                model[row] = new boolean[seatsPerRow[row]];
+            }
+
+            for (int op = 0; op < 200; op++) {
+                int row = random.nextInt(seatsPerRow.length);
+                if (random.nextInt(3) > 0) {
+                    int count = 1 + random.nextInt(Math.min(seatsPerRow[row], 140));
+                    int start = map.findRun(row, count);
+                    assertEquals(firstRun(model[row], count), start, "layout " + layout + ", " + count + " seats");
+                    if (start >= 0) {
+                        assertTrue(map.claim(row, start, count));
+                        Arrays.fill(model[row], start, start + count, true);
+                    }
+                } else {
+                    // Release part of a taken run, or take a single free seat
+                    int seat = random.nextInt(seatsPerRow[row]);
+                    if (model[row][seat]) {
+                        int end = seat + 1;
+                        while (end < seatsPerRow[row] && model[row][end] && random.nextInt(5) > 0) {
+                            end++;
+                        }
+                        map.release(row, seat, end - seat);
+                        Arrays.fill(model[row], seat, end, false);
+                    } else {
+                        assertTrue(map.claim(row, seat, 1));
+                        model[row][seat] = true;
+                    }
+                }
+            }
+
+            long free = 0;
+            for (int row = 0; row < seatsPerRow.length; row++) {
+                int rowFree = 0;
+                for (int seat = 0; seat < seatsPerRow[row]; seat++) {
+                    assertEquals(model[row][seat], map.isTaken(row, seat));
+                    rowFree += model[row][seat] ? 0 : 1;
+                }
+                assertEquals(rowFree, map.freeSeats(row));
+                free += rowFree;
+            }
+            assertEquals(free, map.freeSeats());
+        }
+    }
+
+    @Test
+    void failedClaimTakesNothing() {
+        SeatMap map = new SeatMap(new int[] {200});
+        assertTrue(map.claim(0, 100, 1));
+        assertFalse(map.claim(0, 40, 70));
+        for (int seat = 40; seat < 110; seat++) {
+            assertEquals(seat == 100, map.isTaken(0, seat));
+        }
+        assertEquals(199, map.freeSeats());
+        assertThrows(IllegalArgumentException.class, () -> map.claim(0, 190, 20));
+    }
+
+    @Test
+    void concurrentBookingsFillStadiumExactlyOnce() throws Exception {
+        int[] stadium = new int[500];
+        Arrays.fill(stadium, 100);
+        SeatMap map = new SeatMap(stadium);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<long[]>>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Random random = new Random(t);
+                results.add(executor.submit(() -> {
+                    List<long[]> claimed = new ArrayList<>();
+                    while (true) {
+                        int count = 1 + random.nextInt(6);
+                        long block = map.claimBlock(count, 0, stadium.length);
+                        if (block == SeatMap.NO_BLOCK) {
+                            count = 1;
+                            block = map.claimBlock(1, 0, stadium.length);
+                            if (block == SeatMap.NO_BLOCK) {
+                                return claimed;
+                            }
+                        }
+                        claimed.add(new long[] {block, count});
+                    }
+                }));
+            }
+
+            boolean[][] owner = new boolean[stadium.length][100];
+            int seats = 0;
+            for (Future<List<long[]>> result : results) {
+                for (long[] claim : result.get()) {
+                    int row = SeatMap.row(claim[0]);
+                    for (int seat = SeatMap.firstSeat(claim[0]); seat < SeatMap.firstSeat(claim[0]) + claim[1]; seat++) {
+                        assertFalse(owner[row][seat], "seat " + row + "/" + seat + " claimed twice");
+                        owner[row][seat] = true;
+                        seats++;
+                    }
+                }
+            }
+            assertEquals(50_000, seats);
+            assertEquals(0, map.freeSeats());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void searchOn50kSeatStadium() {
+        // Every row but the last nearly full, so a search has to walk all 500 rows
+        int[] stadium = new int[500];
+        Arrays.fill(stadium, 100);
+        SeatMap map = new SeatMap(stadium);
+        for (int row = 0; row < stadium.length - 1; row++) {
+            for (int seat = 0; seat + 2 <= 100; seat += 3) {
+                map.claim(row, seat, 2);
+            }
+        }
+
+        int found = -1;
+        for (int row = 0; row < stadium.length && found < 0; row++) {
+            if (map.findRun(row, 4) >= 0) {
+                found = row;
+            }
+        }
+        assertEquals(stadium.length - 1, found);
+        assertEquals(0, map.findRun(stadium.length - 1, 100));
+
+        // Rows leave single free seats between pairs, and a last free pair at 98-99
+        for (int row = 0; row < stadium.length - 1; row++) {
+            assertEquals(2, map.findRun(row, 1), "row " + row);
+            assertEquals(98, map.findRun(row, 2), "row " + row);
+            assertEquals(34, map.freeSeats(row), "row " + row);
+        }
+        assertEquals(34L * (stadium.length - 1) + 100, map.freeSeats());
+    }
+
+    private static int firstRun(boolean[] taken, int count) {
+        int run = 0;
+        for (int seat = 0; seat < taken.length; seat++) {
+            run = taken[seat] ? 0 : run + 1;
+            if (run == count) {
+                return seat - count + 1;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,93 @@
+package com.eventhub.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketValidationSetTest {
+
+    @Test
+    void claimsEveryAdmissionOnceThenRevokes() {
+        TicketValidationSet set = new TicketValidationSet(2);
+        assertTrue(set.add("TKT-1", 1, 2, 1));
+        assertFalse(set.add("TKT-1", 1, 2, 0));
+
+        int slot = set.find("TKT-1");
+        assertEquals(2, set.claim(slot));
+        assertEquals(0, set.claim(slot));
+        assertEquals(TicketValidationSet.NOT_FOUND, set.find("TKT-2"));
+
+        assertTrue(set.revoke("TKT-1"));
+        assertFalse(set.revoke("TKT-1"));
+        assertTrue(set.isRevoked(slot));
+        assertEquals(0, set.totalAdmissions());
+        assertEquals(2, set.admittedCount());
+    }
+
+    @Test
+    void reportsFullAtHalfCapacity() {
+        TicketValidationSet set = new TicketValidationSet(16);
+        for (int i = 0; i < 16; i++) {
+            assertTrue(set.add("TKT-" + i, i, 1, 0), "ticket " + i);
+        }
+        assertTrue(set.isFull());
+        assertFalse(set.add("TKT-16", 16, 1, 0));
+        assertEquals(16, set.size());
+    }
+
+    @Test
+    void ticketsAddedAfterPublicationAreSeenWhole() throws Exception {
+        int tickets = 20_000;
+        TicketValidationSet set = new TicketValidationSet(tickets);
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                readers.add(executor.submit(() -> {
+                    int claimed = 0;
+                    while (!done.get()) {
+                        for (int i = 0; i < tickets; i += 97) {
+                            int slot = set.find("TKT-" + i);
+                            if (slot != TicketValidationSet.NOT_FOUND) {
+                                // A ticket that can be found must be complete
+                                assertEquals(i, set.bookingId(slot));
+                                assertEquals("TKT-" + i, set.ticketId(slot));
+                                assertEquals(2, set.admissions(slot));
+                                claimed += set.claim(slot) > 0 ? 1 : 0;
+                            }
+                        }
+                    }
+                    return claimed;
+                }));
+            }
+
+            for (int i = 0; i < tickets; i++) {
+                assertTrue(set.add("TKT-" + i, i, 2, 0));
+            }
+            done.set(true);
+
+            int claimed = 0;
+            for (Future<Integer> reader : readers) {
+                claimed += reader.get();
+            }
+            // Never more claims than admissions on the probed tickets
+            assertTrue(claimed <= 2 * ((tickets + 96) / 97), claimed + " claims");
+            assertEquals(claimed, set.admittedCount());
+        } finally {
+            executor.shutdown();
+        }
+        for (int i = 0; i < tickets; i++) {
+            assertTrue(set.find("TKT-" + i) != TicketValidationSet.NOT_FOUND, "ticket " + i);
+        }
+    }
+}